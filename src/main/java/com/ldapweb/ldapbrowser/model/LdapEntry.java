@@ -19,11 +19,28 @@ public class LdapEntry {
   private String rdn;
   private Map<String, List<String>> attributes;
   private boolean hasChildren;
+  private boolean childHintFromServer; // hasChildren was reported by the server rather than guessed
+  private int childCount = -1; // Server-reported number of immediate children, -1 when unknown
 
   public LdapEntry() {
     this.attributes = new LinkedHashMap<>();
   }
 
+  /**
+   * Copy an entry, including its attribute value lists
+   */
+  public LdapEntry(LdapEntry other) {
+    this();
+    this.dn = other.dn;
+    this.rdn = other.rdn;
+    for (Map.Entry<String, List<String>> attr : other.attributes.entrySet()) {
+      attributes.put(attr.getKey(), new ArrayList<>(attr.getValue()));
+    }
+    this.hasChildren = other.hasChildren;
+    this.childHintFromServer = other.childHintFromServer;
+    this.childCount = other.childCount;
+  }
+
   public LdapEntry(Entry entry) {
     this();
     this.dn = entry.getDN();
@@ -74,6 +91,22 @@ public class LdapEntry {
     this.hasChildren = hasChildren;
   }
 
+  public boolean isChildHintFromServer() {
+    return childHintFromServer;
+  }
+
+  public void setChildHintFromServer(boolean childHintFromServer) {
+    this.childHintFromServer = childHintFromServer;
+  }
+
+  public int getChildCount() {
+    return childCount;
+  }
+
+  public void setChildCount(int childCount) {
+    this.childCount = childCount;
+  }
+
   public List<String> getAttributeValues(String attributeName) {
     return attributes.getOrDefault(attributeName, new ArrayList<>());
   }
@@ -1,9 +1,11 @@
 package com.ldapweb.ldapbrowser.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -13,6 +15,14 @@ public class LdapServerConfig implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * Strategy for spreading read connections across the primary host and its
+   * replicas
+   */
+  public enum ServerSelectionStrategy {
+    ROUND_ROBIN, FEWEST_CONNECTIONS, FASTEST_CONNECT
+  }
+
   private String id;
   private String name;
   private String group; // Kept for backward compatibility
@@ -25,9 +35,11 @@ public class LdapServerConfig implements Serializable {
   private boolean useSSL;
   private boolean useStartTLS;
   private String baseDn;
+  private List<String> replicaHosts = new ArrayList<>(); // Additional "host[:port]" or "[IPv6]:port" entries serving reads
+  private ServerSelectionStrategy serverSelectionStrategy = ServerSelectionStrategy.ROUND_ROBIN;
 
   @JsonIgnore
-  private LDAPConnection connection;
+  private LDAPConnectionPool connectionPool;
 
   public LdapServerConfig() {
     this.port = 389; // Default LDAP port
@@ -207,12 +219,52 @@ public class LdapServerConfig implements Serializable {
     this.baseDn = baseDn;
   }
 
-  public LDAPConnection getConnection() {
-    return connection;
+  /**
+   * Gets the replica hosts that share read traffic with the primary host.
+   * @return List of "host" or "host:port" entries
+   */
+  public List<String> getReplicaHosts() {
+    return new ArrayList<>(replicaHosts);
+  }
+
+  /**
+   * Sets the replica hosts that share read traffic with the primary host.
+   * @param replicaHosts List of "host", "host:port" or "[IPv6 address]:port" entries
+   */
+  public void setReplicaHosts(List<String> replicaHosts) {
+    this.replicaHosts = new ArrayList<>();
+    if (replicaHosts != null) {
+      for (String replicaHost : replicaHosts) {
+        if (replicaHost != null && !replicaHost.trim().isEmpty()) {
+          this.replicaHosts.add(replicaHost.trim());
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if this configuration describes a replicated topology.
+   * @return true if at least one replica host is configured
+   */
+  public boolean hasReplicaHosts() {
+    return !replicaHosts.isEmpty();
+  }
+
+  public ServerSelectionStrategy getServerSelectionStrategy() {
+    return serverSelectionStrategy;
+  }
+
+  public void setServerSelectionStrategy(ServerSelectionStrategy serverSelectionStrategy) {
+    this.serverSelectionStrategy = serverSelectionStrategy != null
+        ? serverSelectionStrategy : ServerSelectionStrategy.ROUND_ROBIN;
+  }
+
+  public LDAPConnectionPool getConnectionPool() {
+    return connectionPool;
   }
 
-  public void setConnection(LDAPConnection connection) {
-    this.connection = connection;
+  public void setConnectionPool(LDAPConnectionPool connectionPool) {
+    this.connectionPool = connectionPool;
   }
 
   @Override
@@ -2,6 +2,7 @@ package com.ldapweb.ldapbrowser.model;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Search result entry that includes information about which environment the
@@ -60,4 +61,21 @@ public class SearchResultEntry {
     }
     return "Unknown Environment";
   }
-}
\ No newline at end of file
+
+  // Rows are re-read from the result store as the grid scrolls, so identity
+  // is by entry and environment rather than by instance
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null || getClass() != obj.getClass())
+      return false;
+    SearchResultEntry that = (SearchResultEntry) obj;
+    return Objects.equals(entry, that.entry) && Objects.equals(environment, that.environment);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(entry, environment);
+  }
+}
@@ -0,0 +1,253 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.Registration;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Shared executor for UI background work such as LDAP calls started from a
+ * view. Tasks run off the request thread, at most a fixed number at a time
+ * per user session, and are cancelled when the component that started them is
+ * detached.
+ *
+ * On a Java 21+ runtime each task gets its own virtual thread; on older
+ * runtimes a bounded pool of daemon platform threads is used instead.
+ */
+@Service
+public class BackgroundTaskService {
+
+  private final LoggingService loggingService;
+  private final ExecutorService executor;
+  private final ExecutorService branchExecutor; // Forked branches; never waits behind the tasks that fork them
+  private final ScheduledExecutorService scheduler;
+  private final int perSessionLimit;
+  private final int speculativePerSession;
+  private final long batchIntervalMillis;
+  private final Map<VaadinSession, SessionTaskLimiter> sessionLimiters =
+      Collections.synchronizedMap(new WeakHashMap<>());
+  private final Map<VaadinSession, AtomicInteger> speculativeCounts =
+      Collections.synchronizedMap(new WeakHashMap<>()); // Speculative tasks in flight per session
+
+  public BackgroundTaskService(LoggingService loggingService,
+      @Value("${ui.tasks.max-threads:32}") int maxThreads,
+      @Value("${ui.tasks.max-branch-threads:32}") int maxBranchThreads,
+      @Value("${ui.tasks.per-session-limit:4}") int perSessionLimit,
+      @Value("${ui.tasks.speculative-per-session:2}") int speculativePerSession,
+      @Value("${ui.tasks.batch-interval:200}") long batchIntervalMillis) {
+    this.loggingService = loggingService;
+    this.executor = createExecutor(Math.max(1, maxThreads), "ui-task-", "Background tasks");
+    this.branchExecutor = createExecutor(Math.max(1, maxBranchThreads), "ui-branch-", "Forked branches");
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("ui-batch-"));
+    this.perSessionLimit = Math.max(1, perSessionLimit);
+    // Leave at least one slot for work the user is waiting on
+    this.speculativePerSession = Math.max(0, Math.min(speculativePerSession, this.perSessionLimit - 1));
+    this.batchIntervalMillis = batchIntervalMillis;
+  }
+
+  /**
+   * Look up the service from a Vaadin component tree that was not built by
+   * Spring
+   */
+  public static BackgroundTaskService get(UI ui) {
+    return ui.getSession().getService().getInstantiator().getOrCreate(BackgroundTaskService.class);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    branchExecutor.shutdownNow();
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Run work in the background on behalf of a component. The work receives a
+   * token that is cancelled when the component is detached; it should post its
+   * results back with {@link UI#access} or a {@link UiUpdateBatcher}.
+   */
+  public CancellationToken submit(Component owner, Consumer<CancellationToken> work) {
+    UI ui = owner.getUI().orElseGet(UI::getCurrent);
+    if (ui == null) {
+      throw new IllegalStateException("Background work must be started from an attached component");
+    }
+
+    CancellationToken token = new CancellationToken();
+    Registration detachRegistration = owner.addDetachListener(event -> token.cancel());
+    SessionTaskLimiter limiter = sessionLimiters.computeIfAbsent(ui.getSession(),
+        session -> new SessionTaskLimiter(perSessionLimit));
+
+    limiter.submit(executor, () -> {
+      try {
+        if (!token.isCancelled()) {
+          work.accept(token);
+        }
+      } catch (CancellationException ignored) {
+        // Cancelled work simply stops
+      } catch (RuntimeException e) {
+        loggingService.logError("TASK", "Background task failed", e.getMessage());
+      } finally {
+        accessQuietly(ui, detachRegistration::remove);
+      }
+    });
+    return token;
+  }
+
+  /**
+   * Run speculative work, such as prefetching, only if the session has budget
+   * for it. Returns null when it does not; the work is then simply skipped,
+   * since nobody is waiting for it.
+   */
+  public CancellationToken submitSpeculative(Component owner, Consumer<CancellationToken> work) {
+    UI ui = owner.getUI().orElseGet(UI::getCurrent);
+    if (ui == null || speculativePerSession == 0) {
+      return null;
+    }
+    AtomicInteger inFlight = speculativeCounts.computeIfAbsent(ui.getSession(), session -> new AtomicInteger());
+    if (inFlight.incrementAndGet() > speculativePerSession) {
+      inFlight.decrementAndGet();
+      return null;
+    }
+
+    // Released once, whether the work finishes, fails or is cancelled before it starts
+    AtomicBoolean released = new AtomicBoolean();
+    Runnable release = () -> {
+      if (released.compareAndSet(false, true)) {
+        inFlight.decrementAndGet();
+      }
+    };
+    CancellationToken token = submit(owner, speculativeToken -> {
+      try {
+        work.accept(speculativeToken);
+      } finally {
+        release.run();
+      }
+    });
+    token.onCancel(release);
+    return token;
+  }
+
+  /**
+   * Run one branch of work fanned out by a background task, e.g. one server of
+   * a multi-server search. Branches run on their own executor, outside the
+   * session's task limit, so the task that forks them must bound how many run
+   * at once. A forking task may block waiting for its branches: with every
+   * task thread held by such a waiting task, the branches still start.
+   */
+  public <T> CompletableFuture<T> fork(Callable<T> branch) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    branchExecutor.execute(() -> {
+      try {
+        future.complete(branch.call());
+      } catch (Exception e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Create a batcher that pushes updates to the given UI at most once per
+   * configured interval
+   */
+  public UiUpdateBatcher createBatcher(UI ui) {
+    return new UiUpdateBatcher(ui, scheduler, batchIntervalMillis);
+  }
+
+  private static void accessQuietly(UI ui, Runnable command) {
+    try {
+      ui.access(command::run);
+    } catch (UIDetachedException ignored) {
+      // Nothing to clean up once the UI is gone
+    }
+  }
+
+  private ExecutorService createExecutor(int maxThreads, String threadPrefix, String description) {
+    try {
+      // Java 21+: blocking LDAP I/O parks a virtual thread instead of holding a platform thread
+      ExecutorService virtual = (ExecutorService) Executors.class
+          .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      loggingService.logInfo("TASK", description + " run on virtual threads");
+      return virtual;
+    } catch (ReflectiveOperationException e) {
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(), daemonThreads(threadPrefix));
+      pool.allowCoreThreadTimeOut(true);
+      loggingService.logInfo("TASK", description + " run on up to " + maxThreads + " pooled threads");
+      return pool;
+    }
+  }
+
+  private static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Keeps one session from occupying the whole executor: tasks beyond the limit
+   * wait in a queue instead of holding threads
+   */
+  private static class SessionTaskLimiter {
+    private final int limit;
+    private final Deque<Runnable> waiting = new ArrayDeque<>();
+    private int running;
+
+    SessionTaskLimiter(int limit) {
+      this.limit = limit;
+    }
+
+    synchronized void submit(Executor executor, Runnable task) {
+      if (running < limit) {
+        running++;
+        executor.execute(() -> runThenNext(executor, task));
+      } else {
+        waiting.add(task);
+      }
+    }
+
+    private void runThenNext(Executor executor, Runnable task) {
+      try {
+        task.run();
+      } finally {
+        Runnable next;
+        synchronized (this) {
+          next = waiting.poll();
+          if (next == null) {
+            running--;
+          }
+        }
+        if (next != null) {
+          Runnable queued = next;
+          executor.execute(() -> runThenNext(executor, queued));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.ldapweb.ldapbrowser.service;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cooperative cancellation flag handed to background tasks. Long-running work
+ * checks it between steps, and blocking operations register a callback (for
+ * example an LDAP abandon) so cancelling takes effect without waiting for them.
+ */
+public class CancellationToken {
+
+  private final List<Runnable> callbacks = new CopyOnWriteArrayList<>();
+  private volatile boolean cancelled;
+
+  /**
+   * Cancel the task; callbacks run once, on the cancelling thread
+   */
+  public void cancel() {
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+    }
+    for (Runnable callback : callbacks) {
+      runQuietly(callback);
+    }
+    callbacks.clear();
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Throw a CancellationException if the task has been cancelled
+   */
+  public void throwIfCancelled() {
+    if (cancelled) {
+      throw new CancellationException("Task cancelled");
+    }
+  }
+
+  /**
+   * Register a callback to run on cancellation; runs immediately if the token
+   * is already cancelled
+   */
+  public void onCancel(Runnable callback) {
+    synchronized (this) {
+      if (!cancelled) {
+        callbacks.add(callback);
+        return;
+      }
+    }
+    runQuietly(callback);
+  }
+
+  /**
+   * Remove a callback once the operation it guards has finished
+   */
+  public void removeOnCancel(Runnable callback) {
+    callbacks.remove(callback);
+  }
+
+  private static void runQuietly(Runnable callback) {
+    try {
+      callback.run();
+    } catch (RuntimeException ignored) {
+      // A failing callback must not stop the others
+    }
+  }
+}
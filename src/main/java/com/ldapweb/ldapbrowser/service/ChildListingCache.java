@@ -0,0 +1,131 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.unboundid.ldap.sdk.DN;
+import com.unboundid.ldap.sdk.LDAPException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Child listings of directory containers, shared by every session browsing the
+ * same server so popular containers are read from the directory once per TTL
+ * rather than once per user. Listings are keyed by server, normalized parent
+ * DN and a variant describing the page, bounded by count (least recently used
+ * first) and by age, and dropped when a write touches the parent. A listing
+ * read while a write invalidated its server is not stored, since the read may
+ * have seen the directory from before the write.
+ */
+@Service
+public class ChildListingCache {
+
+  private final long ttlMillis;
+  private final ExpiringLruMap<LdapService.BrowseResult> listings;
+  private final Map<String, Long> generations = new HashMap<>(); // Server ID -> invalidations so far
+
+  public ChildListingCache(@Value("${ldap.cache.children.max-listings:2000}") int maxListings,
+      @Value("${ldap.cache.children.ttl:30000}") long ttlMillis) {
+    this.ttlMillis = ttlMillis;
+    this.listings = new ExpiringLruMap<>(maxListings, ttlMillis);
+  }
+
+  /**
+   * Whether listings are cached at all; a TTL of zero turns the cache off
+   */
+  public boolean isEnabled() {
+    return ttlMillis > 0;
+  }
+
+  /**
+   * Get a cached listing, or null if there is none or it has expired. The
+   * value is shared; callers must copy it before handing it out.
+   */
+  public synchronized LdapService.BrowseResult get(String serverId, String parentDn, String variant) {
+    if (!isEnabled()) {
+      return null;
+    }
+    return listings.get(key(serverId, parentDn, variant));
+  }
+
+  /**
+   * Invalidation generation of a server's listings, taken before reading a
+   * listing and handed back to {@link #put}
+   */
+  public synchronized long generation(String serverId) {
+    return generations.getOrDefault(serverId, 0L);
+  }
+
+  /**
+   * Store a listing read after {@link #generation} returned the given value;
+   * skipped when listings of the server were invalidated in the meantime
+   */
+  public synchronized void put(String serverId, String parentDn, String variant, LdapService.BrowseResult result,
+      long generation) {
+    if (!isEnabled() || generation != generation(serverId)) {
+      return;
+    }
+    listings.put(key(serverId, parentDn, variant), result);
+  }
+
+  /**
+   * Drop every page of a container's listing
+   */
+  public synchronized void invalidate(String serverId, String parentDn) {
+    String prefix = serverId + "|" + normalize(parentDn) + "|";
+    listings.removeKeysIf(key -> key.startsWith(prefix));
+    generations.merge(serverId, 1L, Long::sum);
+  }
+
+  /**
+   * Drop the listings a write to an entry makes stale: its parent's, which
+   * shows the entry, and when a child was added or removed also its
+   * grandparent's, which shows the parent's child count
+   */
+  public void invalidateEntry(String serverId, String dn, boolean childrenChanged) {
+    String parentDn = parentOf(dn);
+    if (parentDn == null) {
+      return;
+    }
+    invalidate(serverId, parentDn);
+    if (childrenChanged) {
+      String grandparentDn = parentOf(parentDn);
+      if (grandparentDn != null) {
+        invalidate(serverId, grandparentDn);
+      }
+    }
+  }
+
+  /**
+   * Drop everything held for a server, e.g. when its connections are replaced
+   */
+  public synchronized void invalidateServer(String serverId) {
+    String prefix = serverId + "|";
+    listings.removeKeysIf(key -> key.startsWith(prefix));
+    generations.merge(serverId, 1L, Long::sum);
+  }
+
+  public synchronized int size() {
+    return listings.size();
+  }
+
+  private static String key(String serverId, String parentDn, String variant) {
+    return serverId + "|" + normalize(parentDn) + "|" + variant;
+  }
+
+  private static String normalize(String dn) {
+    try {
+      return DN.normalize(dn);
+    } catch (LDAPException e) {
+      return dn.trim().toLowerCase();
+    }
+  }
+
+  private static String parentOf(String dn) {
+    try {
+      return DN.getParentString(dn);
+    } catch (LDAPException e) {
+      return null;
+    }
+  }
+}
@@ -1,4 +1,4 @@
-package com.ldapweb.ldapbrowser.ui.components;
+package com.ldapweb.ldapbrowser.service;
 
 /**
  * Interface for components that need to be notified when internal server
@@ -0,0 +1,83 @@
+package com.ldapweb.ldapbrowser.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * String-keyed map bounded by entry count, evicting the least recently used
+ * entry first, and by the age of each entry. Not thread-safe; the owning
+ * store synchronizes access.
+ */
+class ExpiringLruMap<V> {
+
+  private final int maxEntries;
+  private final long ttlMillis; // 0 for no age limit
+  private final LinkedHashMap<String, Stored<V>> entries = new LinkedHashMap<>(16, 0.75f, true); // Access order for LRU
+
+  ExpiringLruMap(int maxEntries, long ttlMillis) {
+    this.maxEntries = Math.max(1, maxEntries);
+    this.ttlMillis = ttlMillis;
+  }
+
+  /**
+   * Get a value, or null if there is none or it has expired
+   */
+  V get(String key) {
+    Stored<V> stored = entries.get(key);
+    if (stored == null) {
+      return null;
+    }
+    if (isExpired(stored, System.currentTimeMillis())) {
+      entries.remove(key);
+      return null;
+    }
+    return stored.value;
+  }
+
+  /**
+   * Store a value, then drop the entries over the count limit and the expired
+   * ones among the least recently used
+   */
+  void put(String key, V value) {
+    long now = System.currentTimeMillis();
+    entries.put(key, new Stored<>(value, now));
+    Iterator<Map.Entry<String, Stored<V>>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Stored<V>> eldest = iterator.next();
+      // Iteration runs from least to most recently used
+      if (entries.size() > maxEntries || isExpired(eldest.getValue(), now)) {
+        iterator.remove();
+      } else {
+        break;
+      }
+    }
+  }
+
+  void remove(String key) {
+    entries.remove(key);
+  }
+
+  void removeKeysIf(Predicate<String> filter) {
+    entries.keySet().removeIf(filter);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private boolean isExpired(Stored<V> stored, long now) {
+    return ttlMillis > 0 && now - stored.storedAt > ttlMillis;
+  }
+
+  private static class Stored<V> {
+    private final V value;
+    private final long storedAt;
+
+    Stored(V value, long storedAt) {
+      this.value = value;
+      this.storedAt = storedAt;
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.LDAPRuntimeException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Iterator over the entries of a running search, backed by a small bounded
+ * queue. When the caller iterates slower than the server sends, the queue
+ * fills up and the connection stops reading, so memory use stays proportional
+ * to the queue capacity rather than the size of the result set.
+ *
+ * The stream holds a pooled connection until it is exhausted or closed; always
+ * use it in a try-with-resources block. Search failures surface from
+ * {@link #hasNext()} as {@link LDAPRuntimeException}.
+ */
+public class LdapSearchStream<T> implements Iterator<T>, AutoCloseable {
+
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final LDAPConnectionPool pool;
+  private final Function<? super SearchResultEntry, ? extends T> transform;
+  private final BlockingQueue<SearchResultEntry> queue;
+  private final long idleTimeoutMillis;
+  private final StreamingSearchListener listener;
+  private LDAPConnection connection;
+  private AsyncRequestID requestId;
+  private LdapService.SearchStreamResult result;
+  private T next;
+  private volatile boolean closed;
+
+  LdapSearchStream(LDAPConnectionPool pool, Function<? super SearchResultEntry, ? extends T> transform,
+      int capacity, long idleTimeoutMillis) {
+    this.pool = pool;
+    this.transform = transform;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.listener = new StreamingSearchListener(this::enqueue);
+  }
+
+  StreamingSearchListener getListener() {
+    return listener;
+  }
+
+  /**
+   * Attach the checked-out connection and request ID once the search is sent
+   */
+  void started(LDAPConnection connection, AsyncRequestID requestId) {
+    this.connection = connection;
+    this.requestId = requestId;
+  }
+
+  private void enqueue(SearchResultEntry entry) {
+    try {
+      // Blocking here is what pushes back on the server
+      while (!closed) {
+        if (queue.offer(entry, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null) {
+      if (closed) {
+        return false;
+      }
+      SearchResultEntry entry;
+      try {
+        entry = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        fail(new LDAPException(ResultCode.USER_CANCELED, "Search interrupted", e));
+        return false;
+      }
+
+      if (entry != null) {
+        next = transform.apply(entry);
+      } else if (listener.isDone() && queue.isEmpty()) {
+        finish();
+        return false;
+      } else if (listener.isIdleTimedOut(idleTimeoutMillis)) {
+        fail(new LDAPException(ResultCode.TIMEOUT,
+            "No response from server for " + idleTimeoutMillis + " ms"));
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T value = next;
+    next = null;
+    return value;
+  }
+
+  /**
+   * Get the outcome of the search; only available once the stream is exhausted
+   */
+  public LdapService.SearchStreamResult getResult() {
+    return result;
+  }
+
+  private void finish() {
+    try {
+      SearchResult searchResult = listener.await(connection, requestId, idleTimeoutMillis);
+      result = LdapService.SearchStreamResult.from(searchResult, listener.getEntryCount());
+      release(null);
+      LdapService.checkStreamResult(searchResult);
+    } catch (LDAPException e) {
+      throw new LDAPRuntimeException(e);
+    }
+  }
+
+  private void fail(LDAPException e) {
+    listener.abandon(connection, requestId);
+    release(e);
+    throw new LDAPRuntimeException(e);
+  }
+
+  private void release(LDAPException failure) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    queue.clear();
+    if (failure != null) {
+      pool.releaseConnectionAfterException(connection, failure);
+    } else {
+      pool.releaseConnection(connection);
+    }
+  }
+
+  /**
+   * Abandon the search if it is still running and return the connection to
+   * the pool
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    listener.abandon(connection, requestId);
+    release(null);
+  }
+}
@@ -1,16 +1,25 @@
 package com.ldapweb.ldapbrowser.service;
 
 import com.unboundid.ldap.sdk.AddRequest;
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.AsyncResultListener;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
 import com.unboundid.ldap.sdk.Attribute;
 import com.unboundid.ldap.sdk.BindRequest;
 import com.unboundid.ldap.sdk.BindResult;
 import com.unboundid.ldap.sdk.Control;
 import com.unboundid.ldap.sdk.DeleteRequest;
 import com.unboundid.ldap.sdk.Entry;
-import com.unboundid.ldap.sdk.ExtendedResult;
+import com.unboundid.ldap.sdk.FailoverServerSet;
+import com.unboundid.ldap.sdk.FastestConnectServerSet;
+import com.unboundid.ldap.sdk.FewestConnectionsServerSet;
 import com.unboundid.ldap.sdk.Filter;
+import com.unboundid.ldap.sdk.GetEntryLDAPConnectionPoolHealthCheck;
 import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPConnectionOptions;
+import com.unboundid.ldap.sdk.LDAPConnectionPool;
 import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.LDAPInterface;
 import com.unboundid.ldap.sdk.LDAPSearchException;
 import com.unboundid.ldap.sdk.Modification;
 import com.unboundid.ldap.sdk.ModificationType;
@@ -18,30 +27,57 @@ import com.unboundid.ldap.sdk.ModifyRequest;
 import com.unboundid.ldap.sdk.SearchRequest;
 import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultReference;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.unboundid.ldap.sdk.ServerSet;
 import com.unboundid.ldap.sdk.SimpleBindRequest;
-import com.unboundid.ldap.sdk.BindRequest;
-import com.unboundid.ldap.sdk.BindResult;
+import com.unboundid.ldap.sdk.SingleServerSet;
+import com.unboundid.ldap.sdk.StartTLSPostConnectProcessor;
+import com.unboundid.ldap.sdk.PostConnectProcessor;
 import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.RoundRobinServerSet;
+import com.unboundid.ldap.sdk.controls.ServerSideSortRequestControl;
 import com.unboundid.ldap.sdk.controls.SimplePagedResultsControl;
-import com.unboundid.ldap.sdk.extensions.StartTLSExtendedRequest;
+import com.unboundid.ldap.sdk.controls.SortKey;
+import com.unboundid.ldap.sdk.controls.VirtualListViewRequestControl;
+import com.unboundid.ldap.sdk.controls.VirtualListViewResponseControl;
 import com.unboundid.ldap.sdk.schema.Schema;
 import com.unboundid.util.ssl.SSLUtil;
 import com.unboundid.util.ssl.TrustAllTrustManager;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
 import com.unboundid.asn1.ASN1OctetString;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+import javax.net.SocketFactory;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocketFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -50,15 +86,132 @@ import java.util.stream.Collectors;
 @Service
 public class LdapService {
 
-  private final Map<String, LDAPConnection> connections = new HashMap<>();
-  private final Map<String, String> inMemoryPasswords = new HashMap<>(); // Store session passwords for prompt-enabled servers
-  private final Map<String, byte[]> pagingCookies = new HashMap<>(); // Store paging cookies for LDAP paged search
-  private final Map<String, Integer> currentPages = new HashMap<>(); // Track current page for each search context
+  private static final int STREAM_QUEUE_CAPACITY = 256; // Entries buffered ahead of a pull-style stream reader
+  private static final long CLIENT_TIME_LIMIT_GRACE_MILLIS = 5000; // Lets the server report its own time limit first
+  // Operational attributes servers use to report immediate children: hasSubordinates (OpenLDAP, 389 DS,
+  // OpenDJ/PingDirectory), numSubordinates (389 DS, OpenDJ/PingDirectory) and the Active Directory estimate
+  private static final String[] CHILD_COUNT_ATTRIBUTES = {"numSubordinates", "msDS-Approx-Immed-Subordinates"};
+  private static final String HAS_SUBORDINATES_ATTRIBUTE = "hasSubordinates";
+  private static final String[] BROWSE_ATTRIBUTES = {
+      "objectClass", "cn", "ou", "dc", "hasSubordinates", "numSubordinates", "msDS-Approx-Immed-Subordinates"};
+
+  private final Map<String, LDAPConnectionPool> connectionPools = new ConcurrentHashMap<>(); // Read pools, spread across replicas
+  private final Map<String, LDAPConnectionPool> writeConnectionPools = new ConcurrentHashMap<>(); // Write pools, pinned with failover
+  private final Map<String, String> inMemoryPasswords = new ConcurrentHashMap<>(); // Store session passwords for prompt-enabled servers
+  private final Map<String, RootDseCapabilities> rootDseCache = new ConcurrentHashMap<>(); // Root DSE capabilities per server
+  private final Map<String, CachedSchema> schemaCache = new ConcurrentHashMap<>(); // Parsed schema per server and variant
+  private final Map<String, Object> schemaLocks = new ConcurrentHashMap<>();
+  private final Map<String, SharedAsyncConnection> asyncReadConnections = new ConcurrentHashMap<>(); // Multiplexed async reads
+  private final Map<String, SharedAsyncConnection> asyncWriteConnections = new ConcurrentHashMap<>(); // Multiplexed async writes
+  private final Map<String, LdapServerConfig> connectedConfigs = new ConcurrentHashMap<>(); // Configs of connected servers, for reconnects
+  private final Map<String, Long> lastActivity = new ConcurrentHashMap<>(); // Last time each server's pools were used
+  private final Map<String, Long> lastWrites = new ConcurrentHashMap<>(); // Last write, or read for one, per server
+  private final Map<String, Object> reconnectLocks = new ConcurrentHashMap<>();
+  private final Set<String> unreachableServers = ConcurrentHashMap.newKeySet(); // Connected servers whose last reconnect failed
+  private final Set<String> vlvUnavailableServers = ConcurrentHashMap.newKeySet(); // Servers that rejected a VLV browse
+  private final List<EnvironmentRefreshListener> connectionStateListeners = new CopyOnWriteArrayList<>();
+  private final ExecutorService asyncCompletionExecutor;
+  private final ScheduledExecutorService healthProbeExecutor;
   private final LoggingService loggingService;
+  private final PagingStateStore pagingStateStore;
+  private final ChildListingCache childListingCache;
+  private final PageSizeTuner pageSizeTuner;
+  private final int poolInitialConnections;
+  private final int poolMaxConnections;
+  private final long poolMaxConnectionAgeMillis;
+  private final long poolHealthCheckIntervalMillis;
+  private final long poolMaxWaitTimeMillis;
+  private final int connectTimeoutMillis;
+  private final long responseTimeoutMillis;
+  private final long rootDseCacheTtlMillis;
+  private final long schemaRevalidateIntervalMillis;
+  private final int pagedSearchPageSize;
+  private final int pagedSearchMaxEntries;
+  private final long healthProbeIntervalMillis;
+  private final String browseSortAttribute;
+  private final String[] browseAttributes; // Browse display attributes plus the sort attribute
+  private final Comparator<LdapEntry> browseOrder; // Client-side equivalent of the server-side browse sort
+  private final String vlvSortAttribute; // Order of virtual list view browsing; empty disables it
+  private final String[] vlvAttributes; // Browse display attributes plus the VLV sort attribute
+  private final boolean browseClientMerge; // Sort whole containers on the client when the server cannot
+  private final String searchSortAttribute;
+  private final int searchTimeLimitSeconds; // Default server time limit for searches that set none
+  private final long readYourWritesWindowMillis; // How long reads go to the primary after a write
   private PasswordPromptCallback passwordPromptCallback;
 
-  public LdapService(LoggingService loggingService) {
+  public LdapService(LoggingService loggingService, PagingStateStore pagingStateStore,
+      ChildListingCache childListingCache, PageSizeTuner pageSizeTuner,
+      @Value("${ldap.pool.initial-connections:1}") int poolInitialConnections,
+      @Value("${ldap.pool.max-connections:10}") int poolMaxConnections,
+      @Value("${ldap.pool.max-connection-age:900000}") long poolMaxConnectionAgeMillis,
+      @Value("${ldap.pool.health-check-interval:60000}") long poolHealthCheckIntervalMillis,
+      @Value("${ldap.pool.max-wait-time:5000}") long poolMaxWaitTimeMillis,
+      @Value("${ldap.connection.timeout:30000}") int connectTimeoutMillis,
+      @Value("${ldap.response.timeout:60000}") long responseTimeoutMillis,
+      @Value("${ldap.cache.root-dse-ttl:300000}") long rootDseCacheTtlMillis,
+      @Value("${ldap.cache.schema-revalidate-interval:30000}") long schemaRevalidateIntervalMillis,
+      @Value("${ldap.search.page-size:500}") int pagedSearchPageSize,
+      @Value("${ldap.search.max-entries:100000}") int pagedSearchMaxEntries,
+      @Value("${ldap.async.completion-threads:4}") int asyncCompletionThreads,
+      @Value("${ldap.health.probe-interval:60000}") long healthProbeIntervalMillis,
+      @Value("${ldap.browse.sort-attribute:}") String browseSortAttribute,
+      @Value("${ldap.browse.client-merge:false}") boolean browseClientMerge,
+      @Value("${ldap.browse.vlv-sort-attribute:cn}") String vlvSortAttribute,
+      @Value("${ldap.search.sort-attribute:}") String searchSortAttribute,
+      @Value("${ldap.search.time-limit:300}") int searchTimeLimitSeconds,
+      @Value("${ldap.replica.read-your-writes-window:10000}") long readYourWritesWindowMillis) {
     this.loggingService = loggingService;
+    this.pagingStateStore = pagingStateStore;
+    this.childListingCache = childListingCache;
+    this.pageSizeTuner = pageSizeTuner;
+    this.poolInitialConnections = Math.max(1, poolInitialConnections);
+    this.poolMaxConnections = Math.max(this.poolInitialConnections, poolMaxConnections);
+    this.poolMaxConnectionAgeMillis = poolMaxConnectionAgeMillis;
+    this.poolHealthCheckIntervalMillis = poolHealthCheckIntervalMillis;
+    this.poolMaxWaitTimeMillis = poolMaxWaitTimeMillis;
+    this.connectTimeoutMillis = connectTimeoutMillis;
+    this.responseTimeoutMillis = responseTimeoutMillis;
+    this.rootDseCacheTtlMillis = rootDseCacheTtlMillis;
+    this.schemaRevalidateIntervalMillis = schemaRevalidateIntervalMillis;
+    this.pagedSearchPageSize = Math.max(1, pagedSearchPageSize);
+    this.pagedSearchMaxEntries = pagedSearchMaxEntries > 0 ? pagedSearchMaxEntries : Integer.MAX_VALUE;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.asyncCompletionExecutor = Executors.newFixedThreadPool(Math.max(1, asyncCompletionThreads), runnable -> {
+      Thread thread = new Thread(runnable, "ldap-async-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.healthProbeIntervalMillis = healthProbeIntervalMillis;
+    this.browseSortAttribute = browseSortAttribute != null ? browseSortAttribute.trim() : "";
+    this.browseAttributes = withSortAttribute(BROWSE_ATTRIBUTES, this.browseSortAttribute);
+    this.browseOrder = sortOrder(this.browseSortAttribute);
+    this.browseClientMerge = browseClientMerge;
+    this.vlvSortAttribute = vlvSortAttribute != null ? vlvSortAttribute.trim() : "";
+    this.vlvAttributes = withSortAttribute(BROWSE_ATTRIBUTES, this.vlvSortAttribute);
+    this.searchSortAttribute = searchSortAttribute != null ? searchSortAttribute.trim() : "";
+    this.searchTimeLimitSeconds = Math.max(0, searchTimeLimitSeconds);
+    this.readYourWritesWindowMillis = Math.max(0, readYourWritesWindowMillis);
+    this.healthProbeExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "ldap-health-probe");
+      thread.setDaemon(true);
+      return thread;
+    });
+    if (healthProbeIntervalMillis > 0) {
+      healthProbeExecutor.scheduleWithFixedDelay(this::probeConnections, healthProbeIntervalMillis,
+          healthProbeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Close all connection pools when the application shuts down
+   */
+  @PreDestroy
+  public void closeAllConnections() {
+    for (String serverId : List.copyOf(connectionPools.keySet())) {
+      closeConnectionPools(connectionPools.remove(serverId), writeConnectionPools.remove(serverId));
+    }
+    asyncCompletionExecutor.shutdownNow();
+    healthProbeExecutor.shutdownNow();
   }
 
   /**
@@ -74,8 +227,9 @@ public class LdapService {
    */
   public boolean testConnection(LdapServerConfig config) {
     try {
-      LDAPConnection connection = createConnection(config);
-      connection.close();
+      LDAPConnectionPool pool = createConnectionPool(config, createBindRequest(config), 1, 1,
+          createWriteServerSet(config));
+      pool.close();
       return true;
     } catch (Exception e) {
       return false;
@@ -92,13 +246,21 @@ public class LdapService {
    */
   public TestBindResult testBind(String serverId, String bindDn, String password) {
     try {
-      LDAPConnection connection = getConnection(serverId);
-      
-      // Create a temporary connection for testing the bind
-      String host = connection.getConnectedAddress();
-      int port = connection.getConnectedPort();
-      boolean useSSL = connection.getSSLSession() != null;
-      
+      LDAPConnectionPool pool = getConnection(serverId);
+
+      // Borrow a pooled connection only to learn where and how the server is reached
+      LDAPConnection pooledConnection = pool.getConnection();
+      String host;
+      int port;
+      boolean useSSL;
+      try {
+        host = pooledConnection.getConnectedAddress();
+        port = pooledConnection.getConnectedPort();
+        useSSL = pooledConnection.getSSLSession() != null;
+      } finally {
+        pool.releaseConnection(pooledConnection);
+      }
+
       // Create a temporary connection with the test credentials
       LDAPConnection testConnection = null;
       try {
@@ -173,9 +335,7 @@ public class LdapService {
             "Password required for authentication. Use connectAsync for servers with password prompting enabled.");
       }
       
-      LDAPConnection connection = createConnection(config);
-      connections.put(config.getId(), connection);
-      config.setConnection(connection);
+      registerConnectionPools(config, createBindRequest(config));
       loggingService.logConnection(config.getName(), "Successfully connected");
     } catch (LDAPException e) {
       loggingService.logConnectionError(config.getName(), "Connection failed", e.getMessage());
@@ -237,9 +397,7 @@ public class LdapService {
 
   private void connectWithPassword(LdapServerConfig config, String password, Runnable onSuccess, Consumer<String> onError) {
     try {
-      LDAPConnection connection = createConnectionWithPassword(config, password);
-      connections.put(config.getId(), connection);
-      config.setConnection(connection);
+      registerConnectionPools(config, createBindRequest(config, password));
       loggingService.logConnection(config.getName(), "Successfully connected");
       if (onSuccess != null) {
         onSuccess.run();
@@ -254,14 +412,28 @@ public class LdapService {
    * Disconnect from LDAP server
    */
   public void disconnect(String serverId) {
-    LDAPConnection connection = connections.remove(serverId);
+    LDAPConnectionPool pool;
+    LDAPConnectionPool writePool;
+    // Hold the reconnect lock so a concurrent reconnect cannot revive the server
+    synchronized (reconnectLock(serverId)) {
+      connectedConfigs.remove(serverId);
+      lastActivity.remove(serverId);
+      unreachableServers.remove(serverId);
+      pool = connectionPools.remove(serverId);
+      writePool = writeConnectionPools.remove(serverId);
+    }
     // Also remove any in-memory password for this server
     inMemoryPasswords.remove(serverId);
-    if (connection != null && connection.isConnected()) {
+    invalidateRootDseCache(serverId);
+    childListingCache.invalidateServer(serverId);
+    pageSizeTuner.reset(serverId);
+    if (pool != null && !pool.isClosed()) {
       // Find the server name for logging
       String serverName = "Server " + serverId;
-      connection.close();
+      closeConnectionPools(pool, writePool);
       loggingService.logConnection(serverName, "Disconnected");
+    } else {
+      closeConnectionPools(pool, writePool);
     }
   }
 
@@ -269,15 +441,206 @@ public class LdapService {
    * Check if connected to a server
    */
   public boolean isConnected(String serverId) {
-    LDAPConnection connection = connections.get(serverId);
-    return connection != null && connection.isConnected();
+    LDAPConnectionPool pool = connectionPools.get(serverId);
+    return pool != null && !pool.isClosed() && !unreachableServers.contains(serverId);
+  }
+
+  /**
+   * Register a listener that is told when a connected server stops answering
+   * or recovers. Listeners are called from a background thread.
+   *
+   * @return handle that removes the listener when run
+   */
+  public Runnable addConnectionStateListener(EnvironmentRefreshListener listener) {
+    connectionStateListeners.add(listener);
+    return () -> connectionStateListeners.remove(listener);
+  }
+
+  /**
+   * Probe servers whose pools have been idle for a probe interval with a Root
+   * DSE read, and rebuild the pools of servers that no longer answer
+   */
+  private void probeConnections() {
+    long now = System.currentTimeMillis();
+    for (String serverId : List.copyOf(connectedConfigs.keySet())) {
+      Long lastUsed = lastActivity.get(serverId);
+      if (lastUsed != null && now - lastUsed < healthProbeIntervalMillis
+          && !unreachableServers.contains(serverId)) {
+        // Recently used pools have just proven themselves
+        continue;
+      }
+
+      LDAPConnectionPool pool = connectionPools.get(serverId);
+      try {
+        if (pool == null || pool.isClosed()) {
+          throw new LDAPException(ResultCode.SERVER_DOWN, "Not connected to server: " + serverId);
+        }
+        pool.getEntry("", "1.1");
+        markReachable(serverId);
+      } catch (LDAPException e) {
+        if (isConnectionFailure(e)) {
+          reconnect(serverId, pool);
+        } else {
+          // The server answered, e.g. with an access error on the Root DSE
+          markReachable(serverId);
+        }
+      } catch (RuntimeException e) {
+        loggingService.logError("CONNECTION", "Health probe failed for server " + serverId, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Rebuild the pools of a connected server with its stored credentials,
+   * including a session password entered at a prompt. Returns true when the
+   * server has working pools afterwards, possibly built by another thread.
+   */
+  private boolean reconnect(String serverId, LDAPConnectionPool failedPool) {
+    synchronized (reconnectLock(serverId)) {
+      LdapServerConfig config = connectedConfigs.get(serverId);
+      if (config == null) {
+        // Disconnected on purpose
+        return false;
+      }
+      LDAPConnectionPool current = connectionPools.get(serverId);
+      if (current != null && current != failedPool && !current.isClosed()) {
+        return true;
+      }
+
+      try {
+        registerConnectionPools(config, createBindRequest(config));
+        loggingService.logConnection(config.getName(), "Reconnected");
+        return true;
+      } catch (LDAPException e) {
+        loggingService.logConnectionError(config.getName(), "Reconnect failed", e.getMessage());
+        markUnreachable(serverId);
+        return false;
+      }
+    }
+  }
+
+  private Object reconnectLock(String serverId) {
+    return reconnectLocks.computeIfAbsent(serverId, id -> new Object());
+  }
+
+  private void markReachable(String serverId) {
+    if (unreachableServers.remove(serverId)) {
+      notifyConnectionStateListeners();
+    }
+  }
+
+  private void markUnreachable(String serverId) {
+    if (unreachableServers.add(serverId)) {
+      notifyConnectionStateListeners();
+    }
+  }
+
+  private void notifyConnectionStateListeners() {
+    for (EnvironmentRefreshListener listener : connectionStateListeners) {
+      try {
+        listener.onEnvironmentChange();
+      } catch (RuntimeException e) {
+        // A closed view must not stop the others from being told
+        loggingService.logDebug("CONNECTION", "Connection state listener failed: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Whether an operation failed because the connection or server went away,
+   * rather than with an answer from the server. A slow server is not treated as
+   * gone.
+   */
+  private static boolean isConnectionFailure(LDAPException e) {
+    ResultCode resultCode = e.getResultCode();
+    return !resultCode.isConnectionUsable() && resultCode != ResultCode.TIMEOUT;
+  }
+
+  /**
+   * Run an idempotent read, and if the connection to the server was lost,
+   * reconnect and run it once more
+   */
+  private <T> T retryReadAfterReconnect(String serverId, LdapRead<T> read) throws LDAPException {
+    LDAPConnectionPool pool = connectionPools.get(serverId);
+    try {
+      return read.execute();
+    } catch (LDAPException e) {
+      if (!isConnectionFailure(e) || !reconnect(serverId, pool)) {
+        throw e;
+      }
+      loggingService.logDebug("CONNECTION", "Retrying read on server " + serverId + " after reconnect");
+      return read.execute();
+    }
+  }
+
+  @FunctionalInterface
+  private interface LdapRead<T> {
+    T execute() throws LDAPException;
+  }
+
+  /**
+   * Create and register the read and write pools for a server, closing any pools
+   * they replace. Concurrent sessions may connect the same server at the same
+   * time; the last pools win and the displaced ones are closed so their sockets
+   * are not leaked. A server without replicas shares a single pool for both.
+   */
+  private void registerConnectionPools(LdapServerConfig config, BindRequest bindRequest) throws LDAPException {
+    LDAPConnectionPool writePool = createConnectionPool(config, bindRequest,
+        poolInitialConnections, poolMaxConnections, createWriteServerSet(config));
+    LDAPConnectionPool readPool = writePool;
+    if (config.hasReplicaHosts()) {
+      try {
+        readPool = createConnectionPool(config, bindRequest,
+            poolInitialConnections, poolMaxConnections, createReadServerSet(config));
+      } catch (LDAPException e) {
+        writePool.close();
+        throw e;
+      }
+      readPool.setConnectionPoolName(config.getName() + " (read)");
+      writePool.setConnectionPoolName(config.getName() + " (write)");
+    }
+
+    LDAPConnectionPool previousRead = connectionPools.put(config.getId(), readPool);
+    LDAPConnectionPool previousWrite = writeConnectionPools.put(config.getId(), writePool);
+    config.setConnectionPool(readPool);
+    connectedConfigs.put(config.getId(), config);
+    lastActivity.put(config.getId(), System.currentTimeMillis());
+    markReachable(config.getId());
+    closeConnectionPools(previousRead, previousWrite);
+    // A (re)connect may reach a different server build; don't trust old capabilities
+    invalidateRootDseCache(config.getId());
+    invalidateSchemaCache(config.getId());
+    // Cookies were issued by the replaced connections
+    pagingStateStore.removeServer(config.getId());
+    // The server behind the ID may have changed
+    childListingCache.invalidateServer(config.getId());
+    pageSizeTuner.reset(config.getId());
+    // The server may have been reconfigured with VLV indexes since the last attempt
+    vlvUnavailableServers.remove(config.getId());
+  }
+
+  private void closeConnectionPools(LDAPConnectionPool readPool, LDAPConnectionPool writePool) {
+    // Shared async connections stay checked out, so closing the pool alone would leak them
+    releaseAsyncConnections(asyncReadConnections, readPool);
+    releaseAsyncConnections(asyncWriteConnections, writePool);
+    if (readPool != null) {
+      readPool.close();
+    }
+    if (writePool != null && writePool != readPool) {
+      writePool.close();
+    }
   }
 
   /**
    * Browse LDAP entries under a given DN
    */
   public List<LdapEntry> browseEntries(String serverId, String baseDn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    BrowseResult cached = childListingCache.get(serverId, baseDn, "list");
+    if (cached != null) {
+      return cached.copy().getEntries();
+    }
+    long generation = childListingCache.generation(serverId);
+    LDAPConnectionPool connection = getConnection(serverId);
 
     // Optimize: Only request essential attributes for browsing
     // We need objectClass for display logic and icon determination
@@ -285,19 +648,18 @@ public class LdapService {
         baseDn,
         SearchScope.ONE,
         Filter.createPresenceFilter("objectClass"),
-        "objectClass", "cn", "ou", "dc" // Only essential attributes for display
+        browseAttributes // Essential display attributes plus child hints
     );
-    searchRequest.setSizeLimit(100); // Limit to 100 entries for performance
+    searchRequest.setSizeLimit(pageSizeTuner.pageSizeFor(serverId)); // One tuned page of entries for performance
+    boolean serverSorted = addServerSort(serverId, searchRequest, browseSortAttribute);
 
+    long started = System.nanoTime();
     SearchResult searchResult = connection.search(searchRequest);
 
     List<LdapEntry> entries = new ArrayList<>();
     for (SearchResultEntry entry : searchResult.getSearchEntries()) {
       LdapEntry ldapEntry = new LdapEntry(entry);
-      // Set hasChildren based on object classes/DN patterns to show expanders by
-      // default
-      // Actual children check will be done lazily when expander is clicked
-      ldapEntry.setHasChildren(shouldShowExpanderForEntry(ldapEntry));
+      applyChildHints(ldapEntry);
       entries.add(ldapEntry);
     }
 
@@ -306,9 +668,15 @@ public class LdapService {
       // Size limit exceeded - this is expected for large directories
     }
 
-    // Sort entries by display name
-    entries.sort(Comparator.comparing(LdapEntry::getDisplayName));
+    if (!serverSorted) {
+      entries.sort(browseOrder);
+    }
+
+    pageSizeTuner.record(serverId, entries, System.nanoTime() - started);
 
+    BrowseResult listing = new BrowseResult(entries, searchResult.getResultCode() == ResultCode.SIZE_LIMIT_EXCEEDED,
+        entries.size());
+    childListingCache.put(serverId, baseDn, "list", listing.copy(), generation);
     return entries;
   }
 
@@ -324,33 +692,296 @@ public class LdapService {
    */
   public BrowseResult browseEntriesWithMetadata(String serverId, String baseDn, int page, int pageSize)
       throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    return browseEntriesWithMetadata(serverId, baseDn, page, pageSize, null);
+  }
 
-    // Create a unique key for this search context
-    String searchKey = serverId + ":" + baseDn;
+  /**
+   * Browse LDAP entries with paging support, continuing from the cookie stored
+   * for the previous page under the given paging scope (see
+   * {@link PagingStateStore#scopeFor}). Without a scope, pages after the first
+   * are reached by paging from the start.
+   */
+  public BrowseResult browseEntriesWithMetadata(String serverId, String baseDn, int page, int pageSize,
+      String pagingScope) throws LDAPException {
+    // Listings are shared across sessions; every caller gets its own copy of the entries.
+    // Only first pages and virtual list view pages are shared: a later paged results page
+    // served from the cache would leave the caller without a cookie for the page after it
+    String variant = page + "/" + pageSize;
+    BrowseResult cached = childListingCache.get(serverId, baseDn, variant);
+    if (cached != null && (page == 0 || cached.isRandomAccess())) {
+      return cached.copy();
+    }
+    long generation = childListingCache.generation(serverId);
+    BrowseResult result = browseFromDirectory(serverId, baseDn, page, pageSize, pagingScope);
+    if (page == 0 || result.isRandomAccess()) {
+      childListingCache.put(serverId, baseDn, variant, result.copy(), generation);
+    }
+    return result;
+  }
 
-    try {
-      List<LdapEntry> allEntries = new ArrayList<>();
-      boolean hasMorePages = false;
-      boolean sizeLimitExceeded = false;
+  private BrowseResult browseFromDirectory(String serverId, String baseDn, int page, int pageSize,
+      String pagingScope) throws LDAPException {
+    LDAPConnectionPool pool = getConnection(serverId);
+
+    // Servers with virtual list view support can fetch any page in one request
+    if (isVlvBrowseAvailable(serverId)) {
+      try {
+        long started = System.nanoTime();
+        BrowseResult result = browseVlvPage(pool, baseDn, pageSize,
+            new VirtualListViewRequestControl(page * pageSize + 1, 0, pageSize - 1, 0, null));
+        pageSizeTuner.record(serverId, result.getEntries(), System.nanoTime() - started);
+        return result;
+      } catch (LDAPException e) {
+        if (isConnectionFailure(e)) {
+          throw e;
+        }
+        disableVlvBrowse(serverId, e);
+      }
+    }
+
+    boolean serverSort = isBrowseSortEnabled() && isServerSortAvailable(serverId);
+    if (isBrowseSortEnabled() && !serverSort && browseClientMerge) {
+      // Paged results alone come back in server order; only a pass over the whole
+      // container can place a page in the global order. Otherwise each page is
+      // sorted on its own
+      return browseMergedPage(serverId, baseDn, page, pageSize);
+    }
 
-      // Get current stored page and cookie for this search context
-      Integer storedPage = currentPages.get(searchKey);
-      byte[] cookie = pagingCookies.get(searchKey);
-
-      // Handle different navigation scenarios
-      if (page == 0) {
-        // First page - start fresh
-        pagingCookies.remove(searchKey);
-        currentPages.put(searchKey, 0);
-        cookie = null;
-      } else if (storedPage == null || storedPage != page - 1) {
+    byte[] cookie = null;
+    if (page > 0) {
+      PagingStateStore.PagingState state = pagingScope != null
+          ? pagingStateStore.get(pagingScope, serverId, baseDn)
+          : null;
+      if (state == null || state.getPage() != page - 1) {
         // We don't have the right cookie position - need to iterate from beginning
         // This happens when jumping to arbitrary pages or after a refresh
-        return browseEntriesWithPagingIteration(serverId, baseDn, page, pageSize);
+        return browseEntriesWithPagingIteration(serverId, baseDn, page, pageSize, pagingScope, serverSort);
+      }
+      // Sequential navigation: the stored cookie continues after the previous page
+      cookie = state.getCookie();
+    }
+
+    long pageStarted = System.nanoTime();
+    try {
+      BrowseResult result = rememberPage(pagingScope, serverId, baseDn,
+          browsePage(pool, baseDn, page, pageSize, cookie, serverSort));
+      // Only single-request pages say anything about the server's speed
+      pageSizeTuner.record(serverId, result.getEntries(), System.nanoTime() - pageStarted);
+      return result;
+    } catch (LDAPException e) {
+      if (cookie != null) {
+        // Some servers bind paging cookies to the connection that issued them, and
+        // the pool may have handed us a different one - replay on a single connection
+        return browseEntriesWithPagingIteration(serverId, baseDn, page, pageSize, pagingScope, serverSort);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Browse the page of a container that holds the first entry whose VLV sort
+   * attribute is at or after the given value, e.g. a letter to jump to. Only
+   * available when {@link BrowseResult#isRandomAccess()} is reported for the
+   * container; other servers get an UNWILLING_TO_PERFORM error.
+   */
+  public BrowseResult browseEntriesFrom(String serverId, String baseDn, String startValue, int pageSize)
+      throws LDAPException {
+    LDAPConnectionPool pool = getConnection(serverId);
+    if (!isVlvBrowseAvailable(serverId)) {
+      throw new LDAPException(ResultCode.UNWILLING_TO_PERFORM,
+          "Jumping within a container requires virtual list view support on the server");
+    }
+    try {
+      // Read a page either side of the target so the aligned page containing it is always covered
+      return browseVlvPage(pool, baseDn, pageSize,
+          new VirtualListViewRequestControl(startValue, pageSize - 1, pageSize - 1, null));
+    } catch (LDAPException e) {
+      if (!isConnectionFailure(e)) {
+        disableVlvBrowse(serverId, e);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * VLV has its own sort key, so it is used whenever the server advertises
+   * the controls, whether or not other browsing is sorted
+   */
+  private boolean isVlvBrowseAvailable(String serverId) {
+    if (vlvSortAttribute.isEmpty() || vlvUnavailableServers.contains(serverId)) {
+      return false;
+    }
+    try {
+      RootDseCapabilities capabilities = getRootDseCapabilities(serverId);
+      return capabilities.isControlSupported(VirtualListViewRequestControl.VIRTUAL_LIST_VIEW_REQUEST_OID)
+          && capabilities.isControlSupported(ServerSideSortRequestControl.SERVER_SIDE_SORT_REQUEST_OID);
+    } catch (LDAPException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Stop using VLV for a server that advertises it but refused a browse, which
+   * usually means no VLV index matches the request
+   */
+  private void disableVlvBrowse(String serverId, LDAPException e) {
+    if (vlvUnavailableServers.add(serverId)) {
+      loggingService.logInfo("BROWSE", "Virtual list view browse unavailable on server " + serverId
+          + ", using paged results: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Fetch one page of children with a virtual list view over the children
+   * sorted by the VLV sort attribute. When the view is positioned around a
+   * target rather than at a page start, the page containing the target is cut
+   * out of the returned window.
+   */
+  private BrowseResult browseVlvPage(LDAPInterface connection, String baseDn, int pageSize,
+      VirtualListViewRequestControl vlvControl) throws LDAPException {
+    SearchRequest searchRequest = new SearchRequest(
+        baseDn,
+        SearchScope.ONE,
+        Filter.createPresenceFilter("objectClass"),
+        vlvAttributes // Essential display attributes plus child hints
+    );
+    // Both controls are critical so a server that cannot honor them fails instead of returning everything
+    searchRequest.addControl(new ServerSideSortRequestControl(true, new SortKey(vlvSortAttribute)));
+    searchRequest.addControl(vlvControl);
+
+    SearchResult searchResult = connection.search(searchRequest);
+    VirtualListViewResponseControl response = VirtualListViewResponseControl.get(searchResult);
+    if (response == null) {
+      throw new LDAPException(ResultCode.UNAVAILABLE_CRITICAL_EXTENSION,
+          "Server returned no virtual list view response for " + baseDn);
+    }
+    if (response.getResultCode() != ResultCode.SUCCESS) {
+      throw new LDAPException(response.getResultCode(),
+          "Virtual list view failed for " + baseDn + ": " + response.getResultCode());
+    }
+
+    int contentCount = response.getContentCount();
+    List<SearchResultEntry> window = searchResult.getSearchEntries();
+    // Position (1-based) of the target entry and of the first entry returned
+    int targetPosition = Math.max(1, Math.min(response.getTargetPosition(), Math.max(contentCount, 1)));
+    int firstPosition = targetPosition - Math.min(vlvControl.getBeforeCount(), targetPosition - 1);
+
+    int page = (targetPosition - 1) / pageSize;
+    int from = Math.max(0, page * pageSize + 1 - firstPosition);
+    int to = Math.min(window.size(), from + pageSize);
+
+    List<LdapEntry> entries = new ArrayList<>();
+    for (SearchResultEntry entry : window.subList(Math.min(from, to), to)) {
+      LdapEntry ldapEntry = new LdapEntry(entry);
+      applyChildHints(ldapEntry);
+      entries.add(ldapEntry);
+    }
+
+    return BrowseResult.randomAccessPage(entries, contentCount, page, pageSize);
+  }
+
+  private boolean isBrowseSortEnabled() {
+    return !browseSortAttribute.isEmpty();
+  }
+
+  /**
+   * Whether every browse page of a server is cut from a pass over the whole
+   * container (see ldap.browse.client-merge), which makes a page far too
+   * expensive to read speculatively
+   */
+  public boolean isClientMergedBrowse(String serverId) {
+    return isBrowseSortEnabled() && browseClientMerge && !isServerSortAvailable(serverId);
+  }
+
+  /**
+   * Whether a server's containers are browsed by virtual list view, so any page
+   * can be read directly and the container's size is known
+   */
+  public boolean isRandomAccessBrowse(String serverId) {
+    return isVlvBrowseAvailable(serverId);
+  }
+
+  private boolean isServerSortAvailable(String serverId) {
+    try {
+      return isControlSupported(serverId, ServerSideSortRequestControl.SERVER_SIDE_SORT_REQUEST_OID);
+    } catch (LDAPException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Ask the server to sort a search by the given attribute. The control is not
+   * critical, so a server that cannot sort still answers; returns false when
+   * the results have to be ordered on the client instead.
+   */
+  private boolean addServerSort(String serverId, SearchRequest searchRequest, String sortAttribute) {
+    if (sortAttribute.isEmpty() || !isServerSortAvailable(serverId)) {
+      return false;
+    }
+    searchRequest.addControl(new ServerSideSortRequestControl(false, new SortKey(sortAttribute)));
+    return true;
+  }
+
+  /**
+   * Build one page of a container in browse sort order for a server without
+   * server-side sort. The children are streamed through a bounded heap that
+   * keeps only the entries up to the end of the requested page, so memory
+   * stays proportional to the page position rather than the container size.
+   * Every page still reads the whole container, up to the paged search cap,
+   * so this is only used when ldap.browse.client-merge is switched on.
+   */
+  private BrowseResult browseMergedPage(String serverId, String baseDn, int page, int pageSize)
+      throws LDAPException {
+    int keep = (page + 1) * pageSize;
+    // Reversed so the head is the entry to drop once the heap is over capacity
+    PriorityQueue<LdapEntry> heap = new PriorityQueue<>(browseOrder.reversed());
+    SearchRequest searchRequest = new SearchRequest(
+        baseDn,
+        SearchScope.ONE,
+        Filter.createPresenceFilter("objectClass"),
+        browseAttributes // Essential display attributes plus child hints
+    );
+    SearchStreamResult streamed = streamPagedSearch(serverId, searchRequest, LdapEntry::new, entry -> {
+      heap.add(entry);
+      if (heap.size() > keep) {
+        heap.poll();
+      }
+    });
+
+    List<LdapEntry> kept = new ArrayList<>(heap);
+    kept.sort(browseOrder);
+    List<LdapEntry> entries = new ArrayList<>(kept.subList(Math.min(page * pageSize, kept.size()), kept.size()));
+    entries.forEach(this::applyChildHints);
+
+    int total = streamed.getEntryCount();
+    return new BrowseResult(entries, streamed.isSizeLimitExceeded(), total, page, pageSize, total > keep, page > 0);
+  }
+
+  /**
+   * Store the cookie that continues after a browsed page, or forget the
+   * container once its last page has been read
+   */
+  private BrowseResult rememberPage(String pagingScope, String serverId, String baseDn, BrowseResult result) {
+    if (pagingScope != null) {
+      if (result.nextCookie != null) {
+        pagingStateStore.put(pagingScope, serverId, baseDn, result.getCurrentPage(), result.nextCookie);
+      } else {
+        pagingStateStore.remove(pagingScope, serverId, baseDn);
       }
-      // else: we have the right cookie for sequential navigation (page = storedPage +
-      // 1)
+    }
+    return result;
+  }
+
+  /**
+   * Fetch a single page of children using the simple paged results control and
+   * record the cookie for the next page
+   */
+  private BrowseResult browsePage(LDAPInterface connection, String baseDn, int page, int pageSize,
+      byte[] cookie, boolean serverSort) throws LDAPException {
+    try {
+      List<LdapEntry> allEntries = new ArrayList<>();
+      boolean hasMorePages = false;
+      boolean sizeLimitExceeded = false;
 
       // Create the paged search control
       SimplePagedResultsControl pagedControl;
@@ -365,11 +996,15 @@ public class LdapService {
           baseDn,
           SearchScope.ONE,
           Filter.createPresenceFilter("objectClass"),
-          "objectClass", "cn", "ou", "dc" // Only essential attributes for display
+          browseAttributes // Essential display attributes plus child hints
       );
 
       // Add the paged results control
       searchRequest.addControl(pagedControl);
+      if (serverSort) {
+        // Sorted before paging, so every page continues the same global order
+        searchRequest.addControl(new ServerSideSortRequestControl(false, new SortKey(browseSortAttribute)));
+      }
 
       // Don't set a size limit when using paged search controls
       // The page size in the control handles this
@@ -379,15 +1014,14 @@ public class LdapService {
       // Extract entries from this page
       for (SearchResultEntry entry : searchResult.getSearchEntries()) {
         LdapEntry ldapEntry = new LdapEntry(entry);
-        // Set hasChildren based on object classes/DN patterns to show expanders by
-        // default
-        // Actual children check will be done lazily when expander is clicked
-        ldapEntry.setHasChildren(shouldShowExpanderForEntry(ldapEntry));
+        applyChildHints(ldapEntry);
         allEntries.add(ldapEntry);
       }
 
-      // Sort entries by display name
-      allEntries.sort(Comparator.comparing(LdapEntry::getDisplayName));
+      if (!serverSort) {
+        // Unsorted browsing: order within the page only
+        allEntries.sort(browseOrder);
+      }
 
       // Check for paged results response control to get the cookie for next page
       SimplePagedResultsControl responseControl = null;
@@ -398,18 +1032,15 @@ public class LdapService {
         }
       }
 
+      byte[] nextCookie = null;
       if (responseControl != null) {
         ASN1OctetString cookieOctetString = responseControl.getCookie();
         if (cookieOctetString != null && cookieOctetString.getValueLength() > 0) {
-          // Store cookie for next page
-          byte[] nextCookie = cookieOctetString.getValue();
-          pagingCookies.put(searchKey, nextCookie);
-          currentPages.put(searchKey, page);
+          // Keep the cookie for the next page
+          nextCookie = cookieOctetString.getValue();
           hasMorePages = true;
         } else {
           // No more pages
-          pagingCookies.remove(searchKey);
-          currentPages.remove(searchKey);
           hasMorePages = false;
         }
       }
@@ -418,7 +1049,10 @@ public class LdapService {
       boolean hasPrevPage = page > 0;
       boolean hasNextPage = hasMorePages;
 
-      return new BrowseResult(allEntries, sizeLimitExceeded, -1, page, pageSize, hasNextPage, hasPrevPage);
+      BrowseResult result = new BrowseResult(allEntries, sizeLimitExceeded, -1, page, pageSize, hasNextPage,
+          hasPrevPage);
+      result.nextCookie = nextCookie;
+      return result;
 
     } catch (LDAPSearchException e) {
       // Handle size limit exceeded or other search errors
@@ -427,11 +1061,13 @@ public class LdapService {
         List<LdapEntry> partialEntries = new ArrayList<>();
         for (SearchResultEntry entry : e.getSearchEntries()) {
           LdapEntry ldapEntry = new LdapEntry(entry);
-          ldapEntry.setHasChildren(shouldShowExpanderForEntry(ldapEntry));
+          applyChildHints(ldapEntry);
           partialEntries.add(ldapEntry);
         }
 
-        partialEntries.sort(Comparator.comparing(LdapEntry::getDisplayName));
+        if (!serverSort) {
+          partialEntries.sort(browseOrder);
+        }
 
         return new BrowseResult(partialEntries, true, -1, page, pageSize, true, page > 0);
       } else {
@@ -444,28 +1080,42 @@ public class LdapService {
   /**
    * Helper method to iterate through pages when jumping to a specific page
    * This is necessary because LDAP paged search doesn't support jumping to
-   * arbitrary pages
+   * arbitrary pages. All pages are read over one checked-out pool connection so
+   * that every cookie is presented to the connection that issued it.
    */
-  private BrowseResult browseEntriesWithPagingIteration(String serverId, String baseDn, int targetPage, int pageSize)
-      throws LDAPException {
+  private BrowseResult browseEntriesWithPagingIteration(String serverId, String baseDn, int targetPage, int pageSize,
+      String pagingScope, boolean serverSort) throws LDAPException {
     // Clear any existing state and start from page 0
-    String searchKey = serverId + ":" + baseDn;
-    pagingCookies.remove(searchKey);
-    currentPages.remove(searchKey);
-
-    // Iterate through pages until we reach the target page
-    boolean hasMorePages = true;
-    BrowseResult lastResult = null;
+    if (pagingScope != null) {
+      pagingStateStore.remove(pagingScope, serverId, baseDn);
+    }
 
-    for (int currentPage = 0; currentPage <= targetPage && hasMorePages; currentPage++) {
-      lastResult = browseEntriesWithMetadata(serverId, baseDn, currentPage, pageSize);
+    LDAPConnectionPool pool = getConnection(serverId);
+    LDAPConnection connection = pool.getConnection();
+    try {
+      // Iterate through pages until we reach the target page
+      byte[] cookie = null;
+      for (int currentPage = 0; currentPage <= targetPage; currentPage++) {
+        BrowseResult lastResult = browsePage(connection, baseDn, currentPage, pageSize, cookie, serverSort);
+
+        if (currentPage == targetPage) {
+          // This is our target page
+          return rememberPage(pagingScope, serverId, baseDn, lastResult);
+        }
 
-      if (currentPage == targetPage) {
-        // This is our target page
-        return lastResult;
+        if (!lastResult.hasNextPage() || lastResult.nextCookie == null) {
+          break;
+        }
+        cookie = lastResult.nextCookie;
+      }
+    } catch (LDAPException e) {
+      pool.releaseConnectionAfterException(connection, e);
+      connection = null;
+      throw e;
+    } finally {
+      if (connection != null) {
+        pool.releaseConnection(connection);
       }
-
-      hasMorePages = lastResult.hasNextPage();
     }
 
     // If we reach here, the target page doesn't exist
@@ -473,20 +1123,24 @@ public class LdapService {
   }
 
   /**
-   * Clear all paging cookies for a specific server
+   * Clear all paging cookies for a specific server, in every session
    */
   public void clearPagingState(String serverId) {
-    pagingCookies.entrySet().removeIf(entry -> entry.getKey().startsWith(serverId + ":"));
-    currentPages.entrySet().removeIf(entry -> entry.getKey().startsWith(serverId + ":"));
+    pagingStateStore.removeServer(serverId);
   }
 
   /**
-   * Clear paging cookies for a specific search context
+   * Clear the paging cookies one view holds for a specific server
    */
-  public void clearPagingState(String serverId, String baseDn) {
-    String searchKey = serverId + ":" + baseDn;
-    pagingCookies.remove(searchKey);
-    currentPages.remove(searchKey);
+  public void clearPagingState(String pagingScope, String serverId) {
+    pagingStateStore.removeServer(pagingScope, serverId);
+  }
+
+  /**
+   * Clear the paging cookie one view holds for a specific container
+   */
+  public void clearPagingState(String pagingScope, String serverId, String baseDn) {
+    pagingStateStore.remove(pagingScope, serverId, baseDn);
   }
 
   /**
@@ -500,6 +1154,8 @@ public class LdapService {
     private final int pageSize;
     private final boolean hasNextPage;
     private final boolean hasPrevPage;
+    private byte[] nextCookie; // Paged results cookie continuing after this page
+    private boolean randomAccess; // Served by a virtual list view, so any page is one request away
 
     public BrowseResult(List<LdapEntry> entries, boolean sizeLimitExceeded, int entryCount) {
       this(entries, sizeLimitExceeded, entryCount, 0, entries.size(), false, false);
@@ -516,6 +1172,17 @@ public class LdapService {
       this.hasPrevPage = hasPrevPage;
     }
 
+    /**
+     * A page of a container whose pages can all be fetched directly, such as
+     * one served by a virtual list view holding contentCount children
+     */
+    public static BrowseResult randomAccessPage(List<LdapEntry> entries, int contentCount, int page, int pageSize) {
+      boolean hasNextPage = (long) (page + 1) * pageSize < contentCount;
+      BrowseResult result = new BrowseResult(entries, false, contentCount, page, pageSize, hasNextPage, page > 0);
+      result.randomAccess = true;
+      return result;
+    }
+
     public List<LdapEntry> getEntries() {
       return entries;
     }
@@ -549,6 +1216,38 @@ public class LdapService {
         return -1; // Unknown total
       return (int) Math.ceil((double) entryCount / pageSize);
     }
+
+    /**
+     * Whether any page of this container, or a jump by sort value, can be
+     * fetched directly
+     */
+    public boolean isRandomAccess() {
+      return randomAccess;
+    }
+
+    /**
+     * Whether the paging scope the page was read under now holds a cookie
+     * that continues after it, so the next page is one request away
+     */
+    public boolean isContinuable() {
+      return nextCookie != null;
+    }
+
+    /**
+     * Copy with entries of its own, for results shared through the listing
+     * cache. The paging cookie belongs to the reader that got it and is not
+     * copied.
+     */
+    private BrowseResult copy() {
+      List<LdapEntry> copies = new ArrayList<>(entries.size());
+      for (LdapEntry entry : entries) {
+        copies.add(new LdapEntry(entry));
+      }
+      BrowseResult copy = new BrowseResult(copies, sizeLimitExceeded, entryCount, currentPage, pageSize,
+          hasNextPage, hasPrevPage);
+      copy.randomAccess = randomAccess;
+      return copy;
+    }
   }
 
   /**
@@ -556,24 +1255,98 @@ public class LdapService {
    */
   public List<LdapEntry> searchEntries(String serverId, String baseDn, String filter, SearchScope scope)
       throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter));
+    searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
 
-    try {
-      loggingService.logDebug("SEARCH",
-          "Starting search - Server: " + serverId + ", Base: " + baseDn + ", Filter: " + filter);
+    loggingService.logDebug("SEARCH",
+        "Starting search - Server: " + serverId + ", Base: " + baseDn + ", Filter: " + filter);
+    return collectEntries(serverId, searchRequest, LdapEntry::new);
+  }
 
-      SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter));
-      searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
+  /**
+   * Search LDAP entries with specific return attributes
+   */
+  public List<LdapEntry> searchEntries(String serverId, String baseDn, String filter, SearchScope scope,
+      String... attributes) throws LDAPException {
+    String attrsList = attributes.length > 0 ? String.join(",", attributes) : "all";
+    loggingService.logDebug("SEARCH", "Starting search with attributes - Server: " + serverId + ", Base: " + baseDn
+        + ", Filter: " + filter + ", Attributes: " + attrsList);
 
-      SearchResult searchResult = connection.search(searchRequest);
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter),
+        withOperationalAttributes(attributes));
+    searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
 
-      List<LdapEntry> entries = new ArrayList<>();
-      for (SearchResultEntry entry : searchResult.getSearchEntries()) {
-        entries.add(new LdapEntry(entry));
-      }
+    return collectEntries(serverId, searchRequest, LdapEntry::new);
+  }
 
-      loggingService.logSearch("Server " + serverId, baseDn, filter, entries.size());
-      return entries;
+  /**
+   * Stream the entries matching a search to a consumer page by page, for
+   * result sets too large to collect. Retrieval is bounded only by the
+   * configured overall cap, which the result reports as a size limit.
+   * Attributes are requested exactly as given, so a caller that projects the
+   * result onto a few columns does not also receive operational attributes.
+   */
+  public SearchStreamResult streamEntries(String serverId, String baseDn, String filter, SearchScope scope,
+      CancellationToken token, Consumer<LdapEntry> consumer, String... attributes) throws LDAPException {
+    return streamEntries(serverId, baseDn, filter, scope, 0, token, consumer, attributes);
+  }
+
+  /**
+   * Stream entries as above within a time limit in seconds, which both the
+   * server and the client enforce: a server that does not answer in time has
+   * the search abandoned, and the result reports the time limit as exceeded.
+   * 0 applies the configured default.
+   */
+  public SearchStreamResult streamEntries(String serverId, String baseDn, String filter, SearchScope scope,
+      int timeLimitSeconds, CancellationToken token, Consumer<LdapEntry> consumer, String... attributes)
+      throws LDAPException {
+    loggingService.logDebug("SEARCH", "Starting streamed search - Server: " + serverId + ", Base: " + baseDn
+        + ", Filter: " + filter + ", Attributes: " + String.join(",", attributes));
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), attributes);
+    searchRequest.setTimeLimitSeconds(Math.max(0, timeLimitSeconds));
+    return collectPaged(serverId, searchRequest, LdapEntry::new, consumer, token);
+  }
+
+  /**
+   * Always ensure operational attributes are returned alongside an explicit
+   * attribute list
+   */
+  private String[] withOperationalAttributes(String[] attributes) {
+    if (attributes.length == 0) {
+      return attributes;
+    }
+    for (String attr : attributes) {
+      if ("+".equals(attr)) {
+        return attributes;
+      }
+    }
+    String[] finalAttributes = new String[attributes.length + 1];
+    System.arraycopy(attributes, 0, finalAttributes, 0, attributes.length);
+    finalAttributes[attributes.length] = "+";
+    return finalAttributes;
+  }
+
+  /**
+   * Run a search through the streaming pipeline and collect the transformed
+   * entries. Unlike {@link #streamSearch}, a size or time limit is reported as
+   * an {@link LDAPSearchException}, matching a plain synchronous search.
+   */
+  private <T> List<T> collectEntries(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform) throws LDAPException {
+    String baseDn = searchRequest.getBaseDN();
+    String filter = searchRequest.getFilter().toString();
+    List<T> results = new ArrayList<>();
+    try {
+      SearchStreamResult result = retryReadAfterReconnect(serverId, () -> {
+        // Drop anything delivered before the connection was lost
+        results.clear();
+        return streamSearch(serverId, searchRequest, transform, results::add);
+      });
+      if (result.getResultCode() != ResultCode.SUCCESS) {
+        throw new LDAPSearchException(result.getSearchResult());
+      }
+      loggingService.logSearch("Server " + serverId, baseDn, filter, results.size());
+      return results;
     } catch (LDAPException e) {
       loggingService.logSearchError("Server " + serverId, baseDn, filter, e.getMessage());
       throw e;
@@ -581,61 +1354,416 @@ public class LdapService {
   }
 
   /**
-   * Search LDAP entries with specific return attributes
+   * Outcome of a streaming search. Entries have already been delivered to the
+   * consumer, so only the counts and the final result code are kept.
    */
-  public List<LdapEntry> searchEntries(String serverId, String baseDn, String filter, SearchScope scope,
+  public static class SearchStreamResult {
+    private final SearchResult searchResult;
+    private final int entryCount;
+
+    SearchStreamResult(SearchResult searchResult, int entryCount) {
+      this.searchResult = searchResult;
+      this.entryCount = entryCount;
+    }
+
+    static SearchStreamResult from(SearchResult searchResult, int entryCount) {
+      return new SearchStreamResult(searchResult, entryCount);
+    }
+
+    public SearchResult getSearchResult() {
+      return searchResult;
+    }
+
+    public ResultCode getResultCode() {
+      return searchResult.getResultCode();
+    }
+
+    public int getEntryCount() {
+      return entryCount;
+    }
+
+    public boolean isSizeLimitExceeded() {
+      return searchResult.getResultCode() == ResultCode.SIZE_LIMIT_EXCEEDED;
+    }
+
+    public boolean isTimeLimitExceeded() {
+      return searchResult.getResultCode() == ResultCode.TIME_LIMIT_EXCEEDED;
+    }
+  }
+
+  /**
+   * Stream matching entries to a consumer as they arrive, without holding the
+   * result set in memory. The consumer runs on the connection reader thread; a
+   * slow consumer slows the server down rather than buffering entries.
+   *
+   * A size or time limit is not an error here: the entries delivered so far
+   * are valid and the limit is reported through the returned result.
+   */
+  public SearchStreamResult streamSearch(String serverId, String baseDn, String filter, SearchScope scope,
+      Consumer<? super LdapEntry> consumer, String... attributes) throws LDAPException {
+    return streamSearch(serverId, baseDn, filter, scope, LdapEntry::new, consumer, attributes);
+  }
+
+  /**
+   * Stream matching entries through a transform to a consumer. Entries for
+   * which the transform returns null are skipped.
+   */
+  public <T> SearchStreamResult streamSearch(String serverId, String baseDn, String filter, SearchScope scope,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer,
       String... attributes) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), attributes);
+    return streamSearch(serverId, searchRequest, transform, consumer);
+  }
 
+  /**
+   * Stream the results of a prepared search request. Its controls and limits
+   * are kept; any listener it carries is replaced.
+   */
+  public <T> SearchStreamResult streamSearch(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer)
+      throws LDAPException {
+    return streamSearch(serverId, searchRequest, transform, consumer, null);
+  }
+
+  /**
+   * Stream the results of a prepared search request, abandoning it on the
+   * server as soon as the token is cancelled; the search then fails with
+   * {@link ResultCode#USER_CANCELED}. The token may be null.
+   */
+  public <T> SearchStreamResult streamSearch(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer,
+      CancellationToken token) throws LDAPException {
+    LDAPConnectionPool pool = getConnection(serverId);
+    StreamingSearchListener listener = new StreamingSearchListener(entry -> {
+      T value = transform.apply(entry);
+      if (value != null) {
+        consumer.accept(value);
+      }
+    });
+    Runnable cancel = listener::cancel;
+    if (token != null) {
+      token.onCancel(cancel);
+    }
+
+    LDAPConnection connection = pool.getConnection();
     try {
-      String attrsList = attributes.length > 0 ? String.join(",", attributes) : "all";
-      loggingService.logDebug("SEARCH", "Starting search with attributes - Server: " + serverId + ", Base: " + baseDn
-          + ", Filter: " + filter + ", Attributes: " + attrsList);
-
-      // Always ensure DN is available (though it's always returned by default)
-      String[] finalAttributes = attributes;
-      if (attributes.length > 0) {
-        // Add "+" to get operational attributes if not already present
-        boolean hasOperational = false;
-        for (String attr : attributes) {
-          if ("+".equals(attr)) {
-            hasOperational = true;
-            break;
+      SearchRequest request = toStreamingRequest(searchRequest, listener);
+      long deadline = clientDeadline(request.getTimeLimitSeconds());
+      AsyncRequestID requestId = connection.asyncSearch(request);
+      SearchResult searchResult = listener.await(connection, requestId, responseTimeoutMillis, deadline);
+      // Checked before the release, so a failed result releases the connection once, in the catch
+      checkStreamResult(searchResult);
+      pool.releaseConnection(connection);
+      return SearchStreamResult.from(searchResult, listener.getEntryCount());
+    } catch (LDAPException e) {
+      pool.releaseConnectionAfterException(connection, e);
+      throw e;
+    } catch (RuntimeException e) {
+      // Failure thrown by the consumer; the search has been abandoned
+      pool.releaseConnection(connection);
+      throw e;
+    } finally {
+      if (token != null) {
+        token.removeOnCancel(cancel);
+      }
+    }
+  }
+
+  /**
+   * Stream a search over a connection the caller owns, e.g. one bound as a
+   * particular user, with the same time limits and cancellation as pooled
+   * searches. The connection is left open.
+   */
+  public SearchStreamResult streamSearch(LDAPConnection connection, SearchRequest searchRequest,
+      Consumer<? super SearchResultEntry> consumer, CancellationToken token) throws LDAPException {
+    StreamingSearchListener listener = new StreamingSearchListener(consumer::accept);
+    Runnable cancel = listener::cancel;
+    if (token != null) {
+      token.onCancel(cancel);
+    }
+    try {
+      SearchRequest request = toStreamingRequest(searchRequest, listener);
+      AsyncRequestID requestId = connection.asyncSearch(request);
+      SearchResult searchResult = listener.await(connection, requestId, responseTimeoutMillis,
+          clientDeadline(request.getTimeLimitSeconds()));
+      checkStreamResult(searchResult);
+      return SearchStreamResult.from(searchResult, listener.getEntryCount());
+    } finally {
+      if (token != null) {
+        token.removeOnCancel(cancel);
+      }
+    }
+  }
+
+  /**
+   * Search LDAP entries without the interactive 1000-entry limit, paging
+   * through the results internally. Stops at the configured overall cap.
+   */
+  public List<LdapEntry> searchAllEntries(String serverId, String baseDn, String filter, SearchScope scope,
+      String... attributes) throws LDAPException {
+    // The sort attribute must come back for a client-side merge to see it
+    String[] requested = attributes.length > 0 ? withSortAttribute(attributes, searchSortAttribute) : attributes;
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter),
+        withOperationalAttributes(requested));
+    if (!addServerSort(serverId, searchRequest, searchSortAttribute) && !searchSortAttribute.isEmpty()) {
+      // Each page arrives as its own run; sort the runs as they land and merge them once at the end
+      SortedRunMerger<LdapEntry> runs = new SortedRunMerger<>(sortOrder(searchSortAttribute), pagedSearchPageSize);
+      collectPaged(serverId, searchRequest, LdapEntry::new, runs::add);
+      return runs.merge();
+    }
+    List<LdapEntry> entries = new ArrayList<>();
+    collectPaged(serverId, searchRequest, LdapEntry::new, entries::add);
+    return entries;
+  }
+
+  /**
+   * Get the DNs of all entries matching a filter, paging through the results
+   * internally. Stops at the configured overall cap.
+   */
+  public List<String> getAllDNs(String serverId, String baseDn, String filter, SearchScope scope)
+      throws LDAPException {
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), "1.1");
+    List<String> dns = new ArrayList<>();
+    collectPaged(serverId, searchRequest, SearchResultEntry::getDN, dns::add);
+    return dns;
+  }
+
+  private <T> SearchStreamResult collectPaged(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer)
+      throws LDAPException {
+    return collectPaged(serverId, searchRequest, transform, consumer, null);
+  }
+
+  private <T> SearchStreamResult collectPaged(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer,
+      CancellationToken token) throws LDAPException {
+    String baseDn = searchRequest.getBaseDN();
+    String filter = searchRequest.getFilter().toString();
+    try {
+      SearchStreamResult result = streamPagedSearch(serverId, searchRequest, transform, consumer, token);
+      loggingService.logSearch("Server " + serverId, baseDn, filter, result.getEntryCount());
+      return result;
+    } catch (LDAPException e) {
+      loggingService.logSearchError("Server " + serverId, baseDn, filter, e.getMessage());
+      throw e;
+    }
+  }
+
+  /**
+   * Stream the results of a search one page at a time using the simple paged
+   * results control, so that result sets larger than the server's size limit
+   * can be retrieved in full. Retrieval stops once the configured overall cap,
+   * or the request's own size limit if smaller, is reached; the result then
+   * reports the size limit as exceeded.
+   *
+   * Servers that do not advertise the control get a single search limited to
+   * the cap instead.
+   */
+  public <T> SearchStreamResult streamPagedSearch(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer)
+      throws LDAPException {
+    return streamPagedSearch(serverId, searchRequest, transform, consumer, null);
+  }
+
+  /**
+   * Stream a paged search as above, abandoning the page in flight as soon as
+   * the token is cancelled. The client time limit covers the whole search,
+   * not each page. The token may be null.
+   */
+  public <T> SearchStreamResult streamPagedSearch(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform, Consumer<? super T> consumer,
+      CancellationToken token) throws LDAPException {
+    int maxEntries = searchRequest.getSizeLimit() > 0
+        ? Math.min(searchRequest.getSizeLimit(), pagedSearchMaxEntries)
+        : pagedSearchMaxEntries;
+
+    if (!isControlSupported(serverId, SimplePagedResultsControl.PAGED_RESULTS_OID)) {
+      loggingService.logDebug("SEARCH", "Paged results not supported by server " + serverId
+          + ", falling back to a size-limited search of " + maxEntries + " entries");
+      SearchRequest limited = searchRequest.duplicate();
+      limited.setSizeLimit(maxEntries == Integer.MAX_VALUE ? 0 : maxEntries);
+      return streamSearch(serverId, limited, transform, consumer, token);
+    }
+
+    // The cancel callback reaches whichever page is in flight
+    AtomicReference<StreamingSearchListener> currentPage = new AtomicReference<>();
+    Runnable cancel = () -> {
+      StreamingSearchListener listener = currentPage.get();
+      if (listener != null) {
+        listener.cancel();
+      }
+    };
+    if (token != null) {
+      token.onCancel(cancel);
+    }
+
+    LDAPConnectionPool pool = getConnection(serverId);
+    // Paging cookies may be bound to the connection that issued them
+    LDAPConnection connection = pool.getConnection();
+    try {
+      long deadline = clientDeadline(timeLimitFor(searchRequest));
+      int total = 0;
+      int pages = 0;
+      ASN1OctetString cookie = null;
+      SearchResult pageResult;
+      boolean morePages;
+      do {
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> {
+          T value = transform.apply(entry);
+          if (value != null) {
+            consumer.accept(value);
           }
+        });
+        currentPage.set(listener);
+        if (token != null && token.isCancelled()) {
+          listener.cancel();
         }
+        SearchRequest pageRequest = toStreamingRequest(searchRequest, listener);
+        pageRequest.setSizeLimit(0);
+        pageRequest.addControl(new SimplePagedResultsControl(
+            Math.min(pagedSearchPageSize, maxEntries - total), cookie, false));
+
+        AsyncRequestID requestId = connection.asyncSearch(pageRequest);
+        pageResult = listener.await(connection, requestId, responseTimeoutMillis, deadline);
+        checkStreamResult(pageResult);
+        total += listener.getEntryCount();
+        pages++;
+
+        SimplePagedResultsControl responseControl = SimplePagedResultsControl.get(pageResult);
+        cookie = responseControl != null ? responseControl.getCookie() : null;
+        morePages = cookie != null && cookie.getValueLength() > 0;
+      } while (morePages && total < maxEntries && pageResult.getResultCode() == ResultCode.SUCCESS);
+
+      if (morePages) {
+        releasePagedSearch(connection, searchRequest, cookie);
+      }
 
-        if (!hasOperational) {
-          // Create new array with operational attributes included
-          finalAttributes = new String[attributes.length + 1];
-          System.arraycopy(attributes, 0, finalAttributes, 0, attributes.length);
-          finalAttributes[attributes.length] = "+";
-        }
+      loggingService.logDebug("SEARCH", "Paged search on server " + serverId + " returned " + total
+          + " entries in " + pages + " page(s)");
+      if (morePages && pageResult.getResultCode() == ResultCode.SUCCESS) {
+        loggingService.logWarning("SEARCH", "Paged search on server " + serverId + " stopped at the cap of "
+            + maxEntries + " entries");
+        pageResult = new SearchResult(pageResult.getMessageID(), ResultCode.SIZE_LIMIT_EXCEEDED,
+            "Stopped after " + total + " entries", null, null, total, 0, null);
       }
+      // Released last, so nothing after it can fail and release the connection again
+      pool.releaseConnection(connection);
+      return SearchStreamResult.from(pageResult, total);
+    } catch (LDAPException e) {
+      pool.releaseConnectionAfterException(connection, e);
+      throw e;
+    } catch (RuntimeException e) {
+      // Failure thrown by the consumer; the current page has been abandoned
+      pool.releaseConnection(connection);
+      throw e;
+    } finally {
+      if (token != null) {
+        token.removeOnCancel(cancel);
+      }
+    }
+  }
 
-      SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), finalAttributes);
-      searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
+  /**
+   * Tell the server an unfinished paged search will not be continued, so it
+   * can discard the state held for the cookie
+   */
+  private void releasePagedSearch(LDAPConnection connection, SearchRequest searchRequest,
+      ASN1OctetString cookie) {
+    try {
+      SearchRequest release = searchRequest.duplicate();
+      release.setSizeLimit(0);
+      release.addControl(new SimplePagedResultsControl(0, cookie, false));
+      connection.search(release);
+    } catch (LDAPException e) {
+      loggingService.logDebug("SEARCH", "Failed to release paged search state: " + e.getMessage());
+    }
+  }
 
-      SearchResult searchResult = connection.search(searchRequest);
+  /**
+   * Open a pull-style stream over the results of a search. The returned
+   * iterator holds a pooled connection and must be closed.
+   */
+  public <T> LdapSearchStream<T> openSearchStream(String serverId, String baseDn, String filter,
+      SearchScope scope, Function<? super SearchResultEntry, ? extends T> transform, String... attributes)
+      throws LDAPException {
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), attributes);
+    return openSearchStream(serverId, searchRequest, transform);
+  }
 
-      List<LdapEntry> entries = new ArrayList<>();
-      for (SearchResultEntry entry : searchResult.getSearchEntries()) {
-        entries.add(new LdapEntry(entry));
-      }
+  /**
+   * Open a pull-style stream over the results of a prepared search request
+   */
+  public <T> LdapSearchStream<T> openSearchStream(String serverId, SearchRequest searchRequest,
+      Function<? super SearchResultEntry, ? extends T> transform) throws LDAPException {
+    LDAPConnectionPool pool = getConnection(serverId);
+    LdapSearchStream<T> stream = new LdapSearchStream<>(pool, transform, STREAM_QUEUE_CAPACITY,
+        responseTimeoutMillis);
 
-      loggingService.logSearch("Server " + serverId, baseDn, filter, entries.size());
-      return entries;
+    LDAPConnection connection = pool.getConnection();
+    try {
+      AsyncRequestID requestId = connection.asyncSearch(toStreamingRequest(searchRequest, stream.getListener()));
+      stream.started(connection, requestId);
+      return stream;
     } catch (LDAPException e) {
-      loggingService.logSearchError("Server " + serverId, baseDn, filter, e.getMessage());
+      pool.releaseConnectionAfterException(connection, e);
       throw e;
     }
   }
 
+  /**
+   * Copy a search request onto a streaming listener. The SDK response timeout
+   * would cover the whole search, so it is disabled in favour of the
+   * listener's idle timeout. Requests without a time limit get the default
+   * one, so a runaway search is stopped by the server too.
+   */
+  private SearchRequest toStreamingRequest(SearchRequest template, StreamingSearchListener listener)
+      throws LDAPException {
+    SearchRequest request = new SearchRequest(listener, template.getControls(), template.getBaseDN(),
+        template.getScope(), template.getDereferencePolicy(), template.getSizeLimit(),
+        timeLimitFor(template), template.typesOnly(), template.getFilter(),
+        template.getAttributes());
+    request.setResponseTimeoutMillis(0L);
+    return request;
+  }
+
+  private int timeLimitFor(SearchRequest request) {
+    return request.getTimeLimitSeconds() > 0 ? request.getTimeLimitSeconds() : searchTimeLimitSeconds;
+  }
+
+  /**
+   * Wall-clock time after which a search is abandoned on the client, a little
+   * after the server's own time limit would have ended it; 0 for none
+   */
+  private static long clientDeadline(int timeLimitSeconds) {
+    if (timeLimitSeconds <= 0) {
+      return 0;
+    }
+    return System.currentTimeMillis() + timeLimitSeconds * 1000L + CLIENT_TIME_LIMIT_GRACE_MILLIS;
+  }
+
+  /**
+   * Throw for a failed streaming search; size and time limits are not
+   * failures since the entries returned before them were delivered
+   */
+  static void checkStreamResult(SearchResult searchResult) throws LDAPSearchException {
+    ResultCode resultCode = searchResult.getResultCode();
+    if (resultCode != ResultCode.SUCCESS
+        && resultCode != ResultCode.SIZE_LIMIT_EXCEEDED
+        && resultCode != ResultCode.TIME_LIMIT_EXCEEDED) {
+      throw new LDAPSearchException(searchResult);
+    }
+  }
+
   /**
    * Get a specific LDAP entry by DN - returns all attributes for entry details
    * view
    */
   public LdapEntry getEntry(String serverId, String dn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    return retryReadAfterReconnect(serverId, () -> readEntry(serverId, dn));
+  }
+
+  private LdapEntry readEntry(String serverId, String dn) throws LDAPException {
+    LDAPConnectionPool connection = getConnection(serverId);
 
     // For entry details, we want ALL attributes including operational attributes
     SearchRequest searchRequest = new SearchRequest(
@@ -685,25 +1813,13 @@ public class LdapService {
    * classification.
    */
   public EntryWithSchema getEntryWithSchema(String serverId, String dn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
-
     // Fetch both entry and schema in an optimized way
     // First get the entry with all attributes
-    SearchRequest searchRequest = new SearchRequest(
-        dn,
-        SearchScope.BASE,
-        Filter.createPresenceFilter("objectClass"),
-        "*", "+" // Request all user attributes (*) and operational attributes (+)
-    );
-
-    SearchResult searchResult = connection.search(searchRequest);
-
-    if (searchResult.getEntryCount() == 0) {
+    LdapEntry ldapEntry = getEntry(serverId, dn);
+    if (ldapEntry == null) {
       return null;
     }
 
-    LdapEntry ldapEntry = new LdapEntry(searchResult.getSearchEntries().get(0));
-
     // Get schema information (may include extended info when supported)
     Schema schema = getSchema(serverId);
 
@@ -715,36 +1831,25 @@ public class LdapService {
    */
   public List<String> getDNsOnly(String serverId, String baseDn, String filter, SearchScope scope)
       throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    loggingService.logDebug("SEARCH",
+        "DN-only search - Server: " + serverId + ", Base: " + baseDn + ", Filter: " + filter);
 
-    try {
-      loggingService.logDebug("SEARCH",
-          "DN-only search - Server: " + serverId + ", Base: " + baseDn + ", Filter: " + filter);
+    // Optimize: Request no attributes, only DN (which is always returned)
+    SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), "1.1");
+    searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
 
-      // Optimize: Request no attributes, only DN (which is always returned)
-      SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter), "1.1");
-      searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
-
-      SearchResult searchResult = connection.search(searchRequest);
-
-      List<String> dns = new ArrayList<>();
-      for (SearchResultEntry entry : searchResult.getSearchEntries()) {
-        dns.add(entry.getDN());
-      }
-
-      loggingService.logSearch("Server " + serverId, baseDn, filter, dns.size());
-      return dns;
-    } catch (LDAPException e) {
-      loggingService.logSearchError("Server " + serverId, baseDn, filter, e.getMessage());
-      throw e;
-    }
+    return collectEntries(serverId, searchRequest, SearchResultEntry::getDN);
   }
 
   /**
    * Check if an entry exists by DN - no attributes returned
    */
   public boolean entryExists(String serverId, String dn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    return retryReadAfterReconnect(serverId, () -> readEntryExists(serverId, dn));
+  }
+
+  private boolean readEntryExists(String serverId, String dn) throws LDAPException {
+    LDAPConnectionPool connection = getConnection(serverId);
 
     try {
       // Optimize: Request no attributes, only check existence
@@ -769,20 +1874,27 @@ public class LdapService {
    * Get entry with minimal attributes for display purposes
    */
   public LdapEntry getEntryMinimal(String serverId, String dn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    return retryReadAfterReconnect(serverId, () -> readEntryMinimal(serverId, dn));
+  }
+
+  private LdapEntry readEntryMinimal(String serverId, String dn) throws LDAPException {
+    LDAPConnectionPool connection = getConnection(serverId);
 
     // Optimize: Only request essential attributes for display
     SearchRequest searchRequest = new SearchRequest(
         dn,
         SearchScope.BASE,
         Filter.createPresenceFilter("objectClass"),
-        "objectClass", "cn", "ou", "dc", "uid", "mail" // Essential display attributes
+        "objectClass", "cn", "ou", "dc", "uid", "mail", // Essential display attributes
+        "hasSubordinates", "numSubordinates", "msDS-Approx-Immed-Subordinates" // Child hints
     );
 
     SearchResult searchResult = connection.search(searchRequest);
 
     if (searchResult.getEntryCount() > 0) {
-      return new LdapEntry(searchResult.getSearchEntries().get(0));
+      LdapEntry entry = new LdapEntry(searchResult.getSearchEntries().get(0));
+      applyChildHints(entry);
+      return entry;
     }
 
     return null;
@@ -800,7 +1912,7 @@ public class LdapService {
    */
   public void modifyEntry(String serverId, String dn, List<Modification> modifications, List<Control> controls)
       throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       loggingService.logDebug("MODIFY",
@@ -831,6 +1943,8 @@ public class LdapService {
       }
 
       connection.modify(modifyRequest);
+      invalidateSchemaCacheIfSchemaEntry(serverId, dn);
+      afterWrite(serverId, dn, false);
       loggingService.logModification("Server " + serverId, dn, "MODIFY");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, dn, "MODIFY", e.getMessage());
@@ -842,7 +1956,7 @@ public class LdapService {
    * Add a new LDAP entry
    */
   public void addEntry(String serverId, LdapEntry entry) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       loggingService.logDebug("MODIFY", "Adding entry - Server: " + serverId + ", DN: " + entry.getDn());
@@ -864,6 +1978,7 @@ public class LdapService {
 
       AddRequest addRequest = new AddRequest(entry.getDn(), attributes);
       connection.add(addRequest);
+      afterWrite(serverId, entry.getDn(), true);
       loggingService.logModification("Server " + serverId, entry.getDn(), "ADD");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, entry.getDn(), "ADD", e.getMessage());
@@ -875,7 +1990,7 @@ public class LdapService {
    * Delete an LDAP entry
    */
   public void deleteEntry(String serverId, String dn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       loggingService.logDebug("MODIFY", "Deleting entry - Server: " + serverId + ", DN: " + dn);
@@ -887,6 +2002,7 @@ public class LdapService {
       
       DeleteRequest deleteRequest = new DeleteRequest(dn);
       connection.delete(deleteRequest);
+      afterWrite(serverId, dn, true);
       loggingService.logModification("Server " + serverId, dn, "DELETE");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, dn, "DELETE", e.getMessage());
@@ -894,6 +2010,340 @@ public class LdapService {
     }
   }
 
+  /**
+   * Search LDAP entries without blocking the caller. Like
+   * {@link #searchEntries(String, String, String, SearchScope, String...)}
+   * but sent with asyncSearch on a connection shared by all async reads for
+   * the server, so many requests can be in flight at once. The future
+   * completes on the async completion executor, never on the connection's
+   * reader thread.
+   */
+  public CompletableFuture<List<LdapEntry>> searchEntriesAsync(String serverId, String baseDn, String filter,
+      SearchScope scope, String... attributes) {
+    try {
+      SearchRequest searchRequest = new SearchRequest(baseDn, scope, Filter.create(filter),
+          withOperationalAttributes(attributes));
+      searchRequest.setSizeLimit(1000); // Limit results to prevent overwhelming UI
+      // Returned as sent, so cancelling it abandons the search
+      CompletableFuture<List<LdapEntry>> future = sendAsyncSearch(serverId, searchRequest);
+      future.whenComplete((entries, error) -> {
+        if (error == null) {
+          loggingService.logSearch("Server " + serverId, baseDn, filter, entries.size());
+        } else {
+          loggingService.logSearchError("Server " + serverId, baseDn, filter, error.getMessage());
+        }
+      });
+      return future;
+    } catch (LDAPException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Get a specific LDAP entry by DN without blocking the caller; completes with
+   * null if the entry does not exist
+   */
+  public CompletableFuture<LdapEntry> getEntryAsync(String serverId, String dn) {
+    SearchRequest searchRequest = new SearchRequest(dn, SearchScope.BASE,
+        Filter.createPresenceFilter("objectClass"), "*", "+");
+    return sendAsyncSearch(serverId, searchRequest)
+        .handle((entries, error) -> {
+          if (error == null) {
+            return entries.isEmpty() ? null : entries.get(0);
+          }
+          Throwable cause = error instanceof CompletionException && error.getCause() != null
+              ? error.getCause() : error;
+          // A base search of a missing entry fails rather than returning nothing
+          if (cause instanceof LDAPException
+              && ((LDAPException) cause).getResultCode() == ResultCode.NO_SUCH_OBJECT) {
+            return null;
+          }
+          throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+        });
+  }
+
+  /**
+   * Read an entry that is about to be modified, e.g. to build the modifications
+   * from. The read, the write and the reads after it go to the primary, so the
+   * modifications are not computed against a replica that is behind.
+   */
+  public CompletableFuture<LdapEntry> getEntryForUpdateAsync(String serverId, String dn) {
+    lastWrites.put(serverId, System.currentTimeMillis());
+    return getEntryAsync(serverId, dn);
+  }
+
+  /**
+   * Read the first children of a container without blocking the caller, in
+   * browse order, as the first page of a browse with the given page size.
+   * Many containers can be read at once over the shared async connection,
+   * e.g. when expanding a subtree level by level. On servers whose pages are
+   * merged on the client ({@link #isClientMergedBrowse}) or read by virtual
+   * list view ({@link #isRandomAccessBrowse}) a page read this way is only
+   * ordered within itself and does not report the container's size, so
+   * callers that go on to later pages read those containers with
+   * {@link #browseEntriesWithMetadata} instead. Such pages are not cached.
+   */
+  public CompletableFuture<BrowseResult> browseFirstPageAsync(String serverId, String baseDn, int pageSize) {
+    String variant = "0/" + pageSize; // Same listing as page 0 of a synchronous browse
+    BrowseResult cached = childListingCache.get(serverId, baseDn, variant);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached.copy());
+    }
+    long generation = childListingCache.generation(serverId);
+
+    SearchRequest searchRequest = new SearchRequest(baseDn, SearchScope.ONE,
+        Filter.createPresenceFilter("objectClass"),
+        browseAttributes // Essential display attributes plus child hints
+    );
+    // One entry past the page tells whether there is more; a sorted search makes it the first page
+    searchRequest.setSizeLimit(pageSize + 1);
+    boolean serverSorted = addServerSort(serverId, searchRequest, browseSortAttribute);
+
+    // Page 0 of these servers is cut from the whole container's order, which this read does not see
+    boolean partialOrder = isClientMergedBrowse(serverId) || isVlvBrowseAvailable(serverId);
+
+    return sendAsyncSearch(serverId, searchRequest, true).thenApply(found -> {
+      List<LdapEntry> entries = new ArrayList<>(found);
+      entries.forEach(this::applyChildHints);
+      // Cut before sorting, as a paged browse does, so the page holds the same entries as its page 0
+      boolean hasNextPage = entries.size() > pageSize;
+      if (hasNextPage) {
+        entries = new ArrayList<>(entries.subList(0, pageSize));
+      }
+      if (!serverSorted) {
+        entries.sort(browseOrder);
+      }
+      BrowseResult result = new BrowseResult(entries, false, entries.size(), 0, pageSize, hasNextPage, false);
+      if (!partialOrder || !hasNextPage) {
+        // Otherwise the page is only the first in order among the entries the server happened to return
+        childListingCache.put(serverId, baseDn, variant, result.copy(), generation);
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Modify an LDAP entry without blocking the caller
+   */
+  public CompletableFuture<Void> modifyEntryAsync(String serverId, String dn, List<Modification> modifications) {
+    loggingService.logDebug("MODIFY",
+        "Async modify - Server: " + serverId + ", DN: " + dn + ", Modifications: " + modifications.size());
+    return sendAsyncWrite(serverId, dn, "MODIFY",
+        (connection, listener) -> connection.asyncModify(new ModifyRequest(dn, modifications), listener))
+        .thenRun(() -> {
+          invalidateSchemaCacheIfSchemaEntry(serverId, dn);
+          afterWrite(serverId, dn, false);
+        });
+  }
+
+  /**
+   * Add a new LDAP entry without blocking the caller
+   */
+  public CompletableFuture<Void> addEntryAsync(String serverId, LdapEntry entry) {
+    loggingService.logDebug("MODIFY", "Async add - Server: " + serverId + ", DN: " + entry.getDn());
+    Collection<Attribute> attributes = entry.getAttributes().entrySet().stream()
+        .map(attr -> new Attribute(attr.getKey(), attr.getValue()))
+        .collect(Collectors.toList());
+    return sendAsyncWrite(serverId, entry.getDn(), "ADD",
+        (connection, listener) -> connection.asyncAdd(new AddRequest(entry.getDn(), attributes), listener))
+        .thenRun(() -> afterWrite(serverId, entry.getDn(), true));
+  }
+
+  /**
+   * Delete an LDAP entry without blocking the caller
+   */
+  public CompletableFuture<Void> deleteEntryAsync(String serverId, String dn) {
+    loggingService.logDebug("MODIFY", "Async delete - Server: " + serverId + ", DN: " + dn);
+    return sendAsyncWrite(serverId, dn, "DELETE",
+        (connection, listener) -> connection.asyncDelete(new DeleteRequest(dn), listener))
+        .thenRun(() -> afterWrite(serverId, dn, true));
+  }
+
+  private CompletableFuture<List<LdapEntry>> sendAsyncSearch(String serverId, SearchRequest template) {
+    return sendAsyncSearch(serverId, template, false);
+  }
+
+  /**
+   * Send a search on the shared async connection. With partialResults, a
+   * search stopped by a size limit completes with the entries returned so far
+   * instead of failing.
+   */
+  private CompletableFuture<List<LdapEntry>> sendAsyncSearch(String serverId, SearchRequest template,
+      boolean partialResults) {
+    CompletableFuture<List<LdapEntry>> future = new CompletableFuture<>();
+    LDAPConnection connection = null;
+    try {
+      connection = getAsyncConnection(serverId, false);
+      LDAPConnection sharedConnection = connection;
+      CollectingSearchListener listener = new CollectingSearchListener(asyncCompletionExecutor,
+          (searchResult, entries) -> {
+            if (searchResult.getResultCode() == ResultCode.SUCCESS
+                || (partialResults && searchResult.getResultCode() == ResultCode.SIZE_LIMIT_EXCEEDED)) {
+              future.complete(entries);
+            } else {
+              discardAsyncConnectionIfUnusable(serverId, sharedConnection, searchResult.getResultCode());
+              future.completeExceptionally(new LDAPSearchException(searchResult));
+            }
+          });
+      SearchRequest searchRequest = new SearchRequest(listener, template.getControls(), template.getBaseDN(),
+          template.getScope(), template.getDereferencePolicy(), template.getSizeLimit(),
+          timeLimitFor(template), template.typesOnly(), template.getFilter(), template.getAttributes());
+      AsyncRequestID requestId = connection.asyncSearch(searchRequest);
+      // Cancelling the returned future abandons the search, freeing the server and the shared connection
+      future.whenComplete((entries, error) -> {
+        if (future.isCancelled()) {
+          try {
+            sharedConnection.abandon(requestId);
+          } catch (LDAPException e) {
+            loggingService.logDebug("SEARCH", "Failed to abandon search: " + e.getMessage());
+          }
+        }
+      });
+    } catch (LDAPException e) {
+      if (connection != null) {
+        discardAsyncConnectionIfUnusable(serverId, connection, e.getResultCode());
+      }
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  private CompletableFuture<Void> sendAsyncWrite(String serverId, String dn, String operation,
+      AsyncWriteSender sender) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    LDAPConnection connection = null;
+    try {
+      connection = getAsyncConnection(serverId, true);
+      LDAPConnection sharedConnection = connection;
+      sender.send(connection, (requestId, result) -> asyncCompletionExecutor.execute(() -> {
+        if (result.getResultCode() == ResultCode.SUCCESS) {
+          loggingService.logModification("Server " + serverId, dn, operation);
+          future.complete(null);
+        } else {
+          discardAsyncConnectionIfUnusable(serverId, sharedConnection, result.getResultCode());
+          loggingService.logModificationError("Server " + serverId, dn, operation, result.getDiagnosticMessage());
+          future.completeExceptionally(new LDAPException(result));
+        }
+      }));
+    } catch (LDAPException e) {
+      if (connection != null) {
+        discardAsyncConnectionIfUnusable(serverId, connection, e.getResultCode());
+      }
+      loggingService.logModificationError("Server " + serverId, dn, operation, e.getMessage());
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /**
+   * Get the connection shared by async operations for a server, checking a new
+   * one out of the pool when the previous one was lost or its pool replaced
+   */
+  private LDAPConnection getAsyncConnection(String serverId, boolean write) throws LDAPException {
+    Map<String, SharedAsyncConnection> connections = write ? asyncWriteConnections : asyncReadConnections;
+    LDAPConnectionPool pool = write ? getWriteConnection(serverId) : getConnection(serverId);
+    if (!write && pool != connectionPools.get(serverId)) {
+      // Reads following a write share the primary's async connection
+      connections = asyncWriteConnections;
+    }
+    synchronized (connections) {
+      SharedAsyncConnection shared = connections.get(serverId);
+      if (shared != null && shared.pool == pool && shared.connection.isConnected()) {
+        return shared.connection;
+      }
+      if (shared != null) {
+        shared.pool.releaseDefunctConnection(shared.connection);
+      }
+      LDAPConnection connection = pool.getConnection();
+      connections.put(serverId, new SharedAsyncConnection(pool, connection));
+      return connection;
+    }
+  }
+
+  private void discardAsyncConnectionIfUnusable(String serverId, LDAPConnection connection, ResultCode resultCode) {
+    if (resultCode.isConnectionUsable()) {
+      return;
+    }
+    // Reads may have shared the write connection, so look for it in both
+    for (Map<String, SharedAsyncConnection> connections : List.of(asyncReadConnections, asyncWriteConnections)) {
+      synchronized (connections) {
+        SharedAsyncConnection shared = connections.get(serverId);
+        if (shared != null && shared.connection == connection) {
+          connections.remove(serverId);
+          shared.pool.releaseDefunctConnection(connection);
+          return;
+        }
+      }
+    }
+  }
+
+  private void releaseAsyncConnections(Map<String, SharedAsyncConnection> connections, LDAPConnectionPool pool) {
+    if (pool == null) {
+      return;
+    }
+    synchronized (connections) {
+      connections.values().removeIf(shared -> {
+        if (shared.pool != pool) {
+          return false;
+        }
+        pool.releaseConnection(shared.connection);
+        return true;
+      });
+    }
+  }
+
+  /**
+   * Sends one asynchronous write on the shared connection
+   */
+  @FunctionalInterface
+  private interface AsyncWriteSender {
+    void send(LDAPConnection connection, AsyncResultListener listener) throws LDAPException;
+  }
+
+  /**
+   * Connection checked out of a pool and kept for multiplexed async operations
+   */
+  private static class SharedAsyncConnection {
+    private final LDAPConnectionPool pool;
+    private final LDAPConnection connection;
+
+    SharedAsyncConnection(LDAPConnectionPool pool, LDAPConnection connection) {
+      this.pool = pool;
+      this.connection = connection;
+    }
+  }
+
+  /**
+   * Converts entries as they arrive so only the LdapEntry copy is kept
+   */
+  private static class CollectingSearchListener implements AsyncSearchResultListener {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<LdapEntry> entries = Collections.synchronizedList(new ArrayList<>());
+    private final transient Executor completionExecutor;
+    private final transient BiConsumer<SearchResult, List<LdapEntry>> onResult;
+
+    CollectingSearchListener(Executor completionExecutor, BiConsumer<SearchResult, List<LdapEntry>> onResult) {
+      this.completionExecutor = completionExecutor;
+      this.onResult = onResult;
+    }
+
+    @Override
+    public void searchEntryReturned(SearchResultEntry searchEntry) {
+      entries.add(new LdapEntry(searchEntry));
+    }
+
+    @Override
+    public void searchReferenceReturned(SearchResultReference searchReference) {
+      // Referrals are not followed
+    }
+
+    @Override
+    public void searchResultReceived(AsyncRequestID requestID, SearchResult searchResult) {
+      completionExecutor.execute(() -> onResult.accept(searchResult, entries));
+    }
+  }
+
   /**
    * Add a value to an attribute of an LDAP entry.
    *
@@ -935,9 +2385,49 @@ public class LdapService {
    * Get LDAP schema information with optional extended schema info control.
    * When useExtended is false, the request will not include the extended schema
    * info request control even if the server supports it.
+   *
+   * Parsed schemas are shared by all sessions. A cached schema is served as-is
+   * for a short interval; after that, the modifyTimestamp/entryCSN of the schema
+   * subentry is compared to the values seen when it was downloaded and the full
+   * schema is only fetched again when they differ.
    */
   public Schema getSchema(String serverId, boolean useExtended) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    String cacheKey = serverId + ":" + (useExtended ? "extended" : "standard");
+    CachedSchema cached = schemaCache.get(cacheKey);
+    if (cached != null && cached.isFresh(schemaRevalidateIntervalMillis)) {
+      return cached.getSchema();
+    }
+
+    // Serialize downloads per slot so concurrent clicks share one fetch
+    synchronized (schemaLocks.computeIfAbsent(cacheKey, k -> new Object())) {
+      cached = schemaCache.get(cacheKey);
+      if (cached != null && cached.isFresh(schemaRevalidateIntervalMillis)) {
+        return cached.getSchema();
+      }
+
+      if (cached != null && cached.getChangeMarker() != null) {
+        try {
+          String changeMarker = readSchemaChangeMarker(serverId);
+          if (cached.getChangeMarker().equals(changeMarker)) {
+            schemaCache.put(cacheKey, cached.revalidated());
+            return cached.getSchema();
+          }
+        } catch (LDAPException e) {
+          // Fall through to a full reload
+        }
+      }
+
+      CachedSchema loaded = loadSchema(serverId, useExtended);
+      schemaCache.put(cacheKey, loaded);
+      return loaded.getSchema();
+    }
+  }
+
+  /**
+   * Download and parse the schema subentry, remembering its change marker
+   */
+  private CachedSchema loadSchema(String serverId, boolean useExtended) throws LDAPException {
+    LDAPConnectionPool connection = getConnection(serverId);
     // Try to request extended schema info (e.g., X-Schema-file) when the server
     // supports it
     final String EXTENDED_SCHEMA_INFO_OID = "1.3.6.1.4.1.30221.2.5.12";
@@ -950,7 +2440,9 @@ public class LdapService {
             Filter.createPresenceFilter("objectClass"),
             // Request all common schema attributes
             "attributeTypes", "objectClasses", "ldapSyntaxes", "matchingRules",
-            "matchingRuleUse", "dITContentRules", "nameForms", "dITStructureRules");
+            "matchingRuleUse", "dITContentRules", "nameForms", "dITStructureRules",
+            // Change markers used to revalidate the cached copy
+            "modifyTimestamp", "entryCSN");
         try {
           if (useExtended && isControlSupported(serverId, EXTENDED_SCHEMA_INFO_OID)) {
             // Non-critical control: server may ignore if unsupported
@@ -959,28 +2451,109 @@ public class LdapService {
         } catch (Exception ignored) {
         }
 
-        SearchResult sr = connection.search(req);
-        if (sr.getEntryCount() > 0) {
-          SearchResultEntry entry = sr.getSearchEntries().get(0);
-          try {
-            // Build Schema directly from the schema subentry
-            return new Schema(entry);
-          } catch (Throwable t) {
-            // Last resort fallback below
-          }
-        }
-      }
-    } catch (LDAPException e) {
-      // Fall back to standard retrieval on error
+        SearchResult sr = connection.search(req);
+        if (sr.getEntryCount() > 0) {
+          SearchResultEntry entry = sr.getSearchEntries().get(0);
+          try {
+            // Build Schema directly from the schema subentry
+            return new CachedSchema(new Schema(entry), getSchemaChangeMarker(entry));
+          } catch (Throwable t) {
+            // Last resort fallback below
+          }
+        }
+      }
+    } catch (LDAPException e) {
+      // Fall back to standard retrieval on error
+    }
+    // Without a change marker this copy is reloaded once the revalidation interval passes
+    return new CachedSchema(connection.getSchema(), null);
+  }
+
+  /**
+   * Read only the change markers of the schema subentry
+   */
+  private String readSchemaChangeMarker(String serverId) throws LDAPException {
+    LDAPConnectionPool connection = getConnection(serverId);
+    SearchRequest req = new SearchRequest(
+        getSchemaSubentryDN(serverId),
+        SearchScope.BASE,
+        Filter.createPresenceFilter("objectClass"),
+        "modifyTimestamp", "entryCSN");
+    SearchResult sr = connection.search(req);
+    if (sr.getEntryCount() == 0) {
+      return null;
+    }
+    return getSchemaChangeMarker(sr.getSearchEntries().get(0));
+  }
+
+  private String getSchemaChangeMarker(Entry schemaEntry) {
+    String modifyTimestamp = schemaEntry.getAttributeValue("modifyTimestamp");
+    String entryCsn = schemaEntry.getAttributeValue("entryCSN");
+    if (modifyTimestamp == null && entryCsn == null) {
+      return null;
+    }
+    return modifyTimestamp + "|" + entryCsn;
+  }
+
+  /**
+   * Discard the cached extended and standard schema of a server
+   */
+  public void invalidateSchemaCache(String serverId) {
+    schemaCache.remove(serverId + ":extended");
+    schemaCache.remove(serverId + ":standard");
+  }
+
+  /**
+   * Invalidate the schema cache when a generic write targets the schema subentry
+   */
+  private void invalidateSchemaCacheIfSchemaEntry(String serverId, String dn) {
+    RootDseCapabilities capabilities = rootDseCache.get(serverId);
+    String schemaDN = capabilities != null ? capabilities.getSubschemaSubentryDn() : "cn=schema";
+    if (dn != null && dn.trim().equalsIgnoreCase(schemaDN)) {
+      invalidateSchemaCache(serverId);
+    }
+  }
+
+  /**
+   * Parsed schema together with the subentry change marker it was loaded with
+   */
+  private static class CachedSchema {
+    private final Schema schema;
+    private final String changeMarker;
+    private final long validatedAt;
+
+    CachedSchema(Schema schema, String changeMarker) {
+      this(schema, changeMarker, System.currentTimeMillis());
+    }
+
+    private CachedSchema(Schema schema, String changeMarker, long validatedAt) {
+      this.schema = schema;
+      this.changeMarker = changeMarker;
+      this.validatedAt = validatedAt;
+    }
+
+    Schema getSchema() {
+      return schema;
+    }
+
+    String getChangeMarker() {
+      return changeMarker;
+    }
+
+    boolean isFresh(long revalidateIntervalMillis) {
+      return System.currentTimeMillis() - validatedAt < revalidateIntervalMillis;
+    }
+
+    CachedSchema revalidated() {
+      return new CachedSchema(schema, changeMarker);
     }
-    return connection.getSchema();
   }
 
   /**
    * Add an object class to the schema of an external LDAP server
    */
   public void addObjectClassToSchema(String serverId, String objectClassDefinition) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       // Get the schema subentry DN from root DSE
@@ -996,6 +2569,7 @@ public class LdapService {
       ModifyRequest modifyRequest = new ModifyRequest(schemaDN, modification);
       connection.modify(modifyRequest);
 
+      invalidateSchemaCache(serverId);
       loggingService.logModification("Server " + serverId, schemaDN, "ADD_OBJECT_CLASS");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, "schema", "ADD_OBJECT_CLASS", e.getMessage());
@@ -1007,7 +2581,7 @@ public class LdapService {
    * Add an attribute type to the schema of an external LDAP server
    */
   public void addAttributeTypeToSchema(String serverId, String attributeTypeDefinition) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       // Get the schema subentry DN from root DSE
@@ -1023,6 +2597,7 @@ public class LdapService {
       ModifyRequest modifyRequest = new ModifyRequest(schemaDN, modification);
       connection.modify(modifyRequest);
 
+      invalidateSchemaCache(serverId);
       loggingService.logModification("Server " + serverId, schemaDN, "ADD_ATTRIBUTE_TYPE");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, "schema", "ADD_ATTRIBUTE_TYPE", e.getMessage());
@@ -1034,22 +2609,7 @@ public class LdapService {
    * Get the schema subentry DN from the root DSE
    */
   private String getSchemaSubentryDN(String serverId) throws LDAPException {
-    Entry rootDSE = getRootDSE(serverId);
-
-    if (rootDSE != null) {
-      // Try common attributes for schema subentry
-      String[] possibleAttributes = { "subschemaSubentry", "schemaNamingContext", "schemaSubentry" };
-
-      for (String attr : possibleAttributes) {
-        String schemaDN = rootDSE.getAttributeValue(attr);
-        if (schemaDN != null && !schemaDN.trim().isEmpty()) {
-          return schemaDN;
-        }
-      }
-    }
-
-    // Fallback to common default
-    return "cn=schema";
+    return getRootDseCapabilities(serverId).getSubschemaSubentryDn();
   }
 
   /**
@@ -1057,26 +2617,20 @@ public class LdapService {
    */
   public boolean supportsSchemaModification(String serverId) {
     try {
-      Entry rootDSE = getRootDSE(serverId);
-      if (rootDSE != null) {
-        // Check for schema modification support indicators
-        String[] supportedFeatures = rootDSE.getAttributeValues("supportedFeatures");
-        if (supportedFeatures != null) {
-          for (String feature : supportedFeatures) {
-            // Check for various schema modification OIDs
-            if ("1.3.6.1.4.1.4203.1.5.1".equals(feature) || // All Operational Attributes
-                "1.3.6.1.4.1.42.2.27.9.5.4".equals(feature)) { // Sun DS Schema Modification
-              return true;
-            }
-          }
+      RootDseCapabilities capabilities = getRootDseCapabilities(serverId);
+      if (capabilities.getRootDse() != null) {
+        // Check for various schema modification OIDs
+        if (capabilities.isFeatureSupported("1.3.6.1.4.1.4203.1.5.1") || // All Operational Attributes
+            capabilities.isFeatureSupported("1.3.6.1.4.1.42.2.27.9.5.4")) { // Sun DS Schema Modification
+          return true;
         }
 
-        // Check if schema subentry exists and is writable
-        String schemaDN = getSchemaSubentryDN(serverId);
+        // Check if schema subentry exists; only its existence matters, so
+        // don't transfer the (potentially very large) schema attributes
+        String schemaDN = capabilities.getSubschemaSubentryDn();
         if (schemaDN != null) {
           try {
-            LdapEntry schemaEntry = getEntry(serverId, schemaDN);
-            return schemaEntry != null;
+            return entryExists(serverId, schemaDN);
           } catch (LDAPException e) {
             // Schema entry not accessible
             return false;
@@ -1093,7 +2647,7 @@ public class LdapService {
    * Modify an existing object class in the schema of an external LDAP server
    */
   public void modifyObjectClassInSchema(String serverId, String oldObjectClassDefinition, String newObjectClassDefinition) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       // Get the schema subentry DN from root DSE
@@ -1114,6 +2668,7 @@ public class LdapService {
       ModifyRequest modifyRequest = new ModifyRequest(schemaDN, deleteModification, addModification);
       connection.modify(modifyRequest);
 
+      invalidateSchemaCache(serverId);
       loggingService.logModification("Server " + serverId, schemaDN, "MODIFY_OBJECT_CLASS");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, "schema", "MODIFY_OBJECT_CLASS", e.getMessage());
@@ -1125,7 +2680,7 @@ public class LdapService {
    * Modify an existing attribute type in the schema of an external LDAP server
    */
   public void modifyAttributeTypeInSchema(String serverId, String oldAttributeTypeDefinition, String newAttributeTypeDefinition) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getWriteConnection(serverId);
 
     try {
       // Get the schema subentry DN from root DSE
@@ -1146,6 +2701,7 @@ public class LdapService {
       ModifyRequest modifyRequest = new ModifyRequest(schemaDN, deleteModification, addModification);
       connection.modify(modifyRequest);
 
+      invalidateSchemaCache(serverId);
       loggingService.logModification("Server " + serverId, schemaDN, "MODIFY_ATTRIBUTE_TYPE");
     } catch (LDAPException e) {
       loggingService.logModificationError("Server " + serverId, "schema", "MODIFY_ATTRIBUTE_TYPE", e.getMessage());
@@ -1157,62 +2713,167 @@ public class LdapService {
    * Get root DSE information
    */
   public Entry getRootDSE(String serverId) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
-    return connection.getRootDSE();
+    return getRootDseCapabilities(serverId).getRootDse();
   }
 
   /**
-   * Check if the LDAP server supports a specific control
+   * Get the cached Root DSE capabilities for a server, reading the Root DSE
+   * again once the cached copy is older than the configured TTL
    */
-  public boolean isControlSupported(String serverId, String controlOID) throws LDAPException {
-    Entry rootDSE = getRootDSE(serverId);
-
-    if (rootDSE != null) {
-      String[] supportedControls = rootDSE.getAttributeValues("supportedControl");
-      if (supportedControls != null) {
-        for (String supportedControl : supportedControls) {
-          if (controlOID.equals(supportedControl)) {
-            return true;
-          }
-        }
-      }
+  public RootDseCapabilities getRootDseCapabilities(String serverId) throws LDAPException {
+    RootDseCapabilities cached = rootDseCache.get(serverId);
+    if (cached != null && !cached.isExpired(rootDseCacheTtlMillis)) {
+      return cached;
     }
 
-    return false;
+    RootDseCapabilities capabilities = new RootDseCapabilities(
+        retryReadAfterReconnect(serverId, () -> getConnection(serverId).getRootDSE()));
+    rootDseCache.put(serverId, capabilities);
+    return capabilities;
   }
 
   /**
-   * Get naming contexts from Root DSE
+   * Discard the cached Root DSE capabilities for a server so the next lookup
+   * reads the Root DSE from the directory
    */
-  public List<String> getNamingContexts(String serverId) throws LDAPException {
-    Entry rootDSE = getRootDSE(serverId);
-    List<String> namingContexts = new ArrayList<>();
+  public void invalidateRootDseCache(String serverId) {
+    rootDseCache.remove(serverId);
+  }
 
-    if (rootDSE != null) {
-      String[] contexts = rootDSE.getAttributeValues("namingContexts");
-      if (contexts != null) {
-        namingContexts.addAll(Arrays.asList(contexts));
-      }
-    }
+  /**
+   * Page size to browse a server's containers with, tuned to its measured
+   * response time and entry size
+   */
+  public int getBrowsePageSize(String serverId) {
+    return pageSizeTuner.pageSizeFor(serverId);
+  }
+
+  /**
+   * Discard the cached child listings for a server so the next browse reads
+   * the directory
+   */
+  public void invalidateChildListings(String serverId) {
+    childListingCache.invalidateServer(serverId);
+  }
+
+  /**
+   * Check if the LDAP server supports a specific control
+   */
+  public boolean isControlSupported(String serverId, String controlOID) throws LDAPException {
+    return getRootDseCapabilities(serverId).isControlSupported(controlOID);
+  }
 
-    return namingContexts;
+  /**
+   * Get naming contexts from Root DSE
+   */
+  public List<String> getNamingContexts(String serverId) throws LDAPException {
+    return new ArrayList<>(getRootDseCapabilities(serverId).getNamingContexts());
   }
 
   /**
    * Get private naming contexts from Root DSE
    */
   public List<String> getPrivateNamingContexts(String serverId) throws LDAPException {
-    Entry rootDSE = getRootDSE(serverId);
-    List<String> privateNamingContexts = new ArrayList<>();
+    return new ArrayList<>(getRootDseCapabilities(serverId).getPrivateNamingContexts());
+  }
+
+  /**
+   * Snapshot of the capabilities a server advertises in its Root DSE, indexed
+   * for constant-time lookups
+   */
+  public static class RootDseCapabilities {
+    private final Entry rootDse;
+    private final Set<String> supportedControls;
+    private final Set<String> supportedExtensions;
+    private final Set<String> supportedFeatures;
+    private final List<String> namingContexts;
+    private final List<String> privateNamingContexts;
+    private final String subschemaSubentryDn;
+    private final long loadedAt;
+
+    public RootDseCapabilities(Entry rootDse) {
+      this.rootDse = rootDse;
+      this.supportedControls = toSet(rootDse, "supportedControl");
+      this.supportedExtensions = toSet(rootDse, "supportedExtension");
+      this.supportedFeatures = toSet(rootDse, "supportedFeatures");
+      this.namingContexts = toList(rootDse, "namingContexts");
+      this.privateNamingContexts = toList(rootDse, "ds-private-naming-contexts");
+      this.subschemaSubentryDn = resolveSubschemaSubentryDn(rootDse);
+      this.loadedAt = System.currentTimeMillis();
+    }
+
+    private static Set<String> toSet(Entry rootDse, String attributeName) {
+      return Collections.unmodifiableSet(new HashSet<>(toList(rootDse, attributeName)));
+    }
+
+    private static List<String> toList(Entry rootDse, String attributeName) {
+      if (rootDse == null) {
+        return Collections.emptyList();
+      }
+      String[] values = rootDse.getAttributeValues(attributeName);
+      return values != null ? List.of(values) : Collections.emptyList();
+    }
 
-    if (rootDSE != null) {
-      String[] contexts = rootDSE.getAttributeValues("ds-private-naming-contexts");
-      if (contexts != null) {
-        privateNamingContexts.addAll(Arrays.asList(contexts));
+    private static String resolveSubschemaSubentryDn(Entry rootDse) {
+      if (rootDse != null) {
+        // Try common attributes for schema subentry
+        String[] possibleAttributes = { "subschemaSubentry", "schemaNamingContext", "schemaSubentry" };
+
+        for (String attr : possibleAttributes) {
+          String schemaDN = rootDse.getAttributeValue(attr);
+          if (schemaDN != null && !schemaDN.trim().isEmpty()) {
+            return schemaDN;
+          }
+        }
       }
+
+      // Fallback to common default
+      return "cn=schema";
+    }
+
+    boolean isExpired(long ttlMillis) {
+      return System.currentTimeMillis() - loadedAt >= ttlMillis;
+    }
+
+    public Entry getRootDse() {
+      return rootDse;
+    }
+
+    public boolean isControlSupported(String controlOid) {
+      return supportedControls.contains(controlOid);
+    }
+
+    public boolean isExtensionSupported(String extensionOid) {
+      return supportedExtensions.contains(extensionOid);
+    }
+
+    public boolean isFeatureSupported(String featureOid) {
+      return supportedFeatures.contains(featureOid);
+    }
+
+    public Set<String> getSupportedControls() {
+      return supportedControls;
+    }
+
+    public Set<String> getSupportedExtensions() {
+      return supportedExtensions;
+    }
+
+    public Set<String> getSupportedFeatures() {
+      return supportedFeatures;
     }
 
-    return privateNamingContexts;
+    public List<String> getNamingContexts() {
+      return namingContexts;
+    }
+
+    public List<String> getPrivateNamingContexts() {
+      return privateNamingContexts;
+    }
+
+    public String getSubschemaSubentryDn() {
+      return subschemaSubentryDn;
+    }
   }
 
   /**
@@ -1230,210 +2891,349 @@ public class LdapService {
       throws LDAPException {
     List<LdapEntry> entries = new ArrayList<>();
 
-    // Add Root DSE entry - get all attributes for Root DSE as it contains important
-    // server info
-    Entry rootDSE = getRootDSE(serverId);
-    if (rootDSE != null) {
-      LdapEntry rootEntry = new LdapEntry(rootDSE);
-      rootEntry.setDn(""); // Root DSE has empty DN
-      rootEntry.setRdn("Root DSE");
-      rootEntry.setHasChildren(false);
+    LdapEntry rootEntry = getRootDseEntry(serverId);
+    if (rootEntry != null) {
       entries.add(rootEntry);
     }
 
-    // Add naming contexts as separate root entries
-    List<String> namingContexts = getNamingContexts(serverId);
-    for (String context : namingContexts) {
-      try {
-        // Optimize: Use minimal attributes for naming context entries in tree view
-        LdapEntry contextEntry = getEntryMinimal(serverId, context);
-        if (contextEntry != null) {
-          contextEntry.setHasChildren(true);
-          entries.add(contextEntry);
-        }
-      } catch (LDAPException e) {
-        // If we can't browse a naming context, still add it as an entry
-        LdapEntry contextEntry = new LdapEntry();
-        contextEntry.setDn(context);
-        contextEntry.setRdn(context);
-        contextEntry.setHasChildren(true);
-        contextEntry.addAttribute("objectClass", "organizationalUnit");
-        entries.add(contextEntry);
-      }
+    // Add naming contexts as separate root entries, read concurrently
+    entries.addAll(getNamingContextEntries(serverId, includePrivateNamingContexts));
+
+    return entries;
+  }
+
+  /**
+   * Get the Root DSE as a browsable entry with an empty DN, or null if the
+   * server does not return one
+   */
+  public LdapEntry getRootDseEntry(String serverId) throws LDAPException {
+    // Get all attributes for Root DSE as it contains important server info
+    Entry rootDSE = getRootDSE(serverId);
+    if (rootDSE == null) {
+      return null;
     }
+    LdapEntry rootEntry = new LdapEntry(rootDSE);
+    rootEntry.setDn(""); // Root DSE has empty DN
+    rootEntry.setRdn("Root DSE");
+    rootEntry.setHasChildren(false);
+    return rootEntry;
+  }
 
-    // Add private naming contexts if requested
-    if (includePrivateNamingContexts) {
-      List<String> privateNamingContexts = getPrivateNamingContexts(serverId);
-      for (String context : privateNamingContexts) {
-        try {
-          // Optimize: Use minimal attributes for private naming context entries
-          LdapEntry contextEntry = getEntryMinimal(serverId, context);
-          if (contextEntry != null) {
-            contextEntry.setHasChildren(true);
-            entries.add(contextEntry);
-          }
-        } catch (LDAPException e) {
-          // If we can't browse a private naming context, still add it as an entry
-          LdapEntry contextEntry = new LdapEntry();
-          contextEntry.setDn(context);
-          contextEntry.setRdn(context);
-          contextEntry.setHasChildren(true);
-          contextEntry.addAttribute("objectClass", "organizationalUnit");
-          entries.add(contextEntry);
-        }
+  /**
+   * Get the naming context entries, and the private ones if requested, in
+   * Root DSE order. The entries are read concurrently.
+   */
+  public List<LdapEntry> getNamingContextEntries(String serverId, boolean includePrivateNamingContexts)
+      throws LDAPException {
+    List<CompletableFuture<LdapEntry>> futures =
+        getNamingContextEntriesAsync(serverId, getNamingContextDns(serverId, includePrivateNamingContexts));
+    List<LdapEntry> entries = new ArrayList<>();
+    for (CompletableFuture<LdapEntry> future : futures) {
+      LdapEntry entry = future.join();
+      if (entry != null) {
+        entries.add(entry);
       }
     }
-
     return entries;
   }
 
-  private LDAPConnection createConnection(LdapServerConfig config) throws LDAPException {
-    LDAPConnection connection;
+  /**
+   * DNs of the naming contexts, followed by the private ones if requested
+   */
+  public List<String> getNamingContextDns(String serverId, boolean includePrivateNamingContexts)
+      throws LDAPException {
+    List<String> dns = getNamingContexts(serverId);
+    if (includePrivateNamingContexts) {
+      dns.addAll(getPrivateNamingContexts(serverId));
+    }
+    return dns;
+  }
 
-    if (config.isUseSSL()) {
-      // Create SSL connection
-      try {
-        SSLUtil sslUtil = new SSLUtil(new TrustAllTrustManager());
-        SSLSocketFactory socketFactory = sslUtil.createSSLSocketFactory();
-        connection = new LDAPConnection(socketFactory, config.getHost(), config.getPort());
-      } catch (Exception e) {
-        throw new LDAPException(ResultCode.CONNECT_ERROR, "Failed to create SSL connection", e);
-      }
-    } else {
-      connection = new LDAPConnection(config.getHost(), config.getPort());
+  /**
+   * Start reading naming context entries with minimal attributes, all at once
+   * over the shared async connection. Each future completes with the entry,
+   * with null if the server returns none, or with a stand-in container entry
+   * if it cannot be read, so one unreadable context never hides the others.
+   */
+  public List<CompletableFuture<LdapEntry>> getNamingContextEntriesAsync(String serverId, List<String> dns) {
+    List<CompletableFuture<LdapEntry>> futures = new ArrayList<>(dns.size());
+    for (String context : dns) {
+      // Optimize: Use minimal attributes for naming context entries in tree view
+      SearchRequest searchRequest = new SearchRequest(context, SearchScope.BASE,
+          Filter.createPresenceFilter("objectClass"),
+          "objectClass", "cn", "ou", "dc", "uid", "mail", // Essential display attributes
+          "hasSubordinates", "numSubordinates", "msDS-Approx-Immed-Subordinates" // Child hints
+      );
+      futures.add(sendAsyncSearch(serverId, searchRequest).handle((found, error) -> {
+        if (error != null) {
+          // If we can't browse a naming context, still add it as an entry
+          return namingContextStandIn(context);
+        }
+        if (found.isEmpty()) {
+          return null;
+        }
+        LdapEntry contextEntry = found.get(0);
+        applyChildHints(contextEntry);
+        if (!contextEntry.isChildHintFromServer()) {
+          contextEntry.setHasChildren(true);
+        }
+        return contextEntry;
+      }));
     }
+    return futures;
+  }
+
+  private static LdapEntry namingContextStandIn(String context) {
+    LdapEntry contextEntry = new LdapEntry();
+    contextEntry.setDn(context);
+    contextEntry.setRdn(context);
+    contextEntry.setHasChildren(true);
+    contextEntry.addAttribute("objectClass", "organizationalUnit");
+    return contextEntry;
+  }
 
+  /**
+   * Build a connection pool for the given server. Every pooled connection is
+   * established through the supplied server set with the configured transport
+   * security and authenticated with the bind request (anonymous when null).
+   */
+  private LDAPConnectionPool createConnectionPool(LdapServerConfig config, BindRequest bindRequest,
+      int initialConnections, int maxConnections, ServerSet serverSet) throws LDAPException {
+    PostConnectProcessor postConnectProcessor = null;
     // Use StartTLS if configured
     if (config.isUseStartTLS() && !config.isUseSSL()) {
       try {
-        SSLUtil sslUtil = new SSLUtil(new TrustAllTrustManager());
-        SSLSocketFactory socketFactory = sslUtil.createSSLSocketFactory();
-        ExtendedResult startTLSResult = connection.processExtendedOperation(
-            new StartTLSExtendedRequest(socketFactory));
-        if (startTLSResult.getResultCode() != ResultCode.SUCCESS) {
-          throw new LDAPException(startTLSResult.getResultCode(),
-              "StartTLS failed: " + startTLSResult.getDiagnosticMessage());
-        }
+        SSLContext sslContext = new SSLUtil(new TrustAllTrustManager()).createSSLContext();
+        postConnectProcessor = new StartTLSPostConnectProcessor(sslContext);
       } catch (Exception e) {
-        connection.close();
         throw new LDAPException(ResultCode.CONNECT_ERROR, "Failed to establish StartTLS", e);
       }
     }
 
-    // Bind to the directory
-    if (config.getBindDn() != null && !config.getBindDn().trim().isEmpty()) {
-      // Check if we should prompt for password
-      if (config.isPromptForPassword()) {
-        // Check if we have an in-memory password for this server
-        String storedPassword = inMemoryPasswords.get(config.getId());
-        if (storedPassword == null) {
-          // No password available and prompting is enabled - attempt anonymous bind or prompt
-          if (passwordPromptCallback != null) {
-            // We have a callback, but we can't use it in the synchronous createConnection method
-            // This should be handled by the calling code using connectWithPrompt instead
-            connection.close();
-            throw new LDAPException(ResultCode.AUTH_METHOD_NOT_SUPPORTED,
-                "Password required for authentication. Use connectWithPrompt for servers with password prompting enabled.");
-          } else {
-            // No callback available, attempt anonymous bind
-            // Don't perform any bind operation for anonymous access
-          }
-        } else {
-          // Use the stored in-memory password
-          BindRequest bindRequest = new SimpleBindRequest(config.getBindDn(), storedPassword);
-          BindResult bindResult = connection.bind(bindRequest);
-          if (bindResult.getResultCode() != ResultCode.SUCCESS) {
-            connection.close();
-            throw new LDAPException(bindResult.getResultCode(),
-                "Bind failed: " + bindResult.getDiagnosticMessage());
-          }
-        }
-      } else {
-        // Normal password-based authentication
-        String password = config.getPassword();
-        if (password == null || password.isEmpty()) {
-          // No password provided for bind DN - attempt anonymous bind
-          // Don't perform any bind operation for anonymous access
-        } else {
-          BindRequest bindRequest = new SimpleBindRequest(config.getBindDn(), password);
-          BindResult bindResult = connection.bind(bindRequest);
-          if (bindResult.getResultCode() != ResultCode.SUCCESS) {
-            connection.close();
-            throw new LDAPException(bindResult.getResultCode(),
-                "Bind failed: " + bindResult.getDiagnosticMessage());
-          }
-        }
-      }
+    LDAPConnectionPool pool = new LDAPConnectionPool(serverSet, bindRequest, initialConnections,
+        maxConnections, postConnectProcessor);
+    pool.setConnectionPoolName(config.getName());
+    pool.setMaxConnectionAgeMillis(poolMaxConnectionAgeMillis);
+    pool.setMaxWaitTimeMillis(poolMaxWaitTimeMillis);
+    pool.setHealthCheckIntervalMillis(poolHealthCheckIntervalMillis);
+    // Background checks read the Root DSE; checked-out connections are only
+    // validated after an operation fails on them
+    pool.setHealthCheck(new GetEntryLDAPConnectionPoolHealthCheck(
+        "", responseTimeoutMillis, false, false, false, false, true, true));
+    pool.setRetryFailedOperationsDueToInvalidConnections(true);
+    return pool;
+  }
+
+  /**
+   * Server set used for writes: the primary host first, failing over to the
+   * replicas in their configured order
+   */
+  private ServerSet createWriteServerSet(LdapServerConfig config) throws LDAPException {
+    String[] hosts = getServerHosts(config);
+    int[] ports = getServerPorts(config);
+    SocketFactory socketFactory = createSocketFactory(config);
+    LDAPConnectionOptions options = createConnectionOptions();
+    if (hosts.length == 1) {
+      return new SingleServerSet(hosts[0], ports[0], socketFactory, options);
     }
+    return new FailoverServerSet(hosts, ports, socketFactory, options);
+  }
 
-    return connection;
+  /**
+   * Server set used for reads: the primary host and its replicas, selected with
+   * the configured strategy
+   */
+  private ServerSet createReadServerSet(LdapServerConfig config) throws LDAPException {
+    String[] hosts = getServerHosts(config);
+    int[] ports = getServerPorts(config);
+    SocketFactory socketFactory = createSocketFactory(config);
+    LDAPConnectionOptions options = createConnectionOptions();
+    if (hosts.length == 1) {
+      return new SingleServerSet(hosts[0], ports[0], socketFactory, options);
+    }
+    switch (config.getServerSelectionStrategy()) {
+      case FEWEST_CONNECTIONS:
+        return new FewestConnectionsServerSet(hosts, ports, socketFactory, options);
+      case FASTEST_CONNECT:
+        return new FastestConnectServerSet(hosts, ports, socketFactory, options);
+      case ROUND_ROBIN:
+      default:
+        return new RoundRobinServerSet(hosts, ports, socketFactory, options);
+    }
   }
 
-  private LDAPConnection createConnectionWithPassword(LdapServerConfig config, String password) throws LDAPException {
-    LDAPConnection connection;
+  private String[] getServerHosts(LdapServerConfig config) {
+    List<String> hosts = new ArrayList<>();
+    hosts.add(config.getHost());
+    for (String replicaHost : config.getReplicaHosts()) {
+      hosts.add(splitReplicaHost(replicaHost)[0]);
+    }
+    return hosts.toArray(new String[0]);
+  }
 
-    if (config.isUseSSL()) {
-      // Create SSL connection
-      try {
-        SSLUtil sslUtil = new SSLUtil(new TrustAllTrustManager());
-        SSLSocketFactory socketFactory = sslUtil.createSSLSocketFactory();
-        connection = new LDAPConnection(socketFactory, config.getHost(), config.getPort());
-      } catch (Exception e) {
-        throw new LDAPException(ResultCode.CONNECT_ERROR, "Failed to create SSL connection", e);
+  private int[] getServerPorts(LdapServerConfig config) throws LDAPException {
+    List<String> replicaHosts = config.getReplicaHosts();
+    int[] ports = new int[replicaHosts.size() + 1];
+    ports[0] = config.getPort();
+    for (int i = 0; i < replicaHosts.size(); i++) {
+      String replicaHost = replicaHosts.get(i);
+      String port = splitReplicaHost(replicaHost)[1];
+      if (port != null) {
+        try {
+          ports[i + 1] = Integer.parseInt(port.trim());
+        } catch (NumberFormatException e) {
+          throw new LDAPException(ResultCode.PARAM_ERROR, "Invalid replica host port: " + replicaHost);
+        }
+      } else {
+        // Replicas listen on the primary port unless stated otherwise
+        ports[i + 1] = config.getPort();
       }
-    } else {
-      connection = new LDAPConnection(config.getHost(), config.getPort());
     }
+    return ports;
+  }
 
-    // Use StartTLS if configured
-    if (config.isUseStartTLS() && !config.isUseSSL()) {
-      try {
-        SSLUtil sslUtil = new SSLUtil(new TrustAllTrustManager());
-        SSLSocketFactory socketFactory = sslUtil.createSSLSocketFactory();
-        ExtendedResult startTLSResult = connection.processExtendedOperation(
-            new StartTLSExtendedRequest(socketFactory));
-        if (startTLSResult.getResultCode() != ResultCode.SUCCESS) {
-          throw new LDAPException(startTLSResult.getResultCode(),
-              "StartTLS failed: " + startTLSResult.getDiagnosticMessage());
-        }
-      } catch (Exception e) {
-        connection.close();
-        throw new LDAPException(ResultCode.CONNECT_ERROR, "Failed to establish StartTLS", e);
+  /**
+   * Split a replica entry into host and port, the port being null when not
+   * given. IPv6 literals take a port only in the bracketed "[addr]:port" form;
+   * a bare literal such as "2001:db8::1" is a host alone.
+   */
+  private static String[] splitReplicaHost(String replicaHost) {
+    if (replicaHost.startsWith("[")) {
+      int close = replicaHost.indexOf(']');
+      if (close > 0) {
+        String host = replicaHost.substring(1, close);
+        String rest = replicaHost.substring(close + 1);
+        return new String[] {host, rest.startsWith(":") ? rest.substring(1) : null};
       }
     }
+    int separator = replicaHost.lastIndexOf(':');
+    if (separator > 0 && replicaHost.indexOf(':') == separator) {
+      return new String[] {replicaHost.substring(0, separator), replicaHost.substring(separator + 1)};
+    }
+    return new String[] {replicaHost, null};
+  }
+
+  private SocketFactory createSocketFactory(LdapServerConfig config) throws LDAPException {
+    if (!config.isUseSSL()) {
+      return SocketFactory.getDefault();
+    }
+    // Create SSL connections
+    try {
+      SSLUtil sslUtil = new SSLUtil(new TrustAllTrustManager());
+      return sslUtil.createSSLSocketFactory();
+    } catch (Exception e) {
+      throw new LDAPException(ResultCode.CONNECT_ERROR, "Failed to create SSL connection", e);
+    }
+  }
+
+  private LDAPConnectionOptions createConnectionOptions() {
+    LDAPConnectionOptions options = new LDAPConnectionOptions();
+    options.setConnectTimeoutMillis(connectTimeoutMillis);
+    options.setResponseTimeoutMillis(responseTimeoutMillis);
+    return options;
+  }
+
+  /**
+   * Resolve the bind request for a server using its configured or in-memory
+   * password
+   */
+  private BindRequest createBindRequest(LdapServerConfig config) throws LDAPException {
+    if (config.getBindDn() == null || config.getBindDn().trim().isEmpty()) {
+      // No bind DN - use anonymous connections
+      return null;
+    }
 
-    // Bind to the directory
-    if (config.getBindDn() != null && !config.getBindDn().trim().isEmpty()) {
-      // We have a bind DN - we need a password too
-      if (password == null || password.trim().isEmpty()) {
-        connection.close();
-        throw new LDAPException(ResultCode.INVALID_CREDENTIALS, 
-            "Simple bind operations are not allowed to contain a bind DN without a password");
+    // Check if we should prompt for password
+    if (config.isPromptForPassword()) {
+      // Check if we have an in-memory password for this server
+      String storedPassword = inMemoryPasswords.get(config.getId());
+      if (storedPassword != null) {
+        // Use the stored in-memory password
+        return new SimpleBindRequest(config.getBindDn(), storedPassword);
       }
-      
-      BindRequest bindRequest = new SimpleBindRequest(config.getBindDn(), password);
-      BindResult bindResult = connection.bind(bindRequest);
-      if (bindResult.getResultCode() != ResultCode.SUCCESS) {
-        connection.close();
-        throw new LDAPException(bindResult.getResultCode(),
-            "Bind failed: " + bindResult.getDiagnosticMessage());
+      if (passwordPromptCallback != null) {
+        // We have a callback, but we can't use it synchronously
+        // This should be handled by the calling code using connectWithPrompt instead
+        throw new LDAPException(ResultCode.AUTH_METHOD_NOT_SUPPORTED,
+            "Password required for authentication. Use connectWithPrompt for servers with password prompting enabled.");
       }
+      // No callback available, attempt anonymous bind
+      return null;
+    }
+
+    // Normal password-based authentication
+    String password = config.getPassword();
+    if (password == null || password.isEmpty()) {
+      // No password provided for bind DN - attempt anonymous bind
+      return null;
     }
-    // If no bind DN is specified, use anonymous connection (no bind needed)
+    return new SimpleBindRequest(config.getBindDn(), password);
+  }
+
+  /**
+   * Build the bind request for a server using an explicitly supplied password
+   */
+  private BindRequest createBindRequest(LdapServerConfig config, String password) throws LDAPException {
+    if (config.getBindDn() == null || config.getBindDn().trim().isEmpty()) {
+      // If no bind DN is specified, use anonymous connections (no bind needed)
+      return null;
+    }
+
+    // We have a bind DN - we need a password too
+    if (password == null || password.trim().isEmpty()) {
+      throw new LDAPException(ResultCode.INVALID_CREDENTIALS,
+          "Simple bind operations are not allowed to contain a bind DN without a password");
+    }
+    return new SimpleBindRequest(config.getBindDn(), password);
+  }
 
-    return connection;
+  /**
+   * Pool for reads: the replica pool, or the primary's for a short while after
+   * a write there
+   */
+  private LDAPConnectionPool getConnection(String serverId) throws LDAPException {
+    LDAPConnectionPool pool = readsFromPrimary(serverId)
+        ? writeConnectionPools.get(serverId) : connectionPools.get(serverId);
+    if (pool == null || pool.isClosed()) {
+      throw new LDAPException(ResultCode.SERVER_DOWN, "Not connected to server: " + serverId);
+    }
+    lastActivity.put(serverId, System.currentTimeMillis());
+    return pool;
   }
 
-  private LDAPConnection getConnection(String serverId) throws LDAPException {
-    LDAPConnection connection = connections.get(serverId);
-    if (connection == null || !connection.isConnected()) {
+  private LDAPConnectionPool getWriteConnection(String serverId) throws LDAPException {
+    LDAPConnectionPool pool = writeConnectionPools.get(serverId);
+    if (pool == null || pool.isClosed()) {
       throw new LDAPException(ResultCode.SERVER_DOWN, "Not connected to server: " + serverId);
     }
-    return connection;
+    long now = System.currentTimeMillis();
+    lastActivity.put(serverId, now);
+    lastWrites.put(serverId, now);
+    return pool;
+  }
+
+  /**
+   * Check whether reads of a server should go to its primary because it was
+   * written to recently. Replicas may not have the write yet, so the reads
+   * that follow it, such as reloading the edited entry or a listing the
+   * write invalidated, would show or cache the old state. Servers without
+   * replicas read from the primary anyway.
+   */
+  private boolean readsFromPrimary(String serverId) {
+    Long lastWrite = lastWrites.get(serverId);
+    return lastWrite != null && System.currentTimeMillis() - lastWrite < readYourWritesWindowMillis;
+  }
+
+  /**
+   * Note a completed write: restart the read-your-writes window from now, so
+   * a slow write still gets the full window, and drop the listings it changed
+   */
+  private void afterWrite(String serverId, String dn, boolean childrenChanged) {
+    lastWrites.put(serverId, System.currentTimeMillis());
+    childListingCache.invalidateEntry(serverId, dn, childrenChanged);
   }
 
-  private boolean hasChildren(LDAPConnection connection, String dn) {
+  private boolean hasChildren(LDAPInterface connection, String dn) {
     try {
       // Optimize: Only check existence of children, no attributes needed
       SearchRequest searchRequest = new SearchRequest(
@@ -1508,6 +3308,76 @@ public class LdapService {
     return false;
   }
 
+  /**
+   * Set hasChildren from the child hints the server returned with the entry,
+   * and the child count when it reports one. Servers that return no hints fall
+   * back to guessing from the object classes and DN.
+   */
+  private void applyChildHints(LdapEntry entry) {
+    for (String attributeName : CHILD_COUNT_ATTRIBUTES) {
+      String count = getAttributeValueIgnoreCase(entry, attributeName);
+      if (count != null) {
+        try {
+          int childCount = Integer.parseInt(count.trim());
+          entry.setChildCount(childCount);
+          entry.setHasChildren(childCount > 0);
+          entry.setChildHintFromServer(true);
+          return;
+        } catch (NumberFormatException ignored) {
+          // Not a count after all; try the next hint
+        }
+      }
+    }
+
+    String hasSubordinates = getAttributeValueIgnoreCase(entry, HAS_SUBORDINATES_ATTRIBUTE);
+    if (hasSubordinates != null) {
+      entry.setHasChildren(Boolean.parseBoolean(hasSubordinates.trim()));
+      entry.setChildHintFromServer(true);
+      return;
+    }
+
+    // Set hasChildren based on object classes/DN patterns to show expanders by
+    // default
+    // Actual children check will be done lazily when expander is clicked
+    entry.setHasChildren(shouldShowExpanderForEntry(entry));
+  }
+
+  /**
+   * Order entries the way a server-side sort on the attribute would: case
+   * insensitive, entries without a value last, ties broken by DN
+   */
+  private static Comparator<LdapEntry> sortOrder(String sortAttribute) {
+    if (sortAttribute.isEmpty()) {
+      return Comparator.comparing(LdapEntry::getDisplayName);
+    }
+    return Comparator.comparing((LdapEntry entry) -> getAttributeValueIgnoreCase(entry, sortAttribute),
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(LdapEntry::getDn, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+  }
+
+  private static String[] withSortAttribute(String[] attributes, String sortAttribute) {
+    if (sortAttribute.isEmpty()) {
+      return attributes;
+    }
+    for (String attribute : attributes) {
+      if (attribute.equalsIgnoreCase(sortAttribute)) {
+        return attributes;
+      }
+    }
+    String[] withSort = Arrays.copyOf(attributes, attributes.length + 1);
+    withSort[attributes.length] = sortAttribute;
+    return withSort;
+  }
+
+  private static String getAttributeValueIgnoreCase(LdapEntry entry, String attributeName) {
+    for (String name : entry.getAttributeNames()) {
+      if (name.equalsIgnoreCase(attributeName)) {
+        return entry.getFirstAttributeValue(name);
+      }
+    }
+    return null;
+  }
+
   /**
    * Determine if an entry should show an expander based on its object classes and
    * DN pattern
@@ -1567,7 +3437,7 @@ public class LdapService {
    * This is called lazily when an expander is clicked
    */
   public boolean checkHasChildren(String serverId, String dn) throws LDAPException {
-    LDAPConnection connection = getConnection(serverId);
+    LDAPConnectionPool connection = getConnection(serverId);
     return hasChildren(connection, dn);
   }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browse page size per server, tuned from how long the server takes to return
+ * an entry and how large its entries are. A fast server on the LAN gets large
+ * pages and fewer round trips; a slow or distant one gets pages small enough
+ * to arrive within the target latency. Sizes stay within configured bounds and
+ * move in coarse steps, so cached listings keyed by page size keep matching.
+ */
+@Service
+public class PageSizeTuner {
+
+  private static final double SMOOTHING = 0.3; // Weight of the newest sample in the running averages
+  private static final int MIN_SAMPLE_ENTRIES = 10; // Smaller reads are dominated by round-trip overhead
+  private static final int STEP = 25;
+
+  private final int minPageSize;
+  private final int maxPageSize;
+  private final int initialPageSize;
+  private final long targetLatencyNanos;
+  private final long maxPageBytes;
+  private final Map<String, ServerStats> stats = new ConcurrentHashMap<>();
+
+  public PageSizeTuner(@Value("${ldap.browse.page-size.min:25}") int minPageSize,
+      @Value("${ldap.browse.page-size.max:1000}") int maxPageSize,
+      @Value("${ldap.browse.page-size.initial:100}") int initialPageSize,
+      @Value("${ldap.browse.page-size.target-latency:500}") long targetLatencyMillis,
+      @Value("${ldap.browse.page-size.max-bytes:1048576}") long maxPageBytes) {
+    this.minPageSize = Math.max(1, minPageSize);
+    this.maxPageSize = Math.max(this.minPageSize, maxPageSize);
+    this.initialPageSize = Math.max(this.minPageSize, Math.min(this.maxPageSize, initialPageSize));
+    this.targetLatencyNanos = Math.max(1, targetLatencyMillis) * 1_000_000L;
+    this.maxPageBytes = Math.max(1, maxPageBytes);
+  }
+
+  /**
+   * Page size to browse a server with, from what has been measured so far
+   */
+  public int pageSizeFor(String serverId) {
+    ServerStats serverStats = serverId != null ? stats.get(serverId) : null;
+    if (serverStats == null) {
+      return initialPageSize;
+    }
+    return serverStats.pageSize;
+  }
+
+  /**
+   * Record one read of entries from a server and how long it took
+   */
+  public void record(String serverId, List<LdapEntry> entries, long elapsedNanos) {
+    if (serverId == null || entries.size() < MIN_SAMPLE_ENTRIES) {
+      return;
+    }
+    long bytes = 0;
+    for (LdapEntry entry : entries) {
+      bytes += estimateSize(entry);
+    }
+    stats.computeIfAbsent(serverId, id -> new ServerStats(initialPageSize))
+        .add((double) elapsedNanos / entries.size(), (double) bytes / entries.size());
+  }
+
+  /**
+   * Forget what was measured for a server, e.g. when it is reconnected and may
+   * be a different server or on a different link
+   */
+  public void reset(String serverId) {
+    stats.remove(serverId);
+  }
+
+  private int tune(double nanosPerEntry, double bytesPerEntry) {
+    double bySpeed = targetLatencyNanos / Math.max(1.0, nanosPerEntry);
+    double bySize = maxPageBytes / Math.max(1.0, bytesPerEntry);
+    int size = (int) Math.min(Math.min(bySpeed, bySize), maxPageSize);
+    size = size / STEP * STEP;
+    return Math.max(minPageSize, Math.min(maxPageSize, size));
+  }
+
+  /**
+   * Rough size of an entry on the wire: attribute names and values
+   */
+  private static long estimateSize(LdapEntry entry) {
+    long size = entry.getDn().length();
+    for (Map.Entry<String, List<String>> attribute : entry.getAttributes().entrySet()) {
+      for (String value : attribute.getValue()) {
+        size += attribute.getKey().length() + value.length();
+      }
+    }
+    return size;
+  }
+
+  private final class ServerStats {
+    private double nanosPerEntry = -1;
+    private double bytesPerEntry = -1;
+    private volatile int pageSize;
+
+    ServerStats(int pageSize) {
+      this.pageSize = pageSize;
+    }
+
+    synchronized void add(double sampleNanosPerEntry, double sampleBytesPerEntry) {
+      if (nanosPerEntry < 0) {
+        nanosPerEntry = sampleNanosPerEntry;
+        bytesPerEntry = sampleBytesPerEntry;
+      } else {
+        nanosPerEntry += SMOOTHING * (sampleNanosPerEntry - nanosPerEntry);
+        bytesPerEntry += SMOOTHING * (sampleBytesPerEntry - bytesPerEntry);
+      }
+      pageSize = tune(nanosPerEntry, bytesPerEntry);
+    }
+  }
+}
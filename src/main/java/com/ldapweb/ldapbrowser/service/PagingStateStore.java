@@ -0,0 +1,126 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Paged-results cookies for browse paging, kept per session and view so two
+ * users (or two tabs) paging the same container do not overwrite each other's
+ * position. The store is bounded by entry count (least recently used first)
+ * and by idle time, and a session's entries are dropped when it is destroyed.
+ */
+@Service
+public class PagingStateStore implements VaadinServiceInitListener {
+
+  private static final String SESSION_SCOPE_ATTRIBUTE = PagingStateStore.class.getName() + ".scope";
+
+  private final ExpiringLruMap<PagingState> states;
+
+  public PagingStateStore(@Value("${ldap.paging.max-cookies:5000}") int maxEntries,
+      @Value("${ldap.paging.cookie-ttl:900000}") long ttlMillis) {
+    this.states = new ExpiringLruMap<>(maxEntries, ttlMillis);
+  }
+
+  @Override
+  public void serviceInit(ServiceInitEvent event) {
+    event.getSource().addSessionDestroyListener(destroyEvent -> {
+      Object scope = destroyEvent.getSession().getAttribute(SESSION_SCOPE_ATTRIBUTE);
+      if (scope != null) {
+        removeScope(scope.toString());
+      }
+    });
+  }
+
+  /**
+   * Build the paging scope for one view in a session. Must be called with the
+   * session locked, e.g. while building the view.
+   */
+  public static String scopeFor(VaadinSession session, String viewId) {
+    if (session == null) {
+      return viewId;
+    }
+    Object sessionScope = session.getAttribute(SESSION_SCOPE_ATTRIBUTE);
+    if (sessionScope == null) {
+      sessionScope = UUID.randomUUID().toString();
+      session.setAttribute(SESSION_SCOPE_ATTRIBUTE, sessionScope);
+    }
+    return sessionScope + "/" + viewId;
+  }
+
+  /**
+   * Get the paging position stored for a container, or null if there is none or
+   * it has expired
+   */
+  public synchronized PagingState get(String scope, String serverId, String baseDn) {
+    return states.get(key(scope, serverId, baseDn));
+  }
+
+  /**
+   * Record the cookie that continues after the given page
+   */
+  public synchronized void put(String scope, String serverId, String baseDn, int page, byte[] cookie) {
+    states.put(key(scope, serverId, baseDn), new PagingState(page, cookie));
+  }
+
+  public synchronized void remove(String scope, String serverId, String baseDn) {
+    states.remove(key(scope, serverId, baseDn));
+  }
+
+  /**
+   * Drop every container position a view holds for a server
+   */
+  public synchronized void removeServer(String scope, String serverId) {
+    String prefix = scope + "|" + serverId + "|";
+    states.removeKeysIf(key -> key.startsWith(prefix));
+  }
+
+  /**
+   * Drop every position held for a server, in all sessions; used when its
+   * connections are replaced and old cookies become meaningless
+   */
+  public synchronized void removeServer(String serverId) {
+    String infix = "|" + serverId + "|";
+    states.removeKeysIf(key -> key.contains(infix));
+  }
+
+  /**
+   * Drop everything held under a scope, or under every view of a session scope
+   */
+  public synchronized void removeScope(String scope) {
+    states.removeKeysIf(key -> key.startsWith(scope + "|") || key.startsWith(scope + "/"));
+  }
+
+  public synchronized int size() {
+    return states.size();
+  }
+
+  private static String key(String scope, String serverId, String baseDn) {
+    return scope + "|" + serverId + "|" + baseDn;
+  }
+
+  /**
+   * Cookie returned with a page, for requesting the page after it
+   */
+  public static class PagingState {
+    private final int page;
+    private final byte[] cookie;
+
+    PagingState(int page, byte[] cookie) {
+      this.page = page;
+      this.cookie = cookie;
+    }
+
+    public int getPage() {
+      return page;
+    }
+
+    public byte[] getCookie() {
+      return cookie;
+    }
+  }
+}
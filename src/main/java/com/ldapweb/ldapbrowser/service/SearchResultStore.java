@@ -0,0 +1,247 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.model.SearchResultEntry;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of one directory search, spilled to a temporary file as they arrive
+ * so that a search returning hundreds of thousands of entries does not sit on
+ * the heap. Rows are read back a page at a time for whatever a grid shows;
+ * only the file offset of each page and a few recently read pages are kept in
+ * memory. Entries are appended by the search while the UI reads, so every
+ * method is synchronized.
+ */
+public class SearchResultStore implements AutoCloseable {
+
+  private static final int ROWS_PER_PAGE = 100;
+  private static final int CACHED_PAGES = 8; // Decoded pages kept, enough for a grid viewport and its buffer
+
+  private final Path file;
+  private final OutputStream out;
+  private final RandomAccessFile in;
+  private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+  private final List<LdapServerConfig> environments = new ArrayList<>();
+  private final Map<String, Integer> environmentIndexes = new HashMap<>(); // Environment ID -> index
+  private final LinkedHashMap<Integer, List<SearchResultEntry>> pageCache =
+      new LinkedHashMap<>(16, 0.75f, true) { // Access order for LRU
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<SearchResultEntry>> eldest) {
+          return size() > CACHED_PAGES;
+        }
+      };
+  private long[] pageOffsets = new long[16];
+  private long written; // Bytes appended to the file
+  private boolean flushed = true;
+  private int size;
+  private boolean closed;
+
+  private SearchResultStore(Path file) throws IOException {
+    this.file = file;
+    this.out = new BufferedOutputStream(Files.newOutputStream(file));
+    this.in = new RandomAccessFile(file.toFile(), "r");
+  }
+
+  /**
+   * Create an empty store backed by a new temporary file
+   */
+  public static SearchResultStore create() throws IOException {
+    Path file = Files.createTempFile("ldap-search-", ".results");
+    try {
+      return new SearchResultStore(file);
+    } catch (IOException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  /**
+   * Add a result; ignored once the store is closed, e.g. when a newer search
+   * has replaced it
+   */
+  public synchronized void append(SearchResultEntry entry) {
+    if (closed) {
+      return;
+    }
+    try {
+      recordBuffer.reset();
+      writeEntry(new DataOutputStream(recordBuffer), entry);
+      if (size % ROWS_PER_PAGE == 0) {
+        int page = size / ROWS_PER_PAGE;
+        if (page == pageOffsets.length) {
+          pageOffsets = Arrays.copyOf(pageOffsets, page * 2);
+        }
+        pageOffsets[page] = written;
+      }
+      recordBuffer.writeTo(out);
+      written += recordBuffer.size();
+      flushed = false;
+      size++;
+      // The last page may have been read while it was shorter
+      pageCache.remove((size - 1) / ROWS_PER_PAGE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Number of results; none once the store is closed
+   */
+  public synchronized int size() {
+    return closed ? 0 : size;
+  }
+
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Read the results in a range of rows, as requested by a lazy grid
+   */
+  public synchronized List<SearchResultEntry> fetch(int offset, int limit) {
+    List<SearchResultEntry> rows = new ArrayList<>();
+    int end = Math.min(size, offset + Math.max(0, limit));
+    if (closed || offset >= end) {
+      return rows;
+    }
+    try {
+      for (int page = offset / ROWS_PER_PAGE; page <= (end - 1) / ROWS_PER_PAGE; page++) {
+        List<SearchResultEntry> pageRows = readPage(page);
+        int first = page * ROWS_PER_PAGE;
+        int from = Math.max(offset, first) - first;
+        int to = Math.min(end, first + pageRows.size()) - first;
+        rows.addAll(pageRows.subList(from, to));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return rows;
+  }
+
+  /**
+   * Drop the results and delete the file; safe to call more than once
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    pageCache.clear();
+    try {
+      out.close();
+      in.close();
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      // Best effort; the file is in the temporary directory
+    }
+  }
+
+  private List<SearchResultEntry> readPage(int page) throws IOException {
+    List<SearchResultEntry> cached = pageCache.get(page);
+    if (cached != null) {
+      return cached;
+    }
+    if (!flushed) {
+      out.flush();
+      flushed = true;
+    }
+    int pages = (size + ROWS_PER_PAGE - 1) / ROWS_PER_PAGE;
+    long start = pageOffsets[page];
+    long end = page + 1 < pages ? pageOffsets[page + 1] : written;
+    byte[] bytes = new byte[(int) (end - start)];
+    in.seek(start);
+    in.readFully(bytes);
+
+    int rowCount = Math.min(ROWS_PER_PAGE, size - page * ROWS_PER_PAGE);
+    List<SearchResultEntry> rows = new ArrayList<>(rowCount);
+    DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+    for (int i = 0; i < rowCount; i++) {
+      rows.add(readEntry(data));
+    }
+    pageCache.put(page, rows);
+    return rows;
+  }
+
+  private void writeEntry(DataOutputStream data, SearchResultEntry result) throws IOException {
+    LdapServerConfig environment = result.getEnvironment();
+    String environmentId = environment != null ? environment.getId() : null;
+    Integer environmentIndex = environmentIndexes.get(environmentId);
+    if (environmentIndex == null) {
+      environmentIndex = environments.size();
+      environments.add(environment);
+      environmentIndexes.put(environmentId, environmentIndex);
+    }
+    data.writeInt(environmentIndex);
+
+    LdapEntry entry = result.getEntry();
+    writeString(data, entry.getDn());
+    writeString(data, entry.getRdn());
+    data.writeInt(entry.getAttributes().size());
+    for (Map.Entry<String, List<String>> attribute : entry.getAttributes().entrySet()) {
+      writeString(data, attribute.getKey());
+      data.writeInt(attribute.getValue().size());
+      for (String value : attribute.getValue()) {
+        writeString(data, value);
+      }
+    }
+  }
+
+  private SearchResultEntry readEntry(DataInputStream data) throws IOException {
+    LdapServerConfig environment = environments.get(data.readInt());
+    LdapEntry entry = new LdapEntry();
+    entry.setDn(readString(data));
+    entry.setRdn(readString(data));
+    int attributeCount = data.readInt();
+    for (int i = 0; i < attributeCount; i++) {
+      String name = readString(data);
+      int valueCount = data.readInt();
+      List<String> values = new ArrayList<>(valueCount);
+      for (int j = 0; j < valueCount; j++) {
+        values.add(readString(data));
+      }
+      entry.setAttributeValues(name, values);
+    }
+    return new SearchResultEntry(entry, environment);
+  }
+
+  // Length-prefixed UTF-8; writeUTF would cap values at 64 KB
+  private static void writeString(DataOutputStream data, String value) throws IOException {
+    if (value == null) {
+      data.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    data.writeInt(bytes.length);
+    data.write(bytes);
+  }
+
+  private static String readString(DataInputStream data) throws IOException {
+    int length = data.readInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    data.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
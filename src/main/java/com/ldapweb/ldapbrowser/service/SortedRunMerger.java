@@ -0,0 +1,72 @@
+package com.ldapweb.ldapbrowser.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Orders a result stream on the client for servers without server-side sort.
+ * Values are gathered into runs of a fixed length, each run is sorted when it
+ * fills, and the runs are merged into one ordered list at the end.
+ */
+class SortedRunMerger<T> {
+
+  private final Comparator<? super T> order;
+  private final int runLength;
+  private final List<List<T>> runs = new ArrayList<>();
+  private List<T> current;
+
+  SortedRunMerger(Comparator<? super T> order, int runLength) {
+    this.order = order;
+    this.runLength = Math.max(1, runLength);
+    this.current = new ArrayList<>(this.runLength);
+  }
+
+  void add(T value) {
+    current.add(value);
+    if (current.size() >= runLength) {
+      closeRun();
+    }
+  }
+
+  /**
+   * Merge everything added so far into a single ordered list
+   */
+  List<T> merge() {
+    closeRun();
+    int total = 0;
+    for (List<T> run : runs) {
+      total += run.size();
+    }
+    List<T> merged = new ArrayList<>(total);
+    if (runs.size() == 1) {
+      merged.addAll(runs.get(0));
+      return merged;
+    }
+
+    // Heap of run cursors ordered by each run's next value
+    PriorityQueue<int[]> heads = new PriorityQueue<>(
+        (a, b) -> order.compare(runs.get(a[0]).get(a[1]), runs.get(b[0]).get(b[1])));
+    for (int i = 0; i < runs.size(); i++) {
+      heads.add(new int[] {i, 0});
+    }
+    while (!heads.isEmpty()) {
+      int[] head = heads.poll();
+      List<T> run = runs.get(head[0]);
+      merged.add(run.get(head[1]));
+      if (++head[1] < run.size()) {
+        heads.add(head);
+      }
+    }
+    return merged;
+  }
+
+  private void closeRun() {
+    if (!current.isEmpty()) {
+      current.sort(order);
+      runs.add(current);
+      current = new ArrayList<>(runLength);
+    }
+  }
+}
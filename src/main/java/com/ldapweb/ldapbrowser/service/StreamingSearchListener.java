@@ -0,0 +1,182 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.AsyncSearchResultListener;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchResultReference;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Search listener that hands each entry to a sink as soon as it is read off the
+ * wire, without retaining it.
+ *
+ * The sink runs on the connection's reader thread, so a sink that blocks stops
+ * the connection from reading and, through TCP flow control, the server from
+ * sending. That gives back-pressure without buffering the result set.
+ *
+ * The SDK applies its response timeout to the whole asynchronous operation, so
+ * searches driven by this listener are sent without one and {@link #await}
+ * enforces an idle timeout instead: the search only fails when the server has
+ * sent nothing for that long while the sink was not busy. A deadline can be
+ * added on top, as a client-side time limit, and {@link #cancel} lets another
+ * thread abandon the search.
+ */
+class StreamingSearchListener implements AsyncSearchResultListener {
+
+  private static final long serialVersionUID = 1L;
+  private static final long POLL_INTERVAL_MILLIS = 100;
+
+  private final transient Consumer<SearchResultEntry> sink;
+  private final transient CompletableFuture<SearchResult> result = new CompletableFuture<>();
+  private final AtomicInteger entryCount = new AtomicInteger();
+  private volatile long lastActivity = System.currentTimeMillis();
+  private volatile boolean delivering;
+  private volatile boolean stopped;
+  private volatile boolean cancelRequested;
+  private volatile RuntimeException sinkFailure;
+
+  StreamingSearchListener(Consumer<SearchResultEntry> sink) {
+    this.sink = sink;
+  }
+
+  @Override
+  public void searchEntryReturned(SearchResultEntry searchEntry) {
+    lastActivity = System.currentTimeMillis();
+    if (stopped) {
+      // Entries still in flight after an abandon are dropped
+      return;
+    }
+    delivering = true;
+    try {
+      sink.accept(searchEntry);
+      entryCount.incrementAndGet();
+    } catch (RuntimeException e) {
+      sinkFailure = e;
+      stopped = true;
+    } finally {
+      delivering = false;
+      lastActivity = System.currentTimeMillis();
+    }
+  }
+
+  @Override
+  public void searchReferenceReturned(SearchResultReference searchReference) {
+    lastActivity = System.currentTimeMillis();
+  }
+
+  @Override
+  public void searchResultReceived(AsyncRequestID requestID, SearchResult searchResult) {
+    result.complete(searchResult);
+  }
+
+  /**
+   * Stop delivering entries to the sink
+   */
+  void stop() {
+    stopped = true;
+  }
+
+  /**
+   * Ask the thread waiting in {@link #await} to abandon the search; safe to
+   * call from any thread, before or after the search was sent
+   */
+  void cancel() {
+    cancelRequested = true;
+    stopped = true;
+  }
+
+  boolean isDone() {
+    return result.isDone();
+  }
+
+  int getEntryCount() {
+    return entryCount.get();
+  }
+
+  /**
+   * Check whether the server has been silent for longer than the idle timeout
+   * while the sink was not holding up the reader thread
+   */
+  boolean isIdleTimedOut(long idleTimeoutMillis) {
+    return idleTimeoutMillis > 0 && !delivering
+        && System.currentTimeMillis() - lastActivity > idleTimeoutMillis;
+  }
+
+  /**
+   * Wait for the search to finish, abandoning it if the sink fails or the
+   * server goes idle. A failure thrown by the sink is rethrown unchanged.
+   */
+  SearchResult await(LDAPConnection connection, AsyncRequestID requestId, long idleTimeoutMillis)
+      throws LDAPException {
+    return await(connection, requestId, idleTimeoutMillis, 0);
+  }
+
+  /**
+   * Wait as above, and also abandon the search when it is cancelled or runs
+   * past the deadline (a wall-clock time in millis, 0 for none). Running past
+   * the deadline is reported like a server time limit, with the entries
+   * delivered so far counted.
+   */
+  SearchResult await(LDAPConnection connection, AsyncRequestID requestId, long idleTimeoutMillis,
+      long deadlineMillis) throws LDAPException {
+    while (true) {
+      if (sinkFailure != null) {
+        abandon(connection, requestId);
+        throw sinkFailure;
+      }
+      if (cancelRequested && !result.isDone()) {
+        abandon(connection, requestId);
+        throw new LDAPException(ResultCode.USER_CANCELED, "Search cancelled");
+      }
+      if (deadlineMillis > 0 && System.currentTimeMillis() > deadlineMillis && !result.isDone()) {
+        abandon(connection, requestId);
+        return new SearchResult(requestId.getMessageID(), ResultCode.TIME_LIMIT_EXCEEDED,
+            "Client time limit reached after " + getEntryCount() + " entries", null, null,
+            getEntryCount(), 0, null);
+      }
+      try {
+        SearchResult searchResult = result.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (sinkFailure != null) {
+          throw sinkFailure;
+        }
+        return searchResult;
+      } catch (TimeoutException e) {
+        if (isIdleTimedOut(idleTimeoutMillis)) {
+          abandon(connection, requestId);
+          throw new LDAPException(ResultCode.TIMEOUT,
+              "No response from server for " + idleTimeoutMillis + " ms");
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        abandon(connection, requestId);
+        throw new LDAPException(ResultCode.USER_CANCELED, "Search interrupted", e);
+      } catch (ExecutionException e) {
+        throw new LDAPException(ResultCode.LOCAL_ERROR, "Search failed", e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Abandon the search and stop delivering any entries still in flight
+   */
+  void abandon(LDAPConnection connection, AsyncRequestID requestId) {
+    stopped = true;
+    if (!result.isDone()) {
+      try {
+        connection.abandon(requestId);
+      } catch (LDAPException ignored) {
+        // The connection is released as defunct by the caller if it is unusable
+      }
+    }
+  }
+}
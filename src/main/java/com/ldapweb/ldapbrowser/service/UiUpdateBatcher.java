@@ -0,0 +1,61 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces UI updates posted from a background thread so they reach the
+ * browser in one {@link UI#access} round trip per interval instead of one
+ * push per update.
+ */
+public class UiUpdateBatcher {
+
+  private final UI ui;
+  private final ScheduledExecutorService scheduler;
+  private final long intervalMillis;
+  private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+  UiUpdateBatcher(UI ui, ScheduledExecutorService scheduler, long intervalMillis) {
+    this.ui = ui;
+    this.scheduler = scheduler;
+    this.intervalMillis = intervalMillis;
+  }
+
+  /**
+   * Queue an update; it runs under the session lock with the next batch
+   */
+  public void post(Runnable update) {
+    pending.add(update);
+    if (flushScheduled.compareAndSet(false, true)) {
+      scheduler.schedule(this::flush, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Push all queued updates now; call once more when the task finishes
+   */
+  public void flush() {
+    flushScheduled.set(false);
+    if (pending.isEmpty()) {
+      return;
+    }
+    try {
+      ui.access(() -> {
+        Runnable update;
+        while ((update = pending.poll()) != null) {
+          update.run();
+        }
+      });
+    } catch (UIDetachedException e) {
+      // The view is gone; nothing left to update
+      pending.clear();
+    }
+  }
+}
@@ -9,6 +9,7 @@ import com.ldapweb.ldapbrowser.service.UIPasswordPromptService;
 import com.ldapweb.ldapbrowser.ui.SettingsView;
 import com.ldapweb.ldapbrowser.ui.WelcomeView;
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.applayout.DrawerToggle;
@@ -107,6 +108,11 @@ public class MainLayout extends AppLayout implements AfterNavigationObserver {
    */
   private VerticalLayout drawerContent;
 
+  /**
+   * Removes the listener for connection state changes reported by the LDAP service.
+   */
+  private Runnable connectionStateListenerRemoval;
+
 
   /**
    * Constructs the MainLayout with the required services.
@@ -234,6 +240,10 @@ public class MainLayout extends AppLayout implements AfterNavigationObserver {
   @Override
   protected void onAttach(AttachEvent attachEvent) {
     super.onAttach(attachEvent);
+    // Servers can drop or recover in the background; refresh the status chip when they do
+    UI ui = attachEvent.getUI();
+    connectionStateListenerRemoval = ldapService.addConnectionStateListener(
+        () -> ui.access(this::refreshServerList));
     // Show current server selection based on the route path rather than shared selection service
     String location = UI.getCurrent().getInternals().getActiveViewLocation().getPath();
     if (location.startsWith("servers/")) {
@@ -250,6 +260,20 @@ public class MainLayout extends AppLayout implements AfterNavigationObserver {
     }
   }
 
+  /**
+   * Handles actions to perform when the layout is detached from the UI.
+   *
+   * @param detachEvent the detach event
+   */
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    if (connectionStateListenerRemoval != null) {
+      connectionStateListenerRemoval.run();
+      connectionStateListenerRemoval = null;
+    }
+    super.onDetach(detachEvent);
+  }
+
   /**
    * Updates the UI to reflect the currently selected server.
    *
@@ -1,10 +1,10 @@
 package com.ldapweb.ldapbrowser.ui;
 
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
+import com.ldapweb.ldapbrowser.service.EnvironmentRefreshListener;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
-import com.ldapweb.ldapbrowser.ui.components.EnvironmentRefreshListener;
 import com.ldapweb.ldapbrowser.ui.components.ExternalServersTab;
 import com.ldapweb.ldapbrowser.ui.components.InternalServersTab;
 import com.ldapweb.ldapbrowser.ui.components.LogsTab;
@@ -1,5 +1,6 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -21,6 +22,7 @@ import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.Modification;
@@ -37,6 +39,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Component for editing LDAP entry attributes
@@ -1346,34 +1350,48 @@ public class AttributeEditor extends VerticalLayout {
       return;
     }
 
-    try {
-      // For simplicity, we'll reload the original entry and create modifications
-      // In a real application, you'd track individual changes
-      LdapEntry originalEntry = ldapService.getEntry(serverConfig.getId(), currentEntry.getDn());
-
-      if (originalEntry == null) {
-        showError("Could not load original entry for comparison.");
-        return;
-      }
-
-      List<Modification> modifications = createModifications(originalEntry, currentEntry);
-
-      if (modifications.isEmpty()) {
-        showInfo("No changes to save.");
-        return;
-      }
-
-      ldapService.modifyEntry(serverConfig.getId(), currentEntry.getDn(), modifications);
-      clearPendingChanges();
-      showSuccess("Entry saved successfully.");
-
-      // Automatically refresh the entry to sync with server state and prevent
-      // operational attribute conflicts on subsequent saves
-      refreshEntry();
+    // Reload and save without holding the request thread; the outcome is pushed back to the UI
+    UI ui = UI.getCurrent();
+    String serverId = serverConfig.getId();
+    LdapEntry entryToSave = currentEntry;
+    saveButton.setEnabled(false);
+
+    // For simplicity, we'll reload the original entry and create modifications
+    // In a real application, you'd track individual changes
+    ldapService.getEntryForUpdateAsync(serverId, entryToSave.getDn())
+        .thenCompose(originalEntry -> {
+          if (originalEntry == null) {
+            return CompletableFuture.completedFuture(SaveOutcome.MISSING);
+          }
+          List<Modification> modifications = createModifications(originalEntry, entryToSave);
+          if (modifications.isEmpty()) {
+            return CompletableFuture.completedFuture(SaveOutcome.UNCHANGED);
+          }
+          return ldapService.modifyEntryAsync(serverId, entryToSave.getDn(), modifications)
+              .thenApply(ignored -> SaveOutcome.SAVED);
+        })
+        .whenComplete((outcome, error) -> ui.access(() -> {
+          saveButton.setEnabled(true);
+          if (error != null) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            showError("Failed to save entry: " + cause.getMessage());
+          } else if (outcome == SaveOutcome.MISSING) {
+            showError("Could not load original entry for comparison.");
+          } else if (outcome == SaveOutcome.UNCHANGED) {
+            showInfo("No changes to save.");
+          } else {
+            clearPendingChanges();
+            showSuccess("Entry saved successfully.");
+
+            // Automatically refresh the entry to sync with server state and prevent
+            // operational attribute conflicts on subsequent saves
+            refreshEntry();
+          }
+        }));
+  }
 
-    } catch (LDAPException e) {
-      showError("Failed to save entry: " + e.getMessage());
-    }
+  private enum SaveOutcome {
+    SAVED, UNCHANGED, MISSING
   }
 
   private List<Modification> createModifications(LdapEntry original, LdapEntry modified) {
@@ -1415,21 +1433,34 @@ public class AttributeEditor extends VerticalLayout {
       return;
     }
 
-    try {
-      // Use getEntryWithSchema to preserve attribute formatting
-      LdapService.EntryWithSchema entryWithSchema = ldapService.getEntryWithSchema(serverConfig.getId(),
-          currentEntry.getDn());
-      if (entryWithSchema != null) {
-        editEntryWithSchema(entryWithSchema.getEntry(), entryWithSchema.getSchema());
-        clearPendingChanges();
-        showInfo("Entry refreshed.");
-      } else {
-        showError("Entry not found.");
-        clear();
+    // Reload in the background; the editor is updated once the entry arrives
+    UI ui = UI.getCurrent();
+    String serverId = serverConfig.getId();
+    String dn = currentEntry.getDn();
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Use getEntryWithSchema to preserve attribute formatting
+        LdapService.EntryWithSchema entryWithSchema = ldapService.getEntryWithSchema(serverId, dn);
+        if (token.isCancelled()) {
+          return;
+        }
+        ui.access(() -> {
+          if (currentEntry == null || !dn.equals(currentEntry.getDn())) {
+            return; // Another entry was opened meanwhile
+          }
+          if (entryWithSchema != null) {
+            editEntryWithSchema(entryWithSchema.getEntry(), entryWithSchema.getSchema());
+            clearPendingChanges();
+            showInfo("Entry refreshed.");
+          } else {
+            showError("Entry not found.");
+            clear();
+          }
+        });
+      } catch (LDAPException e) {
+        ui.access(() -> showError("Failed to refresh entry: " + e.getMessage()));
       }
-    } catch (LDAPException e) {
-      showError("Failed to refresh entry: " + e.getMessage());
-    }
+    });
   }
 
   private void confirmDeleteEntry() {
@@ -1451,13 +1482,20 @@ public class AttributeEditor extends VerticalLayout {
       return;
     }
 
-    try {
-      ldapService.deleteEntry(serverConfig.getId(), currentEntry.getDn());
-      showSuccess("Entry deleted successfully.");
-      clear();
-    } catch (LDAPException e) {
-      showError("Failed to delete entry: " + e.getMessage());
-    }
+    UI ui = UI.getCurrent();
+    String dn = currentEntry.getDn();
+    ldapService.deleteEntryAsync(serverConfig.getId(), dn)
+        .whenComplete((ignored, error) -> ui.access(() -> {
+          if (error != null) {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            showError("Failed to delete entry: " + cause.getMessage());
+          } else {
+            showSuccess("Entry deleted successfully.");
+            if (currentEntry != null && dn.equals(currentEntry.getDn())) {
+              clear();
+            }
+          }
+        }));
   }
 
   /**
@@ -1,5 +1,6 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.H4;
@@ -15,6 +16,7 @@ import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.component.textfield.TextArea;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
 import com.unboundid.ldif.LDIFChangeRecord;
@@ -229,90 +231,109 @@ public class BulkGenerateTab extends VerticalLayout {
 
     showProgress();
 
-    try {
-      int successCount = 0;
-      int errorCount = 0;
-
-      for (int currentCount = startCount; currentCount <= endCount; currentCount++) {
-        try {
-          // Generate LDIF for this count
-          String ldif = template.replace("{COUNT}", String.valueOf(currentCount));
-
-          // Parse and execute the LDIF
-          byte[] contentBytes = ldif.getBytes(StandardCharsets.UTF_8);
-          LDIFReader ldifReader = new LDIFReader(new ByteArrayInputStream(contentBytes));
-
+    // Generate in the background; the outcome is pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        int successCount = 0;
+        int errorCount = 0;
+
+        for (int currentCount = startCount; currentCount <= endCount; currentCount++) {
+          if (token.isCancelled()) {
+            // The view was left; entries already generated stay in place
+            loggingService.logWarning("BULK_GENERATE", "Bulk generation stopped after " + successCount
+                + " entries - Server: " + server.getName());
+            return;
+          }
           try {
-            LDIFChangeRecord changeRecord;
-            while ((changeRecord = ldifReader.readChangeRecord()) != null) {
-              switch (changeRecord.getChangeType()) {
-                case ADD:
-                  if (changeRecord instanceof com.unboundid.ldif.LDIFAddChangeRecord) {
-                    com.unboundid.ldif.LDIFAddChangeRecord addRecord = (com.unboundid.ldif.LDIFAddChangeRecord) changeRecord;
-
-                    LdapEntry newEntry = new LdapEntry();
-                    newEntry.setDn(addRecord.getDN());
-
-                    for (com.unboundid.ldap.sdk.Attribute attr : addRecord.getAttributes()) {
-                      for (String value : attr.getValues()) {
-                        newEntry.addAttribute(attr.getName(), value);
+            // Generate LDIF for this count
+            String ldif = template.replace("{COUNT}", String.valueOf(currentCount));
+
+            // Parse and execute the LDIF
+            byte[] contentBytes = ldif.getBytes(StandardCharsets.UTF_8);
+            LDIFReader ldifReader = new LDIFReader(new ByteArrayInputStream(contentBytes));
+
+            try {
+              LDIFChangeRecord changeRecord;
+              while ((changeRecord = ldifReader.readChangeRecord()) != null) {
+                switch (changeRecord.getChangeType()) {
+                  case ADD:
+                    if (changeRecord instanceof com.unboundid.ldif.LDIFAddChangeRecord) {
+                      com.unboundid.ldif.LDIFAddChangeRecord addRecord = (com.unboundid.ldif.LDIFAddChangeRecord) changeRecord;
+
+                      LdapEntry newEntry = new LdapEntry();
+                      newEntry.setDn(addRecord.getDN());
+
+                      for (com.unboundid.ldap.sdk.Attribute attr : addRecord.getAttributes()) {
+                        for (String value : attr.getValues()) {
+                          newEntry.addAttribute(attr.getName(), value);
+                        }
                       }
-                    }
 
-                    ldapService.addEntry(serverConfig.getId(), newEntry);
-                  }
-                  break;
+                      ldapService.addEntry(server.getId(), newEntry);
+                    }
+                    break;
 
-                case MODIFY:
-                  if (changeRecord instanceof com.unboundid.ldif.LDIFModifyChangeRecord) {
-                    com.unboundid.ldif.LDIFModifyChangeRecord modifyRecord = (com.unboundid.ldif.LDIFModifyChangeRecord) changeRecord;
+                  case MODIFY:
+                    if (changeRecord instanceof com.unboundid.ldif.LDIFModifyChangeRecord) {
+                      com.unboundid.ldif.LDIFModifyChangeRecord modifyRecord = (com.unboundid.ldif.LDIFModifyChangeRecord) changeRecord;
 
-                    ldapService.modifyEntry(serverConfig.getId(),
-                        modifyRecord.getDN(),
-                        java.util.Arrays.asList(modifyRecord.getModifications()),
-                        null);
-                  }
-                  break;
+                      ldapService.modifyEntry(server.getId(),
+                          modifyRecord.getDN(),
+                          java.util.Arrays.asList(modifyRecord.getModifications()),
+                          null);
+                    }
+                    break;
 
-                case DELETE:
-                  ldapService.deleteEntry(serverConfig.getId(), changeRecord.getDN());
-                  break;
+                  case DELETE:
+                    ldapService.deleteEntry(server.getId(), changeRecord.getDN());
+                    break;
 
-                default:
-                  throw new Exception("Unsupported change type: " + changeRecord.getChangeType());
+                  default:
+                    throw new Exception("Unsupported change type: " + changeRecord.getChangeType());
+                }
               }
+            } finally {
+              ldifReader.close();
             }
-          } finally {
-            ldifReader.close();
-          }
 
-          successCount++;
+            successCount++;
 
-        } catch (Exception e) {
-          errorCount++;
-          loggingService.logError("BULK_GENERATE", "Error generating entry for count " + currentCount, e.getMessage());
-          // Continue processing remaining entries
+          } catch (Exception e) {
+            errorCount++;
+            loggingService.logError("BULK_GENERATE", "Error generating entry for count " + currentCount, e.getMessage());
+            // Continue processing remaining entries
+          }
         }
-      }
 
-      hideProgress();
-
-      if (errorCount > 0) {
-        loggingService.logWarning("BULK_GENERATE", "Bulk generation completed with errors - Server: " +
-            serverConfig.getName() + ", Successes: " + successCount + ", Errors: " + errorCount);
-        showInfo("Bulk generation completed with " + successCount + " successes and " + errorCount + " errors");
-      } else {
-        loggingService.logInfo("BULK_GENERATE", "Bulk generation completed successfully - Server: " +
-            serverConfig.getName() + ", Entries: " + successCount);
-        showSuccess("Bulk generation completed successfully. " + successCount + " entries created");
+        if (errorCount > 0) {
+          loggingService.logWarning("BULK_GENERATE", "Bulk generation completed with errors - Server: " +
+              server.getName() + ", Successes: " + successCount + ", Errors: " + errorCount);
+        } else {
+          loggingService.logInfo("BULK_GENERATE", "Bulk generation completed successfully - Server: " +
+              server.getName() + ", Entries: " + successCount);
+        }
+        int successes = successCount;
+        int errors = errorCount;
+        ui.access(() -> {
+          hideProgress();
+          if (errors > 0) {
+            showInfo("Bulk generation completed with " + successes + " successes and " + errors + " errors");
+          } else {
+            showSuccess("Bulk generation completed successfully. " + successes + " entries created");
+          }
+        });
+
+      } catch (Exception e) {
+        loggingService.logError("BULK_GENERATE", "Bulk generation failed - Server: " + server.getName(),
+            e.getMessage());
+        ui.access(() -> {
+          hideProgress();
+          showError("Bulk generation failed: " + e.getMessage());
+        });
       }
-
-    } catch (Exception e) {
-      hideProgress();
-      loggingService.logError("BULK_GENERATE", "Bulk generation failed - Server: " + serverConfig.getName(),
-          e.getMessage());
-      showError("Bulk generation failed: " + e.getMessage());
-    }
+    });
   }
 
   private void showProgress() {
@@ -1,5 +1,6 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -20,6 +21,8 @@ import com.vaadin.flow.component.upload.Upload;
 import com.vaadin.flow.component.upload.receivers.MemoryBuffer;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
 import com.unboundid.ldap.sdk.Control;
@@ -35,7 +38,6 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -249,10 +251,13 @@ public class BulkGroupMembershipsTab extends VerticalLayout {
 
     showProgress();
 
+    String userBaseDn = userBaseDnField.getValue();
+    String groupBaseDn = groupBaseDnField.getValue();
+
     // Perform operation asynchronously
-    CompletableFuture.runAsync(() -> {
+    BackgroundTaskService.get(UI.getCurrent()).submit(this, token -> {
       try {
-        processBulkGroupMembership(groupName, userIds, isAddOperation);
+        processBulkGroupMembership(groupName, userIds, isAddOperation, userBaseDn, groupBaseDn, token);
       } catch (Exception e) {
         getUI().ifPresent(ui -> ui.access(() -> {
           hideProgress();
@@ -262,10 +267,8 @@ public class BulkGroupMembershipsTab extends VerticalLayout {
     });
   }
 
-  private void processBulkGroupMembership(String groupName, List<String> userIds, boolean isAddOperation)
-      throws LDAPException {
-    String userBaseDn = userBaseDnField.getValue();
-    String groupBaseDn = groupBaseDnField.getValue();
+  private void processBulkGroupMembership(String groupName, List<String> userIds, boolean isAddOperation,
+      String userBaseDn, String groupBaseDn, CancellationToken token) throws LDAPException {
 
     // Use server base DN if not specified
     if (userBaseDn == null || userBaseDn.trim().isEmpty()) {
@@ -293,6 +296,9 @@ public class BulkGroupMembershipsTab extends VerticalLayout {
       List<UserInfo> validUsers = new ArrayList<>();
 
       for (String userId : userIds) {
+        if (token.isCancelled()) {
+          return;
+        }
         try {
           String userFilter = "(&(|(objectClass=posixAccount)(objectClass=inetOrgPerson))(uid="
               + escapeFilterValue(userId) + "))";
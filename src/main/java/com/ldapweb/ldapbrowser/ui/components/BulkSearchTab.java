@@ -1,5 +1,6 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -19,6 +20,8 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.server.StreamResource;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
 import com.unboundid.ldap.sdk.Control;
@@ -204,39 +207,71 @@ public class BulkSearchTab extends VerticalLayout {
 
     showProgress();
 
-    try {
-      // Perform search to get entries
-      List<LdapEntry> entries = ldapService.searchEntries(
-          serverConfig.getId(),
-          searchBase.trim(),
-          searchFilter.trim(),
-          SearchScope.SUB);
-
-      if (entries.isEmpty()) {
-        hideProgress();
-        showInfo("No entries found matching the search criteria");
-        return;
-      }
+    // Search and apply the changes in the background; the outcome is pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BulkOptions options = new BulkOptions(continueOnErrorCheckbox.getValue(),
+        permissiveModifyCheckbox.getValue(), noOperationCheckbox.getValue());
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Perform search to get entries, paging past the server size limit
+        List<LdapEntry> entries = ldapService.searchAllEntries(
+            server.getId(),
+            searchBase.trim(),
+            searchFilter.trim(),
+            SearchScope.SUB);
+
+        if (entries.isEmpty()) {
+          ui.access(() -> {
+            hideProgress();
+            showInfo("No entries found matching the search criteria");
+          });
+          return;
+        }
 
-      if ("Execute Change".equals(operationMode)) {
-        performExecuteChanges(entries, ldifTemplate);
-      } else {
-        performCreateLdif(entries, ldifTemplate);
+        if ("Execute Change".equals(operationMode)) {
+          performExecuteChanges(ui, token, server, entries, ldifTemplate, options);
+        } else {
+          performCreateLdif(ui, entries, ldifTemplate);
+        }
+
+      } catch (Exception e) {
+        loggingService.logError("BULK_SEARCH", "Bulk operation failed - Server: " + server.getName(),
+            e.getMessage());
+        ui.access(() -> {
+          hideProgress();
+          showError("Bulk operation failed: " + e.getMessage());
+        });
       }
+    });
+  }
 
-    } catch (Exception e) {
-      hideProgress();
-      loggingService.logError("BULK_SEARCH", "Bulk operation failed - Server: " + serverConfig.getName(),
-          e.getMessage());
-      showError("Bulk operation failed: " + e.getMessage());
+  /**
+   * Checkbox settings read on the request thread when the operation starts
+   */
+  private static class BulkOptions {
+    private final boolean continueOnError;
+    private final boolean permissiveModify;
+    private final boolean noOperation;
+
+    BulkOptions(boolean continueOnError, boolean permissiveModify, boolean noOperation) {
+      this.continueOnError = continueOnError;
+      this.permissiveModify = permissiveModify;
+      this.noOperation = noOperation;
     }
   }
 
-  private void performExecuteChanges(List<LdapEntry> entries, String ldifTemplate) throws Exception {
+  private void performExecuteChanges(UI ui, CancellationToken token, LdapServerConfig server,
+      List<LdapEntry> entries, String ldifTemplate, BulkOptions options) throws Exception {
     int successCount = 0;
     int errorCount = 0;
 
     for (LdapEntry entry : entries) {
+      if (token.isCancelled()) {
+        // The view was left; entries already changed stay changed
+        loggingService.logInfo("BULK_SEARCH", "Bulk operation stopped after " + successCount + " entries");
+        return;
+      }
       try {
         // Generate LDIF for this entry
         String ldif = generateLdifForEntry(entry, ldifTemplate);
@@ -257,9 +292,9 @@ public class BulkSearchTab extends VerticalLayout {
                   List<Control> controls = new ArrayList<>();
 
                   // Check and add No Operation control if requested
-                  if (noOperationCheckbox.getValue()) {
+                  if (options.noOperation) {
                     try {
-                      boolean isSupported = ldapService.isControlSupported(serverConfig.getId(),
+                      boolean isSupported = ldapService.isControlSupported(server.getId(),
                           NO_OPERATION_CONTROL_OID);
                       if (isSupported) {
                         // Create No Operation control (OID: 1.3.6.1.4.1.4203.1.10.2)
@@ -275,9 +310,9 @@ public class BulkSearchTab extends VerticalLayout {
                   }
 
                   // Check and add Permissive Modify control if requested
-                  if (permissiveModifyCheckbox.getValue()) {
+                  if (options.permissiveModify) {
                     try {
-                      boolean isSupported = ldapService.isControlSupported(serverConfig.getId(),
+                      boolean isSupported = ldapService.isControlSupported(server.getId(),
                           PERMISSIVE_MODIFY_CONTROL_OID);
                       if (isSupported) {
                         // Create Permissive Modify control (OID: 1.2.840.113556.1.4.1413)
@@ -293,7 +328,7 @@ public class BulkSearchTab extends VerticalLayout {
                   }
 
                   // Perform modify with controls
-                  ldapService.modifyEntry(serverConfig.getId(),
+                  ldapService.modifyEntry(server.getId(),
                       modifyRecord.getDN(),
                       Arrays.asList(modifyRecord.getModifications()),
                       controls.isEmpty() ? null : controls);
@@ -313,12 +348,12 @@ public class BulkSearchTab extends VerticalLayout {
                     }
                   }
 
-                  ldapService.addEntry(serverConfig.getId(), newEntry);
+                  ldapService.addEntry(server.getId(), newEntry);
                 }
                 break;
 
               case DELETE:
-                ldapService.deleteEntry(serverConfig.getId(), changeRecord.getDN());
+                ldapService.deleteEntry(server.getId(), changeRecord.getDN());
                 break;
 
               default:
@@ -333,7 +368,7 @@ public class BulkSearchTab extends VerticalLayout {
 
       } catch (Exception e) {
         errorCount++;
-        if (!continueOnErrorCheckbox.getValue()) {
+        if (!options.continueOnError) {
           throw e;
         }
         // Log error but continue if continue on error is enabled
@@ -341,16 +376,19 @@ public class BulkSearchTab extends VerticalLayout {
       }
     }
 
-    hideProgress();
-
-    if (errorCount > 0) {
-      showInfo("Bulk operation completed with " + successCount + " successes and " + errorCount + " errors");
-    } else {
-      showSuccess("Bulk operation completed successfully. " + successCount + " entries processed");
-    }
+    int successes = successCount;
+    int errors = errorCount;
+    ui.access(() -> {
+      hideProgress();
+      if (errors > 0) {
+        showInfo("Bulk operation completed with " + successes + " successes and " + errors + " errors");
+      } else {
+        showSuccess("Bulk operation completed successfully. " + successes + " entries processed");
+      }
+    });
   }
 
-  private void performCreateLdif(List<LdapEntry> entries, String ldifTemplate) throws Exception {
+  private void performCreateLdif(UI ui, List<LdapEntry> entries, String ldifTemplate) {
     StringBuilder ldifContent = new StringBuilder();
 
     for (int i = 0; i < entries.size(); i++) {
@@ -367,10 +405,11 @@ public class BulkSearchTab extends VerticalLayout {
     }
 
     // Create download
-    createDownloadLink(ldifContent.toString(), "bulk-operation.ldif");
-
-    hideProgress();
-    showSuccess("LDIF generated successfully for " + entries.size() + " entries");
+    ui.access(() -> {
+      createDownloadLink(ldifContent.toString(), "bulk-operation.ldif");
+      hideProgress();
+      showSuccess("LDIF generated successfully for " + entries.size() + " entries");
+    });
   }
 
   private String generateLdifForEntry(LdapEntry entry, String ldifTemplate) {
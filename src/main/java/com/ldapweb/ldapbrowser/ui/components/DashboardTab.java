@@ -2,12 +2,15 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.ServerSelectionService;
 import com.ldapweb.ldapbrowser.ui.components.SearchPanel.SearchResult;
 import com.vaadin.flow.component.ClientCallable;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
@@ -30,6 +33,7 @@ public class DashboardTab extends VerticalLayout {
   private final ConfigurationService configurationService;
   private final InMemoryLdapService inMemoryLdapService;
   private LdapServerConfig serverConfig;
+  private CancellationToken entryLoad; // Running entry fetch; a newer selection cancels it
 
   // Environment selection
   // Removed environment dropdown; selection driven by ServerSelectionService
@@ -246,44 +250,61 @@ public class DashboardTab extends VerticalLayout {
     // editor
     if (entry != null && !entry.getDn().startsWith("_placeholder_") &&
         entry.getAttributeValues("isPagination").isEmpty()) {
-      // Fetch the complete entry with schema information in one optimized call
-      try {
-        LdapService.EntryWithSchema entryWithSchema = ldapService.getEntryWithSchema(serverConfig.getId(),
-            entry.getDn());
-        if (entryWithSchema != null) {
-          attributeEditor.editEntryWithSchema(entryWithSchema.getEntry(), entryWithSchema.getSchema());
-        } else {
+      // Fetch the complete entry with schema information in one optimized call,
+      // in the background; the editor is filled once it arrives
+      UI ui = UI.getCurrent();
+      LdapServerConfig server = serverConfig;
+      cancelEntryLoad();
+      entryLoad = BackgroundTaskService.get(ui).submit(this, token -> {
+        LdapService.EntryWithSchema entryWithSchema = null;
+        LdapEntry fullEntry = null;
+        try {
+          entryWithSchema = ldapService.getEntryWithSchema(server.getId(), entry.getDn());
+        } catch (Exception e) {
+          // Fall through to the regular fetch below
+        }
+        if (entryWithSchema == null) {
           // Fallback to regular method if optimized call fails
-          LdapEntry fullEntry = ldapService.getEntry(serverConfig.getId(), entry.getDn());
-          if (fullEntry != null) {
-            attributeEditor.editEntry(fullEntry);
-          } else {
-            attributeEditor.editEntry(entry); // Fallback to tree entry if fetch fails
+          try {
+            fullEntry = ldapService.getEntry(server.getId(), entry.getDn());
+          } catch (Exception fallbackException) {
+            // Fallback to tree entry if fetch fails
           }
         }
-      } catch (Exception e) {
-        // Fallback to the entry from tree if optimized fetch fails
-        try {
-          LdapEntry fullEntry = ldapService.getEntry(serverConfig.getId(), entry.getDn());
-          if (fullEntry != null) {
-            attributeEditor.editEntry(fullEntry);
+        if (token.isCancelled()) {
+          return;
+        }
+        LdapService.EntryWithSchema withSchema = entryWithSchema;
+        LdapEntry loaded = fullEntry != null ? fullEntry : entry;
+        ui.access(() -> {
+          if (token.isCancelled()) {
+            return;
+          }
+          if (withSchema != null) {
+            attributeEditor.editEntryWithSchema(withSchema.getEntry(), withSchema.getSchema());
           } else {
-            attributeEditor.editEntry(entry);
+            attributeEditor.editEntry(loaded);
           }
-        } catch (Exception fallbackException) {
-          attributeEditor.editEntry(entry);
-        }
-      }
+        });
+      });
       // Set the entry DN as the Search Base DN in the search panel
       searchPanel.setBaseDn(entry.getDn());
 
       // Automatically switch to Entry Details tab when an entry is selected
       tabSheet.setSelectedTab(entryDetailsTab);
     } else {
+      cancelEntryLoad();
       attributeEditor.clear();
     }
   }
 
+  private void cancelEntryLoad() {
+    if (entryLoad != null) {
+      entryLoad.cancel();
+      entryLoad = null;
+    }
+  }
+
   /**
    * Load an entry by DN and switch to the Entry Details tab
    * 
@@ -294,17 +315,29 @@ public class DashboardTab extends VerticalLayout {
       return;
     }
 
-    try {
-      LdapEntry entry = ldapService.getEntry(serverConfig.getId(), dn);
-      if (entry != null) {
-        attributeEditor.editEntry(entry);
-        // Switch to Entry Details tab
-        tabSheet.setSelectedTab(entryDetailsTab);
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    cancelEntryLoad();
+    entryLoad = BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        LdapEntry entry = ldapService.getEntry(server.getId(), dn);
+        if (entry != null && !token.isCancelled()) {
+          ui.access(() -> {
+            if (token.isCancelled()) {
+              return;
+            }
+            attributeEditor.editEntry(entry);
+            // Switch to Entry Details tab
+            tabSheet.setSelectedTab(entryDetailsTab);
+            // Show where the entry sits in the tree as well
+            treeBrowser.revealDn(dn);
+          });
+        }
+      } catch (Exception e) {
+        // Handle error silently or show notification
+        System.err.println("Failed to load entry: " + dn + ", Error: " + e.getMessage());
       }
-    } catch (Exception e) {
-      // Handle error silently or show notification
-      System.err.println("Failed to load entry: " + dn + ", Error: " + e.getMessage());
-    }
+    });
   }
 
   private void onSearchResults(SearchResult searchResult) {
@@ -3,13 +3,20 @@ package com.ldapweb.ldapbrowser.ui.components;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
 import com.ldapweb.ldapbrowser.model.SearchResultEntry;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
+import com.ldapweb.ldapbrowser.service.SearchResultStore;
+import com.ldapweb.ldapbrowser.service.UiUpdateBatcher;
 import com.ldapweb.ldapbrowser.util.RouteBasedServerSelection;
 import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -26,13 +33,24 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.TabSheet;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.shared.Registration;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Directory Search sub-tab for searching users, groups, and all entries across
@@ -68,24 +86,29 @@ public class DirectorySearchSubTab extends VerticalLayout {
   private Grid<SearchResultEntry> resultsGrid;
   private Span resultCountLabel;
   private VerticalLayout resultsContainer;
-  private HorizontalLayout paginationLayout;
 
   // Comparison functionality
   private final Set<SearchResultEntry> selectedForComparison = new HashSet<>();
-  private final Map<SearchResultEntry, Checkbox> comparisonCheckboxes = new HashMap<>();
   private Checkbox selectAllCheckbox;
   private Button compareButton;
   private Span comparisonCountLabel;
   private Consumer<List<SearchResultEntry>> comparisonCallback;
-  private java.util.function.BiConsumer<List<SearchResultEntry>, String> searchResultsCallback;
-
-  // Pagination
-  private static final int RESULTS_PER_PAGE = 100;
-  private List<SearchResultEntry> allResults = new ArrayList<>();
-  private int currentPage = 0;
-  private Button prevPageButton;
-  private Button nextPageButton;
-  private Span pageInfoLabel;
+  private java.util.function.BiConsumer<SearchResultStore, String> searchResultsCallback;
+  private java.util.function.BiConsumer<SearchResultStore, String> partialResultsCallback;
+
+  private static final int MAX_COMPARISON_ENTRIES = 10;
+  private static final int MAX_PARALLEL_ENVIRONMENTS = 6; // Environments searched at once
+  private static final int ENVIRONMENT_TIMEOUT_SECONDS = 30; // Time limit of the search in each environment
+  private static final int RENDER_BATCH_ENTRIES = 500; // Entries after which the grid is refreshed without waiting for the batch interval
+  // Attributes requested by a search: the DN alone for the results tab, which lists
+  // only DN and environment, or those read by the built-in grid's columns
+  private static final String[] RESULTS_TAB_ATTRIBUTES = {"1.1"};
+  private static final String[] GRID_ATTRIBUTES = {"objectClass", "cn", "uid", "ou"};
+  // Results of the latest search, spilled to disk and read lazily by the grid;
+  // closed when replaced by the next search, cleared, or when the UI goes away
+  private SearchResultStore currentResults;
+  private Registration currentResultsCleanup;
+  private CancellationToken runningSearch;
 
   // Search types
   private enum SearchType {
@@ -263,22 +286,23 @@ public class DirectorySearchSubTab extends VerticalLayout {
   }
 
   private void initializeResultsComponents() {
-    // Results grid
+    // Results grid; rows are read lazily in the order they arrived, so columns are not sortable
     resultsGrid = new Grid<>(SearchResultEntry.class, false);
+    resultsGrid.setItems(new CallbackDataProvider<SearchResultEntry, Void>(
+        query -> currentResults != null
+            ? currentResults.fetch(query.getOffset(), query.getLimit()).stream()
+            : Stream.empty(),
+        query -> currentResults != null ? currentResults.size() : 0));
 
     // Create select all checkbox for the header
     selectAllCheckbox = new Checkbox();
     selectAllCheckbox.addValueChangeListener(event -> {
       boolean selectAll = event.getValue();
       if (selectAll) {
-        // Select all visible entries (up to 10)
-        List<SearchResultEntry> visibleEntries = getCurrentPageEntries();
-        int toSelect = Math.min(10, visibleEntries.size());
+        // Select the first entries (up to 10)
         selectedForComparison.clear();
-        for (int i = 0; i < toSelect; i++) {
-          selectedForComparison.add(visibleEntries.get(i));
-        }
-        if (toSelect < visibleEntries.size()) {
+        selectedForComparison.addAll(getFirstEntries());
+        if (currentResults != null && currentResults.size() > MAX_COMPARISON_ENTRIES) {
           showError("You can select up to 10 entries for comparison. "
               + "Selected first 10 entries.");
         }
@@ -295,7 +319,7 @@ public class DirectorySearchSubTab extends VerticalLayout {
       checkbox.setValue(selectedForComparison.contains(entry));
       checkbox.addValueChangeListener(event -> {
         if (event.getValue()) {
-          if (selectedForComparison.size() < 10) {
+          if (selectedForComparison.size() < MAX_COMPARISON_ENTRIES) {
             selectedForComparison.add(entry);
           } else {
             checkbox.setValue(false);
@@ -306,11 +330,9 @@ public class DirectorySearchSubTab extends VerticalLayout {
         } else {
           selectedForComparison.remove(entry);
         }
-        comparisonCheckboxes.put(entry, checkbox);
         updateComparisonControls();
         updateSelectAllCheckbox();
       });
-      comparisonCheckboxes.put(entry, checkbox);
       return checkbox;
     }).setHeader(selectAllCheckbox).setWidth("80px").setFlexGrow(0);
 
@@ -331,22 +353,17 @@ public class DirectorySearchSubTab extends VerticalLayout {
     }).setWidth("60px").setFlexGrow(0);
 
     resultsGrid.addColumn(SearchResultEntry::getDisplayName)
-        .setHeader("Name")
-        .setSortable(true);
+        .setHeader("Name");
 
     resultsGrid.addColumn(SearchResultEntry::getDn)
-        .setHeader("Distinguished Name")
-        .setSortable(true);
+        .setHeader("Distinguished Name");
 
-    resultsGrid.addColumn(
-        entry -> String.join(", ", entry.getAttributeValues("objectClass")))
-        .setHeader("Object Classes")
-        .setSortable(true);
+    resultsGrid.addColumn(entry -> String.join(", ", entry.getAttributeValues("objectClass")))
+        .setHeader("Object Classes");
 
     // Add environment column
     resultsGrid.addColumn(SearchResultEntry::getEnvironmentName)
-        .setHeader("Environment")
-        .setSortable(true);
+        .setHeader("Environment");
 
     resultsGrid.setSizeFull();
     resultsGrid.setVisible(false);
@@ -364,26 +381,6 @@ public class DirectorySearchSubTab extends VerticalLayout {
     resultCountLabel.getStyle().set("font-style", "italic");
     resultCountLabel.setVisible(false);
 
-    // Pagination controls
-    prevPageButton = new Button("Previous", new Icon(VaadinIcon.ARROW_LEFT));
-    prevPageButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
-    prevPageButton.setEnabled(false);
-    prevPageButton.addClickListener(e -> navigateToPage(currentPage - 1));
-
-    nextPageButton = new Button("Next", new Icon(VaadinIcon.ARROW_RIGHT));
-    nextPageButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
-    nextPageButton.setEnabled(false);
-    nextPageButton.addClickListener(e -> navigateToPage(currentPage + 1));
-
-    pageInfoLabel = new Span();
-    pageInfoLabel.getStyle().set("font-style", "italic").set("color", "#666");
-
-    paginationLayout = new HorizontalLayout();
-    paginationLayout.setDefaultVerticalComponentAlignment(HorizontalLayout.Alignment.CENTER);
-    paginationLayout.setSpacing(true);
-    paginationLayout.add(prevPageButton, pageInfoLabel, nextPageButton);
-    paginationLayout.setVisible(false);
-
     // Comparison controls
     comparisonCountLabel = new Span("0 entries selected for comparison");
     comparisonCountLabel.getStyle().set("font-style", "italic").set("color", "#666");
@@ -404,7 +401,7 @@ public class DirectorySearchSubTab extends VerticalLayout {
     resultsContainer = new VerticalLayout();
     resultsContainer.setPadding(false);
     resultsContainer.setSpacing(true);
-    resultsContainer.add(resultCountLabel, resultsGrid, paginationLayout, comparisonControls);
+    resultsContainer.add(resultCountLabel, resultsGrid, comparisonControls);
     resultsContainer.setFlexGrow(1, resultsGrid);
     resultsContainer.setSizeFull();
   }
@@ -518,60 +515,8 @@ public class DirectorySearchSubTab extends VerticalLayout {
       return;
     }
 
-    try {
-      List<SearchResultEntry> allResults = new ArrayList<>();
-      String filter = customFilter.trim();
-
-      // Search across all selected environments
-      for (LdapServerConfig environment : selectedEnvironments) {
-        // Ensure connection to each environment before searching
-        try {
-          if (!ldapService.isConnected(environment.getId())) {
-            ldapService.connect(environment);
-          }
-        } catch (LDAPException ex) {
-          String msg = "Failed to connect to environment '" + environment.getName()
-              + "': " + ex.getMessage();
-          System.err.println(msg);
-          showError(msg);
-          continue; // Skip this environment
-        }
-
-        String searchBase;
-
-        if (customSearchBase != null && !customSearchBase.trim().isEmpty()) {
-          searchBase = customSearchBase.trim();
-        } else {
-          searchBase = environment.getBaseDn();
-        }
-
-        try {
-          // Use searchEntries method with correct parameters - include operational attributes for comparison
-          List<LdapEntry> environmentResults = ldapService.searchEntries(
-              environment.getId(), searchBase, filter, SearchScope.SUB, "*", "+");
-
-          // Convert to SearchResultEntry objects
-          for (LdapEntry entry : environmentResults) {
-            allResults.add(new SearchResultEntry(entry, environment));
-          }
-        } catch (LDAPException ex) {
-          String errorMsg = "Search failed for environment '"
-              + environment.getName() + "': " + ex.getMessage();
-          System.err.println(errorMsg);
-          showError(errorMsg);
-        }
-      }
-
-      // Use the existing displayResults method for main grid
-      String searchDescription = "advanced search: " + filter;
-      displayResults(allResults, searchDescription);
-
-    } catch (Exception ex) {
-      String errorMsg = "Search failed: " + ex.getMessage();
-      showError(errorMsg);
-      System.err.println(errorMsg);
-      ex.printStackTrace();
-    }
+    String filter = customFilter.trim();
+    searchEnvironments(selectedEnvironments, customSearchBase, filter, "advanced search: " + filter);
   }
 
   private void performSearch(String searchTerm, SearchType searchType, String customFilter) {
@@ -605,60 +550,245 @@ public class DirectorySearchSubTab extends VerticalLayout {
       searchDescription = searchType.getLabel().toLowerCase() + " matching '" + searchTerm + "'";
     }
 
+    searchEnvironments(selectedEnvironments, customSearchBase, filter, searchDescription);
+  }
+
+  /**
+   * Search the selected environments in the background, a few at a time. Each
+   * search carries a time limit of {@link #ENVIRONMENT_TIMEOUT_SECONDS} and is
+   * abandoned on the client shortly after it, so a hung server gives up its
+   * slot and the environments queued behind it still run. Entries are streamed page
+   * by page into a {@link SearchResultStore} as each server sends them, so the
+   * results are never held on the heap and the grid reads only the rows it
+   * shows. The wait is for the slowest server rather than all of them in turn.
+   *
+   * The grid is refreshed while entries arrive, at most once per batch
+   * interval or every {@link #RENDER_BATCH_ENTRIES} entries, and straight
+   * away for the first entry, so the first hits of a slow subtree search can
+   * be worked on before the search ends.
+   *
+   * The search belongs to the enclosing search view, so it keeps running
+   * while the results tab is shown and is abandoned on every server when
+   * the view is left, the search is stopped or a new one starts.
+   */
+  private void searchEnvironments(Set<LdapServerConfig> selectedEnvironments, String customSearchBase,
+      String filter, String searchDescription) {
+    UI ui = UI.getCurrent();
+    BackgroundTaskService tasks = BackgroundTaskService.get(ui);
+    List<LdapServerConfig> environments = new ArrayList<>(selectedEnvironments);
+    String[] attributes = projectedAttributes();
+
+    cancelSearch();
+    SearchResultStore results;
     try {
-      List<SearchResultEntry> allResults = new ArrayList<>();
-
-      // Search across all selected environments
-      for (LdapServerConfig environment : selectedEnvironments) {
-        // Ensure connection to each environment before searching
-        try {
-          if (!ldapService.isConnected(environment.getId())) {
-            ldapService.connect(environment);
+      results = SearchResultStore.create();
+    } catch (IOException e) {
+      showError("Failed to start search: " + e.getMessage());
+      return;
+    }
+    replaceResults(ui, results);
+
+    // Touched only under the session lock, from batched updates
+    Map<LdapServerConfig, String> statuses = new LinkedHashMap<>();
+    Set<LdapServerConfig> finished = new HashSet<>();
+    environments.forEach(environment -> statuses.put(environment, "searching…"));
+    showPartialResults(results, statusLine(statuses));
+
+    // Counted on the connection reader threads as entries arrive
+    Map<LdapServerConfig, AtomicInteger> received = new HashMap<>();
+    environments.forEach(environment -> received.put(environment, new AtomicInteger()));
+    AtomicInteger total = new AtomicInteger();
+    AtomicInteger sinceRefresh = new AtomicInteger();
+    AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    // Search in the background; progress and notifications are batched back to the browser
+    Component owner = parentTab != null ? parentTab : this;
+    runningSearch = tasks.submit(owner, token -> {
+      UiUpdateBatcher updates = tasks.createBatcher(ui);
+      Semaphore slots = new Semaphore(MAX_PARALLEL_ENVIRONMENTS);
+      List<CompletableFuture<?>> searches = new ArrayList<>();
+      // One refresh at a time is queued, however many entries arrive before it runs
+      Runnable refresh = () -> {
+        refreshQueued.set(false);
+        if (results != currentResults) {
+          return;
+        }
+        received.forEach((environment, count) -> {
+          if (!finished.contains(environment) && count.get() > 0) {
+            statuses.put(environment, count.get() + " so far");
           }
-        } catch (LDAPException ex) {
-          showError("Failed to connect to environment " + environment.getName()
-              + ": " + ex.getMessage());
-          continue; // Skip this environment
+        });
+        showPartialResults(results, statusLine(statuses));
+      };
+      try {
+        for (LdapServerConfig environment : environments) {
+          if (token.isCancelled()) {
+            break;
+          }
+          slots.acquire();
+          CompletableFuture<LdapService.SearchStreamResult> search =
+              tasks.fork(() -> searchEnvironment(environment, customSearchBase, filter, attributes, token, entry -> {
+                // Throwing abandons the search, so the server stops sending entries nobody will see
+                if (token.isCancelled() || results.isClosed()) {
+                  throw new CancellationException("Search stopped");
+                }
+                results.append(new SearchResultEntry(entry, environment));
+                received.get(environment).incrementAndGet();
+                if (refreshQueued.compareAndSet(false, true)) {
+                  updates.post(refresh);
+                }
+                if (total.incrementAndGet() == 1 || sinceRefresh.incrementAndGet() >= RENDER_BATCH_ENTRIES) {
+                  sinceRefresh.set(0);
+                  updates.flush();
+                }
+              }));
+          // The search ends by its time limit at the latest, so the slot is not held by a hung server
+          searches.add(search.whenComplete((result, error) -> {
+            slots.release();
+            if (error == null) {
+              int count = result.getEntryCount();
+              boolean timedOut = result.isTimeLimitExceeded();
+              String status = timedOut
+                  ? "timed out after " + count + (count == 1 ? " entry" : " entries")
+                  : count + (count == 1 ? " entry" : " entries")
+                      + (result.isSizeLimitExceeded() ? " (limit reached)" : "");
+              updates.post(() -> {
+                if (results == currentResults) {
+                  finished.add(environment);
+                  statuses.put(environment, status);
+                  if (timedOut) {
+                    showError("Search timed out for environment '" + environment.getName() + "'");
+                  }
+                  showPartialResults(results, statusLine(statuses));
+                }
+              });
+              return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            boolean cancelled = cause instanceof CancellationException
+                || (cause instanceof LDAPException
+                    && ((LDAPException) cause).getResultCode() == ResultCode.USER_CANCELED);
+            updates.post(() -> {
+              if (results != currentResults) {
+                return;
+              }
+              finished.add(environment);
+              statuses.put(environment, cancelled ? "stopped" : "failed");
+              if (!cancelled) {
+                showError(cause.getMessage());
+              }
+              showPartialResults(results, statusLine(statuses));
+            });
+          }));
         }
+        CompletableFuture.allOf(searches.toArray(new CompletableFuture<?>[0])).join();
+
+        // Results are kept in the order they arrived across environments
+        String description = token.isCancelled() ? searchDescription + " (stopped)" : searchDescription;
+        updates.post(() -> {
+          if (results == currentResults) {
+            runningSearch = null;
+            displayResults(results, description);
+          }
+        });
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        updates.flush();
+      }
+    });
+  }
 
-        String searchBase;
+  /**
+   * Stop the running search, if any, abandoning it on every server; the
+   * entries found so far stay listed
+   */
+  public void cancelSearch() {
+    if (runningSearch != null) {
+      runningSearch.cancel();
+      runningSearch = null;
+    }
+  }
 
-        // Determine search base
-        if (customSearchBase != null && !customSearchBase.trim().isEmpty()) {
-          searchBase = customSearchBase.trim();
-        } else {
-          searchBase = environment.getBaseDn();
-        }
+  /**
+   * Make a new search's results current, closing the previous search's store;
+   * a search still filling it then stops at its next entry
+   */
+  private void replaceResults(UI ui, SearchResultStore results) {
+    closeResults();
+    currentResults = results;
+    currentResultsCleanup = ui.addDetachListener(event -> results.close());
+  }
 
-        if (searchBase == null || searchBase.trim().isEmpty()) {
-          showError("No base DN configured for environment: "
-              + environment.getName());
-          continue;
-        }
+  private void closeResults() {
+    if (currentResultsCleanup != null) {
+      currentResultsCleanup.remove();
+      currentResultsCleanup = null;
+    }
+    if (currentResults != null) {
+      currentResults.close();
+      currentResults = null;
+    }
+    selectedForComparison.clear();
+  }
 
-        try {
-          // Perform the search - include operational attributes for comparison
-          List<LdapEntry> results = ldapService.searchEntries(
-              environment.getId(), searchBase, filter, SearchScope.SUB, "*", "+" // Request all user and operational attributes
-          );
+  /**
+   * Connect to one environment if needed and stream the search there to the
+   * consumer; runs in the background, concurrently with the other environments
+   */
+  private LdapService.SearchStreamResult searchEnvironment(LdapServerConfig environment,
+      String customSearchBase, String filter, String[] attributes, CancellationToken token,
+      Consumer<LdapEntry> consumer) throws LDAPException {
+    // Ensure connection to each environment before searching
+    try {
+      if (!ldapService.isConnected(environment.getId())) {
+        ldapService.connect(environment);
+      }
+    } catch (LDAPException e) {
+      throw new LDAPException(e.getResultCode(), "Failed to connect to environment '" + environment.getName()
+          + "': " + e.getMessage(), e);
+    }
 
-          // Convert to SearchResultEntry objects
-          for (LdapEntry entry : results) {
-            allResults.add(new SearchResultEntry(entry, environment));
-          }
+    // Determine search base
+    String searchBase;
+    if (customSearchBase != null && !customSearchBase.trim().isEmpty()) {
+      searchBase = customSearchBase.trim();
+    } else {
+      searchBase = environment.getBaseDn();
+    }
+    if (searchBase == null || searchBase.trim().isEmpty()) {
+      throw new LDAPException(ResultCode.PARAM_ERROR, "No base DN configured for environment: "
+          + environment.getName());
+    }
 
-        } catch (LDAPException e) {
-          showError("Search failed for environment "
-              + environment.getName() + ": " + e.getMessage());
-        }
-      }
+    try {
+      // Full entries are read when one is opened or compared
+      return ldapService.streamEntries(environment.getId(), searchBase, filter, SearchScope.SUB,
+          ENVIRONMENT_TIMEOUT_SECONDS, token, consumer, attributes);
+    } catch (LDAPException e) {
+      throw new LDAPException(e.getResultCode(), "Search failed for environment '" + environment.getName()
+          + "': " + e.getMessage(), e);
+    }
+  }
 
-      // Display results
-      displayResults(allResults, searchDescription);
+  /**
+   * Attributes to request: the results tab shows no attribute values, so it
+   * gets the DN alone, while the built-in grid shows name and object classes
+   */
+  private String[] projectedAttributes() {
+    return searchResultsCallback != null ? RESULTS_TAB_ATTRIBUTES : GRID_ATTRIBUTES;
+  }
 
-    } catch (Exception e) {
-      showError("Search failed: " + e.getMessage());
+  private static String statusLine(Map<LdapServerConfig, String> statuses) {
+    StringBuilder line = new StringBuilder();
+    for (Map.Entry<LdapServerConfig, String> status : statuses.entrySet()) {
+      if (line.length() > 0) {
+        line.append(" · ");
+      }
+      line.append(status.getKey().getName()).append(": ").append(status.getValue());
     }
+    return line.toString();
   }
 
   private String buildSearchFilter(String searchTerm, SearchType searchType) {
@@ -675,27 +805,25 @@ public class DirectorySearchSubTab extends VerticalLayout {
     }
   }
 
-  private void displayResults(List<SearchResultEntry> results,
+  private void displayResults(SearchResultStore results,
       String searchDescription) {
+    int count = results.size();
     // If we have a search results callback, use it to display results in the
     // dedicated tab
     if (searchResultsCallback != null) {
       searchResultsCallback.accept(results, searchDescription);
 
       // Still show notifications for user feedback
-      if (results.isEmpty()) {
+      if (count == 0) {
         showInfo("No entries found matching your search criteria");
       } else {
-        showSuccess(String.format("Found %d %s", results.size(),
-            results.size() == 1 ? "entry" : "entries"));
+        showSuccess(String.format("Found %d %s", count,
+            count == 1 ? "entry" : "entries"));
       }
       return;
     }
 
     // Fallback to local display if no callback is set (backward compatibility)
-    this.allResults = new ArrayList<>(results);
-    currentPage = 0;
-
     updateResultsDisplay();
 
     resultsGrid.setVisible(true);
@@ -703,21 +831,37 @@ public class DirectorySearchSubTab extends VerticalLayout {
     // Update result count
     String countText = String.format(
         "Found %d %s for %s",
-        results.size(),
-        results.size() == 1 ? "entry" : "entries",
+        count,
+        count == 1 ? "entry" : "entries",
         searchDescription);
     resultCountLabel.setText(countText);
     resultCountLabel.setVisible(true);
 
-    // Show pagination if more than one page
-    paginationLayout.setVisible(results.size() > RESULTS_PER_PAGE);
-
-    if (results.isEmpty()) {
+    if (count == 0) {
       showInfo("No entries found matching your search criteria");
     } else {
-      showSuccess(String.format("Found %d %s", results.size(),
-          results.size() == 1 ? "entry" : "entries"));
+      showSuccess(String.format("Found %d %s", count,
+          count == 1 ? "entry" : "entries"));
+    }
+  }
+
+  /**
+   * Show the results stored so far while environments are still answering,
+   * keeping the scroll position and the comparison selection
+   */
+  private void showPartialResults(SearchResultStore results, String status) {
+    if (partialResultsCallback != null) {
+      partialResultsCallback.accept(results, status);
+      return;
     }
+
+    updateResultsDisplay();
+
+    int count = results.size();
+    resultsGrid.setVisible(true);
+    resultCountLabel.setText(String.format("Searching… %d %s so far (%s)",
+        count, count == 1 ? "entry" : "entries", status));
+    resultCountLabel.setVisible(true);
   }
 
   /**
@@ -733,22 +877,17 @@ public class DirectorySearchSubTab extends VerticalLayout {
     if (advancedSearchBuilder != null) {
       advancedSearchBuilder.clear();
     }
+    // Stop any running search and drop the results and the comparison selection
+    cancelSearch();
+    closeResults();
     if (resultsGrid != null) {
-      resultsGrid.setItems(new ArrayList<>());
+      resultsGrid.getDataProvider().refreshAll();
       resultsGrid.setVisible(false);
     }
     if (resultCountLabel != null) {
       resultCountLabel.setVisible(false);
     }
-    if (paginationLayout != null) {
-      paginationLayout.setVisible(false);
-    }
-    // Clear comparison selection
-    selectedForComparison.clear();
-    comparisonCheckboxes.clear();
     updateComparisonControls();
-    allResults.clear();
-    currentPage = 0;
     updateSearchButton();
   }
 
@@ -777,24 +916,7 @@ public class DirectorySearchSubTab extends VerticalLayout {
   }
 
   private void updateResultsDisplay() {
-    int totalPages = (int) Math.ceil((double) allResults.size() / RESULTS_PER_PAGE);
-    int startIndex = currentPage * RESULTS_PER_PAGE;
-    int endIndex = Math.min(startIndex + RESULTS_PER_PAGE, allResults.size());
-
-    List<SearchResultEntry> pageResults = allResults.subList(startIndex, endIndex);
-    resultsGrid.setItems(pageResults);
-
-    // Update pagination controls
-    prevPageButton.setEnabled(currentPage > 0);
-    nextPageButton.setEnabled(currentPage < totalPages - 1);
-
-    if (totalPages > 1) {
-      pageInfoLabel.setText(String.format(
-          "Page %d of %d (%d-%d of %d entries)",
-          currentPage + 1, totalPages, startIndex + 1, endIndex, allResults.size()));
-    } else {
-      pageInfoLabel.setText("");
-    }
+    resultsGrid.getDataProvider().refreshAll();
 
     // Update comparison controls
     updateComparisonControls();
@@ -803,14 +925,6 @@ public class DirectorySearchSubTab extends VerticalLayout {
     updateSelectAllCheckbox();
   }
 
-  private void navigateToPage(int page) {
-    int totalPages = (int) Math.ceil((double) allResults.size() / RESULTS_PER_PAGE);
-    if (page >= 0 && page < totalPages) {
-      currentPage = page;
-      updateResultsDisplay();
-    }
-  }
-
   private void showEntryDetailsDialog(LdapEntry entry,
       LdapServerConfig environment) {
     Dialog dialog = new Dialog();
@@ -877,10 +991,19 @@ public class DirectorySearchSubTab extends VerticalLayout {
    * Set the callback for when search results are ready to be displayed.
    */
   public void setSearchResultsCallback(
-      java.util.function.BiConsumer<List<SearchResultEntry>, String> callback) {
+      java.util.function.BiConsumer<SearchResultStore, String> callback) {
     this.searchResultsCallback = callback;
   }
 
+  /**
+   * Set the callback for results that arrive while a search is still running,
+   * with a status line naming each environment's progress.
+   */
+  public void setPartialResultsCallback(
+      java.util.function.BiConsumer<SearchResultStore, String> callback) {
+    this.partialResultsCallback = callback;
+  }
+
   /**
    * Update the comparison controls based on selected entries.
    */
@@ -890,34 +1013,31 @@ public class DirectorySearchSubTab extends VerticalLayout {
     compareButton.setEnabled(selectedCount >= 2 && selectedCount <= 10);
 
     // Show/hide comparison controls based on whether grid is visible
-    boolean showControls = resultsGrid.isVisible() && !allResults.isEmpty();
+    boolean showControls = resultsGrid.isVisible() && currentResults != null && currentResults.size() > 0;
     comparisonCountLabel.getParent().ifPresent(parent ->
         ((HorizontalLayout) parent).setVisible(showControls));
   }
 
   /**
-   * Get the current page entries.
+   * Get the first entries, the ones select-all picks for comparison.
    */
-  private List<SearchResultEntry> getCurrentPageEntries() {
-    int startIndex = currentPage * RESULTS_PER_PAGE;
-    int endIndex = Math.min(startIndex + RESULTS_PER_PAGE, allResults.size());
-    return allResults.subList(startIndex, endIndex);
+  private List<SearchResultEntry> getFirstEntries() {
+    return currentResults != null ? currentResults.fetch(0, MAX_COMPARISON_ENTRIES) : List.of();
   }
 
   /**
    * Update all checkboxes to reflect the current selection state.
    */
   private void updateAllCheckboxes() {
-    comparisonCheckboxes.forEach((entry, checkbox) -> {
-      checkbox.setValue(selectedForComparison.contains(entry));
-    });
+    // Rendered rows are rebuilt from the selection
+    resultsGrid.getDataProvider().refreshAll();
   }
 
   /**
    * Update the select all checkbox based on current selection state.
    */
   private void updateSelectAllCheckbox() {
-    List<SearchResultEntry> currentPageEntries = getCurrentPageEntries();
+    List<SearchResultEntry> currentPageEntries = getFirstEntries();
     if (currentPageEntries.isEmpty()) {
       selectAllCheckbox.setValue(false);
       selectAllCheckbox.setIndeterminate(false);
@@ -1,13 +1,18 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
+import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
 import com.ldapweb.ldapbrowser.model.SearchResultEntry;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
+import com.ldapweb.ldapbrowser.service.SearchResultStore;
 import com.ldapweb.ldapbrowser.service.ServerSelectionService;
 import com.ldapweb.ldapbrowser.util.RouteBasedServerSelection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -16,9 +21,11 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.TabSheet;
 import com.vaadin.flow.theme.lumo.LumoUtility;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
 * Directory Search tab containing Search and Entry Comparison sub-tabs.
@@ -46,6 +53,7 @@ public class DirectorySearchTab extends VerticalLayout {
   private DirectorySearchSubTab searchTabContent;
   private SearchResultsTab resultsTabContent;
   private EntryComparisonTab entryComparisonTabContent;
+  private SearchResultStore shownResults; // Search whose results the results tab was last switched to
 
   /**
    * Constructs a new DirectorySearchTab.
@@ -102,6 +110,8 @@ public class DirectorySearchTab extends VerticalLayout {
 
     // Set up search result callback to switch to results tab
     searchTabContent.setSearchResultsCallback(this::showSearchResults);
+    searchTabContent.setPartialResultsCallback(this::showPartialResults);
+    resultsTabContent.setStopSearchCallback(searchTabContent::cancelSearch);
 
     // Set Search as the default selected tab
     tabSheet.setSelectedTab(searchTab);
@@ -149,6 +159,7 @@ public class DirectorySearchTab extends VerticalLayout {
   public void clear() {
     searchTabContent.clear();
     resultsTabContent.clear();
+    shownResults = null;
     entryComparisonTabContent.clear();
   }
 
@@ -162,7 +173,7 @@ public class DirectorySearchTab extends VerticalLayout {
   /**
   * Show search results and switch to results tab.
   */
-  private void showSearchResults(List<SearchResultEntry> results, String searchDescription) {
+  private void showSearchResults(SearchResultStore results, String searchDescription) {
     // Set the results in the results tab
     resultsTabContent.displayResults(results, searchDescription);
 
@@ -170,15 +181,63 @@ public class DirectorySearchTab extends VerticalLayout {
     tabSheet.setSelectedTab(resultsTab);
   }
 
+  /**
+  * Show results of a search still in progress, switching to the results tab
+  * when the search starts but not on every refresh while entries arrive.
+  */
+  private void showPartialResults(SearchResultStore results, String status) {
+    resultsTabContent.showPartialResults(results, status);
+    if (results != shownResults) {
+      shownResults = results;
+      tabSheet.setSelectedTab(resultsTab);
+    }
+  }
+
   /**
   * Show comparison with the provided entries and switch to comparison tab.
   */
   private void showComparison(List<SearchResultEntry> entries) {
-    // Set the entries in the comparison tab
-    entryComparisonTabContent.setComparisonEntries(entries);
+    // Results hold only the attributes the grid shows, so read the full entries first
+    UI ui = UI.getCurrent();
+    BackgroundTaskService tasks = BackgroundTaskService.get(ui);
+    tasks.submit(this, token -> {
+      List<CompletableFuture<SearchResultEntry>> reads = new ArrayList<>();
+      for (SearchResultEntry entry : entries) {
+        reads.add(tasks.fork(() -> readFullEntry(entry)));
+      }
+      List<SearchResultEntry> fullEntries = new ArrayList<>();
+      for (CompletableFuture<SearchResultEntry> read : reads) {
+        fullEntries.add(read.join());
+      }
+      if (token.isCancelled()) {
+        return;
+      }
+      ui.access(() -> {
+        // Set the entries in the comparison tab
+        entryComparisonTabContent.setComparisonEntries(fullEntries);
+
+        // Switch to the comparison tab
+        tabSheet.setSelectedTab(entryComparisonTab);
+      });
+    });
+  }
 
-    // Switch to the comparison tab
-    tabSheet.setSelectedTab(entryComparisonTab);
+  /**
+  * Read every user and operational attribute of a search result, falling back
+  * to the attributes the search returned when the entry cannot be read.
+  */
+  private SearchResultEntry readFullEntry(SearchResultEntry result) {
+    LdapServerConfig environment = result.getEnvironment();
+    try {
+      LdapEntry entry = ldapService.getEntry(environment.getId(), result.getDn());
+      if (entry != null) {
+        return new SearchResultEntry(entry, environment);
+      }
+    } catch (LDAPException e) {
+      loggingService.logWarning("SEARCH", "Failed to read " + result.getDn() + " from "
+          + environment.getName() + " for comparison: " + e.getMessage());
+    }
+    return result;
   }
 
   /**
@@ -1,7 +1,10 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.LdapService;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -22,10 +25,8 @@ import com.unboundid.ldap.sdk.Entry;
 import com.unboundid.ldap.sdk.Filter;
 import com.unboundid.ldap.sdk.LDAPConnection;
 import com.unboundid.ldap.sdk.LDAPException;
-import com.unboundid.ldap.sdk.LDAPSearchException;
 import com.unboundid.ldap.sdk.ResultCode;
 import com.unboundid.ldap.sdk.SearchRequest;
-import com.unboundid.ldap.sdk.SearchResult;
 import com.unboundid.ldap.sdk.SearchScope;
 import com.unboundid.ldap.sdk.unboundidds.controls.GetEffectiveRightsRequestControl;
 import com.unboundid.ldap.sdk.unboundidds.controls.EffectiveRightsEntry;
@@ -61,6 +62,8 @@ public class EffectiveRightsTab extends VerticalLayout {
   private Grid<EffectiveRightsResult> resultsGrid;
   private ProgressBar progressBar;
   private Div loadingContainer;
+  private Button cancelButton;
+  private CancellationToken searchTask; // Running search; cancelling abandons it on the server
   private Div resultsContainer;
 
   /**
@@ -170,8 +173,17 @@ public class EffectiveRightsTab extends VerticalLayout {
     progressBar.setIndeterminate(true);
     progressBar.setVisible(false);
     
+    cancelButton = new Button("Cancel", new Icon(VaadinIcon.STOP));
+    cancelButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_ERROR);
+    cancelButton.addClickListener(e -> {
+      if (searchTask != null) {
+        cancelButton.setEnabled(false);
+        searchTask.cancel();
+      }
+    });
+
     loadingContainer = new Div();
-    loadingContainer.add(progressBar, new Div("Searching for effective rights..."));
+    loadingContainer.add(progressBar, new Div("Searching for effective rights..."), cancelButton);
     loadingContainer.getStyle().set("text-align", "center");
     loadingContainer.getStyle().set("padding", "20px");
     loadingContainer.setVisible(false);
@@ -290,18 +302,24 @@ public class EffectiveRightsTab extends VerticalLayout {
 
     loadingContainer.setVisible(true);
     progressBar.setVisible(true);
+    cancelButton.setEnabled(true);
     resultsGrid.setVisible(false);
 
-    // Perform search in background thread
-    new Thread(() -> {
+    // Read the form on the request thread; the search itself runs in the background
+    SearchScope scope = scopeComboBox.getValue();
+    String filter = searchFilterField.getValue().trim();
+    String attributes = attributesField.getValue().trim();
+
+    searchTask = BackgroundTaskService.get(UI.getCurrent()).submit(this, token -> {
       try {
         SearchResultWithLimit searchResult = searchEffectiveRights(
             searchBase.trim(),
-            scopeComboBox.getValue(),
-            searchFilterField.getValue().trim(),
-            attributesField.getValue().trim(),
+            scope,
+            filter,
+            attributes,
             formattedRightsFor,
-            sizeLimit
+            sizeLimit,
+            token
         );
 
         List<EffectiveRightsResult> results = searchResult.getResults();
@@ -351,18 +369,24 @@ public class EffectiveRightsTab extends VerticalLayout {
         }));
 
       } catch (Exception e) {
+        boolean cancelled = e instanceof LDAPException
+            && ((LDAPException) e).getResultCode() == ResultCode.USER_CANCELED;
         getUI().ifPresent(ui -> ui.access(() -> {
           loadingContainer.setVisible(false);
           progressBar.setVisible(false);
-          showError("Search failed: " + e.getMessage());
+          if (cancelled) {
+            showInfo("Search cancelled");
+          } else {
+            showError("Search failed: " + e.getMessage());
+          }
         }));
       }
-    }).start();
+    });
   }
 
   private SearchResultWithLimit searchEffectiveRights(String searchBase, 
       SearchScope scope, String filter, String attributes, String effectiveRightsFor, 
-      int sizeLimit) throws LDAPException {
+      int sizeLimit, CancellationToken token) throws LDAPException {
     
     List<EffectiveRightsResult> results = new ArrayList<>();
     boolean sizeLimitExceeded = false;
@@ -402,37 +426,22 @@ public class EffectiveRightsTab extends VerticalLayout {
       // Add the GetEffectiveRightsRequestControl as shown in the SDK example
       searchRequest.addControl(new GetEffectiveRightsRequestControl(effectiveRightsFor));
       
-      // Execute the search
-      SearchResult searchResult = connection.search(searchRequest);
+      // Execute the search, processing entries using EffectiveRightsEntry as they
+      // arrive; it is abandoned on the server if the token is cancelled and is
+      // bound by the configured search time limit
+      LdapService.SearchStreamResult searchResult = ldapService.streamSearch(connection, searchRequest,
+          entry -> processEffectiveRightsEntry(entry, effectiveRightsFor, results), token);
       
       // Check if size limit was exceeded - this can be indicated by:
       // 1. Result code being SIZE_LIMIT_EXCEEDED
       // 2. The number of entries returned equals the size limit (and size limit > 0)
-      sizeLimitExceeded = (searchResult.getResultCode() == ResultCode.SIZE_LIMIT_EXCEEDED) ||
+      sizeLimitExceeded = searchResult.isSizeLimitExceeded() ||
                           (sizeLimit > 0 && searchResult.getEntryCount() >= sizeLimit);
       
-      // Process results using EffectiveRightsEntry as shown in the SDK example
-      for (Entry entry : searchResult.getSearchEntries()) {
-        processEffectiveRightsEntry(entry, effectiveRightsFor, results);
-      }
-      
     } catch (LDAPException e) {
-      // Handle size limit exceeded exception specifically
-      if (e.getResultCode() == ResultCode.SIZE_LIMIT_EXCEEDED) {
-        sizeLimitExceeded = true;
-        
-        // For SIZE_LIMIT_EXCEEDED, try to get partial results from the exception
-        // The UnboundID SDK may include partial results in the exception
-        if (e instanceof LDAPSearchException) {
-          LDAPSearchException searchException = (LDAPSearchException) e;
-          SearchResult partialResult = searchException.getSearchResult();
-          if (partialResult != null && partialResult.getEntryCount() > 0) {
-            // Process the partial results we did get
-            for (Entry entry : partialResult.getSearchEntries()) {
-              processEffectiveRightsEntry(entry, effectiveRightsFor, results);
-            }
-          }
-        }
+      // Size and time limits are reported through the result; cancellation passes through
+      if (e.getResultCode() == ResultCode.USER_CANCELED) {
+        throw e;
       } else if (e.getResultCode() == ResultCode.UNAVAILABLE_CRITICAL_EXTENSION) {
         throw new LDAPException(ResultCode.UNAVAILABLE_CRITICAL_EXTENSION, 
             "Server does not support GetEffectiveRightsRequestControl (OID: " + 
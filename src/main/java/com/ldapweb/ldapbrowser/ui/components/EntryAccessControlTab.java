@@ -2,6 +2,7 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.util.AciParser;
 import com.vaadin.flow.component.button.Button;
@@ -369,73 +370,78 @@ public class EntryAccessControlTab extends VerticalLayout {
     loadingContainer.setVisible(true);
     aciGrid.setVisible(false);
 
-    try {
-      // Get the default search base from the server configuration
-      String baseDn = getDefaultSearchBase();
-      if (baseDn == null) {
-        loadingContainer.setVisible(false);
-        aciGrid.setVisible(true);
-        showError("No default search base configured for server");
-        return;
-      }
-
-      // Search for entries with ACIs
-      List<LdapEntry> entries = ldapService.searchEntries(
-          serverConfig.getId(),
-          baseDn,
-          "(aci=*)",
-          SearchScope.SUB,
-          "aci"
-      );
-
-      List<EntryAciInfo> aciInfoList = new ArrayList<>();
-
-      for (LdapEntry entry : entries) {
-        List<String> acis = entry.getAttributeValues("aci");
-        if (acis != null) {
-          for (String aci : acis) {
-            aciInfoList.add(new EntryAciInfo(entry.getDn(), aci));
+    // Search in the background; the results are pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Get the default search base from the server configuration
+        String baseDn = getDefaultSearchBase(server);
+
+        // Search for entries with ACIs
+        List<LdapEntry> entries = ldapService.searchEntries(
+            server.getId(),
+            baseDn,
+            "(aci=*)",
+            SearchScope.SUB,
+            "aci"
+        );
+
+        List<EntryAciInfo> aciInfoList = new ArrayList<>();
+
+        for (LdapEntry entry : entries) {
+          List<String> acis = entry.getAttributeValues("aci");
+          if (acis != null) {
+            for (String aci : acis) {
+              aciInfoList.add(new EntryAciInfo(entry.getDn(), aci));
+            }
           }
         }
-      }
+        if (token.isCancelled()) {
+          return;
+        }
 
-      // Update UI
-      loadingContainer.setVisible(false);
-      aciGrid.setVisible(true);
-      allAciInfo.clear();
-      allAciInfo.addAll(aciInfoList);
-      filterAciGrid(); // Apply any current filter
-      dataLoaded = true;
-
-      if (aciInfoList.isEmpty()) {
-        showInfo("No entry access control instructions found");
-      } else {
-        showSuccess("Found " + aciInfoList.size() + " entry ACI(s)");
-      }
+        // Update UI
+        ui.access(() -> {
+          loadingContainer.setVisible(false);
+          aciGrid.setVisible(true);
+          if (server != serverConfig) {
+            return; // Another server was selected meanwhile
+          }
+          allAciInfo.clear();
+          allAciInfo.addAll(aciInfoList);
+          filterAciGrid(); // Apply any current filter
+          dataLoaded = true;
+
+          if (aciInfoList.isEmpty()) {
+            showInfo("No entry access control instructions found");
+          } else {
+            showSuccess("Found " + aciInfoList.size() + " entry ACI(s)");
+          }
+        });
 
-    } catch (LDAPException e) {
-      loadingContainer.setVisible(false);
-      aciGrid.setVisible(true);
-      allAciInfo.clear();
-      aciGrid.setItems(new ArrayList<>());
-      showError("Failed to search for entry ACIs: " + e.getMessage());
-    }
+      } catch (LDAPException e) {
+        ui.access(() -> {
+          loadingContainer.setVisible(false);
+          aciGrid.setVisible(true);
+          allAciInfo.clear();
+          aciGrid.setItems(new ArrayList<>());
+          showError("Failed to search for entry ACIs: " + e.getMessage());
+        });
+      }
+    });
   }
 
-  private String getDefaultSearchBase() {
-    if (serverConfig == null) {
-      return null;
-    }
-    
+  private String getDefaultSearchBase(LdapServerConfig server) {
     // Try to get default search base from server config
-    String searchBase = serverConfig.getBaseDn();
+    String searchBase = server.getBaseDn();
     if (searchBase != null && !searchBase.trim().isEmpty()) {
       return searchBase.trim();
     }
     
     // Try to get naming contexts from the server
     try {
-      List<String> namingContexts = ldapService.getNamingContexts(serverConfig.getId());
+      List<String> namingContexts = ldapService.getNamingContexts(server.getId());
       if (!namingContexts.isEmpty()) {
         return namingContexts.get(0); // Use the first naming context
       }
@@ -444,7 +450,7 @@ public class EntryAccessControlTab extends VerticalLayout {
     }
     
     // Common fallbacks based on server type or host
-    String host = serverConfig.getHost().toLowerCase();
+    String host = server.getHost().toLowerCase();
     if (host.contains("example")) {
       return "dc=example,dc=com";
     }
@@ -510,54 +516,67 @@ public class EntryAccessControlTab extends VerticalLayout {
    * Handles the addition of a new ACI.
    */
   private void handleAciAdded(String targetDn, String aci) {
-    try {
-      // Add the ACI to the specified DN
-      ldapService.addAttributeValue(serverConfig.getId(), targetDn, "aci", aci);
-      
-      // Refresh the data to show the new ACI
-      refreshData();
-      
-      showSuccess("ACI added successfully to " + targetDn);
-    } catch (LDAPException e) {
-      showError("Failed to add ACI: " + e.getMessage());
-    }
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Add the ACI to the specified DN
+        ldapService.addAttributeValue(server.getId(), targetDn, "aci", aci);
+
+        ui.access(() -> {
+          // Refresh the data to show the new ACI
+          refreshData();
+          showSuccess("ACI added successfully to " + targetDn);
+        });
+      } catch (LDAPException e) {
+        ui.access(() -> showError("Failed to add ACI: " + e.getMessage()));
+      }
+    });
   }
 
   /**
    * Handles the editing of an existing ACI.
    */
   private void handleAciEdited(EntryAciInfo originalAci, String targetDn, String newAci) {
-    try {
-      // If DN changed, this is a move operation (delete from old, add to new)
-      if (!originalAci.getDn().equals(targetDn)) {
-        // Remove from original DN
-        Modification deleteModification = new Modification(ModificationType.DELETE, "aci", originalAci.getAciValue());
-        List<Modification> deleteModifications = List.of(deleteModification);
-        ldapService.modifyEntry(serverConfig.getId(), originalAci.getDn(), deleteModifications);
-        
-        // Add to new DN
-        ldapService.addAttributeValue(serverConfig.getId(), targetDn, "aci", newAci);
-        showSuccess("ACI moved from " + originalAci.getDn() + " to " + targetDn);
-      } else {
-        // Same DN, replace the ACI value
-        List<Modification> modifications = new ArrayList<>();
-        
-        // Delete old ACI value
-        modifications.add(new Modification(ModificationType.DELETE, "aci", originalAci.getAciValue()));
-        
-        // Add new ACI value
-        modifications.add(new Modification(ModificationType.ADD, "aci", newAci));
-        
-        ldapService.modifyEntry(serverConfig.getId(), targetDn, modifications);
-        showSuccess("ACI updated successfully on " + targetDn);
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        String message;
+        // If DN changed, this is a move operation (delete from old, add to new)
+        if (!originalAci.getDn().equals(targetDn)) {
+          // Remove from original DN
+          Modification deleteModification = new Modification(ModificationType.DELETE, "aci", originalAci.getAciValue());
+          List<Modification> deleteModifications = List.of(deleteModification);
+          ldapService.modifyEntry(server.getId(), originalAci.getDn(), deleteModifications);
+
+          // Add to new DN
+          ldapService.addAttributeValue(server.getId(), targetDn, "aci", newAci);
+          message = "ACI moved from " + originalAci.getDn() + " to " + targetDn;
+        } else {
+          // Same DN, replace the ACI value
+          List<Modification> modifications = new ArrayList<>();
+
+          // Delete old ACI value
+          modifications.add(new Modification(ModificationType.DELETE, "aci", originalAci.getAciValue()));
+
+          // Add new ACI value
+          modifications.add(new Modification(ModificationType.ADD, "aci", newAci));
+
+          ldapService.modifyEntry(server.getId(), targetDn, modifications);
+          message = "ACI updated successfully on " + targetDn;
+        }
+
+        ui.access(() -> {
+          showSuccess(message);
+          // Refresh the data to show the updated ACI
+          refreshData();
+        });
+
+      } catch (LDAPException e) {
+        ui.access(() -> showError("Failed to update ACI: " + e.getMessage()));
       }
-      
-      // Refresh the data to show the updated ACI
-      refreshData();
-      
-    } catch (LDAPException e) {
-      showError("Failed to update ACI: " + e.getMessage());
-    }
+    });
   }
 
   /**
@@ -591,16 +610,22 @@ public class EntryAccessControlTab extends VerticalLayout {
     HorizontalLayout buttons = new HorizontalLayout();
     
     Button deleteButton = new Button("Delete", event -> {
-      try {
-        Modification deleteModification = new Modification(ModificationType.DELETE, "aci", aciInfo.getAciValue());
-        List<Modification> modifications = List.of(deleteModification);
-        ldapService.modifyEntry(serverConfig.getId(), aciInfo.getDn(), modifications);
-        showSuccess("ACI deleted successfully");
-        refreshData();
-        confirmDialog.close();
-      } catch (LDAPException e) {
-        showError("Failed to delete ACI: " + e.getMessage());
-      }
+      UI ui = UI.getCurrent();
+      LdapServerConfig server = serverConfig;
+      BackgroundTaskService.get(ui).submit(this, token -> {
+        try {
+          Modification deleteModification = new Modification(ModificationType.DELETE, "aci", aciInfo.getAciValue());
+          List<Modification> modifications = List.of(deleteModification);
+          ldapService.modifyEntry(server.getId(), aciInfo.getDn(), modifications);
+          ui.access(() -> {
+            showSuccess("ACI deleted successfully");
+            refreshData();
+            confirmDialog.close();
+          });
+        } catch (LDAPException e) {
+          ui.access(() -> showError("Failed to delete ACI: " + e.getMessage()));
+        }
+      });
     });
     deleteButton.addThemeVariants(ButtonVariant.LUMO_ERROR, ButtonVariant.LUMO_PRIMARY);
     
@@ -2,14 +2,20 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
 import com.unboundid.ldap.sdk.Attribute;
+import com.unboundid.ldap.sdk.Filter;
 import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchRequest;
 import com.unboundid.ldap.sdk.SearchResultEntry;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -100,6 +106,8 @@ public class ExportTab extends VerticalLayout {
   // Progress and download
   private ProgressBar progressBar;
   private VerticalLayout progressContainer;
+  private Button cancelExportButton;
+  private CancellationToken exportTask; // Running search export; cancelling abandons its searches
   private Anchor downloadLink;
 
   /**
@@ -139,7 +147,15 @@ public class ExportTab extends VerticalLayout {
     progressContainer = new VerticalLayout();
     progressContainer.setVisible(false);
     progressContainer.addClassName("export-progress");
-    progressContainer.add(new Span("Processing export..."), progressBar);
+    cancelExportButton = new Button("Cancel", new Icon(VaadinIcon.STOP));
+    cancelExportButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_ERROR);
+    cancelExportButton.addClickListener(e -> {
+      if (exportTask != null) {
+        cancelExportButton.setEnabled(false);
+        exportTask.cancel();
+      }
+    });
+    progressContainer.add(new Span("Processing export..."), progressBar, cancelExportButton);
 
     // Initialize search mode components
     initializeSearchModeComponents();
@@ -473,89 +489,108 @@ public class ExportTab extends VerticalLayout {
 
     showProgress();
 
-    try {
-      List<LdapEntry> allLdapEntries = new ArrayList<>();
-      List<String> allDnList = new ArrayList<>();
-      int totalEntries = 0;
+    // Search and build the file in the background; the download link is pushed back when ready
+    UI ui = UI.getCurrent();
+    exportTask = BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        List<SearchResultEntry> allEntries = new ArrayList<>();
+        List<String> allDnList = new ArrayList<>();
+        int totalEntries = 0;
+        List<String> truncatedServers = new ArrayList<>();
 
-      // Search across all servers
-      for (LdapServerConfig server : effectiveServers) {
-        try {
-          // Ensure connection to each server before searching
-          if (!ldapService.isConnected(server.getId())) {
-            ldapService.connect(server);
+        // Search across all servers, paging through results beyond the server size limit
+        for (LdapServerConfig server : effectiveServers) {
+          if (token.isCancelled()) {
+            break;
           }
+          try {
+            // Ensure connection to each server before searching
+            if (!ldapService.isConnected(server.getId())) {
+              ldapService.connect(server);
+            }
 
-          // Use optimized DN-only search for DN List format
-          if ("DN List".equals(format)) {
-            List<String> dnList = ldapService.getDNsOnly(server.getId(), searchBase.trim(),
-                searchFilter.trim(), SearchScope.SUB);
-            allDnList.addAll(dnList);
-            totalEntries += dnList.size();
-          } else {
-            // Use regular search for other formats
-            List<LdapEntry> ldapEntries;
-            if (returnAttrs != null && !returnAttrs.trim().isEmpty()) {
-              String[] attrs = returnAttrs.split(",");
-              for (int i = 0; i < attrs.length; i++) {
-                attrs[i] = attrs[i].trim();
-              }
-              ldapEntries = ldapService.searchEntries(server.getId(), searchBase.trim(),
-                  searchFilter.trim(), SearchScope.SUB, attrs);
+            LdapService.SearchStreamResult result;
+            // Use optimized DN-only search for DN List format
+            if ("DN List".equals(format)) {
+              SearchRequest searchRequest = new SearchRequest(searchBase.trim(), SearchScope.SUB,
+                  Filter.create(searchFilter.trim()), "1.1");
+              result = ldapService.streamPagedSearch(server.getId(), searchRequest,
+                  SearchResultEntry::getDN, allDnList::add, token);
             } else {
-              ldapEntries = ldapService.searchEntries(server.getId(), searchBase.trim(),
-                  searchFilter.trim(), SearchScope.SUB);
+              // Entries are kept as returned, without an intermediate LdapEntry copy
+              String[] attrs = new String[0];
+              if (returnAttrs != null && !returnAttrs.trim().isEmpty()) {
+                attrs = returnAttrs.split(",");
+                for (int i = 0; i < attrs.length; i++) {
+                  attrs[i] = attrs[i].trim();
+                }
+              }
+              SearchRequest searchRequest = new SearchRequest(searchBase.trim(), SearchScope.SUB,
+                  Filter.create(searchFilter.trim()), attrs);
+              result = ldapService.streamPagedSearch(server.getId(), searchRequest,
+                  entry -> entry, allEntries::add, token);
+            }
+            totalEntries += result.getEntryCount();
+            if (result.isSizeLimitExceeded() || result.isTimeLimitExceeded()) {
+              truncatedServers.add(server.getName());
             }
-            allLdapEntries.addAll(ldapEntries);
-            totalEntries += ldapEntries.size();
+
+          } catch (LDAPException e) {
+            if (e.getResultCode() == ResultCode.USER_CANCELED) {
+              break;
+            }
+            String errMsg = "Search export failed for server: " + server.getName();
+            loggingService.logError("EXPORT", errMsg, e.getMessage());
+            ui.access(() -> showError("Search failed for server " + server.getName() + ": "
+                + e.getMessage()));
+            // Continue with other servers
           }
+        }
 
-        } catch (LDAPException e) {
-          String errMsg = "Search export failed for server: " + server.getName();
-          loggingService.logError("EXPORT", errMsg, e.getMessage());
-          showError("Search failed for server " + server.getName() + ": "
-              + e.getMessage());
-          // Continue with other servers
+        if (token.isCancelled()) {
+          loggingService.logInfo("EXPORT", "Search export cancelled - Servers: " + serverNames);
+          ui.access(() -> {
+            hideProgress();
+            showError("Export cancelled; no file was created");
+          });
+          return;
         }
-      }
 
-      String exportData;
-      String fileName;
+        int exportedEntries = totalEntries;
+        String exportData;
+        String fileName;
 
-      if ("DN List".equals(format)) {
-        // Generate DN list export
-        exportData = generateDnListExport(allDnList);
-        fileName = generateFileName(format);
-      } else {
-        // Convert LdapEntry to SearchResultEntry for export generation
-        List<SearchResultEntry> entries = new ArrayList<>();
-        for (LdapEntry ldapEntry : allLdapEntries) {
-          // Create a SearchResultEntry from LdapEntry
-          Collection<Attribute> attributes = new ArrayList<>();
-          for (Map.Entry<String, List<String>> attr : ldapEntry.getAttributes().entrySet()) {
-            attributes.add(new Attribute(attr.getKey(), attr.getValue()));
-          }
-          SearchResultEntry entry = new SearchResultEntry(ldapEntry.getDn(), attributes);
-          entries.add(entry);
+        if ("DN List".equals(format)) {
+          // Generate DN list export
+          exportData = generateDnListExport(allDnList);
+          fileName = generateFileName(format);
+        } else {
+          exportData = generateExportData(allEntries, format, getReturnAttributesList(returnAttrs));
+          fileName = generateFileName(format);
         }
 
-        exportData = generateExportData(entries, format, getReturnAttributesList(returnAttrs));
-        fileName = generateFileName(format);
-      }
-
-      createDownloadLink(exportData, fileName, format);
-      hideProgress();
-      loggingService.logExport(serverNames, fileName, totalEntries);
-      String searchSuccessMsg = String.format(
-          "Export completed successfully. %d entries exported from %d server(s).",
-          totalEntries, effectiveServers.size());
-      showSuccess(searchSuccessMsg);
+        loggingService.logExport(serverNames, fileName, exportedEntries);
+        String searchSuccessMsg = String.format(
+            "Export completed successfully. %d entries exported from %d server(s).",
+            exportedEntries, effectiveServers.size());
+        ui.access(() -> {
+          if (!truncatedServers.isEmpty()) {
+            showError("Results were truncated at the search limit for server(s): "
+                + String.join(", ", truncatedServers));
+          }
+          createDownloadLink(exportData, fileName, format);
+          hideProgress();
+          showSuccess(searchSuccessMsg);
+        });
 
-    } catch (Exception e) {
-      hideProgress();
-      loggingService.logError("EXPORT", "Search export failed", e.getMessage());
-      showError("Search failed: " + e.getMessage());
-    }
+      } catch (Exception e) {
+        loggingService.logError("EXPORT", "Search export failed", e.getMessage());
+        ui.access(() -> {
+          hideProgress();
+          showError("Search failed: " + e.getMessage());
+        });
+      }
+    });
   }
 
   private void performCsvExport() {
@@ -949,6 +984,7 @@ public class ExportTab extends VerticalLayout {
 
   private void showProgress() {
     progressBar.setIndeterminate(true);
+    cancelExportButton.setEnabled(true);
     progressContainer.setVisible(true);
     exportButton.setEnabled(false);
     csvExportButton.setEnabled(false);
@@ -956,6 +992,7 @@ public class ExportTab extends VerticalLayout {
   }
 
   private void hideProgress() {
+    exportTask = null;
     progressContainer.setVisible(false);
     exportButton.setEnabled(true);
     csvExportButton.setEnabled(!csvData.isEmpty());
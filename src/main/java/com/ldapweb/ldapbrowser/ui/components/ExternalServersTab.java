@@ -2,6 +2,7 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
+import com.ldapweb.ldapbrowser.service.EnvironmentRefreshListener;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.vaadin.flow.component.button.Button;
@@ -307,6 +308,8 @@ public class ExternalServersTab extends VerticalLayout {
     copyConfig.setUseSSL(originalConfig.isUseSSL());
     copyConfig.setUseStartTLS(originalConfig.isUseStartTLS());
     copyConfig.setBaseDn(originalConfig.getBaseDn());
+    copyConfig.setReplicaHosts(originalConfig.getReplicaHosts());
+    copyConfig.setServerSelectionStrategy(originalConfig.getServerSelectionStrategy());
 
     // Open the dialog with the copied configuration
     openServerDialog(copyConfig);
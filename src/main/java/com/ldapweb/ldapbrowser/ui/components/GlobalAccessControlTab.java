@@ -2,9 +2,11 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.grid.Grid;
@@ -340,48 +342,63 @@ public class GlobalAccessControlTab extends VerticalLayout {
     loadingContainer.setVisible(true);
     aciGrid.setVisible(false);
 
-    try {
-      // Search for global ACIs in the Access Control Handler
-      List<LdapEntry> entries = ldapService.searchEntries(
-          serverConfig.getId(),
-          "cn=Access Control Handler,cn=config",
-          "(objectClass=*)",
-          SearchScope.BASE,
-          "ds-cfg-global-aci"
-      );
-
-      List<GlobalAciInfo> aciInfoList = new ArrayList<>();
-
-      for (LdapEntry entry : entries) {
-        List<String> acis = entry.getAttributeValues("ds-cfg-global-aci");
-        if (acis != null) {
-          for (String aci : acis) {
-            aciInfoList.add(new GlobalAciInfo(aci));
+    // Search in the background; the results are pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Search for global ACIs in the Access Control Handler
+        List<LdapEntry> entries = ldapService.searchEntries(
+            server.getId(),
+            "cn=Access Control Handler,cn=config",
+            "(objectClass=*)",
+            SearchScope.BASE,
+            "ds-cfg-global-aci"
+        );
+
+        List<GlobalAciInfo> aciInfoList = new ArrayList<>();
+
+        for (LdapEntry entry : entries) {
+          List<String> acis = entry.getAttributeValues("ds-cfg-global-aci");
+          if (acis != null) {
+            for (String aci : acis) {
+              aciInfoList.add(new GlobalAciInfo(aci));
+            }
           }
         }
-      }
 
-      // Update UI
-      loadingContainer.setVisible(false);
-      aciGrid.setVisible(true);
-      allAciInfo.clear();
-      allAciInfo.addAll(aciInfoList);
-      filterAciGrid(); // Apply any current filter
-      dataLoaded = true;
-
-      if (aciInfoList.isEmpty()) {
-        showInfo("No global access control instructions found");
-      } else {
-        showSuccess("Found " + aciInfoList.size() + " global ACI(s)");
+        if (token.isCancelled()) {
+          return;
+        }
+        ui.access(() -> {
+          // Update UI
+          loadingContainer.setVisible(false);
+          aciGrid.setVisible(true);
+          if (server != serverConfig) {
+            return; // Another server was selected meanwhile
+          }
+          allAciInfo.clear();
+          allAciInfo.addAll(aciInfoList);
+          filterAciGrid(); // Apply any current filter
+          dataLoaded = true;
+
+          if (aciInfoList.isEmpty()) {
+            showInfo("No global access control instructions found");
+          } else {
+            showSuccess("Found " + aciInfoList.size() + " global ACI(s)");
+          }
+        });
+
+      } catch (LDAPException e) {
+        ui.access(() -> {
+          loadingContainer.setVisible(false);
+          aciGrid.setVisible(true);
+          allAciInfo.clear();
+          aciGrid.setItems(new ArrayList<>());
+          showError("Failed to search for global ACIs: " + e.getMessage());
+        });
       }
-
-    } catch (LDAPException e) {
-      loadingContainer.setVisible(false);
-      aciGrid.setVisible(true);
-      allAciInfo.clear();
-      aciGrid.setItems(new ArrayList<>());
-      showError("Failed to search for global ACIs: " + e.getMessage());
-    }
+    });
   }
 
   /**
@@ -1,6 +1,7 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
 import com.ldapweb.ldapbrowser.util.SchemaCompareUtil;
@@ -11,6 +12,7 @@ import com.unboundid.ldap.sdk.schema.MatchingRuleDefinition;
 import com.unboundid.ldap.sdk.schema.MatchingRuleUseDefinition;
 import com.unboundid.ldap.sdk.schema.ObjectClassDefinition;
 import com.unboundid.ldap.sdk.schema.Schema;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -213,79 +215,94 @@ public class GroupSchemaTab extends VerticalLayout {
 
     statusLabel.setText("Loading schema from " + sortedServers.size() + " servers...");
 
-    // Log the start of schema comparison process
-    loggingService.logDebug("SCHEMA", "Starting group schema comparison for " + sortedServers.size() + " servers");
+    // Fetch the schemas in the background; rendering is pushed back to the UI
+    UI ui = UI.getCurrent();
+    List<LdapServerConfig> servers = sortedServers;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      // Log the start of schema comparison process
+      loggingService.logDebug("SCHEMA", "Starting group schema comparison for " + servers.size() + " servers");
 
-    Map<String, Schema> schemas = new LinkedHashMap<>(); // serverName -> Schema
-    int errors = 0;
+      Map<String, Schema> schemas = new LinkedHashMap<>(); // serverName -> Schema
+      int errors = 0;
 
-    // Determine group-wide support for the extended schema info request control
-    final String EXTENDED_SCHEMA_INFO_OID = "1.3.6.1.4.1.30221.2.5.12";
-    boolean allSupportExtended = true;
+      // Determine group-wide support for the extended schema info request control
+      final String EXTENDED_SCHEMA_INFO_OID = "1.3.6.1.4.1.30221.2.5.12";
+      boolean allSupportExtended = true;
 
-    for (LdapServerConfig cfg : sortedServers) {
-      try {
-        if (!ldapService.isConnected(cfg.getId())) {
-          ldapService.connect(cfg);
-        }
-        boolean supported = ldapService.isControlSupported(cfg.getId(), EXTENDED_SCHEMA_INFO_OID);
-        if (!supported) {
+      for (LdapServerConfig cfg : servers) {
+        try {
+          if (!ldapService.isConnected(cfg.getId())) {
+            ldapService.connect(cfg);
+          }
+          boolean supported = ldapService.isControlSupported(cfg.getId(), EXTENDED_SCHEMA_INFO_OID);
+          if (!supported) {
+            allSupportExtended = false;
+          }
+        } catch (LDAPException e) {
+          // Treat errors as lack of support to keep comparisons consistent
           allSupportExtended = false;
         }
-      } catch (LDAPException e) {
-        // Treat errors as lack of support to keep comparisons consistent
-        allSupportExtended = false;
       }
-    }
 
-    loggingService.logDebug("SCHEMA", "Extended schema info control " +
-        (allSupportExtended ? "enabled" : "disabled") + " for all servers in group");
+      loggingService.logDebug("SCHEMA", "Extended schema info control " +
+          (allSupportExtended ? "enabled" : "disabled") + " for all servers in group");
 
-    // Fetch schemas with an all-or-none decision: if any server lacks support,
-    // don't use the control
-    for (LdapServerConfig cfg : sortedServers) {
-      String serverName = displayName(cfg);
-      try {
-        // Connections ensured in previous loop; fetch schema honoring group-wide
-        // decision
-        Schema schema = ldapService.getSchema(cfg.getId(), allSupportExtended);
-        schemas.put(serverName, schema);
-        loggingService.logDebug("SCHEMA", "Successfully loaded schema from " + serverName);
-      } catch (LDAPException e) {
-        errors++;
-        schemas.put(serverName, null);
-        loggingService.logError("SCHEMA", "Failed to load schema from " + serverName, e.getMessage());
+      // Fetch schemas with an all-or-none decision: if any server lacks support,
+      // don't use the control
+      for (LdapServerConfig cfg : servers) {
+        String serverName = displayName(cfg);
+        try {
+          // Connections ensured in previous loop; fetch schema honoring group-wide
+          // decision
+          Schema schema = ldapService.getSchema(cfg.getId(), allSupportExtended);
+          schemas.put(serverName, schema);
+          loggingService.logDebug("SCHEMA", "Successfully loaded schema from " + serverName);
+        } catch (LDAPException e) {
+          errors++;
+          schemas.put(serverName, null);
+          loggingService.logError("SCHEMA", "Failed to load schema from " + serverName, e.getMessage());
+        }
       }
-    }
 
-    // Build data for each component
-    loggingService.logDebug("SCHEMA", "Processing schema elements for comparison across servers");
-    renderObjectClasses(schemas);
-    renderAttributeTypes(schemas);
-    renderMatchingRules(schemas);
-    renderMatchingRuleUse(schemas);
-    renderSyntaxes(schemas);
-
-    if (errors > 0) {
-      statusLabel.setText(
-          "Loaded with " + errors + " error(s). Extended schema info control " +
-              (allSupportExtended ? "used" : "disabled for consistency") + ".");
-      Notification n = Notification.show("Some servers failed to load schema.");
-      n.addThemeVariants(NotificationVariant.LUMO_ERROR);
-      loggingService.logError("SCHEMA", "Group schema comparison completed with " + errors + " errors");
-    } else {
-      statusLabel.setText(
-          "Schema loaded. Extended schema info control " +
-              (schemas.isEmpty()
-                  ? "n/a"
-                  : (allSupportExtended
-                      ? "used"
-                      : "disabled for consistency"))
-              +
-              ".");
-      loggingService.logInfo("SCHEMA", "Group schema comparison completed successfully for " +
-          sortedServers.size() + " servers");
-    }
+      if (token.isCancelled()) {
+        return;
+      }
+      int errorCount = errors;
+      boolean useExtended = allSupportExtended;
+      ui.access(() -> {
+        if (servers != sortedServers) {
+          return; // The group changed meanwhile
+        }
+        // Build data for each component
+        loggingService.logDebug("SCHEMA", "Processing schema elements for comparison across servers");
+        renderObjectClasses(schemas);
+        renderAttributeTypes(schemas);
+        renderMatchingRules(schemas);
+        renderMatchingRuleUse(schemas);
+        renderSyntaxes(schemas);
+
+        if (errorCount > 0) {
+          statusLabel.setText(
+              "Loaded with " + errorCount + " error(s). Extended schema info control " +
+                  (useExtended ? "used" : "disabled for consistency") + ".");
+          Notification n = Notification.show("Some servers failed to load schema.");
+          n.addThemeVariants(NotificationVariant.LUMO_ERROR);
+          loggingService.logError("SCHEMA", "Group schema comparison completed with " + errorCount + " errors");
+        } else {
+          statusLabel.setText(
+              "Schema loaded. Extended schema info control " +
+                  (schemas.isEmpty()
+                      ? "n/a"
+                      : (useExtended
+                          ? "used"
+                          : "disabled for consistency"))
+                  +
+                  ".");
+          loggingService.logInfo("SCHEMA", "Group schema comparison completed successfully for " +
+              servers.size() + " servers");
+        }
+      });
+    });
   }
 
   private void setGridsEmpty() {
@@ -626,12 +643,19 @@ public class GroupSchemaTab extends VerticalLayout {
           .setSortable(true);
     }
 
-    // Load detailed schema information for this element
-    List<SchemaPropertyRow> propertyRows = loadSchemaElementDetails(rowModel);
-    comparisonGrid.setItems(propertyRows);
-
     detailsPanel.add(comparisonGrid);
     splitLayout.setSplitterPosition(50);
+
+    // Load detailed schema information for this element in the background
+    UI ui = UI.getCurrent();
+    List<LdapServerConfig> servers = sortedServers;
+    ComponentType type = getCurrentComponentType();
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      List<SchemaPropertyRow> propertyRows = loadSchemaElementDetails(rowModel, type, servers);
+      if (!token.isCancelled()) {
+        ui.access(() -> comparisonGrid.setItems(propertyRows));
+      }
+    });
   }
 
   /**
@@ -644,17 +668,16 @@ public class GroupSchemaTab extends VerticalLayout {
 
   /**
    * Loads detailed schema element information for comparison across servers.
+   * Called off the request thread; the type is that of the active tab.
    */
-  private List<SchemaPropertyRow> loadSchemaElementDetails(RowModel rowModel) {
+  private List<SchemaPropertyRow> loadSchemaElementDetails(RowModel rowModel, ComponentType type,
+      List<LdapServerConfig> servers) {
     List<SchemaPropertyRow> propertyRows = new ArrayList<>();
     String elementName = rowModel.getName();
 
-    // Determine which tab is active to know which type of schema element
-    ComponentType type = getCurrentComponentType();
-
     // Collect detailed information from each server
     Map<String, Schema> schemas = new LinkedHashMap<>();
-    for (LdapServerConfig cfg : sortedServers) {
+    for (LdapServerConfig cfg : servers) {
       String serverName = displayName(cfg);
       try {
         if (!ldapService.isConnected(cfg.getId())) {
@@ -2,6 +2,7 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.ldapweb.ldapbrowser.service.LoggingService;
 import com.unboundid.ldap.sdk.Control;
@@ -9,6 +10,7 @@ import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.SearchScope;
 import com.unboundid.ldif.LDIFChangeRecord;
 import com.unboundid.ldif.LDIFReader;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -605,134 +607,156 @@ public class ImportTab extends VerticalLayout {
     loggingService.logInfo("IMPORT", "Starting LDIF import - Server: " + serverConfig.getName());
     showProgress();
 
-    try {
-      // Parse LDIF content using UnboundID SDK with InputStream
-      byte[] contentBytes = rawLdifContent.getBytes(StandardCharsets.UTF_8);
-      LDIFReader ldifReader = new LDIFReader(new java.io.ByteArrayInputStream(contentBytes));
+    // Apply the records in the background; the outcome is pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    String ldifContent = rawLdifContent;
+    boolean noOperation = ldifNoOperation.getValue();
+    boolean permissiveModify = ldifPermissiveModify.getValue();
+    boolean continueOnError = ldifContinueOnError.getValue();
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Parse LDIF content using UnboundID SDK with InputStream
+        byte[] contentBytes = ldifContent.getBytes(StandardCharsets.UTF_8);
+        LDIFReader ldifReader = new LDIFReader(new java.io.ByteArrayInputStream(contentBytes));
 
-      int successCount = 0;
-      int errorCount = 0;
+        int successCount = 0;
+        int errorCount = 0;
 
-      try {
-        while (true) {
-          LDIFChangeRecord changeRecord = ldifReader.readChangeRecord();
-          if (changeRecord == null) {
-            break; // End of file
-          }
+        try {
+          while (true) {
+            LDIFChangeRecord changeRecord = ldifReader.readChangeRecord();
+            if (changeRecord == null) {
+              break; // End of file
+            }
 
-          try {
-            // Process the change record
-            switch (changeRecord.getChangeType()) {
-              case ADD:
-                // Convert to LdapEntry and add
-                LdapEntry entry = new LdapEntry();
-                entry.setDn(changeRecord.getDN());
-
-                // Get attributes from the add change record
-                if (changeRecord instanceof com.unboundid.ldif.LDIFAddChangeRecord) {
-                  com.unboundid.ldif.LDIFAddChangeRecord addRecord = (com.unboundid.ldif.LDIFAddChangeRecord) changeRecord;
-
-                  for (com.unboundid.ldap.sdk.Attribute attr : addRecord.getAttributes()) {
-                    for (String value : attr.getValues()) {
-                      entry.addAttribute(attr.getName(), value);
+            if (token.isCancelled()) {
+              // The view was left; records already applied stay applied
+              loggingService.logWarning("IMPORT", "LDIF import stopped after " + successCount
+                  + " entries - Server: " + server.getName());
+              return;
+            }
+
+            try {
+              // Process the change record
+              switch (changeRecord.getChangeType()) {
+                case ADD:
+                  // Convert to LdapEntry and add
+                  LdapEntry entry = new LdapEntry();
+                  entry.setDn(changeRecord.getDN());
+
+                  // Get attributes from the add change record
+                  if (changeRecord instanceof com.unboundid.ldif.LDIFAddChangeRecord) {
+                    com.unboundid.ldif.LDIFAddChangeRecord addRecord = (com.unboundid.ldif.LDIFAddChangeRecord) changeRecord;
+
+                    for (com.unboundid.ldap.sdk.Attribute attr : addRecord.getAttributes()) {
+                      for (String value : attr.getValues()) {
+                        entry.addAttribute(attr.getName(), value);
+                      }
                     }
                   }
-                }
 
-                ldapService.addEntry(serverConfig.getId(), entry);
-                break;
-
-              case MODIFY:
-                if (changeRecord instanceof com.unboundid.ldif.LDIFModifyChangeRecord) {
-                  com.unboundid.ldif.LDIFModifyChangeRecord modifyRecord = (com.unboundid.ldif.LDIFModifyChangeRecord) changeRecord;
-
-                  // Prepare controls based on checkbox selections
-                  List<Control> controls = new ArrayList<>();
-
-                  // Check and add No Operation control if requested
-                  if (ldifNoOperation.getValue()) {
-                    try {
-                      boolean isSupported = ldapService.isControlSupported(serverConfig.getId(),
-                          NO_OPERATION_CONTROL_OID);
-                      if (isSupported) {
-                        // Create No Operation control (OID: 1.3.6.1.4.1.4203.1.10.2)
-                        Control noOpControl = new Control(NO_OPERATION_CONTROL_OID, false);
-                        controls.add(noOpControl);
-                      } else {
-                        throw new Exception("LDAP server does not support No Operation request control (OID: "
-                            + NO_OPERATION_CONTROL_OID + ")");
+                  ldapService.addEntry(server.getId(), entry);
+                  break;
+
+                case MODIFY:
+                  if (changeRecord instanceof com.unboundid.ldif.LDIFModifyChangeRecord) {
+                    com.unboundid.ldif.LDIFModifyChangeRecord modifyRecord = (com.unboundid.ldif.LDIFModifyChangeRecord) changeRecord;
+
+                    // Prepare controls based on checkbox selections
+                    List<Control> controls = new ArrayList<>();
+
+                    // Check and add No Operation control if requested
+                    if (noOperation) {
+                      try {
+                        boolean isSupported = ldapService.isControlSupported(server.getId(),
+                            NO_OPERATION_CONTROL_OID);
+                        if (isSupported) {
+                          // Create No Operation control (OID: 1.3.6.1.4.1.4203.1.10.2)
+                          Control noOpControl = new Control(NO_OPERATION_CONTROL_OID, false);
+                          controls.add(noOpControl);
+                        } else {
+                          throw new Exception("LDAP server does not support No Operation request control (OID: "
+                              + NO_OPERATION_CONTROL_OID + ")");
+                        }
+                      } catch (LDAPException e) {
+                        throw new Exception("Failed to check control support: " + e.getMessage());
                       }
-                    } catch (LDAPException e) {
-                      throw new Exception("Failed to check control support: " + e.getMessage());
                     }
-                  }
 
-                  // Check and add Permissive Modify control if requested
-                  if (ldifPermissiveModify.getValue()) {
-                    try {
-                      boolean isSupported = ldapService.isControlSupported(serverConfig.getId(),
-                          PERMISSIVE_MODIFY_CONTROL_OID);
-                      if (isSupported) {
-                        // Create Permissive Modify control (OID: 1.2.840.113556.1.4.1413)
-                        Control permissiveModifyControl = new Control(PERMISSIVE_MODIFY_CONTROL_OID, false);
-                        controls.add(permissiveModifyControl);
-                      } else {
-                        throw new Exception("LDAP server does not support Permissive Modify request control (OID: "
-                            + PERMISSIVE_MODIFY_CONTROL_OID + ")");
+                    // Check and add Permissive Modify control if requested
+                    if (permissiveModify) {
+                      try {
+                        boolean isSupported = ldapService.isControlSupported(server.getId(),
+                            PERMISSIVE_MODIFY_CONTROL_OID);
+                        if (isSupported) {
+                          // Create Permissive Modify control (OID: 1.2.840.113556.1.4.1413)
+                          Control permissiveModifyControl = new Control(PERMISSIVE_MODIFY_CONTROL_OID, false);
+                          controls.add(permissiveModifyControl);
+                        } else {
+                          throw new Exception("LDAP server does not support Permissive Modify request control (OID: "
+                              + PERMISSIVE_MODIFY_CONTROL_OID + ")");
+                        }
+                      } catch (LDAPException e) {
+                        throw new Exception("Failed to check control support: " + e.getMessage());
                       }
-                    } catch (LDAPException e) {
-                      throw new Exception("Failed to check control support: " + e.getMessage());
                     }
-                  }
 
-                  // Perform modify with controls
-                  ldapService.modifyEntry(serverConfig.getId(),
-                      modifyRecord.getDN(),
-                      Arrays.asList(modifyRecord.getModifications()),
-                      controls.isEmpty() ? null : controls);
-                }
-                break;
+                    // Perform modify with controls
+                    ldapService.modifyEntry(server.getId(),
+                        modifyRecord.getDN(),
+                        Arrays.asList(modifyRecord.getModifications()),
+                        controls.isEmpty() ? null : controls);
+                  }
+                  break;
 
-              case DELETE:
-                ldapService.deleteEntry(serverConfig.getId(), changeRecord.getDN());
-                break;
+                case DELETE:
+                  ldapService.deleteEntry(server.getId(), changeRecord.getDN());
+                  break;
 
-              default:
-                throw new Exception("Unsupported change type: " + changeRecord.getChangeType());
-            }
+                default:
+                  throw new Exception("Unsupported change type: " + changeRecord.getChangeType());
+              }
 
-            successCount++;
+              successCount++;
 
-          } catch (Exception e) {
-            errorCount++;
-            if (!ldifContinueOnError.getValue()) {
-              throw e;
+            } catch (Exception e) {
+              errorCount++;
+              if (!continueOnError) {
+                throw e;
+              }
+              // Log error but continue if continue on error is enabled
+              System.err.println("Error processing LDIF record " + changeRecord.getDN() + ": " + e.getMessage());
             }
-            // Log error but continue if continue on error is enabled
-            System.err.println("Error processing LDIF record " + changeRecord.getDN() + ": " + e.getMessage());
           }
+        } finally {
+          ldifReader.close();
         }
-      } finally {
-        ldifReader.close();
-      }
 
-      hideProgress();
-
-      if (errorCount > 0) {
-        loggingService.logImport(serverConfig.getName(), "LDIF file", successCount);
-        loggingService.logWarning("IMPORT", "LDIF import completed with errors - Server: " + serverConfig.getName()
-            + ", Successes: " + successCount + ", Errors: " + errorCount);
-        showInfo("LDIF import completed with " + successCount + " successes and " + errorCount + " errors");
-      } else {
-        loggingService.logImport(serverConfig.getName(), "LDIF file", successCount);
-        showSuccess("LDIF import completed successfully. " + successCount + " entries processed");
+        loggingService.logImport(server.getName(), "LDIF file", successCount);
+        if (errorCount > 0) {
+          loggingService.logWarning("IMPORT", "LDIF import completed with errors - Server: " + server.getName()
+              + ", Successes: " + successCount + ", Errors: " + errorCount);
+        }
+        int successes = successCount;
+        int errors = errorCount;
+        ui.access(() -> {
+          hideProgress();
+          if (errors > 0) {
+            showInfo("LDIF import completed with " + successes + " successes and " + errors + " errors");
+          } else {
+            showSuccess("LDIF import completed successfully. " + successes + " entries processed");
+          }
+        });
+
+      } catch (Exception e) {
+        loggingService.logError("IMPORT", "LDIF import failed - Server: " + server.getName(), e.getMessage());
+        ui.access(() -> {
+          hideProgress();
+          showError("LDIF import failed: " + e.getMessage());
+        });
       }
-
-    } catch (Exception e) {
-      hideProgress();
-      loggingService.logError("IMPORT", "LDIF import failed - Server: " + serverConfig.getName(), e.getMessage());
-      showError("LDIF import failed: " + e.getMessage());
-    }
+    });
   }
 
   private void performCsvImport() {
@@ -748,163 +772,182 @@ public class ImportTab extends VerticalLayout {
 
     showProgress();
 
-    try {
-      String template = ldifTemplateArea.getValue();
-      String dnMethod = dnMethodSelector.getValue();
-      int successCount = 0;
-      int errorCount = 0;
-
-      for (Map<String, String> row : csvData) {
-        try {
-          String dn;
-          if ("CSV Column".equals(dnMethod)) {
-            // Use first column as DN
-            dn = row.getOrDefault("C1", "");
-            if (dn.isEmpty()) {
-              throw new Exception("DN column (C1) is empty");
-            }
-          } else {
-            // Search for DN using LDAP search
-            String searchFilter = substituteVariables(searchFilterField.getValue(), row);
-            String searchBase = searchBaseField.getValue();
-
-            // Perform actual LDAP search to find DN
-            List<LdapEntry> results = ldapService.searchEntries(
-                serverConfig.getId(), searchBase, searchFilter, SearchScope.SUB);
-
-            if (results.isEmpty()) {
-              throw new Exception("No entry found matching search filter: " + searchFilter);
-            } else if (results.size() > 1) {
-              throw new Exception("Multiple entries found matching search filter: " + searchFilter);
-            }
+    // Apply the rows in the background; the outcome is pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    List<Map<String, String>> rows = new ArrayList<>(csvData);
+    String template = ldifTemplateArea.getValue();
+    String dnMethod = dnMethodSelector.getValue();
+    String searchFilterTemplate = searchFilterField.getValue();
+    String searchBase = searchBaseField.getValue();
+    boolean noOperation = csvNoOperation.getValue();
+    boolean permissiveModify = csvPermissiveModify.getValue();
+    boolean continueOnError = csvContinueOnError.getValue();
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        int successCount = 0;
+        int errorCount = 0;
 
-            dn = results.get(0).getDn();
+        for (Map<String, String> row : rows) {
+          if (token.isCancelled()) {
+            // The view was left; rows already applied stay applied
+            return;
           }
+          try {
+            String dn;
+            if ("CSV Column".equals(dnMethod)) {
+              // Use first column as DN
+              dn = row.getOrDefault("C1", "");
+              if (dn.isEmpty()) {
+                throw new Exception("DN column (C1) is empty");
+              }
+            } else {
+              // Search for DN using LDAP search
+              String searchFilter = substituteVariables(searchFilterTemplate, row);
+
+              // Perform actual LDAP search to find DN
+              List<LdapEntry> results = ldapService.searchEntries(
+                  server.getId(), searchBase, searchFilter, SearchScope.SUB);
+
+              if (results.isEmpty()) {
+                throw new Exception("No entry found matching search filter: " + searchFilter);
+              } else if (results.size() > 1) {
+                throw new Exception("Multiple entries found matching search filter: " + searchFilter);
+              }
 
-          // Generate LDIF for this row
-          Map<String, String> variables = new HashMap<>(row);
-          variables.put("DN", dn);
-          String ldifEntry = substituteVariables(template, variables);
-
-          // Process the generated LDIF using UnboundID LDIF parser
-          if (ldifEntry != null && !ldifEntry.trim().isEmpty()) {
-            byte[] contentBytes = ldifEntry.getBytes(StandardCharsets.UTF_8);
-            LDIFReader ldifReader = new LDIFReader(new java.io.ByteArrayInputStream(contentBytes));
+              dn = results.get(0).getDn();
+            }
 
-            try {
-              while (true) {
-                LDIFChangeRecord changeRecord = ldifReader.readChangeRecord();
-                if (changeRecord == null) {
-                  break; // End of LDIF content
-                }
+            // Generate LDIF for this row
+            Map<String, String> variables = new HashMap<>(row);
+            variables.put("DN", dn);
+            String ldifEntry = substituteVariables(template, variables);
+
+            // Process the generated LDIF using UnboundID LDIF parser
+            if (ldifEntry != null && !ldifEntry.trim().isEmpty()) {
+              byte[] contentBytes = ldifEntry.getBytes(StandardCharsets.UTF_8);
+              LDIFReader ldifReader = new LDIFReader(new java.io.ByteArrayInputStream(contentBytes));
+
+              try {
+                while (true) {
+                  LDIFChangeRecord changeRecord = ldifReader.readChangeRecord();
+                  if (changeRecord == null) {
+                    break; // End of LDIF content
+                  }
 
-                // Process the change record (same logic as LDIF import)
-                switch (changeRecord.getChangeType()) {
-                  case ADD:
-                    LdapEntry entry = new LdapEntry();
-                    entry.setDn(changeRecord.getDN());
+                  // Process the change record (same logic as LDIF import)
+                  switch (changeRecord.getChangeType()) {
+                    case ADD:
+                      LdapEntry entry = new LdapEntry();
+                      entry.setDn(changeRecord.getDN());
 
-                    if (changeRecord instanceof com.unboundid.ldif.LDIFAddChangeRecord) {
-                      com.unboundid.ldif.LDIFAddChangeRecord addRecord = (com.unboundid.ldif.LDIFAddChangeRecord) changeRecord;
+                      if (changeRecord instanceof com.unboundid.ldif.LDIFAddChangeRecord) {
+                        com.unboundid.ldif.LDIFAddChangeRecord addRecord = (com.unboundid.ldif.LDIFAddChangeRecord) changeRecord;
 
-                      for (com.unboundid.ldap.sdk.Attribute attr : addRecord.getAttributes()) {
-                        for (String value : attr.getValues()) {
-                          entry.addAttribute(attr.getName(), value);
+                        for (com.unboundid.ldap.sdk.Attribute attr : addRecord.getAttributes()) {
+                          for (String value : attr.getValues()) {
+                            entry.addAttribute(attr.getName(), value);
+                          }
                         }
                       }
-                    }
 
-                    ldapService.addEntry(serverConfig.getId(), entry);
-                    break;
-
-                  case MODIFY:
-                    if (changeRecord instanceof com.unboundid.ldif.LDIFModifyChangeRecord) {
-                      com.unboundid.ldif.LDIFModifyChangeRecord modifyRecord = (com.unboundid.ldif.LDIFModifyChangeRecord) changeRecord;
-
-                      // Prepare controls based on checkbox selections
-                      List<Control> controls = new ArrayList<>();
-
-                      // Check and add No Operation control if requested
-                      if (csvNoOperation.getValue()) {
-                        try {
-                          boolean isSupported = ldapService.isControlSupported(serverConfig.getId(),
-                              NO_OPERATION_CONTROL_OID);
-                          if (isSupported) {
-                            // Create No Operation control (OID: 1.3.6.1.4.1.4203.1.10.2)
-                            Control noOpControl = new Control(NO_OPERATION_CONTROL_OID, false);
-                            controls.add(noOpControl);
-                          } else {
-                            throw new Exception("LDAP server does not support No Operation request control (OID: "
-                                + NO_OPERATION_CONTROL_OID + ")");
+                      ldapService.addEntry(server.getId(), entry);
+                      break;
+
+                    case MODIFY:
+                      if (changeRecord instanceof com.unboundid.ldif.LDIFModifyChangeRecord) {
+                        com.unboundid.ldif.LDIFModifyChangeRecord modifyRecord = (com.unboundid.ldif.LDIFModifyChangeRecord) changeRecord;
+
+                        // Prepare controls based on checkbox selections
+                        List<Control> controls = new ArrayList<>();
+
+                        // Check and add No Operation control if requested
+                        if (noOperation) {
+                          try {
+                            boolean isSupported = ldapService.isControlSupported(server.getId(),
+                                NO_OPERATION_CONTROL_OID);
+                            if (isSupported) {
+                              // Create No Operation control (OID: 1.3.6.1.4.1.4203.1.10.2)
+                              Control noOpControl = new Control(NO_OPERATION_CONTROL_OID, false);
+                              controls.add(noOpControl);
+                            } else {
+                              throw new Exception("LDAP server does not support No Operation request control (OID: "
+                                  + NO_OPERATION_CONTROL_OID + ")");
+                            }
+                          } catch (LDAPException e) {
+                            throw new Exception("Failed to check control support: " + e.getMessage());
                           }
-                        } catch (LDAPException e) {
-                          throw new Exception("Failed to check control support: " + e.getMessage());
                         }
-                      }
 
-                      // Check and add Permissive Modify control if requested
-                      if (csvPermissiveModify.getValue()) {
-                        try {
-                          boolean isSupported = ldapService.isControlSupported(serverConfig.getId(),
-                              PERMISSIVE_MODIFY_CONTROL_OID);
-                          if (isSupported) {
-                            // Create Permissive Modify control (OID: 1.2.840.113556.1.4.1413)
-                            Control permissiveModifyControl = new Control(PERMISSIVE_MODIFY_CONTROL_OID, false);
-                            controls.add(permissiveModifyControl);
-                          } else {
-                            throw new Exception("LDAP server does not support Permissive Modify request control (OID: "
-                                + PERMISSIVE_MODIFY_CONTROL_OID + ")");
+                        // Check and add Permissive Modify control if requested
+                        if (permissiveModify) {
+                          try {
+                            boolean isSupported = ldapService.isControlSupported(server.getId(),
+                                PERMISSIVE_MODIFY_CONTROL_OID);
+                            if (isSupported) {
+                              // Create Permissive Modify control (OID: 1.2.840.113556.1.4.1413)
+                              Control permissiveModifyControl = new Control(PERMISSIVE_MODIFY_CONTROL_OID, false);
+                              controls.add(permissiveModifyControl);
+                            } else {
+                              throw new Exception("LDAP server does not support Permissive Modify request control (OID: "
+                                  + PERMISSIVE_MODIFY_CONTROL_OID + ")");
+                            }
+                          } catch (LDAPException e) {
+                            throw new Exception("Failed to check control support: " + e.getMessage());
                           }
-                        } catch (LDAPException e) {
-                          throw new Exception("Failed to check control support: " + e.getMessage());
                         }
-                      }
 
-                      // Perform modify with controls
-                      ldapService.modifyEntry(serverConfig.getId(),
-                          modifyRecord.getDN(),
-                          Arrays.asList(modifyRecord.getModifications()),
-                          controls.isEmpty() ? null : controls);
-                    }
-                    break;
+                        // Perform modify with controls
+                        ldapService.modifyEntry(server.getId(),
+                            modifyRecord.getDN(),
+                            Arrays.asList(modifyRecord.getModifications()),
+                            controls.isEmpty() ? null : controls);
+                      }
+                      break;
 
-                  case DELETE:
-                    ldapService.deleteEntry(serverConfig.getId(), changeRecord.getDN());
-                    break;
+                    case DELETE:
+                      ldapService.deleteEntry(server.getId(), changeRecord.getDN());
+                      break;
 
-                  default:
-                    throw new Exception("Unsupported change type: " + changeRecord.getChangeType());
+                    default:
+                      throw new Exception("Unsupported change type: " + changeRecord.getChangeType());
+                  }
                 }
+              } finally {
+                ldifReader.close();
               }
-            } finally {
-              ldifReader.close();
             }
-          }
 
-          successCount++;
+            successCount++;
 
-        } catch (Exception e) {
-          errorCount++;
-          if (!csvContinueOnError.getValue()) {
-            throw e;
+          } catch (Exception e) {
+            errorCount++;
+            if (!continueOnError) {
+              throw e;
+            }
+            // Log error but continue if continue on error is enabled
+            System.err.println("Error processing row: " + e.getMessage());
           }
-          // Log error but continue if continue on error is enabled
-          System.err.println("Error processing row: " + e.getMessage());
         }
-      }
 
-      hideProgress();
+        int successes = successCount;
+        int errors = errorCount;
+        ui.access(() -> {
+          hideProgress();
+          if (errors > 0) {
+            showInfo("CSV import completed with " + successes + " successes and " + errors + " errors");
+          } else {
+            showSuccess("CSV import completed successfully. " + successes + " entries processed");
+          }
+        });
 
-      if (errorCount > 0) {
-        showInfo("CSV import completed with " + successCount + " successes and " + errorCount + " errors");
-      } else {
-        showSuccess("CSV import completed successfully. " + successCount + " entries processed");
+      } catch (Exception e) {
+        ui.access(() -> {
+          hideProgress();
+          showError("CSV import failed: " + e.getMessage());
+        });
       }
-
-    } catch (Exception e) {
-      hideProgress();
-      showError("CSV import failed: " + e.getMessage());
-    }
+    });
   }
 
   private void showProgress() {
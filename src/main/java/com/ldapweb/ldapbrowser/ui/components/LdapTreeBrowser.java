@@ -236,10 +236,8 @@ public class LdapTreeBrowser extends VerticalLayout {
         treeGrid.asSingleSelect().addValueChangeListener(event -> {
             LdapEntry selectedEntry = event.getValue();
             
-            // Skip placeholder and pagination entries
-            if (selectedEntry != null && 
-                !selectedEntry.getDn().startsWith("_placeholder_") &&
-                selectedEntry.getAttributeValues("isPagination").isEmpty()) {
+            // Skip rows that are still loading
+            if (selectedEntry != null && !LdapTreeDataProvider.isLoadingRow(selectedEntry)) {
                 
                 // Fire selection event
                 fireEvent(new SelectionEvent(this, selectedEntry, event.isFromClient()));
@@ -293,6 +291,9 @@ public class LdapTreeBrowser extends VerticalLayout {
             try {
                 // Collapse all expanded entries before refreshing
                 treeGrid.collapseAll();
+                // An explicit refresh should show the current Root DSE, not the cached one
+                ldapService.invalidateRootDseCache(serverConfig.getId());
+                ldapService.invalidateChildListings(serverConfig.getId());
                 // Reload the tree data
                 treeGrid.loadRootDSEWithNamingContexts(showPrivateNamingContexts);
             } catch (Exception e) {
@@ -301,6 +302,17 @@ public class LdapTreeBrowser extends VerticalLayout {
         }
     }
 
+    /**
+     * Expand the tree down to an entry and select it
+     *
+     * @param dn The distinguished name of the entry to reveal
+     */
+    public void revealDn(String dn) {
+        if (treeGrid != null) {
+            treeGrid.revealDn(dn);
+        }
+    }
+
     /**
      * Clear the tree data
      */
@@ -0,0 +1,701 @@
+package com.ldapweb.ldapbrowser.ui.components;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
+import com.ldapweb.ldapbrowser.service.LdapService;
+import com.ldapweb.ldapbrowser.service.UiUpdateBatcher;
+import com.unboundid.ldap.sdk.DN;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.hierarchy.AbstractBackEndHierarchicalDataProvider;
+import com.vaadin.flow.data.provider.hierarchy.HierarchicalQuery;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Hierarchical data provider that reads tree children from the directory as
+ * the grid scrolls to them. Each expanded container keeps a window of the
+ * pages loaded so far; rows requested before their page has arrived show as
+ * loading rows while the page is fetched in the background. Collapsing a
+ * container drops its whole subtree, so only what is open stays in memory.
+ *
+ * When the user reaches a page, the next page and the first page of a few child
+ * containers are prefetched within the session's speculative task budget, so
+ * the likely next click is already answered. Only reads that take a single
+ * request are prefetched: the next page of a container served by a virtual
+ * list view or continued from a paging cookie, and first pages unless the
+ * server's pages are merged from whole containers on the client.
+ *
+ * Loaded entries are indexed by normalized DN with their parent and row, so
+ * finding a node, its parent or its scroll position never walks the tree.
+ *
+ * All state is touched with the session locked: by the grid while it fetches
+ * rows, and by background loads through {@link UI#access}.
+ */
+public class LdapTreeDataProvider extends AbstractBackEndHierarchicalDataProvider<LdapEntry, Void> {
+
+  static final String LOADING_ROW_PREFIX = "_placeholder_";
+  private static final int MAX_RANDOM_ACCESS_PAGES = 20; // Pages kept per VLV-backed container; farthest dropped first
+  private static final int PREFETCH_CHILD_CONTAINERS = 3; // Child containers whose first page is prefetched per page
+
+  private final LdapService ldapService;
+  private final Component owner;
+  private final String pagingScope;
+  private final Map<String, ChildWindow> windows = new HashMap<>(); // Normalized container DN -> loaded children
+  private final Map<String, TreeNode> nodes = new HashMap<>(); // Normalized DN -> loaded entry and its place
+  private List<LdapEntry> rootItems = new ArrayList<>();
+  private LdapEntry rootContainer; // Container whose children form the root level, if any
+  private boolean browsable = true;
+  private boolean includePrivateNamingContexts;
+  private String serverId;
+  private Consumer<String> errorListener = message -> { };
+
+  public LdapTreeDataProvider(LdapService ldapService, Component owner, String pagingScope) {
+    this.ldapService = ldapService;
+    this.owner = owner;
+    this.pagingScope = pagingScope;
+  }
+
+  public void setServerId(String serverId) {
+    this.serverId = serverId;
+  }
+
+  public void setIncludePrivateNamingContexts(boolean includePrivateNamingContexts) {
+    this.includePrivateNamingContexts = includePrivateNamingContexts;
+  }
+
+  /**
+   * Receive the message of every failed background load
+   */
+  public void setErrorListener(Consumer<String> errorListener) {
+    this.errorListener = errorListener;
+  }
+
+  /**
+   * Show a fixed list of entries at the root level. Non-browsable roots, such
+   * as search results, get no expanders.
+   */
+  public void setRootItems(List<LdapEntry> items, boolean browsable) {
+    clear();
+    this.rootItems = new ArrayList<>(items);
+    this.browsable = browsable;
+    for (int i = 0; i < rootItems.size(); i++) {
+      nodes.put(normalize(rootItems.get(i).getDn()), new TreeNode(rootItems.get(i), null, i));
+    }
+    if (browsable) {
+      // Start reading the naming contexts while the Root DSE is still collapsed
+      for (LdapEntry item : rootItems) {
+        if (isRootDse(item) && !windows.containsKey(normalize(item.getDn()))) {
+          ChildWindow window = newWindow(item);
+          windows.put(normalize(item.getDn()), window);
+          if (!window.load(0, true)) {
+            windows.remove(normalize(item.getDn()));
+          }
+        }
+      }
+    }
+    refreshAll();
+  }
+
+  /**
+   * Show the children of a container at the root level, starting from an
+   * already fetched first page
+   */
+  public void setRootContainer(String baseDn, LdapService.BrowseResult firstPage) {
+    clear();
+    LdapEntry container = new LdapEntry();
+    container.setDn(baseDn);
+    container.setHasChildren(true);
+    rootContainer = container;
+    browsable = true;
+    ChildWindow window = new ChildWindow(container, firstPage.getPageSize());
+    window.store(0, firstPage);
+    windows.put(normalize(baseDn), window);
+    window.prefetchAfter(0, firstPage.getEntries());
+    refreshAll();
+  }
+
+  /**
+   * Drop everything loaded and cancel background loads
+   */
+  public void clear() {
+    windows.values().forEach(ChildWindow::cancel);
+    windows.clear();
+    nodes.clear();
+    rootItems = new ArrayList<>();
+    rootContainer = null;
+    browsable = true;
+  }
+
+  /**
+   * Forget the loaded children of a container and of every container below
+   * it. Returns the entries that were dropped, so the caller can reset their
+   * expanded state.
+   */
+  public List<LdapEntry> evict(LdapEntry container) {
+    String key = normalize(container.getDn());
+    List<LdapEntry> evicted = new ArrayList<>();
+    Iterator<Map.Entry<String, ChildWindow>> iterator = windows.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, ChildWindow> next = iterator.next();
+      ChildWindow window = next.getValue();
+      if (isInSubtree(next.getKey(), key) && window.container != rootContainer) {
+        window.cancel();
+        for (List<LdapEntry> page : window.pages.values()) {
+          for (LdapEntry child : page) {
+            nodes.remove(normalize(child.getDn()));
+            evicted.add(child);
+          }
+        }
+        iterator.remove();
+      }
+    }
+    return evicted;
+  }
+
+  /**
+   * Find a loaded entry by DN, in any spelling of the DN
+   */
+  public LdapEntry findEntry(String dn) {
+    TreeNode node = nodes.get(normalize(dn));
+    return node != null ? node.entry : null;
+  }
+
+  /**
+   * Where loading the path down to a DN should start: the deepest loaded entry
+   * at or above it, else the Root DSE or root container holding it, or null
+   * if the DN is outside what the tree shows
+   */
+  public LdapEntry findRevealStart(String dn) {
+    String key = normalize(dn);
+    for (String ancestor = key; ancestor != null; ancestor = parentKey(ancestor)) {
+      TreeNode node = nodes.get(ancestor);
+      if (node != null) {
+        return node.entry;
+      }
+    }
+    if (rootContainer != null && isInSubtree(key, normalize(rootContainer.getDn()))) {
+      return rootContainer;
+    }
+    for (LdapEntry root : rootItems) {
+      if (isRootDse(root)) {
+        return root;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Whether entries can be expanded; false while showing search results
+   */
+  public boolean isBrowsable() {
+    return browsable;
+  }
+
+  /**
+   * Whether an entry is the container whose children form the root level;
+   * it has no row of its own
+   */
+  public boolean isRootContainer(LdapEntry entry) {
+    return entry == rootContainer;
+  }
+
+  /**
+   * Every entry currently held, root items included
+   */
+  public List<LdapEntry> getLoadedEntries() {
+    List<LdapEntry> loaded = new ArrayList<>(rootItems);
+    for (ChildWindow window : windows.values()) {
+      window.pages.values().forEach(loaded::addAll);
+    }
+    return loaded;
+  }
+
+  /**
+   * DN of the container an entry was loaded under, or null for entries shown
+   * at the root level
+   */
+  public String getParentDn(LdapEntry entry) {
+    TreeNode node = nodes.get(normalize(entry.getDn()));
+    if (node == null || node.parent == null || node.parent == rootContainer) {
+      return null;
+    }
+    return node.parent.getDn();
+  }
+
+  /**
+   * Whether any page of a container's children can be reached directly, which
+   * is what jumping by value requires
+   */
+  public boolean isRandomAccess(LdapEntry container) {
+    ChildWindow window = windows.get(normalize(container.getDn()));
+    return window != null && window.randomAccess;
+  }
+
+  /**
+   * Put a page fetched outside the provider, e.g. by a jump, into a container's
+   * window and return the index of its first row
+   */
+  public int storePage(LdapEntry container, LdapService.BrowseResult result) {
+    String key = normalize(container.getDn());
+    ChildWindow window = windows.get(key);
+    if (window == null || (!isRootDse(container) && window.pageSize != result.getPageSize())) {
+      // Pages of another size do not line up with the loaded ones; start the window over
+      if (window != null) {
+        window.discard();
+      }
+      window = new ChildWindow(container, isRootDse(container) ? Integer.MAX_VALUE : result.getPageSize());
+      windows.put(key, window);
+    }
+    window.store(result.getCurrentPage(), result);
+    refreshChildren(container);
+    return result.getCurrentPage() * window.pageSize;
+  }
+
+  /**
+   * Page size a container's children are read with: the one its loaded pages
+   * use, or for a container not read yet, the size currently tuned for the
+   * server
+   */
+  public int pageSizeFor(LdapEntry container) {
+    ChildWindow window = windows.get(normalize(container.getDn()));
+    return window != null ? window.pageSize : initialPageSize(container);
+  }
+
+  /**
+   * Row index of an entry within each level from the root down to the entry,
+   * as expected by TreeGrid.scrollToIndex, or null if it is not loaded
+   */
+  public int[] getIndexPath(LdapEntry entry) {
+    List<Integer> path = new ArrayList<>();
+    TreeNode node = nodes.get(normalize(entry.getDn()));
+    while (node != null) {
+      path.add(node.index);
+      if (node.parent == null || node.parent == rootContainer) {
+        Collections.reverse(path);
+        return path.stream().mapToInt(Integer::intValue).toArray();
+      }
+      node = nodes.get(normalize(node.parent.getDn()));
+    }
+    return null;
+  }
+
+  /**
+   * Normalized form of a DN used as the index key, so differently spelled DNs
+   * of the same entry meet
+   */
+  static String normalize(String dn) {
+    try {
+      return DN.normalize(dn);
+    } catch (LDAPException e) {
+      return dn.trim().toLowerCase();
+    }
+  }
+
+  private static String parentKey(String key) {
+    try {
+      return key.isEmpty() ? null : DN.getParentString(key);
+    } catch (LDAPException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Whether a normalized DN is at or below another; every entry sits below the
+   * Root DSE, whose DN is empty
+   */
+  static boolean isInSubtree(String key, String baseKey) {
+    return baseKey.isEmpty() || key.equals(baseKey) || key.endsWith("," + baseKey);
+  }
+
+  @Override
+  public int getChildCount(HierarchicalQuery<LdapEntry, Void> query) {
+    ChildWindow window = windowFor(query.getParent());
+    return window != null ? window.rowCount() : rootItems.size();
+  }
+
+  @Override
+  protected Stream<LdapEntry> fetchChildrenFromBackEnd(HierarchicalQuery<LdapEntry, Void> query) {
+    ChildWindow window = windowFor(query.getParent());
+    if (window == null) {
+      return rootItems.stream().skip(query.getOffset()).limit(query.getLimit());
+    }
+    List<LdapEntry> rows = new ArrayList<>();
+    long end = Math.min(window.rowCount(), (long) query.getOffset() + query.getLimit());
+    for (int index = query.getOffset(); index < end; index++) {
+      rows.add(window.rowAt(index));
+    }
+    return rows.stream();
+  }
+
+  @Override
+  public boolean hasChildren(LdapEntry item) {
+    return browsable && item.isHasChildren() && !isLoadingRow(item);
+  }
+
+  @Override
+  public Object getId(LdapEntry item) {
+    return item.getDn();
+  }
+
+  static boolean isLoadingRow(LdapEntry entry) {
+    return entry.getDn().startsWith(LOADING_ROW_PREFIX);
+  }
+
+  private ChildWindow windowFor(LdapEntry parent) {
+    if (parent == null) {
+      return rootContainer != null ? windows.get(normalize(rootContainer.getDn())) : null;
+    }
+    return windows.computeIfAbsent(normalize(parent.getDn()), key -> newWindow(parent));
+  }
+
+  private ChildWindow newWindow(LdapEntry container) {
+    return new ChildWindow(container, initialPageSize(container));
+  }
+
+  private int initialPageSize(LdapEntry container) {
+    // All naming contexts form a single page
+    return isRootDse(container) ? Integer.MAX_VALUE : ldapService.getBrowsePageSize(serverId);
+  }
+
+  private void refreshChildren(LdapEntry container) {
+    if (container == rootContainer) {
+      refreshAll();
+    } else {
+      refreshItem(container, true);
+    }
+  }
+
+  /**
+   * Whether an entry is worth prefetching children for: the server says it
+   * has some, or its object classes make it a container
+   */
+  private static boolean isLikelyContainer(LdapEntry entry) {
+    if (!entry.isHasChildren()) {
+      return false;
+    }
+    if (entry.isChildHintFromServer()) {
+      return true;
+    }
+    for (String objectClass : entry.getAttributeValues("objectClass")) {
+      String lowerClass = objectClass.toLowerCase();
+      if (lowerClass.contains("organizationalunit") || lowerClass.contains("container")
+          || lowerClass.contains("domain") || lowerClass.equals("organization") || lowerClass.equals("dcobject")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isRootDse(LdapEntry entry) {
+    return entry.getDn().isEmpty() || "Root DSE".equals(entry.getRdn());
+  }
+
+  /**
+   * Read one page of a container's children; runs in the background
+   */
+  LdapService.BrowseResult fetchPage(LdapEntry container, int page, int pageSize) throws LDAPException {
+    if (isRootDse(container)) {
+      List<LdapEntry> namingContexts = ldapService.getNamingContextEntries(serverId, includePrivateNamingContexts);
+      return new LdapService.BrowseResult(namingContexts, false, namingContexts.size());
+    }
+    return ldapService.browseEntriesWithMetadata(serverId, container.getDn(), page, pageSize, pagingScope);
+  }
+
+  /**
+   * Loaded pages of one expanded container
+   */
+  private final class ChildWindow {
+    private final LdapEntry container;
+    private final int pageSize;
+    private final LinkedHashMap<Integer, List<LdapEntry>> pages = new LinkedHashMap<>(16, 0.75f, true); // Access order
+    private final Map<Integer, CancellationToken> loading = new HashMap<>();
+    private int totalCount = -1; // Exact number of children, once the server has reported it
+    private int sequentialCount; // Children read from the start so far, for servers without random access
+    private boolean complete;
+    private boolean failed;
+    private boolean randomAccess;
+    private boolean continuable; // The last page read from the start left a cookie for the next one
+
+    ChildWindow(LdapEntry container, int pageSize) {
+      this.container = container;
+      this.pageSize = pageSize;
+    }
+
+    int rowCount() {
+      if (totalCount >= 0) {
+        return totalCount;
+      }
+      // Children read so far, plus one loading row that pulls the next page into view
+      return sequentialCount + (complete || failed ? 0 : 1);
+    }
+
+    LdapEntry rowAt(int index) {
+      int page = index / pageSize;
+      List<LdapEntry> entries = pages.get(page);
+      int offset = index % pageSize;
+      if (entries != null && offset < entries.size()) {
+        return entries.get(offset);
+      }
+      if (entries == null) {
+        load(page, false);
+      }
+      return loadingRow(index);
+    }
+
+    /**
+     * Fetch a page in the background. Speculative loads only run when the
+     * session has budget for them and fail silently; returns whether the page
+     * is now loading.
+     */
+    boolean load(int page, boolean speculative) {
+      if (failed || serverId == null) {
+        return false;
+      }
+      if (loading.containsKey(page)) {
+        return true;
+      }
+      UI ui = owner.getUI().orElse(null);
+      if (ui == null) {
+        return false;
+      }
+      BackgroundTaskService tasks = BackgroundTaskService.get(ui);
+      Consumer<CancellationToken> work = token -> {
+        try {
+          if (isRootDse(container)) {
+            streamNamingContexts(ui, token, speculative);
+            return;
+          }
+          LdapService.BrowseResult result = fetchPage(container, page, pageSize);
+          ui.access(() -> {
+            if (token.isCancelled() || windows.get(normalize(container.getDn())) != this) {
+              return;
+            }
+            loading.remove(page);
+            store(page, result);
+            refreshChildren(container);
+            if (!speculative) {
+              prefetchAfter(page, result.getEntries());
+            }
+          });
+        } catch (Exception e) {
+          ui.access(() -> {
+            if (token.isCancelled() || windows.get(normalize(container.getDn())) != this) {
+              return;
+            }
+            loading.remove(page);
+            if (speculative) {
+              // Nobody asked for this page yet; it is read again when needed
+              return;
+            }
+            failed = true;
+            refreshChildren(container);
+            errorListener.accept("Failed to load children for " + container.getDisplayName() + ": "
+                + e.getMessage());
+          });
+        }
+      };
+      CancellationToken loadToken = speculative ? tasks.submitSpeculative(owner, work) : tasks.submit(owner, work);
+      if (loadToken == null) {
+        return false;
+      }
+      loading.put(page, loadToken);
+      return true;
+    }
+
+    /**
+     * Read the naming contexts below the Root DSE concurrently and show each
+     * one as soon as it resolves, rather than waiting for the slowest; runs in
+     * the background
+     */
+    private void streamNamingContexts(UI ui, CancellationToken token, boolean speculative) throws LDAPException {
+      List<String> dns = ldapService.getNamingContextDns(serverId, includePrivateNamingContexts);
+      List<CompletableFuture<LdapEntry>> futures = ldapService.getNamingContextEntriesAsync(serverId, dns);
+      List<LdapEntry> rows = new ArrayList<>(dns.size());
+      UiUpdateBatcher batcher = BackgroundTaskService.get(ui).createBatcher(ui);
+      try {
+        // Updates run in the order posted, so the loading rows are in place first
+        batcher.post(() -> {
+          if (isStale(token)) {
+            return;
+          }
+          for (int i = 0; i < dns.size(); i++) {
+            rows.add(loadingRow(i));
+          }
+          pages.put(0, rows);
+          totalCount = dns.size();
+          refreshChildren(container);
+        });
+        for (int i = 0; i < futures.size(); i++) {
+          int index = i;
+          futures.get(i).thenAccept(entry -> batcher.post(() -> {
+            if (entry == null || isStale(token)) {
+              return;
+            }
+            rows.set(index, entry);
+            nodes.put(normalize(entry.getDn()), new TreeNode(entry, container, index));
+            refreshChildren(container);
+          }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        // Settle the page, dropping contexts the server returned nothing for
+        List<LdapEntry> namingContexts = new ArrayList<>();
+        for (CompletableFuture<LdapEntry> future : futures) {
+          LdapEntry entry = future.join();
+          if (entry != null) {
+            namingContexts.add(entry);
+          }
+        }
+        batcher.post(() -> {
+          if (isStale(token)) {
+            return;
+          }
+          loading.remove(0);
+          store(0, new LdapService.BrowseResult(namingContexts, false, namingContexts.size()));
+          refreshChildren(container);
+          if (!speculative) {
+            prefetchAfter(0, namingContexts);
+          }
+        });
+      } finally {
+        batcher.flush();
+      }
+    }
+
+    private boolean isStale(CancellationToken token) {
+      return token.isCancelled() || windows.get(normalize(container.getDn())) != this;
+    }
+
+    /**
+     * After a page the user reached, fetch what they are likely to open next:
+     * the following page and the first page of the first few child containers
+     */
+    void prefetchAfter(int page, List<LdapEntry> entries) {
+      if (serverId == null) {
+        return;
+      }
+      int nextPage = page + 1;
+      boolean hasNextPage = totalCount >= 0 ? (long) nextPage * pageSize < totalCount : !complete && !failed;
+      // Without a cookie the next page would be reached by paging again from the start
+      if (hasNextPage && (randomAccess || continuable) && !pages.containsKey(nextPage)) {
+        load(nextPage, true);
+      }
+      if (ldapService.isClientMergedBrowse(serverId)) {
+        return;
+      }
+
+      int prefetched = 0;
+      for (LdapEntry child : entries) {
+        if (prefetched >= PREFETCH_CHILD_CONTAINERS) {
+          break;
+        }
+        String childKey = normalize(child.getDn());
+        if (isLikelyContainer(child) && !windows.containsKey(childKey)) {
+          ChildWindow childWindow = newWindow(child);
+          windows.put(childKey, childWindow);
+          if (!childWindow.load(0, true)) {
+            // Out of budget; the rest would be skipped too
+            windows.remove(childKey);
+            break;
+          }
+          prefetched++;
+        }
+      }
+    }
+
+    void store(int page, LdapService.BrowseResult result) {
+      List<LdapEntry> entries = result.getEntries();
+      pages.put(page, entries);
+      for (int i = 0; i < entries.size(); i++) {
+        nodes.put(normalize(entries.get(i).getDn()), new TreeNode(entries.get(i), container, page * pageSize + i));
+      }
+
+      if (result.isRandomAccess() || isRootDse(container)) {
+        randomAccess = result.isRandomAccess();
+        totalCount = Math.max(0, result.getEntryCount());
+        dropFarthestPages(page);
+      } else if (page * pageSize == sequentialCount) {
+        sequentialCount += entries.size();
+        continuable = result.isContinuable();
+        // A short page cannot be continued from a page-aligned position
+        complete = !result.hasNextPage() || result.isSizeLimitExceeded() || entries.size() < pageSize;
+      }
+
+      if (page == 0 && entries.isEmpty() && container != rootContainer) {
+        // Nothing below after all; drop the expander
+        container.setHasChildren(false);
+        refreshItem(container);
+      }
+    }
+
+    /**
+     * Keep a VLV-backed window bounded while the user scrolls far through a
+     * large container; dropped pages are simply read again if revisited
+     */
+    private void dropFarthestPages(int currentPage) {
+      while (pages.size() > MAX_RANDOM_ACCESS_PAGES) {
+        Integer farthest = null;
+        for (Integer candidate : pages.keySet()) {
+          if (farthest == null || Math.abs(candidate - currentPage) > Math.abs(farthest - currentPage)) {
+            farthest = candidate;
+          }
+        }
+        for (LdapEntry entry : pages.remove(farthest)) {
+          nodes.remove(normalize(entry.getDn()));
+        }
+      }
+    }
+
+    private LdapEntry loadingRow(int index) {
+      LdapEntry row = new LdapEntry();
+      row.setDn(LOADING_ROW_PREFIX + container.getDn() + "#" + index);
+      row.addAttribute("displayName", "Loading...");
+      row.setHasChildren(false);
+      return row;
+    }
+
+    void cancel() {
+      loading.values().forEach(CancellationToken::cancel);
+      loading.clear();
+    }
+
+    /**
+     * Cancel loads and forget the loaded children, for a window being replaced
+     */
+    void discard() {
+      cancel();
+      for (List<LdapEntry> entries : pages.values()) {
+        for (LdapEntry entry : entries) {
+          nodes.remove(normalize(entry.getDn()));
+        }
+      }
+      pages.clear();
+    }
+  }
+
+  /**
+   * A loaded entry with the container it was loaded under and its row there
+   */
+  private static final class TreeNode {
+    private final LdapEntry entry;
+    private final LdapEntry parent; // Null at the root level
+    private final int index;
+
+    TreeNode(LdapEntry entry, LdapEntry parent, int index) {
+      this.entry = entry;
+      this.parent = parent;
+      this.index = index;
+    }
+  }
+}
@@ -2,40 +2,62 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
+import com.ldapweb.ldapbrowser.service.CancellationToken;
 import com.ldapweb.ldapbrowser.service.LdapService;
+import com.ldapweb.ldapbrowser.service.PagingStateStore;
+import com.ldapweb.ldapbrowser.service.UiUpdateBatcher;
 import com.unboundid.ldap.sdk.LDAPException;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.contextmenu.GridContextMenu;
+import com.vaadin.flow.component.grid.contextmenu.GridMenuItem;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.textfield.IntegerField;
+import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.component.treegrid.TreeGrid;
-import com.vaadin.flow.data.provider.hierarchy.TreeData;
-import com.vaadin.flow.data.provider.hierarchy.TreeDataProvider;
+import com.vaadin.flow.server.VaadinSession;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Tree grid component for browsing LDAP entries
+ * Tree grid component for browsing LDAP entries. Children are read from the
+ * directory by {@link LdapTreeDataProvider} as they scroll into view.
  */
 public class LdapTreeGrid extends TreeGrid<LdapEntry> {
 
   private final LdapService ldapService;
   private LdapServerConfig serverConfig;
-  private TreeData<LdapEntry> treeData;
-  private TreeDataProvider<LdapEntry> dataProvider;
+  private final LdapTreeDataProvider dataProvider;
 
-  // Paging support
-  private final Map<String, Integer> entryPageState = new HashMap<>(); // DN -> current page
-  private static final int PAGE_SIZE = 100;
-  // When loading the Root DSE we may want to include private naming contexts
-  // This flag is set when loadRootDSEWithNamingContexts(boolean) is called
-  private boolean includePrivateNamingContexts = false;
+  private static final int MAX_REVEAL_PAGES = 50; // Pages read per level looking for the next step towards a DN
+  private static final int DEFAULT_EXPAND_LEVELS = 3;
+  private static final int MAX_EXPAND_LEVELS = 6;
+  private static final int MAX_EXPAND_ENTRIES = 5000; // Entries loaded by one subtree expand before it stops
+  private static final int MAX_EXPAND_PARALLEL = 4; // Container reads in flight at once during a subtree expand
+  // Server-side paging cookies are kept under this grid's own scope within the session
+  private final String pagingScope =
+      PagingStateStore.scopeFor(VaadinSession.getCurrent(), UUID.randomUUID().toString());
 
   public LdapTreeGrid(LdapService ldapService) {
     this.ldapService = ldapService;
+    this.dataProvider = new LdapTreeDataProvider(ldapService, this, pagingScope);
+    dataProvider.setErrorListener(message -> showNotification(message, NotificationVariant.LUMO_ERROR));
 
     initializeGrid();
   }
@@ -44,13 +66,11 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
     setSizeFull();
     setSelectionMode(Grid.SelectionMode.SINGLE);
 
-    // Initialize tree data
-    treeData = new TreeData<>();
-    dataProvider = new TreeDataProvider<>(treeData);
+    // Children are fetched from the directory per visible range
     setDataProvider(dataProvider);
 
     // Add an icon column without header
-    addComponentColumn(this::createIconComponent)
+    addComponentColumn(this::getIconForEntry)
         .setHeader("")
         .setWidth("40px")
         .setFlexGrow(0)
@@ -100,22 +120,29 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
       }
     }).addEventData("event.key");
 
-    // Add expand listener for lazy loading and selection
+    // Add expand listener for selection; the data provider loads the children
     addExpandListener(event -> {
       event.getItems().forEach(item -> {
-        if (isExpanded(item)) {
-          loadChildren(item);
+        if (isExpanded(item) && event.isFromClient()) {
           // When an item is expanded, also select it to show its details
           select(item);
         }
       });
     });
 
-    // Add collapse listener for selection
+    // Add collapse listener for selection and to release the collapsed subtree
     addCollapseListener(event -> {
       event.getItems().forEach(item -> {
-        // When an item is collapsed, also select it to show its details
-        select(item);
+        // Reset the expanded state below so a later expand starts from a clean subtree
+        List<LdapEntry> evicted = dataProvider.evict(item);
+        evicted.removeIf(entry -> !isExpanded(entry));
+        if (!evicted.isEmpty()) {
+          collapse(evicted);
+        }
+        if (event.isFromClient()) {
+          // When an item is collapsed, also select it to show its details
+          select(item);
+        }
       });
     });
 
@@ -123,10 +150,8 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
     asSingleSelect().addValueChangeListener(event -> {
       LdapEntry selectedEntry = event.getValue();
       if (selectedEntry != null) {
-        // Check if this is a pagination control entry
-        if (!selectedEntry.getAttributeValues("isPagination").isEmpty()) {
-          handlePaginationClick(selectedEntry);
-          // Clear selection to avoid keeping pagination entry selected
+        if (LdapTreeDataProvider.isLoadingRow(selectedEntry)) {
+          // Loading rows are not entries
           asSingleSelect().clear();
         } else if (selectedEntry.getDn().isEmpty() || "Root DSE".equals(selectedEntry.getRdn())) {
           // If the Root DSE is selected, expand it to show naming contexts (and
@@ -137,6 +162,21 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
         }
       }
     });
+
+    // Jumping by value within a large container is offered where the server can position on it
+    GridContextMenu<LdapEntry> contextMenu = addContextMenu();
+    GridMenuItem<LdapEntry> jumpItem = contextMenu.addItem("Jump to…", event -> event.getItem()
+        .ifPresent(this::openJumpDialog));
+    GridMenuItem<LdapEntry> expandLevelsItem = contextMenu.addItem("Expand levels…", event -> event.getItem()
+        .ifPresent(this::openExpandLevelsDialog));
+    contextMenu.setDynamicContentHandler(entry -> {
+      boolean canJump = entry != null && isExpanded(entry) && dataProvider.isRandomAccess(entry);
+      boolean canExpand = entry != null && !LdapTreeDataProvider.isLoadingRow(entry) && entry.isHasChildren()
+          && dataProvider.isBrowsable();
+      jumpItem.setVisible(canJump);
+      expandLevelsItem.setVisible(canExpand);
+      return canJump || canExpand;
+    });
   }
 
   /**
@@ -147,156 +187,242 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
   }
 
   /**
-   * Create a placeholder entry for showing expand toggles
+   * Ask for a value to jump to within a large container, e.g. a first letter
    */
-  private LdapEntry createPlaceholderEntry() {
-    LdapEntry placeholder = new LdapEntry();
-    placeholder.setDn("_placeholder_" + System.nanoTime());
-    placeholder.addAttribute("displayName", "Loading...");
-    placeholder.setHasChildren(false);
-    return placeholder;
+  private void openJumpDialog(LdapEntry parentEntry) {
+    Dialog dialog = new Dialog();
+    dialog.setHeaderTitle("Jump within " + parentEntry.getDn());
+
+    TextField startField = new TextField("Starts at");
+    startField.setPlaceholder("e.g. M");
+    startField.setWidthFull();
+
+    Button jumpButton = new Button("Jump", e -> {
+      String startValue = startField.getValue();
+      if (startValue != null && !startValue.trim().isEmpty()) {
+        jumpToValue(parentEntry, startValue.trim());
+        dialog.close();
+      }
+    });
+    jumpButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+    Button cancelButton = new Button("Cancel", e -> dialog.close());
+
+    dialog.add(startField);
+    dialog.getFooter().add(cancelButton, jumpButton);
+    dialog.open();
+    startField.focus();
   }
 
   /**
-   * Create a pagination control entry
+   * Load the page of children that holds the first entry at or after a sort
+   * value and scroll to it; the page reached is only known once the server
+   * answers
    */
-  private LdapEntry createPaginationControlEntry(String parentDn, int currentPage, boolean hasNextPage,
-      boolean hasPrevPage) {
-    // This method is now used to create individual pagination entries
-    // We'll call it multiple times to create separate Previous/Next entries
-    LdapEntry paginationEntry = new LdapEntry();
-    String entryId = "_pagination_" + parentDn.hashCode() + "_" + System.nanoTime();
-    paginationEntry.setDn(entryId);
-
-    // This will be overridden by the calling method
-    paginationEntry.addAttribute("isPagination", "true");
-    paginationEntry.addAttribute("parentDn", parentDn);
-    paginationEntry.addAttribute("currentPage", String.valueOf(currentPage));
-    paginationEntry.addAttribute("hasNext", String.valueOf(hasNextPage));
-    paginationEntry.addAttribute("hasPrev", String.valueOf(hasPrevPage));
-    paginationEntry.setHasChildren(false);
-
-    return paginationEntry;
-  }
-
-  private void addPaginationEntries(LdapEntry parentEntry, String parentDn, int currentPage, boolean hasNextPage,
-      boolean hasPrevPage) {
-    // Create Previous entry if available
-    if (hasPrevPage) {
-      LdapEntry prevEntry = createPaginationControlEntry(parentDn, currentPage, hasNextPage, hasPrevPage);
-      prevEntry.setDn("_pagination_prev_" + parentDn.hashCode() + "_" + System.nanoTime());
-      prevEntry.addAttribute("displayName", "◀ Previous Page");
-      prevEntry.addAttribute("action", "previous");
-      treeData.addItem(parentEntry, prevEntry);
-    }
-
-    // Create Next entry if available
-    if (hasNextPage) {
-      LdapEntry nextEntry = createPaginationControlEntry(parentDn, currentPage, hasNextPage, hasPrevPage);
-      nextEntry.setDn("_pagination_next_" + parentDn.hashCode() + "_" + System.nanoTime());
-      nextEntry.addAttribute("displayName", "Next Page ▶");
-      nextEntry.addAttribute("action", "next");
-      treeData.addItem(parentEntry, nextEntry);
-    }
-
-    // Create page info entry (non-clickable, just for information)
-    if (hasPrevPage || hasNextPage) {
-      LdapEntry infoEntry = createPaginationControlEntry(parentDn, currentPage, hasNextPage, hasPrevPage);
-      infoEntry.setDn("_pagination_info_" + parentDn.hashCode() + "_" + System.nanoTime());
-      infoEntry.addAttribute("displayName", "— Page " + (currentPage + 1) + " —");
-      infoEntry.addAttribute("action", "info");
-      treeData.addItem(parentEntry, infoEntry);
+  private void jumpToValue(LdapEntry parent, String startValue) {
+    UI ui = getUI().orElse(null);
+    if (ui == null || serverConfig == null) {
+      return;
     }
+    String serverId = serverConfig.getId();
+    int pageSize = dataProvider.pageSizeFor(parent);
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        LdapService.BrowseResult result = ldapService.browseEntriesFrom(serverId, parent.getDn(), startValue,
+            pageSize);
+        ui.access(() -> {
+          if (token.isCancelled()) {
+            return;
+          }
+          int firstRow = dataProvider.storePage(parent, result);
+          int[] parentPath = dataProvider.getIndexPath(parent);
+          if (parentPath != null) {
+            int[] path = Arrays.copyOf(parentPath, parentPath.length + 1);
+            path[parentPath.length] = firstRow;
+            scrollToIndex(path);
+          }
+        });
+      } catch (LDAPException e) {
+        ui.access(() -> showNotification("Failed to jump within " + parent.getDn() + ": " + e.getMessage(),
+            NotificationVariant.LUMO_ERROR));
+      }
+    });
   }
 
   /**
-   * Handle pagination control clicks
+   * Ask how many levels below a container to expand
    */
-  private void handlePaginationClick(LdapEntry paginationEntry) {
-    String parentDn = paginationEntry.getFirstAttributeValue("parentDn");
-    int currentPage = Integer.parseInt(paginationEntry.getFirstAttributeValue("currentPage"));
-    String action = paginationEntry.getFirstAttributeValue("action");
-
-    // Don't process info entries
-    if ("info".equals(action)) {
-      return;
-    }
-
-    // Find the parent entry
-    LdapEntry parentEntry = findEntryByDn(parentDn);
-    if (parentEntry == null) {
-      return;
-    }
-
-    // Calculate new page based on action
-    int newPage = currentPage;
-    if ("next".equals(action)) {
-      newPage = currentPage + 1;
-    } else if ("previous".equals(action)) {
-      newPage = currentPage - 1;
-    }
-
-    if (newPage != currentPage) {
-      entryPageState.put(parentDn, newPage);
-      loadChildren(parentEntry, newPage);
+  private void openExpandLevelsDialog(LdapEntry entry) {
+    Dialog dialog = new Dialog();
+    dialog.setHeaderTitle("Expand " + getEntryDisplayName(entry));
+
+    IntegerField levelsField = new IntegerField("Levels");
+    levelsField.setMin(1);
+    levelsField.setMax(MAX_EXPAND_LEVELS);
+    levelsField.setValue(DEFAULT_EXPAND_LEVELS);
+    levelsField.setStepButtonsVisible(true);
+    levelsField.setHelperText("Stops after " + MAX_EXPAND_ENTRIES + " entries");
+    levelsField.setWidthFull();
+
+    Button expandButton = new Button("Expand", e -> {
+      Integer levels = levelsField.getValue();
+      if (levels != null && levels >= 1) {
+        expandLevels(entry, Math.min(levels, MAX_EXPAND_LEVELS));
+        dialog.close();
+      }
+    });
+    expandButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+    Button cancelButton = new Button("Cancel", e -> dialog.close());
 
-      // Show brief feedback about the action
-      showNotification(String.format("Navigated to %s page (%d)", action, newPage + 1),
-          NotificationVariant.LUMO_SUCCESS);
-    }
+    dialog.add(levelsField);
+    dialog.getFooter().add(cancelButton, expandButton);
+    dialog.open();
+    levelsField.focus();
   }
 
   /**
-   * Find an entry by DN in the tree
+   * Expand a container and the containers below it down to the given number of
+   * levels. The subtree is walked breadth-first in the background, reading the
+   * first page of a few containers at a time, and each container is expanded
+   * as soon as its children arrive. The walk stops issuing reads once
+   * {@link #MAX_EXPAND_ENTRIES} entries are loaded, and can be cancelled from
+   * its progress notification.
    */
-  private LdapEntry findEntryByDn(String dn) {
-    return findEntryByDnRecursive(null, dn);
+  public void expandLevels(LdapEntry root, int levels) {
+    UI ui = getUI().orElse(null);
+    if (ui == null || serverConfig == null) {
+      return;
+    }
+    String serverId = serverConfig.getId();
+    String rootName = getEntryDisplayName(root);
+    int pageSize = ldapService.getBrowsePageSize(serverId);
+
+    Span progressText = new Span("Expanding " + rootName + "…");
+    Button cancelButton = new Button("Cancel");
+    cancelButton.addThemeVariants(ButtonVariant.LUMO_TERTIARY_INLINE);
+    HorizontalLayout progressLayout = new HorizontalLayout(progressText, cancelButton);
+    progressLayout.setAlignItems(FlexComponent.Alignment.CENTER);
+    Notification progress = new Notification(progressLayout);
+    progress.setPosition(Notification.Position.BOTTOM_END);
+    progress.open();
+
+    BackgroundTaskService tasks = BackgroundTaskService.get(ui);
+    UiUpdateBatcher batcher = tasks.createBatcher(ui);
+    CancellationToken expandToken = tasks.submit(this, token -> {
+      AtomicInteger loaded = new AtomicInteger();
+      AtomicInteger failed = new AtomicInteger();
+      boolean capped = false;
+      try {
+        List<LdapEntry> level = List.of(root);
+        for (int depth = 1; depth <= levels && !level.isEmpty() && !capped; depth++) {
+          int levelNumber = depth;
+          List<LdapEntry> nextLevel = Collections.synchronizedList(new ArrayList<>());
+          Semaphore slots = new Semaphore(MAX_EXPAND_PARALLEL);
+          List<CompletableFuture<?>> reads = new ArrayList<>();
+          for (LdapEntry container : level) {
+            if (loaded.get() >= MAX_EXPAND_ENTRIES) {
+              capped = true;
+              break;
+            }
+            token.throwIfCancelled();
+            slots.acquire();
+            reads.add(readFirstPage(serverId, container, pageSize).whenComplete((result, error) -> {
+              slots.release();
+              if (error != null) {
+                failed.incrementAndGet();
+                return;
+              }
+              if (token.isCancelled()) {
+                return;
+              }
+              int count = loaded.addAndGet(result.getEntries().size());
+              for (LdapEntry child : result.getEntries()) {
+                ensureHasChildrenFlagIsSet(child);
+                if (child.isHasChildren()) {
+                  nextLevel.add(child);
+                }
+              }
+              batcher.post(() -> {
+                if (token.isCancelled()) {
+                  return;
+                }
+                showExpandedChildren(container, result);
+                progressText.setText(String.format("Expanding %s: level %d of %d, %d entries",
+                    rootName, levelNumber, levels, count));
+              });
+            }));
+          }
+          CompletableFuture.allOf(reads.toArray(new CompletableFuture<?>[0])).join();
+          level = new ArrayList<>(nextLevel);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        boolean stoppedAtCap = capped;
+        batcher.post(() -> {
+          progress.close();
+          if (token.isCancelled()) {
+            return;
+          }
+          String message = "Expanded " + rootName + ": " + loaded.get() + " entries";
+          if (stoppedAtCap) {
+            message += " (stopped at " + MAX_EXPAND_ENTRIES + ")";
+          }
+          if (failed.get() > 0) {
+            message += ", " + failed.get() + " containers could not be read";
+          }
+          showNotification(message, failed.get() > 0 ? NotificationVariant.LUMO_PRIMARY
+              : NotificationVariant.LUMO_SUCCESS);
+        });
+        batcher.flush();
+      }
+    });
+    cancelButton.addClickListener(e -> {
+      expandToken.cancel();
+      progress.close();
+    });
   }
 
   /**
-   * Recursively find an entry by DN
+   * First page of a container's children, without blocking for ordinary
+   * containers; the Root DSE lists its naming contexts instead. Servers whose
+   * pages are merged on the client or read by virtual list view are read the
+   * way the tree reads them, so the stored page lines up with the pages loaded
+   * after it.
    */
-  private LdapEntry findEntryByDnRecursive(LdapEntry parent, String dn) {
-    for (LdapEntry child : treeData.getChildren(parent)) {
-      if (dn.equals(child.getDn())) {
-        return child;
-      }
-      LdapEntry found = findEntryByDnRecursive(child, dn);
-      if (found != null) {
-        return found;
+  private CompletableFuture<LdapService.BrowseResult> readFirstPage(String serverId, LdapEntry container,
+      int pageSize) {
+    if (container.getDn().isEmpty() || ldapService.isClientMergedBrowse(serverId)
+        || ldapService.isRandomAccessBrowse(serverId)) {
+      try {
+        return CompletableFuture.completedFuture(dataProvider.fetchPage(container, 0, pageSize));
+      } catch (LDAPException e) {
+        return CompletableFuture.failedFuture(e);
       }
     }
-    return null;
+    return ldapService.browseFirstPageAsync(serverId, container.getDn(), pageSize);
   }
 
   /**
-   * Create an icon component for each entry type
+   * Put children read by a subtree expand under their container and open it,
+   * unless the tree has been reloaded since
    */
-  private Icon createIconComponent(LdapEntry entry) {
-    // Check if this is a pagination control
-    if (!entry.getAttributeValues("isPagination").isEmpty()) {
-      Icon paginationIcon = new Icon(VaadinIcon.ELLIPSIS_DOTS_H);
-      paginationIcon.getStyle().set("color", "var(--lumo-primary-color)");
-      paginationIcon.getStyle().set("cursor", "pointer");
-      return paginationIcon;
+  private void showExpandedChildren(LdapEntry container, LdapService.BrowseResult result) {
+    if (dataProvider.findEntry(container.getDn()) != container) {
+      return;
+    }
+    dataProvider.storePage(container, result);
+    if (!result.getEntries().isEmpty()) {
+      container.setHasChildren(true);
+      expand(container);
     }
-
-    return getIconForEntry(entry);
   }
 
   /**
    * Get appropriate icon based on LDAP entry type
    */
   private Icon getIconForEntry(LdapEntry entry) {
-    // Handle placeholder entries
-    if (entry.getDn().startsWith("_placeholder_")) {
-      Icon icon = new Icon(VaadinIcon.ELLIPSIS_DOTS_H);
-      icon.getStyle().set("color", "#BDBDBD");
-      return icon;
-    }
-
-    // Check if entry is loading
-    if (entry.getAttributeValues("_loading").size() > 0) {
+    // Rows whose page is still being fetched
+    if (LdapTreeDataProvider.isLoadingRow(entry)) {
       Icon icon = new Icon(VaadinIcon.SPINNER);
       icon.getStyle().set("color", "#757575");
       icon.getElement().getStyle().set("animation", "spin 2s linear infinite");
@@ -397,16 +523,11 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
   }
 
   private String getEntryDisplayName(LdapEntry entry) {
-    // Handle placeholder entries
-    if (entry.getDn().startsWith("_placeholder_")) {
+    // Rows whose page is still being fetched
+    if (LdapTreeDataProvider.isLoadingRow(entry)) {
       return "Loading...";
     }
 
-    // Handle pagination control entries
-    if (!entry.getAttributeValues("isPagination").isEmpty()) {
-      return entry.getFirstAttributeValue("displayName");
-    }
-
     // Special case for Root DSE - show label instead of empty DN
     if (entry.getDn().isEmpty() || "Root DSE".equals(entry.getRdn())) {
       return "Root DSE";
@@ -416,22 +537,29 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
     // Naming contexts are either:
     // 1. Root-level entries (have no parent in the tree) 
     // 2. Direct children of Root DSE (their parent has empty DN or "Root DSE" RDN)
-    LdapEntry parent = treeData.getParent(entry);
-    if (parent == null || 
-        (parent.getDn().isEmpty() || "Root DSE".equals(parent.getRdn()))) {
+    String parentDn = dataProvider.getParentDn(entry);
+    String name;
+    if (parentDn == null || parentDn.isEmpty()) {
       // This is either a root-level entry or a naming context under Root DSE
       // Show the full DN as it provides context for which naming context it is
-      return entry.getDn();
+      name = entry.getDn();
     } else {
       // This is a child entry under a regular parent (not Root DSE)
       // Show only the RDN to avoid clutter and improve readability
       String rdn = entry.getRdn();
-      return rdn != null && !rdn.isEmpty() ? rdn : entry.getDn();
+      name = rdn != null && !rdn.isEmpty() ? rdn : entry.getDn();
+    }
+
+    // Show the server-reported child count as a badge
+    if (entry.getChildCount() > 0) {
+      name += " (" + entry.getChildCount() + ")";
     }
+    return name;
   }
 
   public void setServerConfig(LdapServerConfig serverConfig) {
     this.serverConfig = serverConfig;
+    dataProvider.setServerId(serverConfig != null ? serverConfig.getId() : null);
   }
 
   public void loadRootEntries(String baseDn) throws LDAPException {
@@ -441,38 +569,25 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
 
     clear();
 
-    // Use the metadata version to detect size limits
-    LdapService.BrowseResult result = ldapService.browseEntriesWithMetadata(serverConfig.getId(), baseDn);
+    // Use the metadata version to detect size limits; later pages load as the user scrolls
+    LdapService.BrowseResult result = ldapService.browseEntriesWithMetadata(serverConfig.getId(), baseDn, 0,
+        ldapService.getBrowsePageSize(serverConfig.getId()), pagingScope);
     List<LdapEntry> rootEntries = result.getEntries();
 
     for (LdapEntry entry : rootEntries) {
       // Ensure all entries get a chance to show expanders by checking their object
       // classes
       ensureHasChildrenFlagIsSet(entry);
-
-      treeData.addItem(null, entry);
-
-      // Add placeholder children for entries that might have children to show expand
-      // toggle
-      if (entry.isHasChildren() || shouldShowExpanderForEntry(entry)) {
-        // Create a placeholder entry to show the expand arrow
-        LdapEntry placeholder = createPlaceholderEntry();
-        treeData.addItem(entry, placeholder);
-        // Update the hasChildren flag if we're adding a placeholder
-        if (!entry.isHasChildren()) {
-          entry.setHasChildren(true);
-        }
-      }
     }
 
-    dataProvider.refreshAll();
+    dataProvider.setRootContainer(baseDn, result);
 
     if (rootEntries.isEmpty()) {
       showNotification("No entries found under: " + baseDn, NotificationVariant.LUMO_PRIMARY);
     } else {
       String message;
       if (result.hasNextPage()) {
-        message = String.format("Loaded %d entries under: %s (more available, expand entries to navigate)",
+        message = String.format("Loaded %d entries under: %s (scroll to load more)",
             rootEntries.size(), baseDn);
       } else {
         message = "Loaded " + rootEntries.size() + " entries under: " + baseDn;
@@ -492,7 +607,7 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
 
     // Remember the preference for private naming contexts so that expand
     // behavior can honor it later when Root DSE is interacted with.
-    this.includePrivateNamingContexts = includePrivateNamingContexts;
+    dataProvider.setIncludePrivateNamingContexts(includePrivateNamingContexts);
 
     // **NEW: Collapse the entire tree before clearing to reset all expansion states**
     // This prevents preservation of undesired expanded states and ensures a clean reload
@@ -500,51 +615,22 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
 
     clear();
 
-    // Load the Root DSE entry with naming contexts as a list where the first
-    // entry is expected to be the Root DSE itself (with empty DN)
-    List<LdapEntry> rootEntries = ldapService.loadRootDSEWithNamingContexts(serverConfig.getId(),
-        includePrivateNamingContexts);
+    // Only the Root DSE itself is read here; its naming contexts are read
+    // concurrently and shown one by one when it is expanded
+    LdapEntry rootDse = ldapService.getRootDseEntry(serverConfig.getId());
 
-    if (rootEntries.isEmpty()) {
-      dataProvider.refreshAll();
+    if (rootDse == null) {
       showNotification("No Root DSE or naming contexts found", NotificationVariant.LUMO_PRIMARY);
       return;
     }
 
-    // Find the explicit Root DSE entry (prefer one with empty DN). If not found,
-    // fall back to the first entry.
-    LdapEntry rootDse = null;
-    for (LdapEntry e : rootEntries) {
-      if (e.getDn().isEmpty() || "Root DSE".equals(e.getRdn())) {
-        rootDse = e;
-        break;
-      }
-    }
-    if (rootDse == null) {
-      rootDse = rootEntries.get(0);
-    }
-
-    // Ensure root DSE shows as a root-most item
+    // Ensure root DSE shows as a root-most item. Its naming contexts are loaded
+    // on demand when the user expands it rather than pre-added as separate roots.
     ensureHasChildrenFlagIsSet(rootDse);
-    treeData.addItem(null, rootDse);
-
-    // Add a placeholder for Root DSE so the user can expand it to load naming
-    // contexts on demand. We'll not pre-add naming contexts as separate roots.
-    if (rootDse.isHasChildren() || shouldShowExpanderForEntry(rootDse)) {
-      LdapEntry placeholder = createPlaceholderEntry();
-      treeData.addItem(rootDse, placeholder);
-      if (!rootDse.isHasChildren()) {
-        rootDse.setHasChildren(true);
-      }
+    if (!rootDse.isHasChildren() && shouldShowExpanderForEntry(rootDse)) {
+      rootDse.setHasChildren(true);
     }
-
-    // After adding the new Root DSE and placeholders, ensure it's not expanded
-    // (though collapseAll should handle this, this is a safeguard)
-    if (rootDse != null && isExpanded(rootDse)) {
-      collapse(rootDse);
-    }
-
-    dataProvider.refreshAll();
+    dataProvider.setRootItems(List.of(rootDse), true);
 
     String message = "Loaded Root DSE";
     if (includePrivateNamingContexts) {
@@ -553,232 +639,10 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
     showNotification(message, NotificationVariant.LUMO_SUCCESS);
   }
 
-  private void loadChildren(LdapEntry parent) {
-    // Get current page for this parent (default to 0)
-    int currentPage = entryPageState.getOrDefault(parent.getDn(), 0);
-    loadChildren(parent, currentPage);
-  }
-
-  private void loadChildren(LdapEntry parent, int page) {
-    if (serverConfig == null) {
-      return;
-    }
-
-    // Store the current page
-    entryPageState.put(parent.getDn(), page);
-
-    try {
-      // Special-case Root DSE: load naming contexts as its children instead of
-      // doing a regular browse. Root DSE is identified by an empty DN or
-      // explicit "Root DSE" RDN.
-      if (parent.getDn().isEmpty() || "Root DSE".equals(parent.getRdn())) {
-        getUI().ifPresent(ui -> ui.access(() -> {
-          parent.addAttribute("_loading", "true");
-          dataProvider.refreshItem(parent);
-        }));
-
-        try {
-          // Retrieve naming contexts via existing service methods
-          List<String> namingContextDns = ldapService.getNamingContexts(serverConfig.getId());
-          List<LdapEntry> namingContexts = new ArrayList<>();
-
-          for (String ctx : namingContextDns) {
-            try {
-              LdapEntry ctxEntry = ldapService.getEntryMinimal(serverConfig.getId(), ctx);
-              if (ctxEntry != null) {
-                ctxEntry.setHasChildren(true);
-                namingContexts.add(ctxEntry);
-              }
-            } catch (Exception ignoredCtx) {
-              LdapEntry ctxEntry = new LdapEntry();
-              ctxEntry.setDn(ctx);
-              ctxEntry.setRdn(ctx);
-              ctxEntry.setHasChildren(true);
-              ctxEntry.addAttribute("objectClass", "organizationalUnit");
-              namingContexts.add(ctxEntry);
-            }
-          }
-
-          if (includePrivateNamingContexts) {
-            List<String> privateDns = ldapService.getPrivateNamingContexts(serverConfig.getId());
-            for (String ctx : privateDns) {
-              try {
-                LdapEntry ctxEntry = ldapService.getEntryMinimal(serverConfig.getId(), ctx);
-                if (ctxEntry != null) {
-                  ctxEntry.setHasChildren(true);
-                  namingContexts.add(ctxEntry);
-                }
-              } catch (Exception ignoredCtx) {
-                LdapEntry ctxEntry = new LdapEntry();
-                ctxEntry.setDn(ctx);
-                ctxEntry.setRdn(ctx);
-                ctxEntry.setHasChildren(true);
-                ctxEntry.addAttribute("objectClass", "organizationalUnit");
-                namingContexts.add(ctxEntry);
-              }
-            }
-          }
-
-          getUI().ifPresent(ui -> ui.access(() -> {
-            // Remove loading indicator
-            parent.getAttributes().remove("_loading");
-
-            // Remove existing children
-            List<LdapEntry> existingChildren = new ArrayList<>(treeData.getChildren(parent));
-            for (LdapEntry child : existingChildren) {
-              treeData.removeItem(child);
-            }
-
-            // Add naming contexts as children under Root DSE
-            for (LdapEntry nc : namingContexts) {
-              ensureHasChildrenFlagIsSet(nc);
-              treeData.addItem(parent, nc);
-
-              if (nc.isHasChildren() || shouldShowExpanderForEntry(nc)) {
-                List<LdapEntry> childChildren = treeData.getChildren(nc);
-                if (childChildren.isEmpty()) {
-                  LdapEntry placeholder = createPlaceholderEntry();
-                  treeData.addItem(nc, placeholder);
-                }
-                if (!nc.isHasChildren()) {
-                  nc.setHasChildren(true);
-                }
-              }
-            }
-
-            dataProvider.refreshItem(parent, true);
-            showNotification("Loaded " + namingContexts.size() + " naming contexts", NotificationVariant.LUMO_SUCCESS);
-          }));
-        } catch (Exception ex) {
-          getUI().ifPresent(ui -> ui.access(() -> {
-            parent.getAttributes().remove("_loading");
-            dataProvider.refreshItem(parent);
-            showNotification("Failed to load naming contexts: " + ex.getMessage(), NotificationVariant.LUMO_ERROR);
-          }));
-        }
-
-        return;
-      }
-      // First, check if the parent actually has children (lazy check)
-      boolean actuallyHasChildren = ldapService.checkHasChildren(serverConfig.getId(), parent.getDn());
-
-      if (!actuallyHasChildren) {
-        // Only remove the expander for entries that definitely shouldn't have one
-        // Keep expander for entries that might have children in the future or should
-        // always show expander
-        getUI().ifPresent(ui -> ui.access(() -> {
-          if (!shouldShowExpanderForEntry(parent)) {
-            parent.setHasChildren(false);
-          }
-          // Remove any placeholder children but keep the expander if it should be shown
-          List<LdapEntry> existingChildren = new ArrayList<>(treeData.getChildren(parent));
-          for (LdapEntry child : existingChildren) {
-            treeData.removeItem(child);
-          }
-          dataProvider.refreshItem(parent, true);
-          // showNotification("No child entries found under " + parent.getDn(), NotificationVariant.LUMO_PRIMARY);
-        }));
-        return;
-      } // Show loading indicator
-      getUI().ifPresent(ui -> ui.access(() -> {
-        parent.addAttribute("_loading", "true");
-        dataProvider.refreshItem(parent);
-      }));
-
-      // Use the metadata version with paging support
-      LdapService.BrowseResult result = ldapService.browseEntriesWithMetadata(serverConfig.getId(), parent.getDn(),
-          page, PAGE_SIZE);
-      List<LdapEntry> children = result.getEntries();
-
-      getUI().ifPresent(ui -> ui.access(() -> {
-        // Remove loading indicator
-        parent.getAttributes().remove("_loading");
-
-        // **NEW: Collapse all existing children recursively before removing them**
-        // This prevents preservation of undesired expanded states on new children
-        List<LdapEntry> existingChildren = new ArrayList<>(treeData.getChildren(parent));
-        for (LdapEntry child : existingChildren) {
-          collapseRecursively(child);  // Collapse the subtree to reset states
-        }
-
-        // Remove all existing children (including placeholders and pagination controls)
-        for (LdapEntry child : existingChildren) {
-          treeData.removeItem(child);
-        }
-
-        if (children.isEmpty()) {
-          // No children found, but only remove expander if entry shouldn't have one
-          if (!shouldShowExpanderForEntry(parent)) {
-            parent.setHasChildren(false);
-          }
-          // showNotification("No child entries found under " + parent.getDn(), NotificationVariant.LUMO_PRIMARY);
-        } else {
-          // Add real children
-          for (LdapEntry child : children) {
-            // Ensure all child entries get a chance to show expanders
-            ensureHasChildrenFlagIsSet(child);
-
-            treeData.addItem(parent, child);
-
-            // Add placeholder for children that have or might have children
-            if (child.isHasChildren() || shouldShowExpanderForEntry(child)) {
-              // Check if this child already has any children (including placeholders)
-              List<LdapEntry> childChildren = treeData.getChildren(child);
-              if (childChildren.isEmpty()) {
-                LdapEntry placeholder = createPlaceholderEntry();
-                treeData.addItem(child, placeholder);
-              }
-              // Update the hasChildren flag if we're adding a placeholder
-              if (!child.isHasChildren()) {
-                child.setHasChildren(true);
-              }
-            }
-          }
-
-          // Add pagination controls if needed
-          if (result.hasNextPage() || result.hasPrevPage()) {
-            addPaginationEntries(
-                parent,
-                parent.getDn(),
-                result.getCurrentPage(),
-                result.hasNextPage(),
-                result.hasPrevPage());
-          }
-
-          // Show appropriate notification based on paging
-          String message;
-          if (result.hasNextPage() || result.hasPrevPage()) {
-            message = String.format("Loaded page %d (%d entries) for %s - Use pagination controls to navigate",
-                result.getCurrentPage() + 1, children.size(), parent.getDn());
-          } else {
-            message = "Loaded " + children.size() + " child entries for " + parent.getDn();
-          }
-          showNotification(message, NotificationVariant.LUMO_SUCCESS);
-        }
-
-        dataProvider.refreshItem(parent, true);
-      }));
-
-    } catch (Exception e) {
-      getUI().ifPresent(ui -> ui.access(() -> {
-        // Remove loading indicator
-        parent.getAttributes().remove("_loading");
-        dataProvider.refreshItem(parent);
-
-        showNotification("Failed to load children for " + parent.getDisplayName() + ": " + e.getMessage(),
-            NotificationVariant.LUMO_ERROR);
-      }));
-    }
-  }
-
   public void showSearchResults(List<LdapEntry> results) {
     clear();
 
-    for (LdapEntry entry : results) {
-      treeData.addItem(null, entry);
-    }
-
-    dataProvider.refreshAll();
+    dataProvider.setRootItems(results, false);
 
     if (results.isEmpty()) {
       showNotification("No search results found", NotificationVariant.LUMO_PRIMARY);
@@ -788,13 +652,12 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
   }
 
   public void clear() {
-    treeData.clear();
+    dataProvider.clear();
     dataProvider.refreshAll();
-    entryPageState.clear(); // Clear client-side paging state
 
-    // Clear server-side paging state if server config is available
+    // Clear this grid's server-side paging state if server config is available
     if (serverConfig != null) {
-      ldapService.clearPagingState(serverConfig.getId());
+      ldapService.clearPagingState(pagingScope, serverConfig.getId());
     }
   }
 
@@ -803,36 +666,121 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
   }
 
   /**
-   * Expand a specific entry and load its children if needed
+   * Refresh the row of an entry by DN, if it is loaded
    */
-  public void expandEntry(LdapEntry entry) {
-    if (entry.isHasChildren() && !isExpanded(entry)) {
-      loadChildren(entry);
-      expand(entry);
+  public void refreshEntry(String dn) {
+    LdapEntry entry = dataProvider.findEntry(dn);
+    if (entry != null) {
+      dataProvider.refreshItem(entry);
     }
   }
 
   /**
-   * Collapse all expanded entries in the tree
+   * Expand the tree down to an entry, select it and scroll it into view. Pages
+   * along the path that are not loaded yet are read in the background.
    */
-  public void collapseAll() {
-    // Get all root items and recursively collapse their expanded children
-    treeData.getRootItems().forEach(this::collapseRecursively);
+  public void revealDn(String dn) {
+    UI ui = getUI().orElse(null);
+    LdapEntry start = dataProvider.findRevealStart(dn);
+    if (ui == null || serverConfig == null || start == null) {
+      return;
+    }
+    String target = LdapTreeDataProvider.normalize(dn);
+    // Levels below the start are not loaded yet and are read with the size now tuned for the server
+    int startPageSize = dataProvider.pageSizeFor(start);
+    int pageSize = ldapService.getBrowsePageSize(serverConfig.getId());
+
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Walk down from the deepest loaded ancestor, one level per step
+        List<LdapEntry> parents = new ArrayList<>();
+        List<List<LdapService.BrowseResult>> levels = new ArrayList<>();
+        LdapEntry parent = start;
+        while (!LdapTreeDataProvider.normalize(parent.getDn()).equals(target)) {
+          List<LdapService.BrowseResult> pages = new ArrayList<>();
+          LdapEntry next = null;
+          for (int page = 0; next == null && page < MAX_REVEAL_PAGES; page++) {
+            token.throwIfCancelled();
+            LdapService.BrowseResult result = dataProvider.fetchPage(parent, page,
+                parent == start ? startPageSize : pageSize);
+            pages.add(result);
+            next = findPathStep(result.getEntries(), target);
+            if (!result.hasNextPage()) {
+              break;
+            }
+          }
+          if (next == null) {
+            ui.access(() -> showNotification("Could not find " + dn + " in the tree",
+                NotificationVariant.LUMO_PRIMARY));
+            return;
+          }
+          parents.add(parent);
+          levels.add(pages);
+          parent = next;
+        }
+
+        ui.access(() -> {
+          if (token.isCancelled()) {
+            return;
+          }
+          for (int i = 0; i < parents.size(); i++) {
+            LdapEntry level = parents.get(i);
+            levels.get(i).forEach(page -> dataProvider.storePage(level, page));
+            if (!dataProvider.isRootContainer(level)) {
+              level.setHasChildren(true);
+              expand(level);
+            }
+          }
+          LdapEntry entry = dataProvider.findEntry(dn);
+          if (entry != null) {
+            select(entry);
+            int[] path = dataProvider.getIndexPath(entry);
+            if (path != null) {
+              scrollToIndex(path);
+            }
+          }
+        });
+      } catch (LDAPException e) {
+        ui.access(() -> showNotification("Failed to reveal " + dn + ": " + e.getMessage(),
+            NotificationVariant.LUMO_ERROR));
+      }
+    });
   }
 
   /**
-   * Recursively collapse an entry and all its expanded children
+   * The entry in a page that is the target or one of its ancestors
    */
-  private void collapseRecursively(LdapEntry entry) {
-    // First, recursively collapse all children
-    treeData.getChildren(entry).forEach(this::collapseRecursively);
+  private static LdapEntry findPathStep(List<LdapEntry> entries, String target) {
+    for (LdapEntry entry : entries) {
+      String key = LdapTreeDataProvider.normalize(entry.getDn());
+      if (!key.isEmpty() && LdapTreeDataProvider.isInSubtree(target, key)) {
+        return entry;
+      }
+    }
+    return null;
+  }
 
-    // Then collapse this entry if it's expanded
-    if (isExpanded(entry)) {
-      collapse(entry);
+  /**
+   * Expand a specific entry; its children are loaded as they come into view
+   */
+  public void expandEntry(LdapEntry entry) {
+    if (entry.isHasChildren() && !isExpanded(entry)) {
+      expand(entry);
     }
   }
 
+  /**
+   * Collapse all expanded entries in the tree
+   */
+  public void collapseAll() {
+    List<LdapEntry> expanded = dataProvider.getLoadedEntries();
+    expanded.removeIf(entry -> !isExpanded(entry));
+    if (!expanded.isEmpty()) {
+      collapse(expanded);
+    }
+  }
+
+
   /**
    * Ensure that entries that typically have children are marked as such
    * Modified to be more aggressive in showing expanders for better browsing
@@ -840,8 +788,8 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
    */
   private void ensureHasChildrenFlagIsSet(LdapEntry entry) {
     // Always check if an entry should show expander, regardless of current
-    // hasChildren flag
-    if (shouldShowExpanderForEntry(entry)) {
+    // hasChildren flag, unless the server already told us
+    if (!entry.isChildHintFromServer() && shouldShowExpanderForEntry(entry)) {
       entry.setHasChildren(true);
     }
   }
@@ -852,11 +800,16 @@ public class LdapTreeGrid extends TreeGrid<LdapEntry> {
    * leaf entry
    */
   private boolean shouldShowExpanderForEntry(LdapEntry entry) {
-    // Skip pagination and placeholder entries
-    if (entry.getDn().startsWith("_pagination_") || entry.getDn().startsWith("_placeholder_")) {
+    // Skip loading rows
+    if (LdapTreeDataProvider.isLoadingRow(entry)) {
       return false;
     }
 
+    // The server's hasSubordinates/numSubordinates hint is exact; the rest is a fallback guess
+    if (entry.isChildHintFromServer()) {
+      return entry.isHasChildren();
+    }
+
     List<String> objectClasses = entry.getAttributeValues("objectClass");
     if (objectClasses == null || objectClasses.isEmpty()) {
       // If no object classes, assume it might have children and show expander
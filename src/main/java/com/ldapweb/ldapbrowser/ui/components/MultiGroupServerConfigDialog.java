@@ -6,6 +6,7 @@ import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.html.H4;
@@ -17,10 +18,12 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.component.textfield.PasswordField;
+import com.vaadin.flow.component.textfield.TextArea;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -48,6 +51,8 @@ public class MultiGroupServerConfigDialog extends Dialog {
   private Checkbox useSslCheckbox;
   private Checkbox useStartTlsCheckbox;
   private TextField baseDnField;
+  private TextArea replicaHostsField;
+  private ComboBox<LdapServerConfig.ServerSelectionStrategy> selectionStrategyComboBox;
 
   // Group management components
   private MultiSelectListBox<String> groupListBox;
@@ -142,6 +147,17 @@ public class MultiGroupServerConfigDialog extends Dialog {
     baseDnField.setWidthFull();
     baseDnField.setPlaceholder("e.g., dc=example,dc=com");
 
+    replicaHostsField = new TextArea("Replica Hosts");
+    replicaHostsField.setWidthFull();
+    replicaHostsField.setPlaceholder("One host[:port] or [IPv6 address]:port per line");
+    replicaHostsField.setHelperText("Reads are spread across the host and its replicas; writes fail over in order");
+
+    selectionStrategyComboBox = new ComboBox<>("Read Host Selection");
+    selectionStrategyComboBox.setItems(LdapServerConfig.ServerSelectionStrategy.values());
+    selectionStrategyComboBox.setItemLabelGenerator(this::getStrategyLabel);
+    selectionStrategyComboBox.setValue(LdapServerConfig.ServerSelectionStrategy.ROUND_ROBIN);
+    selectionStrategyComboBox.setWidthFull();
+
     // Group management components
     groupListBox = new MultiSelectListBox<>();
     groupListBox.setHeight("150px");
@@ -183,7 +199,9 @@ public class MultiGroupServerConfigDialog extends Dialog {
         promptForPasswordCheckbox,
         useSslCheckbox,
         useStartTlsCheckbox,
-        baseDnField);
+        baseDnField,
+        replicaHostsField,
+        selectionStrategyComboBox);
 
     basicForm.setResponsiveSteps(
         new FormLayout.ResponsiveStep("0", 1),
@@ -192,6 +210,7 @@ public class MultiGroupServerConfigDialog extends Dialog {
     basicForm.setColspan(promptForPasswordCheckbox, 2);
     basicForm.setColspan(useSslCheckbox, 1);
     basicForm.setColspan(useStartTlsCheckbox, 1);
+    basicForm.setColspan(replicaHostsField, 2);
 
     // Group management section
     VerticalLayout groupSection = new VerticalLayout();
@@ -226,6 +245,18 @@ public class MultiGroupServerConfigDialog extends Dialog {
     getFooter().add(cancelButton, saveButton);
   }
 
+  private String getStrategyLabel(LdapServerConfig.ServerSelectionStrategy strategy) {
+    switch (strategy) {
+      case FEWEST_CONNECTIONS:
+        return "Fewest connections";
+      case FASTEST_CONNECT:
+        return "Fastest connect";
+      case ROUND_ROBIN:
+      default:
+        return "Round robin";
+    }
+  }
+
   private HorizontalLayout createGroupItem(String groupName) {
     HorizontalLayout layout = new HorizontalLayout();
     layout.setSpacing(true);
@@ -300,6 +331,8 @@ public class MultiGroupServerConfigDialog extends Dialog {
       useSslCheckbox.setValue(config.isUseSSL());
       useStartTlsCheckbox.setValue(config.isUseStartTLS());
       baseDnField.setValue(config.getBaseDn() != null ? config.getBaseDn() : "");
+      replicaHostsField.setValue(String.join("\n", config.getReplicaHosts()));
+      selectionStrategyComboBox.setValue(config.getServerSelectionStrategy());
       
       // Select the groups this server belongs to
       config.getGroups().forEach(groupListBox::select);
@@ -334,6 +367,8 @@ public class MultiGroupServerConfigDialog extends Dialog {
     config.setUseSSL(useSslCheckbox.getValue());
     config.setUseStartTLS(useStartTlsCheckbox.getValue());
     config.setBaseDn(baseDnField.getValue());
+    config.setReplicaHosts(Arrays.asList(replicaHostsField.getValue().split("\\R")));
+    config.setServerSelectionStrategy(selectionStrategyComboBox.getValue());
 
     // Update groups
     Set<String> selectedGroups = new HashSet<>(groupListBox.getSelectedItems());
@@ -2,9 +2,11 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
@@ -94,64 +96,71 @@ public class PrivilegesTab extends VerticalLayout {
       return;
     }
 
-    try {
-      // Get the default search base from the server configuration
-      String baseDn = getDefaultSearchBase();
-      if (baseDn == null) {
-        showError("No default search base configured for server");
-        return;
-      }
-
-      // Search for entries with privilege names
-      List<LdapEntry> entries = ldapService.searchEntries(
-          serverConfig.getId(),
-          baseDn,
-          "(ds-privilege-name=*)",
-          SearchScope.SUB,
-          "ds-privilege-name"
-      );
-
-      List<PrivilegeInfo> privilegeInfoList = new ArrayList<>();
-
-      for (LdapEntry entry : entries) {
-        List<String> privilegeNames = entry.getAttributeValues("ds-privilege-name");
-        if (privilegeNames != null) {
-          for (String privilegeName : privilegeNames) {
-            privilegeInfoList.add(new PrivilegeInfo(entry.getDn(), privilegeName));
+    // Search in the background; the results are pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Get the default search base from the server configuration
+        String baseDn = getDefaultSearchBase(server);
+
+        // Search for entries with privilege names
+        List<LdapEntry> entries = ldapService.searchEntries(
+            server.getId(),
+            baseDn,
+            "(ds-privilege-name=*)",
+            SearchScope.SUB,
+            "ds-privilege-name"
+        );
+
+        List<PrivilegeInfo> privilegeInfoList = new ArrayList<>();
+
+        for (LdapEntry entry : entries) {
+          List<String> privilegeNames = entry.getAttributeValues("ds-privilege-name");
+          if (privilegeNames != null) {
+            for (String privilegeName : privilegeNames) {
+              privilegeInfoList.add(new PrivilegeInfo(entry.getDn(), privilegeName));
+            }
           }
         }
-      }
 
-      privilegesGrid.setItems(privilegeInfoList);
+        if (token.isCancelled()) {
+          return;
+        }
+        ui.access(() -> {
+          if (server != serverConfig) {
+            return; // Another server was selected meanwhile
+          }
+          privilegesGrid.setItems(privilegeInfoList);
 
-      if (privilegeInfoList.isEmpty()) {
-        showInfo("No privilege configurations found");
-      } else {
-        showSuccess("Found " + privilegeInfoList.size() + " privilege assignment(s)");
-      }
-      
-      dataLoaded = true; // Mark data as loaded
+          if (privilegeInfoList.isEmpty()) {
+            showInfo("No privilege configurations found");
+          } else {
+            showSuccess("Found " + privilegeInfoList.size() + " privilege assignment(s)");
+          }
 
-    } catch (LDAPException e) {
-      showError("Failed to search for privileges: " + e.getMessage());
-      privilegesGrid.setItems(new ArrayList<>());
-    }
+          dataLoaded = true; // Mark data as loaded
+        });
+
+      } catch (LDAPException e) {
+        ui.access(() -> {
+          showError("Failed to search for privileges: " + e.getMessage());
+          privilegesGrid.setItems(new ArrayList<>());
+        });
+      }
+    });
   }
 
-  private String getDefaultSearchBase() {
-    if (serverConfig == null) {
-      return null;
-    }
-    
+  private String getDefaultSearchBase(LdapServerConfig server) {
     // Try to get default search base from server config
-    String searchBase = serverConfig.getBaseDn();
+    String searchBase = server.getBaseDn();
     if (searchBase != null && !searchBase.trim().isEmpty()) {
       return searchBase.trim();
     }
     
     // Try to get naming contexts from the server
     try {
-      List<String> namingContexts = ldapService.getNamingContexts(serverConfig.getId());
+      List<String> namingContexts = ldapService.getNamingContexts(server.getId());
       if (!namingContexts.isEmpty()) {
         return namingContexts.get(0); // Use the first naming context
       }
@@ -160,7 +169,7 @@ public class PrivilegesTab extends VerticalLayout {
     }
     
     // Common fallbacks based on server type or host
-    String host = serverConfig.getHost().toLowerCase();
+    String host = server.getHost().toLowerCase();
     if (host.contains("example")) {
       return "dc=example,dc=com";
     }
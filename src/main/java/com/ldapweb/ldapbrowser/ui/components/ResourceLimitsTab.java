@@ -2,9 +2,11 @@ package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.LdapService;
 import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
@@ -113,73 +115,80 @@ public class ResourceLimitsTab extends VerticalLayout {
       return;
     }
 
-    try {
-      // Get the default search base from the server configuration
-      String baseDn = getDefaultSearchBase();
-      if (baseDn == null) {
-        showError("No default search base configured for server");
-        return;
-      }
-
-      // Build the filter for resource limit attributes
-      StringBuilder filterBuilder = new StringBuilder("(|");
-      for (String attr : RESOURCE_LIMIT_ATTRIBUTES) {
-        filterBuilder.append("(").append(attr).append("=*)");
-      }
-      filterBuilder.append(")");
-      String filter = filterBuilder.toString();
-
-      // Search for entries with resource limits
-      List<LdapEntry> entries = ldapService.searchEntries(
-          serverConfig.getId(),
-          baseDn,
-          filter,
-          SearchScope.SUB,
-          RESOURCE_LIMIT_ATTRIBUTES
-      );
-
-      List<ResourceLimitInfo> limitInfoList = new ArrayList<>();
-
-      for (LdapEntry entry : entries) {
-        for (String attrName : RESOURCE_LIMIT_ATTRIBUTES) {
-          List<String> values = entry.getAttributeValues(attrName);
-          if (values != null && !values.isEmpty()) {
-            for (String value : values) {
-              limitInfoList.add(new ResourceLimitInfo(entry.getDn(), attrName, value));
+    // Search in the background; the results are pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      try {
+        // Get the default search base from the server configuration
+        String baseDn = getDefaultSearchBase(server);
+
+        // Build the filter for resource limit attributes
+        StringBuilder filterBuilder = new StringBuilder("(|");
+        for (String attr : RESOURCE_LIMIT_ATTRIBUTES) {
+          filterBuilder.append("(").append(attr).append("=*)");
+        }
+        filterBuilder.append(")");
+        String filter = filterBuilder.toString();
+
+        // Search for entries with resource limits
+        List<LdapEntry> entries = ldapService.searchEntries(
+            server.getId(),
+            baseDn,
+            filter,
+            SearchScope.SUB,
+            RESOURCE_LIMIT_ATTRIBUTES
+        );
+
+        List<ResourceLimitInfo> limitInfoList = new ArrayList<>();
+
+        for (LdapEntry entry : entries) {
+          for (String attrName : RESOURCE_LIMIT_ATTRIBUTES) {
+            List<String> values = entry.getAttributeValues(attrName);
+            if (values != null && !values.isEmpty()) {
+              for (String value : values) {
+                limitInfoList.add(new ResourceLimitInfo(entry.getDn(), attrName, value));
+              }
             }
           }
         }
-      }
 
-      limitsGrid.setItems(limitInfoList);
-      dataLoaded = true;
+        if (token.isCancelled()) {
+          return;
+        }
+        ui.access(() -> {
+          if (server != serverConfig) {
+            return; // Another server was selected meanwhile
+          }
+          limitsGrid.setItems(limitInfoList);
+          dataLoaded = true;
+
+          if (limitInfoList.isEmpty()) {
+            showInfo("No resource limit configurations found");
+          } else {
+            showSuccess("Found " + limitInfoList.size() + " resource limit configuration(s)");
+          }
+        });
 
-      if (limitInfoList.isEmpty()) {
-        showInfo("No resource limit configurations found");
-      } else {
-        showSuccess("Found " + limitInfoList.size() + " resource limit configuration(s)");
+      } catch (LDAPException e) {
+        ui.access(() -> {
+          showError("Failed to search for resource limits: " + e.getMessage());
+          limitsGrid.setItems(new ArrayList<>());
+        });
       }
-
-    } catch (LDAPException e) {
-      showError("Failed to search for resource limits: " + e.getMessage());
-      limitsGrid.setItems(new ArrayList<>());
-    }
+    });
   }
 
-  private String getDefaultSearchBase() {
-    if (serverConfig == null) {
-      return null;
-    }
-    
+  private String getDefaultSearchBase(LdapServerConfig server) {
     // Try to get default search base from server config
-    String searchBase = serverConfig.getBaseDn();
+    String searchBase = server.getBaseDn();
     if (searchBase != null && !searchBase.trim().isEmpty()) {
       return searchBase.trim();
     }
     
     // Try to get naming contexts from the server
     try {
-      List<String> namingContexts = ldapService.getNamingContexts(serverConfig.getId());
+      List<String> namingContexts = ldapService.getNamingContexts(server.getId());
       if (!namingContexts.isEmpty()) {
         return namingContexts.get(0); // Use the first naming context
       }
@@ -188,7 +197,7 @@ public class ResourceLimitsTab extends VerticalLayout {
     }
     
     // Common fallbacks based on server type or host
-    String host = serverConfig.getHost().toLowerCase();
+    String host = server.getHost().toLowerCase();
     if (host.contains("example")) {
       return "dc=example,dc=com";
     }
@@ -1,6 +1,7 @@
 package com.ldapweb.ldapbrowser.ui.components;
 
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.service.BackgroundTaskService;
 import com.ldapweb.ldapbrowser.service.ConfigurationService;
 import com.ldapweb.ldapbrowser.service.InMemoryLdapService;
 import com.ldapweb.ldapbrowser.service.LdapService;
@@ -12,6 +13,7 @@ import com.unboundid.ldap.sdk.schema.MatchingRuleDefinition;
 import com.unboundid.ldap.sdk.schema.MatchingRuleUseDefinition;
 import com.unboundid.ldap.sdk.schema.ObjectClassDefinition;
 import com.unboundid.ldap.sdk.schema.Schema;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -65,6 +67,7 @@ public class SchemaBrowser extends VerticalLayout {
 
   // Schema data
   private Schema schema;
+  private boolean schemaModifiable; // Checked in the background when the schema loads
 
   // UI Components
   private Tabs schemaTabs;
@@ -571,63 +574,101 @@ public class SchemaBrowser extends VerticalLayout {
       return;
     }
 
-    // Check if connected to the server
-    if (!ldapService.isConnected(serverConfig.getId())) {
-      // Try to connect first
-      try {
-        ldapService.connect(serverConfig);
-        showSuccess("Connected to " + serverConfig.getName());
-      } catch (Exception e) {
-        showError("Failed to connect to server " + serverConfig.getName() + ": " + e.getMessage());
-        schema = null;
-        return;
+    // Connect and read the schema in the background; the result is pushed back to the UI
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
+      // Check if connected to the server
+      if (!ldapService.isConnected(server.getId())) {
+        // Try to connect first
+        try {
+          ldapService.connect(server);
+          ui.access(() -> showSuccess("Connected to " + server.getName()));
+        } catch (Exception e) {
+          ui.access(() -> {
+            showError("Failed to connect to server " + server.getName() + ": " + e.getMessage());
+            schema = null;
+          });
+          return;
+        }
       }
-    }
 
-    try {
-      schema = ldapService.getSchema(serverConfig.getId());
-      if (schema != null) {
-        filterCurrentView(); // Show current tab's content
-        updateAddButtons();
-        showSuccess("Schema loaded successfully");
-      } else {
-        showError("No schema information available");
-        updateAddButtons();
+      try {
+        Schema loaded = ldapService.getSchema(server.getId());
+        boolean modifiable = loaded != null && canModifySchema(server);
+        if (token.isCancelled()) {
+          return;
+        }
+        ui.access(() -> {
+          if (server != serverConfig) {
+            return; // Another server was selected meanwhile
+          }
+          schema = loaded;
+          schemaModifiable = modifiable;
+          if (schema != null) {
+            filterCurrentView(); // Show current tab's content
+            updateAddButtons();
+            showSuccess("Schema loaded successfully");
+          } else {
+            showError("No schema information available");
+            updateAddButtons();
+          }
+        });
+      } catch (LDAPException e) {
+        ui.access(() -> {
+          showError("Failed to load schema: " + e.getMessage());
+          schema = null;
+          updateAddButtons();
+        });
       }
-    } catch (LDAPException e) {
-      showError("Failed to load schema: " + e.getMessage());
-      schema = null;
-      updateAddButtons();
-    }
+    });
   }
 
   /**
    * Load schema without the Extended Schema Info Request Control for editing operations.
    * This prevents additional extension properties from being included that should not
-   * be present in subsequent modify operations.
+   * be present in subsequent modify operations. Called off the request thread.
    */
-  private void loadSchemaForEditing() {
-    if (serverConfig == null) {
-      return;
+  private Schema loadSchemaForEditing(LdapServerConfig server) throws LDAPException {
+    // Check if connected to the server
+    if (!ldapService.isConnected(server.getId())) {
+      ldapService.connect(server);
     }
 
-    // Check if connected to the server
-    if (!ldapService.isConnected(serverConfig.getId())) {
-      // Try to connect first
+    // Load schema without the Extended Schema Info Request Control
+    return ldapService.getSchema(server.getId(), false);
+  }
+
+  /**
+   * Schema change run by {@link #applySchemaChange} off the request thread
+   */
+  @FunctionalInterface
+  private interface SchemaChange {
+    /**
+     * Apply the change and return the notification to show once it is done
+     */
+    Runnable apply(LdapServerConfig server) throws Exception;
+  }
+
+  /**
+   * Apply a schema change in the background, then close the dialog and reload
+   * the schema. The dialog stays open if the change fails.
+   */
+  private void applySchemaChange(Dialog dialog, String failureMessage, SchemaChange change) {
+    UI ui = UI.getCurrent();
+    LdapServerConfig server = serverConfig;
+    BackgroundTaskService.get(ui).submit(this, token -> {
       try {
-        ldapService.connect(serverConfig);
+        Runnable notification = change.apply(server);
+        ui.access(() -> {
+          dialog.close();
+          loadSchema();
+          notification.run();
+        });
       } catch (Exception e) {
-        schema = null;
-        return;
+        ui.access(() -> showError(failureMessage + e.getMessage()));
       }
-    }
-
-    try {
-      // Load schema without the Extended Schema Info Request Control
-      schema = ldapService.getSchema(serverConfig.getId(), false);
-    } catch (LDAPException e) {
-      schema = null;
-    }
+    });
   }
 
   private void showObjectClasses() {
@@ -1158,6 +1199,7 @@ public class SchemaBrowser extends VerticalLayout {
    */
   public void clear() {
     schema = null;
+    schemaModifiable = false;
     objectClassGrid.setItems();
     attributeTypeGrid.setItems();
     matchingRuleGrid.setItems();
@@ -1210,7 +1252,7 @@ public class SchemaBrowser extends VerticalLayout {
    */
   private void updateAddButtons() {
     boolean hasSchema = schema != null && serverConfig != null;
-    boolean canAddSchema = hasSchema && canModifySchema();
+    boolean canAddSchema = hasSchema && schemaModifiable;
 
     if ("objectClasses".equals(currentView)) {
       addObjectClassButton.setVisible(true);
@@ -1230,19 +1272,15 @@ public class SchemaBrowser extends VerticalLayout {
   /**
    * Check if the current server supports schema modifications.
    */
-  private boolean canModifySchema() {
-    if (serverConfig == null) {
-      return false;
-    }
-
+  private boolean canModifySchema(LdapServerConfig server) {
     // For in-memory servers, always allow schema modifications
-    if (inMemoryLdapService.isInMemoryServer(serverConfig.getId())) {
+    if (inMemoryLdapService.isInMemoryServer(server.getId())) {
       return true;
     }
 
     // For external servers, check if they support schema modifications
     try {
-      return ldapService.supportsSchemaModification(serverConfig.getId());
+      return ldapService.supportsSchemaModification(server.getId());
     } catch (Exception e) {
       return false;
     }
@@ -1573,14 +1611,12 @@ public class SchemaBrowser extends VerticalLayout {
 
     // Buttons
     Button saveButton = new Button("Add Object Class", e -> {
-      if (validateAndSaveObjectClass(dialog, nameField, oidField, descriptionField,
+      validateAndSaveObjectClass(dialog, nameField, oidField, descriptionField,
           typeComboBox, obsoleteCheckbox,
           superiorClassesSelector,
           requiredAttributesSelector,
           optionalAttributesSelector,
-          schemaFileField)) {
-        dialog.close();
-      }
+          schemaFileField);
     });
     saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
@@ -1702,7 +1738,7 @@ public class SchemaBrowser extends VerticalLayout {
 
     // Buttons
     Button saveButton = new Button("Add Attribute Type", e -> {
-      if (validateAndSaveAttributeType(dialog, nameField, oidField, descriptionField,
+      validateAndSaveAttributeType(dialog, nameField, oidField, descriptionField,
           syntaxOidSelector,
           superiorTypeSelector, usageComboBox,
           singleValuedCheckbox, obsoleteCheckbox, collectiveCheckbox,
@@ -1710,9 +1746,7 @@ public class SchemaBrowser extends VerticalLayout {
           equalityMatchingRuleSelector,
           orderingMatchingRuleSelector,
           substringMatchingRuleSelector,
-          schemaFileField)) {
-        dialog.close();
-      }
+          schemaFileField);
     });
     saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
@@ -1726,7 +1760,7 @@ public class SchemaBrowser extends VerticalLayout {
   /**
    * Validate and save new object class.
    */
-  private boolean validateAndSaveObjectClass(Dialog dialog, TextField nameField, TextField oidField,
+  private void validateAndSaveObjectClass(Dialog dialog, TextField nameField, TextField oidField,
       TextField descriptionField, ComboBox<String> typeComboBox, Checkbox obsoleteCheckbox,
       MultiSelectComboBox<String> superiorClassesSelector,
       MultiSelectComboBox<String> requiredAttributesSelector,
@@ -1736,27 +1770,27 @@ public class SchemaBrowser extends VerticalLayout {
     if (nameField.getValue() == null || nameField.getValue().trim().isEmpty()) {
       showError("Name is required");
       nameField.focus();
-      return false;
+      return;
     }
 
     if (oidField.getValue() == null || oidField.getValue().trim().isEmpty()) {
       showError("OID is required");
       oidField.focus();
-      return false;
+      return;
     }
 
     // Check if OID already exists
     if (schema.getObjectClass(oidField.getValue()) != null) {
       showError("An object class with this OID already exists");
       oidField.focus();
-      return false;
+      return;
     }
 
     // Check if name already exists
     if (schema.getObjectClass(nameField.getValue()) != null) {
       showError("An object class with this name already exists");
       nameField.focus();
-      return false;
+      return;
     }
 
     try {
@@ -1860,31 +1894,29 @@ public class SchemaBrowser extends VerticalLayout {
 
       objectClassDef.append(" )");
 
-      // Add to appropriate server type
-      if (inMemoryLdapService.isInMemoryServer(serverConfig.getId())) {
-        // Add to in-memory server
-        inMemoryLdapService.addObjectClassToSchema(serverConfig.getId(), objectClassDef.toString());
-      } else {
-        // Add to external LDAP server
-        ldapService.addObjectClassToSchema(serverConfig.getId(), objectClassDef.toString());
-      }
-
-      // Reload schema
-      loadSchema();
-
-      showSuccess("Object class '" + nameField.getValue() + "' added successfully");
-      return true;
+      // Add to appropriate server type in the background; the dialog closes once it is added
+      String definition = objectClassDef.toString();
+      String name = nameField.getValue();
+      applySchemaChange(dialog, "Failed to add object class: ", server -> {
+        if (inMemoryLdapService.isInMemoryServer(server.getId())) {
+          // Add to in-memory server
+          inMemoryLdapService.addObjectClassToSchema(server.getId(), definition);
+        } else {
+          // Add to external LDAP server
+          ldapService.addObjectClassToSchema(server.getId(), definition);
+        }
+        return () -> showSuccess("Object class '" + name + "' added successfully");
+      });
 
     } catch (Exception e) {
       showError("Failed to add object class: " + e.getMessage());
-      return false;
     }
   }
 
   /**
    * Validate and save new attribute type.
    */
-  private boolean validateAndSaveAttributeType(Dialog dialog, TextField nameField,
+  private void validateAndSaveAttributeType(Dialog dialog, TextField nameField,
       TextField oidField,
       TextField descriptionField,
       ComboBox<String> syntaxOidSelector,
@@ -1900,13 +1932,13 @@ public class SchemaBrowser extends VerticalLayout {
     if (nameField.getValue() == null || nameField.getValue().trim().isEmpty()) {
       showError("Name is required");
       nameField.focus();
-      return false;
+      return;
     }
 
     if (oidField.getValue() == null || oidField.getValue().trim().isEmpty()) {
       showError("OID is required");
       oidField.focus();
-      return false;
+      return;
     }
 
     // Get syntax OID from selector (extract OID from description if present)
@@ -1915,21 +1947,21 @@ public class SchemaBrowser extends VerticalLayout {
     if (syntaxOid == null || syntaxOid.trim().isEmpty()) {
       showError("Syntax OID is required");
       syntaxOidSelector.focus();
-      return false;
+      return;
     }
 
     // Check if OID already exists
     if (schema.getAttributeType(oidField.getValue()) != null) {
       showError("An attribute type with this OID already exists");
       oidField.focus();
-      return false;
+      return;
     }
 
     // Check if name already exists
     if (schema.getAttributeType(nameField.getValue()) != null) {
       showError("An attribute type with this name already exists");
       nameField.focus();
-      return false;
+      return;
     }
 
     try {
@@ -1998,24 +2030,22 @@ public class SchemaBrowser extends VerticalLayout {
 
       attributeDef.append(" )");
 
-      // Add to appropriate server type
-      if (inMemoryLdapService.isInMemoryServer(serverConfig.getId())) {
-        // Add to in-memory server
-        inMemoryLdapService.addAttributeTypeToSchema(serverConfig.getId(), attributeDef.toString());
-      } else {
-        // Add to external LDAP server
-        ldapService.addAttributeTypeToSchema(serverConfig.getId(), attributeDef.toString());
-      }
-
-      // Reload schema
-      loadSchema();
-
-      showSuccess("Attribute type '" + nameField.getValue() + "' added successfully");
-      return true;
+      // Add to appropriate server type in the background; the dialog closes once it is added
+      String definition = attributeDef.toString();
+      String name = nameField.getValue();
+      applySchemaChange(dialog, "Failed to add attribute type: ", server -> {
+        if (inMemoryLdapService.isInMemoryServer(server.getId())) {
+          // Add to in-memory server
+          inMemoryLdapService.addAttributeTypeToSchema(server.getId(), definition);
+        } else {
+          // Add to external LDAP server
+          ldapService.addAttributeTypeToSchema(server.getId(), definition);
+        }
+        return () -> showSuccess("Attribute type '" + name + "' added successfully");
+      });
 
     } catch (Exception e) {
       showError("Failed to add attribute type: " + e.getMessage());
-      return false;
     }
   }
 
@@ -2116,14 +2146,12 @@ public class SchemaBrowser extends VerticalLayout {
 
     // Buttons
     Button saveButton = new Button("Update Object Class", e -> {
-      if (validateAndUpdateObjectClass(dialog, objectClass, nameField, oidField, descriptionField,
+      validateAndUpdateObjectClass(dialog, objectClass, nameField, oidField, descriptionField,
           typeComboBox, obsoleteCheckbox,
           superiorClassesSelector,
           requiredAttributesSelector,
           optionalAttributesSelector,
-          schemaFileField)) {
-        dialog.close();
-      }
+          schemaFileField);
     });
     saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
@@ -2260,7 +2288,7 @@ public class SchemaBrowser extends VerticalLayout {
 
     // Buttons
     Button saveButton = new Button("Update Attribute Type", e -> {
-      if (validateAndUpdateAttributeType(dialog, attributeType, nameField, oidField, descriptionField,
+      validateAndUpdateAttributeType(dialog, attributeType, nameField, oidField, descriptionField,
           syntaxOidSelector,
           superiorTypeSelector, usageComboBox,
           singleValuedCheckbox, obsoleteCheckbox, collectiveCheckbox,
@@ -2268,9 +2296,7 @@ public class SchemaBrowser extends VerticalLayout {
           equalityMatchingRuleSelector,
           orderingMatchingRuleSelector,
           substringMatchingRuleSelector,
-          schemaFileField)) {
-        dialog.close();
-      }
+          schemaFileField);
     });
     saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
 
@@ -2284,7 +2310,7 @@ public class SchemaBrowser extends VerticalLayout {
   /**
    * Validate and update existing object class.
    */
-  private boolean validateAndUpdateObjectClass(Dialog dialog, ObjectClassDefinition originalObjectClass,
+  private void validateAndUpdateObjectClass(Dialog dialog, ObjectClassDefinition originalObjectClass,
       TextField nameField, TextField oidField,
       TextField descriptionField, ComboBox<String> typeComboBox, Checkbox obsoleteCheckbox,
       MultiSelectComboBox<String> superiorClassesSelector,
@@ -2295,7 +2321,7 @@ public class SchemaBrowser extends VerticalLayout {
       // Validate required fields
       if (nameField.isEmpty() || oidField.isEmpty()) {
         showError("Name and OID are required fields");
-        return false;
+        return;
       }
 
       // Step 1: Build the new object class definition
@@ -2381,49 +2407,48 @@ public class SchemaBrowser extends VerticalLayout {
 
       String newDefinition = objectClassDef.toString();
 
-      // Step 2: Re-read current schema definition for comparison
-      loadSchemaForEditing(); // Refresh the schema without Extended Schema Info Request Control
-      ObjectClassDefinition currentObjectClass = schema.getObjectClass(originalObjectClass.getOID());
-      
-      if (currentObjectClass == null) {
-        showError("Object class no longer exists in schema. Please refresh and try again.");
-        return false;
-      }
-
-      // Step 3: Compare current definition with new definition
-      String currentDefinition = currentObjectClass.toString();
-      
-      // Step 4: Check if there are changes
-      if (normalizeSchemaDefinition(currentDefinition).equals(normalizeSchemaDefinition(newDefinition))) {
-        showInfo("No changes detected. The object class definition is already up to date.");
-        return true;
-      }
+      // Steps 2-5 read and modify the server, so they run in the background
+      String oid = originalObjectClass.getOID();
+      String name = nameField.getValue();
+      applySchemaChange(dialog, "Failed to update object class: ", server -> {
+        // Step 2: Re-read current schema definition for comparison
+        // (without Extended Schema Info Request Control)
+        Schema editingSchema = loadSchemaForEditing(server);
+        ObjectClassDefinition currentObjectClass = editingSchema == null ? null : editingSchema.getObjectClass(oid);
+
+        if (currentObjectClass == null) {
+          throw new IllegalStateException(
+              "Object class no longer exists in schema. Please refresh and try again.");
+        }
 
-      // Step 5: Apply the changes
-      if (inMemoryLdapService.isInMemoryServer(serverConfig.getId())) {
-        // For in-memory servers, add the new definition (overwrites existing)
-        inMemoryLdapService.addObjectClassToSchema(serverConfig.getId(), newDefinition);
-      } else {
-        // For external LDAP servers, modify the schema
-        ldapService.modifyObjectClassInSchema(serverConfig.getId(), currentDefinition, newDefinition);
-      }
+        // Step 3: Compare current definition with new definition
+        String currentDefinition = currentObjectClass.toString();
 
-      // Reload schema
-      loadSchema();
+        // Step 4: Check if there are changes
+        if (normalizeSchemaDefinition(currentDefinition).equals(normalizeSchemaDefinition(newDefinition))) {
+          return () -> showInfo("No changes detected. The object class definition is already up to date.");
+        }
 
-      showSuccess("Object class '" + nameField.getValue() + "' updated successfully");
-      return true;
+        // Step 5: Apply the changes
+        if (inMemoryLdapService.isInMemoryServer(server.getId())) {
+          // For in-memory servers, add the new definition (overwrites existing)
+          inMemoryLdapService.addObjectClassToSchema(server.getId(), newDefinition);
+        } else {
+          // For external LDAP servers, modify the schema
+          ldapService.modifyObjectClassInSchema(server.getId(), currentDefinition, newDefinition);
+        }
+        return () -> showSuccess("Object class '" + name + "' updated successfully");
+      });
 
     } catch (Exception e) {
       showError("Failed to update object class: " + e.getMessage());
-      return false;
     }
   }
 
   /**
    * Validate and update existing attribute type.
    */
-  private boolean validateAndUpdateAttributeType(Dialog dialog, AttributeTypeDefinition originalAttributeType,
+  private void validateAndUpdateAttributeType(Dialog dialog, AttributeTypeDefinition originalAttributeType,
       TextField nameField, TextField oidField,
       TextField descriptionField, ComboBox<String> syntaxOidSelector,
       ComboBox<String> superiorTypeSelector, ComboBox<String> usageComboBox,
@@ -2437,7 +2462,7 @@ public class SchemaBrowser extends VerticalLayout {
       // Validate required fields
       if (nameField.isEmpty() || oidField.isEmpty() || syntaxOidSelector.isEmpty()) {
         showError("Name, OID, and Syntax OID are required fields");
-        return false;
+        return;
       }
 
       // Step 1: Build the new attribute type definition
@@ -2522,42 +2547,41 @@ public class SchemaBrowser extends VerticalLayout {
 
       String newDefinition = attributeDef.toString();
 
-      // Step 2: Re-read current schema definition for comparison
-      loadSchemaForEditing(); // Refresh the schema without Extended Schema Info Request Control
-      AttributeTypeDefinition currentAttributeType = schema.getAttributeType(originalAttributeType.getOID());
-      
-      if (currentAttributeType == null) {
-        showError("Attribute type no longer exists in schema. Please refresh and try again.");
-        return false;
-      }
-
-      // Step 3: Compare current definition with new definition
-      String currentDefinition = currentAttributeType.toString();
-      
-      // Step 4: Check if there are changes
-      if (normalizeSchemaDefinition(currentDefinition).equals(normalizeSchemaDefinition(newDefinition))) {
-        showInfo("No changes detected. The attribute type definition is already up to date.");
-        return true;
-      }
+      // Steps 2-5 read and modify the server, so they run in the background
+      String oid = originalAttributeType.getOID();
+      String name = nameField.getValue();
+      applySchemaChange(dialog, "Failed to update attribute type: ", server -> {
+        // Step 2: Re-read current schema definition for comparison
+        // (without Extended Schema Info Request Control)
+        Schema editingSchema = loadSchemaForEditing(server);
+        AttributeTypeDefinition currentAttributeType = editingSchema == null ? null : editingSchema.getAttributeType(oid);
+
+        if (currentAttributeType == null) {
+          throw new IllegalStateException(
+              "Attribute type no longer exists in schema. Please refresh and try again.");
+        }
 
-      // Step 5: Apply the changes
-      if (inMemoryLdapService.isInMemoryServer(serverConfig.getId())) {
-        // For in-memory servers, add the new definition (overwrites existing)
-        inMemoryLdapService.addAttributeTypeToSchema(serverConfig.getId(), newDefinition);
-      } else {
-        // For external LDAP servers, modify the schema
-        ldapService.modifyAttributeTypeInSchema(serverConfig.getId(), currentDefinition, newDefinition);
-      }
+        // Step 3: Compare current definition with new definition
+        String currentDefinition = currentAttributeType.toString();
 
-      // Reload schema
-      loadSchema();
+        // Step 4: Check if there are changes
+        if (normalizeSchemaDefinition(currentDefinition).equals(normalizeSchemaDefinition(newDefinition))) {
+          return () -> showInfo("No changes detected. The attribute type definition is already up to date.");
+        }
 
-      showSuccess("Attribute type '" + nameField.getValue() + "' updated successfully");
-      return true;
+        // Step 5: Apply the changes
+        if (inMemoryLdapService.isInMemoryServer(server.getId())) {
+          // For in-memory servers, add the new definition (overwrites existing)
+          inMemoryLdapService.addAttributeTypeToSchema(server.getId(), newDefinition);
+        } else {
+          // For external LDAP servers, modify the schema
+          ldapService.modifyAttributeTypeInSchema(server.getId(), currentDefinition, newDefinition);
+        }
+        return () -> showSuccess("Attribute type '" + name + "' updated successfully");
+      });
 
     } catch (Exception e) {
       showError("Failed to update attribute type: " + e.getMessage());
-      return false;
     }
   }
 }
\ No newline at end of file
@@ -3,8 +3,8 @@ package com.ldapweb.ldapbrowser.ui.components;
 import com.ldapweb.ldapbrowser.model.LdapEntry;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
 import com.ldapweb.ldapbrowser.service.LdapService;
-import com.unboundid.ldap.sdk.LDAPException;
 import com.unboundid.ldap.sdk.SearchScope;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -17,6 +17,9 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 /**
@@ -32,7 +35,9 @@ public class SearchPanel extends VerticalLayout {
   private TextField returnAttributesField;
   private ComboBox<SearchScope> scopeComboBox;
   private Button searchButton;
+  private Button cancelButton;
   private Button clearButton;
+  private CompletableFuture<List<LdapEntry>> runningSearch; // Cancelling it abandons the search on the server
 
   private final List<Consumer<SearchResult>> searchListeners = new ArrayList<>();
 
@@ -62,6 +67,9 @@ public class SearchPanel extends VerticalLayout {
 
     initializeComponents();
     setupLayout();
+
+    // Leaving the view abandons a search still running
+    addDetachListener(event -> cancelSearch());
   }
 
   private void initializeComponents() {
@@ -104,6 +112,11 @@ public class SearchPanel extends VerticalLayout {
     searchButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
     searchButton.addClickListener(e -> performSearch());
 
+    cancelButton = new Button("Cancel", new Icon(VaadinIcon.STOP));
+    cancelButton.addThemeVariants(ButtonVariant.LUMO_ERROR);
+    cancelButton.setVisible(false);
+    cancelButton.addClickListener(e -> cancelSearch());
+
     clearButton = new Button("Clear", new Icon(VaadinIcon.CLOSE));
     clearButton.addClickListener(e -> clearResults());
 
@@ -124,7 +137,7 @@ public class SearchPanel extends VerticalLayout {
     searchControls.setWidthFull();
     searchControls.setDefaultVerticalComponentAlignment(Alignment.END);
 
-    searchControls.add(scopeComboBox, searchButton, clearButton);
+    searchControls.add(scopeComboBox, searchButton, cancelButton, clearButton);
 
     add(baseDnField, filterField, returnAttributesField, searchControls);
   }
@@ -141,6 +154,9 @@ public class SearchPanel extends VerticalLayout {
   }
 
   private void performSearch() {
+    if (runningSearch != null) {
+      return; // Enter pressed while a search is still running
+    }
     if (serverConfig == null) {
       showError("Please connect to a server first.");
       return;
@@ -185,23 +201,31 @@ public class SearchPanel extends VerticalLayout {
       }
     }
 
-    try {
-      List<LdapEntry> results;
-      if (requestedAttributes.isEmpty()) {
-        // Use the existing method that returns all attributes
-        results = ldapService.searchEntries(
-            serverConfig.getId(),
-            baseDn.trim(),
-            filter.trim(),
-            scope);
-      } else {
-        // Use a new method that accepts specific attributes
-        results = ldapService.searchEntries(
-            serverConfig.getId(),
-            baseDn.trim(),
-            filter.trim(),
-            scope,
-            requestedAttributes.toArray(new String[0]));
+    // Run the search without holding the request thread; results are pushed back to the UI
+    UI ui = UI.getCurrent();
+    searchButton.setEnabled(false);
+    cancelButton.setVisible(true);
+    CompletableFuture<List<LdapEntry>> search = ldapService.searchEntriesAsync(
+        serverConfig.getId(),
+        baseDn.trim(),
+        filter.trim(),
+        scope,
+        requestedAttributes.toArray(new String[0]));
+    runningSearch = search;
+    search.whenComplete((results, error) -> ui.access(() -> {
+      if (runningSearch == search) {
+        runningSearch = null;
+      }
+      searchButton.setEnabled(true);
+      cancelButton.setVisible(false);
+      if (error instanceof CancellationException) {
+        showInfo("Search cancelled.");
+        return;
+      }
+      if (error != null) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        showError("Search failed: " + cause.getMessage());
+        return;
       }
 
       // Create search result with requested attributes
@@ -215,9 +239,15 @@ public class SearchPanel extends VerticalLayout {
       } else {
         showSuccess("Found " + results.size() + " entries.");
       }
+    }));
+  }
 
-    } catch (LDAPException e) {
-      showError("Search failed: " + e.getMessage());
+  /**
+   * Cancel the running search, if any; the search is abandoned on the server
+   */
+  private void cancelSearch() {
+    if (runningSearch != null) {
+      runningSearch.cancel(false);
     }
   }
 
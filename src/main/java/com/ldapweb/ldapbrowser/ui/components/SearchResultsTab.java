@@ -3,6 +3,7 @@ package com.ldapweb.ldapbrowser.ui.components;
 import com.ldapweb.ldapbrowser.model.LdapServerConfig;
 import com.ldapweb.ldapbrowser.model.SearchResultEntry;
 import com.ldapweb.ldapbrowser.service.LdapService;
+import com.ldapweb.ldapbrowser.service.SearchResultStore;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.checkbox.Checkbox;
@@ -14,9 +15,11 @@ import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.data.provider.CallbackDataProvider;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Search Results tab for displaying search results from both basic and advanced
@@ -24,34 +27,30 @@ import java.util.function.Consumer;
  */
 public class SearchResultsTab extends VerticalLayout {
 
-  private static final int RESULTS_PER_PAGE = 50;
+  private static final int MAX_COMPARISON_ENTRIES = 10;
 
   private final LdapService ldapService;
 
   // Results display components
   private Grid<SearchResultEntry> resultsGrid;
   private Span resultCountLabel;
+  private Button stopSearchButton;
   private VerticalLayout resultsContainer;
 
-  // Pagination components
-  private HorizontalLayout paginationLayout;
-  private Button prevPageButton;
-  private Button nextPageButton;
-  private Span pageInfoLabel;
-
   // Comparison components
   private HorizontalLayout comparisonControls;
   private Button compareSelectedButton;
   private Button clearSelectionButton;
   private Checkbox selectAllCheckbox;
 
-  // Data management
-  private List<SearchResultEntry> allResults = new ArrayList<>();
+  // Data management; rows are read from the store as the grid scrolls. The
+  // store belongs to the search that filled it, which closes it.
+  private SearchResultStore results;
   private List<SearchResultEntry> selectedForComparison = new ArrayList<>();
-  private int currentPage = 0;
 
   // Callback for comparison
   private Consumer<List<SearchResultEntry>> comparisonCallback;
+  private Runnable stopSearchCallback;
 
   /**
    * Constructs a new {@code SearchResultsTab} instance.
@@ -73,13 +72,23 @@ public class SearchResultsTab extends VerticalLayout {
     resultCountLabel.getStyle().set("color", "var(--lumo-primary-text-color)");
     resultCountLabel.getStyle().set("margin-bottom", "10px");
 
+    // Stop button, shown while a search is running
+    stopSearchButton = new Button("Stop", new Icon(VaadinIcon.STOP));
+    stopSearchButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_ERROR);
+    stopSearchButton.setVisible(false);
+    stopSearchButton.addClickListener(e -> {
+      stopSearchButton.setEnabled(false);
+      if (stopSearchCallback != null) {
+        stopSearchCallback.run();
+      }
+    });
+    HorizontalLayout statusLayout = new HorizontalLayout(resultCountLabel, stopSearchButton);
+    statusLayout.setDefaultVerticalComponentAlignment(Alignment.BASELINE);
+
     // Results grid
     resultsGrid = new Grid<>(SearchResultEntry.class, false);
     setupResultsGrid();
 
-    // Pagination components
-    setupPagination();
-
     // Comparison components
     setupComparisonControls();
 
@@ -87,7 +96,7 @@ public class SearchResultsTab extends VerticalLayout {
     resultsContainer = new VerticalLayout();
     resultsContainer.setPadding(false);
     resultsContainer.setSpacing(true);
-    resultsContainer.add(resultCountLabel, resultsGrid, paginationLayout, comparisonControls);
+    resultsContainer.add(statusLayout, resultsGrid, comparisonControls);
     resultsContainer.setFlexGrow(1, resultsGrid);
     resultsContainer.setSizeFull();
     resultsContainer.setVisible(false); // Initially hidden
@@ -96,20 +105,21 @@ public class SearchResultsTab extends VerticalLayout {
   private void setupResultsGrid() {
     resultsGrid.setSizeFull();
     resultsGrid.addClassName("search-results-grid");
+    resultsGrid.setItems(new CallbackDataProvider<SearchResultEntry, Void>(
+        query -> results != null
+            ? results.fetch(query.getOffset(), query.getLimit()).stream()
+            : Stream.empty(),
+        query -> results != null ? results.size() : 0));
 
     // Create select all checkbox for the header
     selectAllCheckbox = new Checkbox();
     selectAllCheckbox.addValueChangeListener(event -> {
       boolean selectAll = event.getValue();
       if (selectAll) {
-        // Select all visible entries (up to 10)
-        List<SearchResultEntry> visibleEntries = getCurrentPageEntries();
-        int toSelect = Math.min(10, visibleEntries.size());
+        // Select the first entries (up to 10)
         selectedForComparison.clear();
-        for (int i = 0; i < toSelect; i++) {
-          selectedForComparison.add(visibleEntries.get(i));
-        }
-        if (toSelect < visibleEntries.size()) {
+        selectedForComparison.addAll(getFirstEntries());
+        if (results != null && results.size() > MAX_COMPARISON_ENTRIES) {
           showError(
               "You can select up to 10 entries for comparison. Selected first 10 entries.");
         }
@@ -126,7 +136,7 @@ public class SearchResultsTab extends VerticalLayout {
       checkbox.setValue(selectedForComparison.contains(entry));
       checkbox.addValueChangeListener(event -> {
         if (event.getValue()) {
-          if (selectedForComparison.size() >= 10) {
+          if (selectedForComparison.size() >= MAX_COMPARISON_ENTRIES) {
             checkbox.setValue(false);
             showError("You can only select up to 10 entries for comparison.");
             return;
@@ -169,25 +179,6 @@ public class SearchResultsTab extends VerticalLayout {
     });
   }
 
-  private void setupPagination() {
-    prevPageButton = new Button("Previous", new Icon(VaadinIcon.ANGLE_LEFT));
-    prevPageButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
-    prevPageButton.addClickListener(e -> previousPage());
-
-    nextPageButton = new Button("Next", new Icon(VaadinIcon.ANGLE_RIGHT));
-    nextPageButton.addThemeVariants(ButtonVariant.LUMO_SMALL);
-    nextPageButton.addClickListener(e -> nextPage());
-
-    pageInfoLabel = new Span();
-    pageInfoLabel.getStyle().set("margin", "0 10px");
-
-    paginationLayout = new HorizontalLayout();
-    paginationLayout.setDefaultVerticalComponentAlignment(Alignment.CENTER);
-    paginationLayout.setJustifyContentMode(JustifyContentMode.CENTER);
-    paginationLayout.add(prevPageButton, pageInfoLabel, nextPageButton);
-    paginationLayout.setVisible(false);
-  }
-
   private void setupComparisonControls() {
     compareSelectedButton = new Button("Compare Selected", new Icon(VaadinIcon.TWIN_COL_SELECT));
     compareSelectedButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_SMALL);
@@ -223,10 +214,12 @@ public class SearchResultsTab extends VerticalLayout {
   /**
    * Display search results.
    */
-  public void displayResults(List<SearchResultEntry> results, String searchDescription) {
-    this.allResults = new ArrayList<>(results);
-    currentPage = 0;
-    selectedForComparison.clear();
+  public void displayResults(SearchResultStore results, String searchDescription) {
+    // Entries picked while the search was still running stay picked
+    if (results != this.results) {
+      this.results = results;
+      selectedForComparison.clear();
+    }
 
     updateResultsDisplay();
 
@@ -234,87 +227,71 @@ public class SearchResultsTab extends VerticalLayout {
     resultsGrid.setVisible(true);
 
     // Update result count
+    int count = results.size();
     String countText = String.format("Found %d %s for %s",
-        results.size(),
-        results.size() == 1 ? "entry" : "entries",
+        count,
+        count == 1 ? "entry" : "entries",
         searchDescription);
     resultCountLabel.setText(countText);
     resultCountLabel.setVisible(true);
+    stopSearchButton.setVisible(false);
 
-    // Show pagination if more than one page
-    paginationLayout.setVisible(results.size() > RESULTS_PER_PAGE);
-
-    if (results.isEmpty()) {
+    if (count == 0) {
       showInfo("No entries found matching your search criteria");
     } else {
       showSuccess(
           String.format(
               "Found %d %s",
-              results.size(),
-              results.size() == 1 ? "entry" : "entries"));
+              count,
+              count == 1 ? "entry" : "entries"));
     }
   }
 
+  /**
+   * Display the results of a search that is still running, keeping the scroll
+   * position and the comparison selection as more results arrive
+   */
+  public void showPartialResults(SearchResultStore results, String status) {
+    if (results != this.results) {
+      this.results = results;
+      selectedForComparison.clear();
+      stopSearchButton.setEnabled(true);
+    }
+
+    updateResultsDisplay();
+
+    resultsContainer.setVisible(true);
+    resultsGrid.setVisible(true);
+    stopSearchButton.setVisible(stopSearchCallback != null);
+
+    int count = results.size();
+    resultCountLabel.setText(String.format("Searching… %d %s so far (%s)",
+        count,
+        count == 1 ? "entry" : "entries",
+        status));
+    resultCountLabel.setVisible(true);
+  }
+
   /**
    * Clear all results.
    */
   public void clear() {
-    allResults.clear();
+    results = null;
     selectedForComparison.clear();
-    currentPage = 0;
-    resultsGrid.setItems(new ArrayList<>());
+    resultsGrid.getDataProvider().refreshAll();
     resultCountLabel.setVisible(false);
-    paginationLayout.setVisible(false);
+    stopSearchButton.setVisible(false);
     comparisonControls.setVisible(false);
     resultsContainer.setVisible(false);
   }
 
   private void updateResultsDisplay() {
-    List<SearchResultEntry> currentPageEntries = getCurrentPageEntries();
-    resultsGrid.setItems(currentPageEntries);
-    updatePaginationInfo();
+    resultsGrid.getDataProvider().refreshAll();
     updateComparisonControls();
-    updateAllCheckboxes();
   }
 
-  private List<SearchResultEntry> getCurrentPageEntries() {
-    int start = currentPage * RESULTS_PER_PAGE;
-    int end = Math.min(start + RESULTS_PER_PAGE, allResults.size());
-    return allResults.subList(start, end);
-  }
-
-  private void updatePaginationInfo() {
-    if (allResults.isEmpty()) {
-      pageInfoLabel.setText("No results");
-      prevPageButton.setEnabled(false);
-      nextPageButton.setEnabled(false);
-      return;
-    }
-
-    int totalPages = (int) Math.ceil((double) allResults.size() / RESULTS_PER_PAGE);
-    int start = currentPage * RESULTS_PER_PAGE + 1;
-    int end = Math.min((currentPage + 1) * RESULTS_PER_PAGE, allResults.size());
-
-    pageInfoLabel.setText(String.format("Showing %d-%d of %d (Page %d of %d)",
-        start, end, allResults.size(), currentPage + 1, totalPages));
-
-    prevPageButton.setEnabled(currentPage > 0);
-    nextPageButton.setEnabled(currentPage < totalPages - 1);
-  }
-
-  private void previousPage() {
-    if (currentPage > 0) {
-      currentPage--;
-      updateResultsDisplay();
-    }
-  }
-
-  private void nextPage() {
-    int totalPages = (int) Math.ceil((double) allResults.size() / RESULTS_PER_PAGE);
-    if (currentPage < totalPages - 1) {
-      currentPage++;
-      updateResultsDisplay();
-    }
+  private List<SearchResultEntry> getFirstEntries() {
+    return results != null ? results.fetch(0, MAX_COMPARISON_ENTRIES) : List.of();
   }
 
   private void updateComparisonControls() {
@@ -338,9 +315,9 @@ public class SearchResultsTab extends VerticalLayout {
   }
 
   private void updateSelectAllCheckbox() {
-    List<SearchResultEntry> visibleEntries = getCurrentPageEntries();
-    boolean allSelected = !visibleEntries.isEmpty()
-        && visibleEntries.stream().allMatch(selectedForComparison::contains);
+    List<SearchResultEntry> firstEntries = getFirstEntries();
+    boolean allSelected = !firstEntries.isEmpty()
+        && firstEntries.stream().allMatch(selectedForComparison::contains);
     selectAllCheckbox.setValue(allSelected);
   }
 
@@ -428,4 +405,11 @@ public class SearchResultsTab extends VerticalLayout {
   public void setComparisonCallback(Consumer<List<SearchResultEntry>> callback) {
     this.comparisonCallback = callback;
   }
+
+  /**
+   * Set callback for stopping the search whose results are being shown.
+   */
+  public void setStopSearchCallback(Runnable callback) {
+    this.stopSearchCallback = callback;
+  }
 }
@@ -0,0 +1,137 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChildListingCacheTest {
+
+    private static LdapService.BrowseResult listing(String... dns) {
+        List<LdapEntry> entries = new ArrayList<>();
+        for (String dn : dns) {
+            LdapEntry entry = new LdapEntry();
+            entry.setDn(dn);
+            entries.add(entry);
+        }
+        return new LdapService.BrowseResult(entries, false, entries.size());
+    }
+
+    private static void put(ChildListingCache cache, String serverId, String parentDn, String variant,
+            LdapService.BrowseResult result) {
+        cache.put(serverId, parentDn, variant, result, cache.generation(serverId));
+    }
+
+    @Test
+    public void testGetReturnsStoredListingUnderNormalizedDn() {
+        ChildListingCache cache = new ChildListingCache(10, 60000);
+        LdapService.BrowseResult result = listing("cn=a,ou=People,dc=example,dc=com");
+
+        put(cache, "s1", "ou=People,dc=example,dc=com", "0/100", result);
+
+        assertSame(result, cache.get("s1", "OU=people, DC=Example, DC=com", "0/100"));
+        assertNull(cache.get("s1", "ou=People,dc=example,dc=com", "1/100"));
+        assertNull(cache.get("s2", "ou=People,dc=example,dc=com", "0/100"));
+    }
+
+    @Test
+    public void testZeroTtlDisablesCache() {
+        ChildListingCache cache = new ChildListingCache(10, 0);
+
+        put(cache, "s1", "dc=example,dc=com", "0/100", listing("ou=People,dc=example,dc=com"));
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get("s1", "dc=example,dc=com", "0/100"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedListingIsEvictedFirst() {
+        ChildListingCache cache = new ChildListingCache(2, 60000);
+        put(cache, "s1", "ou=a,dc=example,dc=com", "0/100", listing());
+        put(cache, "s1", "ou=b,dc=example,dc=com", "0/100", listing());
+
+        // Reading a makes b the eldest
+        assertNotNull(cache.get("s1", "ou=a,dc=example,dc=com", "0/100"));
+        put(cache, "s1", "ou=c,dc=example,dc=com", "0/100", listing());
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get("s1", "ou=a,dc=example,dc=com", "0/100"));
+        assertNull(cache.get("s1", "ou=b,dc=example,dc=com", "0/100"));
+        assertNotNull(cache.get("s1", "ou=c,dc=example,dc=com", "0/100"));
+    }
+
+    @Test
+    public void testExpiredListingIsDropped() throws InterruptedException {
+        ChildListingCache cache = new ChildListingCache(10, 20);
+        put(cache, "s1", "dc=example,dc=com", "0/100", listing());
+
+        Thread.sleep(50);
+
+        assertNull(cache.get("s1", "dc=example,dc=com", "0/100"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testInvalidateDropsEveryPageOfContainerOnly() {
+        ChildListingCache cache = new ChildListingCache(10, 60000);
+        put(cache, "s1", "ou=People,dc=example,dc=com", "0/100", listing());
+        put(cache, "s1", "ou=People,dc=example,dc=com", "1/100", listing());
+        put(cache, "s1", "ou=Groups,dc=example,dc=com", "0/100", listing());
+
+        cache.invalidate("s1", "ou=people,dc=example,dc=com");
+
+        assertNull(cache.get("s1", "ou=People,dc=example,dc=com", "0/100"));
+        assertNull(cache.get("s1", "ou=People,dc=example,dc=com", "1/100"));
+        assertNotNull(cache.get("s1", "ou=Groups,dc=example,dc=com", "0/100"));
+    }
+
+    @Test
+    public void testInvalidateEntryDropsParentAndGrandparentWhenChildrenChange() {
+        ChildListingCache cache = new ChildListingCache(10, 60000);
+        put(cache, "s1", "dc=example,dc=com", "0/100", listing());
+        put(cache, "s1", "ou=People,dc=example,dc=com", "0/100", listing());
+
+        cache.invalidateEntry("s1", "cn=a,ou=People,dc=example,dc=com", false);
+        assertNull(cache.get("s1", "ou=People,dc=example,dc=com", "0/100"));
+        assertNotNull(cache.get("s1", "dc=example,dc=com", "0/100"));
+
+        put(cache, "s1", "ou=People,dc=example,dc=com", "0/100", listing());
+        cache.invalidateEntry("s1", "cn=a,ou=People,dc=example,dc=com", true);
+        assertNull(cache.get("s1", "ou=People,dc=example,dc=com", "0/100"));
+        assertNull(cache.get("s1", "dc=example,dc=com", "0/100"));
+    }
+
+    @Test
+    public void testInvalidateServerLeavesOtherServers() {
+        ChildListingCache cache = new ChildListingCache(10, 60000);
+        put(cache, "s1", "dc=example,dc=com", "0/100", listing());
+        put(cache, "s2", "dc=example,dc=com", "0/100", listing());
+
+        cache.invalidateServer("s1");
+
+        assertNull(cache.get("s1", "dc=example,dc=com", "0/100"));
+        assertNotNull(cache.get("s2", "dc=example,dc=com", "0/100"));
+    }
+
+    @Test
+    public void testListingReadAcrossInvalidationIsNotStored() {
+        ChildListingCache cache = new ChildListingCache(10, 60000);
+
+        // A read starts, a write invalidates the container, then the read completes
+        long generation = cache.generation("s1");
+        cache.invalidateEntry("s1", "cn=a,ou=People,dc=example,dc=com", true);
+        cache.put("s1", "ou=People,dc=example,dc=com", "0/100", listing("cn=a,ou=People,dc=example,dc=com"),
+            generation);
+
+        assertNull(cache.get("s1", "ou=People,dc=example,dc=com", "0/100"));
+
+        // Writes on another server do not affect the read
+        long otherGeneration = cache.generation("s2");
+        cache.invalidateServer("s1");
+        cache.put("s2", "dc=example,dc=com", "0/100", listing(), otherGeneration);
+        assertNotNull(cache.get("s2", "dc=example,dc=com", "0/100"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PageSizeTunerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    // Bounds 25..1000, starting at 100, 500 ms target latency, 1 MB per page
+    private final PageSizeTuner tuner = new PageSizeTuner(25, 1000, 100, 500, 1048576);
+
+    private static List<LdapEntry> entries(int count, int valueLength) {
+        List<LdapEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LdapEntry entry = new LdapEntry();
+            entry.setDn("cn=user" + i + ",dc=example,dc=com");
+            entry.addAttribute("description", "x".repeat(valueLength));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    @Test
+    public void testUnmeasuredServerGetsInitialPageSize() {
+        assertEquals(100, tuner.pageSizeFor("s1"));
+        assertEquals(100, tuner.pageSizeFor(null));
+    }
+
+    @Test
+    public void testSmallReadsAreNotMeasured() {
+        // Nine entries taking a second each would otherwise shrink the page to the minimum
+        tuner.record("s1", entries(9, 10), 9000 * MILLIS);
+
+        assertEquals(100, tuner.pageSizeFor("s1"));
+    }
+
+    @Test
+    public void testPageFitsTargetLatencyInSteps() {
+        // 2 ms per entry: 250 entries arrive within 500 ms
+        tuner.record("s1", entries(20, 10), 40 * MILLIS);
+        assertEquals(250, tuner.pageSizeFor("s1"));
+
+        tuner.reset("s1");
+        // 1.9 ms per entry allows 263, rounded down to a step of 25
+        tuner.record("s1", entries(20, 10), 38 * MILLIS);
+        assertEquals(250, tuner.pageSizeFor("s1"));
+    }
+
+    @Test
+    public void testPageSizeStaysWithinBounds() {
+        tuner.record("fast", entries(20, 10), 20_000);
+        assertEquals(1000, tuner.pageSizeFor("fast"));
+
+        tuner.record("slow", entries(20, 10), 2000 * MILLIS);
+        assertEquals(25, tuner.pageSizeFor("slow"));
+    }
+
+    @Test
+    public void testLargeEntriesAreBoundByPageBytes() {
+        // Fast enough for the maximum, but entries of about 10 KB only fit about 100 to a megabyte
+        tuner.record("s1", entries(20, 10_000), 20_000);
+
+        assertEquals(100, tuner.pageSizeFor("s1"));
+    }
+
+    @Test
+    public void testLaterSamplesAreSmoothed() {
+        tuner.record("s1", entries(20, 10), 40 * MILLIS); // 2 ms per entry
+        tuner.record("s1", entries(20, 10), 200 * MILLIS); // 10 ms per entry
+
+        // Running average moves 30% of the way: 4.4 ms per entry allows 113, rounded down to 100
+        assertEquals(100, tuner.pageSizeFor("s1"));
+    }
+
+    @Test
+    public void testServersAreTunedIndependentlyAndResetForgetsMeasurements() {
+        tuner.record("s1", entries(20, 10), 40 * MILLIS);
+        tuner.record("s2", entries(20, 10), 2000 * MILLIS);
+
+        assertEquals(250, tuner.pageSizeFor("s1"));
+        assertEquals(25, tuner.pageSizeFor("s2"));
+
+        tuner.reset("s1");
+        assertEquals(100, tuner.pageSizeFor("s1"));
+        assertEquals(25, tuner.pageSizeFor("s2"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import com.ldapweb.ldapbrowser.model.LdapServerConfig;
+import com.ldapweb.ldapbrowser.model.SearchResultEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+
+public class SearchResultStoreTest {
+
+    private final LdapServerConfig dev = new LdapServerConfig("dev", "Development", "localhost", 389, null, null);
+    private final LdapServerConfig prod = new LdapServerConfig("prod", "Production", "localhost", 636, null, null);
+    private SearchResultStore store;
+
+    @AfterEach
+    public void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private static SearchResultEntry result(int index, LdapServerConfig environment) {
+        LdapEntry entry = new LdapEntry();
+        entry.setDn("cn=user" + index + ",dc=example,dc=com");
+        entry.setRdn("cn=user" + index);
+        entry.addAttribute("cn", "user" + index);
+        return new SearchResultEntry(entry, environment);
+    }
+
+    @Test
+    public void testFetchReturnsRowsInArrivalOrderAcrossPages() throws IOException {
+        store = SearchResultStore.create();
+        for (int i = 0; i < 250; i++) {
+            store.append(result(i, i % 2 == 0 ? dev : prod));
+        }
+
+        assertEquals(250, store.size());
+        // A range spanning the first two pages of 100 rows
+        List<SearchResultEntry> rows = store.fetch(95, 10);
+        assertEquals(10, rows.size());
+        assertEquals("cn=user95,dc=example,dc=com", rows.get(0).getDn());
+        assertEquals("cn=user104,dc=example,dc=com", rows.get(9).getDn());
+        assertEquals("Production", rows.get(0).getEnvironmentName());
+        assertEquals("Development", rows.get(9).getEnvironmentName());
+        // The request is cut at the last row
+        assertEquals(10, store.fetch(240, 50).size());
+        assertTrue(store.fetch(250, 10).isEmpty());
+    }
+
+    @Test
+    public void testAttributesAndNullValuesSurviveTheFile() throws IOException {
+        store = SearchResultStore.create();
+        LdapEntry entry = new LdapEntry();
+        entry.setDn("cn=\u00fcber,dc=example,dc=com");
+        entry.addAttribute("description", "x".repeat(70_000));
+        entry.addAttribute("objectClass", "top");
+        entry.addAttribute("objectClass", "person");
+        store.append(new SearchResultEntry(entry, null));
+
+        SearchResultEntry read = store.fetch(0, 1).get(0);
+        assertEquals("cn=\u00fcber,dc=example,dc=com", read.getDn());
+        assertNull(read.getEntry().getRdn());
+        assertNull(read.getEnvironment());
+        assertEquals(70_000, read.getEntry().getFirstAttributeValue("description").length());
+        assertEquals(List.of("top", "person"), read.getAttributeValues("objectClass"));
+    }
+
+    @Test
+    public void testRowsAppendedAfterAReadAreSeen() throws IOException {
+        store = SearchResultStore.create();
+        store.append(result(0, dev));
+        assertEquals(1, store.fetch(0, 100).size());
+
+        // The partly filled page was read and cached before these arrived
+        store.append(result(1, dev));
+        store.append(result(2, dev));
+
+        List<SearchResultEntry> rows = store.fetch(0, 100);
+        assertEquals(3, rows.size());
+        assertEquals("cn=user2,dc=example,dc=com", rows.get(2).getDn());
+    }
+
+    @Test
+    public void testCloseDropsResultsAndIgnoresLaterAppends() throws IOException {
+        store = SearchResultStore.create();
+        store.append(result(0, dev));
+
+        store.close();
+        store.append(result(1, dev));
+
+        assertTrue(store.isClosed());
+        assertEquals(0, store.size());
+        assertTrue(store.fetch(0, 10).isEmpty());
+        // Closing again is harmless
+        store.close();
+    }
+}
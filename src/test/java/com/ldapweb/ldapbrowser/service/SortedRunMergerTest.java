@@ -0,0 +1,71 @@
+package com.ldapweb.ldapbrowser.service;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class SortedRunMergerTest {
+
+    private static SortedRunMerger<Integer> merger(int runLength, Integer... values) {
+        SortedRunMerger<Integer> merger = new SortedRunMerger<>(Comparator.naturalOrder(), runLength);
+        for (Integer value : values) {
+            merger.add(value);
+        }
+        return merger;
+    }
+
+    @Test
+    public void testNothingAddedMergesToEmptyList() {
+        assertTrue(merger(10).merge().isEmpty());
+    }
+
+    @Test
+    public void testSingleRunIsSorted() {
+        assertEquals(List.of(1, 2, 3, 5, 8), merger(10, 5, 3, 8, 1, 2).merge());
+    }
+
+    @Test
+    public void testRunsAreMergedIncludingPartialLastRun() {
+        // Runs of three: [9, 4, 7], [1, 8, 2], [6, 3]
+        assertEquals(List.of(1, 2, 3, 4, 6, 7, 8, 9), merger(3, 9, 4, 7, 1, 8, 2, 6, 3).merge());
+    }
+
+    @Test
+    public void testDuplicatesAcrossRunsAreKept() {
+        assertEquals(List.of(1, 1, 2, 2, 2, 3), merger(2, 2, 1, 2, 3, 1, 2).merge());
+    }
+
+    @Test
+    public void testRunLengthBelowOneMergesSingleValueRuns() {
+        assertEquals(List.of(1, 2, 3), merger(0, 3, 1, 2).merge());
+    }
+
+    @Test
+    public void testComparatorDecidesOrder() {
+        SortedRunMerger<String> merger = new SortedRunMerger<>(String.CASE_INSENSITIVE_ORDER.reversed(), 2);
+        for (String value : List.of("b", "C", "a", "D")) {
+            merger.add(value);
+        }
+
+        assertEquals(List.of("D", "C", "b", "a"), merger.merge());
+    }
+
+    @Test
+    public void testLargeInputMatchesFullSort() {
+        Random random = new Random(42);
+        SortedRunMerger<Integer> merger = new SortedRunMerger<>(Comparator.naturalOrder(), 100);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1234; i++) {
+            int value = random.nextInt(500);
+            merger.add(value);
+            expected.add(value);
+        }
+        expected.sort(Comparator.naturalOrder());
+
+        assertEquals(expected, merger.merge());
+    }
+}
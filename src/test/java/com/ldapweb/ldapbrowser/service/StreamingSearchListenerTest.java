@@ -0,0 +1,182 @@
+package com.ldapweb.ldapbrowser.service;
+
+import com.unboundid.ldap.listener.InMemoryDirectoryServer;
+import com.unboundid.ldap.listener.InMemoryDirectoryServerConfig;
+import com.unboundid.ldap.listener.interceptor.InMemoryInterceptedSearchRequest;
+import com.unboundid.ldap.listener.interceptor.InMemoryOperationInterceptor;
+import com.unboundid.ldap.sdk.AsyncRequestID;
+import com.unboundid.ldap.sdk.LDAPConnection;
+import com.unboundid.ldap.sdk.LDAPException;
+import com.unboundid.ldap.sdk.ResultCode;
+import com.unboundid.ldap.sdk.SearchRequest;
+import com.unboundid.ldap.sdk.SearchResult;
+import com.unboundid.ldap.sdk.SearchResultEntry;
+import com.unboundid.ldap.sdk.SearchScope;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Drives the listener against an in-memory directory. A hung server is
+ * simulated by an interceptor that holds searches until the test ends.
+ */
+public class StreamingSearchListenerTest {
+
+    private static final String BASE = "dc=example,dc=com";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean hang;
+    private InMemoryDirectoryServer server;
+    private LDAPConnection connection;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        InMemoryDirectoryServerConfig config = new InMemoryDirectoryServerConfig(BASE);
+        config.addInMemoryOperationInterceptor(new InMemoryOperationInterceptor() {
+            @Override
+            public void processSearchRequest(InMemoryInterceptedSearchRequest request) {
+                if (hang) {
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        server = new InMemoryDirectoryServer(config);
+        server.add("dn: " + BASE, "objectClass: top", "objectClass: domain", "dc: example");
+        for (int i = 0; i < 5; i++) {
+            server.add("dn: ou=unit" + i + "," + BASE, "objectClass: top", "objectClass: organizationalUnit",
+                "ou: unit" + i);
+        }
+        server.startListening();
+        connection = server.getConnection();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        connection.close();
+        server.shutDown(true);
+    }
+
+    private AsyncRequestID search(StreamingSearchListener listener) throws LDAPException {
+        SearchRequest request = new SearchRequest(listener, BASE, SearchScope.ONE, "(objectClass=*)");
+        request.setResponseTimeoutMillis(0L);
+        return connection.asyncSearch(request);
+    }
+
+    @Test
+    public void testEntriesAreDeliveredAndCounted() throws LDAPException {
+        List<String> dns = new ArrayList<>();
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> dns.add(entry.getDN()));
+
+        SearchResult result = listener.await(connection, search(listener), 5000, 0);
+
+        assertEquals(ResultCode.SUCCESS, result.getResultCode());
+        assertEquals(5, dns.size());
+        assertEquals(5, listener.getEntryCount());
+        assertTrue(listener.isDone());
+    }
+
+    @Test
+    public void testSinkFailureAbandonsAndIsRethrown() throws LDAPException {
+        IllegalStateException failure = new IllegalStateException("sink full");
+        List<SearchResultEntry> delivered = new ArrayList<>();
+        Consumer<SearchResultEntry> sink = entry -> {
+            delivered.add(entry);
+            throw failure;
+        };
+        StreamingSearchListener listener = new StreamingSearchListener(sink);
+        AsyncRequestID requestId = search(listener);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> listener.await(connection, requestId, 5000, 0));
+
+        assertSame(failure, thrown);
+        // Entries after the failure are dropped, not handed to the sink
+        assertEquals(1, delivered.size());
+        assertEquals(0, listener.getEntryCount());
+    }
+
+    @Test
+    public void testCancelBeforeAwaitAbandonsHungSearch() throws LDAPException {
+        hang = true;
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> fail("No entry expected"));
+        AsyncRequestID requestId = search(listener);
+
+        listener.cancel();
+        LDAPException e = assertThrows(LDAPException.class, () -> listener.await(connection, requestId, 0, 0));
+
+        assertEquals(ResultCode.USER_CANCELED, e.getResultCode());
+    }
+
+    @Test
+    public void testCancelFromAnotherThreadEndsAwait() throws Exception {
+        hang = true;
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> fail("No entry expected"));
+        AsyncRequestID requestId = search(listener);
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener.cancel();
+        });
+
+        long start = System.currentTimeMillis();
+        canceller.start();
+        LDAPException e = assertThrows(LDAPException.class, () -> listener.await(connection, requestId, 0, 0));
+        canceller.join();
+
+        assertEquals(ResultCode.USER_CANCELED, e.getResultCode());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    @Test
+    public void testDeadlineReportsTimeLimitExceeded() throws LDAPException {
+        hang = true;
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> fail("No entry expected"));
+        AsyncRequestID requestId = search(listener);
+
+        long start = System.currentTimeMillis();
+        SearchResult result = listener.await(connection, requestId, 0, start + 300);
+
+        // Reported like a server time limit rather than thrown
+        assertEquals(ResultCode.TIME_LIMIT_EXCEEDED, result.getResultCode());
+        assertEquals(0, result.getEntryCount());
+        long elapsed = System.currentTimeMillis() - start;
+        assertTrue(elapsed >= 300 && elapsed < 5000, "Returned after " + elapsed + " ms");
+    }
+
+    @Test
+    public void testDeadlineDoesNotCutFinishedSearch() throws LDAPException {
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> { });
+
+        SearchResult result = listener.await(connection, search(listener), 5000,
+            System.currentTimeMillis() + 5000);
+
+        assertEquals(ResultCode.SUCCESS, result.getResultCode());
+        assertEquals(5, listener.getEntryCount());
+    }
+
+    @Test
+    public void testSilentServerTimesOutWhenIdle() throws LDAPException {
+        hang = true;
+        StreamingSearchListener listener = new StreamingSearchListener(entry -> fail("No entry expected"));
+        AsyncRequestID requestId = search(listener);
+
+        LDAPException e = assertThrows(LDAPException.class, () -> listener.await(connection, requestId, 300));
+
+        assertEquals(ResultCode.TIMEOUT, e.getResultCode());
+    }
+}
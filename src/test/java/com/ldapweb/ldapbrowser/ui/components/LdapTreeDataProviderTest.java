@@ -0,0 +1,257 @@
+package com.ldapweb.ldapbrowser.ui.components;
+
+import com.ldapweb.ldapbrowser.model.LdapEntry;
+import com.ldapweb.ldapbrowser.service.LdapService;
+import com.vaadin.flow.data.provider.hierarchy.HierarchicalQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Windowed child pages and the DN index of the tree data provider. No server
+ * is set, so pages that are not stored show as loading rows and nothing is
+ * read from a directory.
+ */
+public class LdapTreeDataProviderTest {
+
+    private static final String BASE = "ou=People,dc=example,dc=com";
+
+    private LdapTreeDataProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        provider = new LdapTreeDataProvider(null, null, "test-scope");
+    }
+
+    private static LdapEntry entry(String dn, boolean hasChildren) {
+        LdapEntry entry = new LdapEntry();
+        entry.setDn(dn);
+        entry.setRdn(dn.split(",")[0]);
+        entry.setHasChildren(hasChildren);
+        return entry;
+    }
+
+    private static List<LdapEntry> entries(String parentDn, int first, int count) {
+        List<LdapEntry> entries = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            entries.add(entry("cn=user" + i + "," + parentDn, false));
+        }
+        return entries;
+    }
+
+    private static LdapService.BrowseResult page(List<LdapEntry> entries, int page, int pageSize, boolean hasNext) {
+        return new LdapService.BrowseResult(entries, false, -1, page, pageSize, hasNext, page > 0);
+    }
+
+    private List<String> rows(LdapEntry parent) {
+        HierarchicalQuery<LdapEntry, Void> query = new HierarchicalQuery<>(null, parent);
+        return provider.fetchChildrenFromBackEnd(query).map(LdapEntry::getDn).collect(Collectors.toList());
+    }
+
+    private int childCount(LdapEntry parent) {
+        return provider.getChildCount(new HierarchicalQuery<>(null, parent));
+    }
+
+    @Test
+    public void testFirstPageIsFollowedByLoadingRowWhileMorePagesExist() {
+        provider.setRootContainer(BASE, page(entries(BASE, 0, 3), 0, 3, true));
+
+        assertEquals(4, childCount(null));
+        List<String> rows = rows(null);
+        assertEquals("cn=user0," + BASE, rows.get(0));
+        assertEquals("cn=user2," + BASE, rows.get(2));
+        assertTrue(rows.get(3).startsWith(LdapTreeDataProvider.LOADING_ROW_PREFIX));
+    }
+
+    @Test
+    public void testShortPageCompletesContainer() {
+        provider.setRootContainer(BASE, page(entries(BASE, 0, 3), 0, 3, true));
+        LdapEntry root = provider.findRevealStart(BASE);
+
+        provider.storePage(root, page(entries(BASE, 3, 2), 1, 3, true));
+
+        assertEquals(5, childCount(null));
+        assertEquals("cn=user4," + BASE, rows(null).get(4));
+    }
+
+    @Test
+    public void testLastPageCompletesContainer() {
+        provider.setRootContainer(BASE, page(entries(BASE, 0, 3), 0, 3, true));
+        LdapEntry root = provider.findRevealStart(BASE);
+
+        provider.storePage(root, page(entries(BASE, 3, 3), 1, 3, false));
+
+        assertEquals(6, childCount(null));
+        assertFalse(rows(null).stream().anyMatch(dn -> dn.startsWith(LdapTreeDataProvider.LOADING_ROW_PREFIX)));
+    }
+
+    @Test
+    public void testPageStoredAheadDoesNotExtendRowCount() {
+        provider.setRootContainer(BASE, page(entries(BASE, 0, 3), 0, 3, true));
+        LdapEntry root = provider.findRevealStart(BASE);
+
+        // Page 2 arrives before page 1; rows continue only from what was read in order
+        provider.storePage(root, page(entries(BASE, 6, 3), 2, 3, true));
+        assertEquals(4, childCount(null));
+
+        provider.storePage(root, page(entries(BASE, 3, 3), 1, 3, true));
+        assertEquals(7, childCount(null));
+        assertEquals("cn=user5," + BASE, rows(null).get(5));
+    }
+
+    @Test
+    public void testStoredEntriesAreIndexedByNormalizedDn() {
+        provider.setRootContainer(BASE, page(entries(BASE, 0, 3), 0, 3, true));
+
+        LdapEntry found = provider.findEntry("CN=User1, OU=people, DC=Example, DC=COM");
+        assertNotNull(found);
+        assertEquals("cn=user1," + BASE, found.getDn());
+        // Children of the root container form the root level
+        assertNull(provider.getParentDn(found));
+        assertEquals(List.of(1), toList(provider.getIndexPath(found)));
+    }
+
+    @Test
+    public void testIndexPathAndParentOfNestedEntry() {
+        List<LdapEntry> top = entries(BASE, 0, 2);
+        LdapEntry group = entry("ou=Team," + BASE, true);
+        top.add(group);
+        provider.setRootContainer(BASE, page(top, 0, 10, false));
+
+        String teamDn = "ou=Team," + BASE;
+        provider.storePage(group, page(entries(teamDn, 0, 4), 0, 10, false));
+
+        LdapEntry member = provider.findEntry("cn=user3," + teamDn);
+        assertEquals(teamDn, provider.getParentDn(member));
+        assertEquals(List.of(2, 3), toList(provider.getIndexPath(member)));
+        assertEquals(List.of("cn=user0," + teamDn, "cn=user1," + teamDn, "cn=user2," + teamDn,
+            "cn=user3," + teamDn), rows(group));
+    }
+
+    @Test
+    public void testRevealStartsFromDeepestLoadedAncestor() {
+        LdapEntry group = entry("ou=Team," + BASE, true);
+        provider.setRootContainer(BASE, page(new ArrayList<>(List.of(group)), 0, 10, false));
+
+        assertSame(group, provider.findRevealStart("cn=someone,ou=Team," + BASE));
+        assertSame(group, provider.findRevealStart("OU=team," + BASE));
+        // Not loaded yet: start from the root container holding it
+        LdapEntry root = provider.findRevealStart("cn=other," + BASE);
+        assertTrue(provider.isRootContainer(root));
+        // Outside what the tree shows
+        assertNull(provider.findRevealStart("dc=elsewhere,dc=org"));
+    }
+
+    @Test
+    public void testEvictDropsSubtreeFromIndex() {
+        LdapEntry group = entry("ou=Team," + BASE, true);
+        provider.setRootContainer(BASE, page(new ArrayList<>(List.of(group)), 0, 10, false));
+        String teamDn = "ou=Team," + BASE;
+        LdapEntry subgroup = entry("ou=Sub," + teamDn, true);
+        List<LdapEntry> teamPage = entries(teamDn, 0, 2);
+        teamPage.add(subgroup);
+        provider.storePage(group, page(teamPage, 0, 10, false));
+        String subDn = "ou=Sub," + teamDn;
+        provider.storePage(subgroup, page(entries(subDn, 0, 2), 0, 10, false));
+
+        List<LdapEntry> evicted = provider.evict(group);
+
+        assertEquals(5, evicted.size());
+        assertNull(provider.findEntry("cn=user0," + teamDn));
+        assertNull(provider.findEntry(subDn));
+        assertNull(provider.findEntry("cn=user1," + subDn));
+        // The container itself stays where it was loaded
+        assertSame(group, provider.findEntry(teamDn));
+        assertEquals(List.of(0), toList(provider.getIndexPath(group)));
+        assertFalse(provider.getLoadedEntries().stream().anyMatch(entry -> entry.getDn().endsWith(teamDn)
+            && !entry.getDn().equals(teamDn)));
+    }
+
+    @Test
+    public void testEvictOfRootContainerKeepsRootLevel() {
+        LdapEntry group = entry("ou=Team," + BASE, true);
+        provider.setRootContainer(BASE, page(new ArrayList<>(List.of(group)), 0, 10, false));
+        provider.storePage(group, page(entries("ou=Team," + BASE, 0, 2), 0, 10, false));
+        LdapEntry root = provider.findRevealStart(BASE);
+
+        provider.evict(root);
+
+        assertSame(group, provider.findEntry("ou=Team," + BASE));
+        assertNull(provider.findEntry("cn=user0,ou=Team," + BASE));
+        assertEquals(1, childCount(null));
+    }
+
+    @Test
+    public void testPageOfOtherSizeDiscardsWindowAndItsIndex() {
+        LdapEntry group = entry("ou=Team," + BASE, true);
+        provider.setRootContainer(BASE, page(new ArrayList<>(List.of(group)), 0, 10, false));
+        String teamDn = "ou=Team," + BASE;
+        provider.storePage(group, page(entries(teamDn, 0, 2), 0, 2, true));
+        assertEquals(2, provider.pageSizeFor(group));
+
+        // The tuned page size changed; a page of the new size starts the window over
+        int firstRow = provider.storePage(group, page(entries(teamDn, 10, 5), 1, 5, true));
+
+        assertEquals(5, firstRow);
+        assertEquals(5, provider.pageSizeFor(group));
+        assertNull(provider.findEntry("cn=user0," + teamDn));
+        assertNull(provider.findEntry("cn=user1," + teamDn));
+        LdapEntry moved = provider.findEntry("cn=user12," + teamDn);
+        assertEquals(List.of(0, 7), toList(provider.getIndexPath(moved)));
+        assertTrue(rows(group).get(0).startsWith(LdapTreeDataProvider.LOADING_ROW_PREFIX));
+    }
+
+    @Test
+    public void testRandomAccessWindowDropsFarthestPagesFromIndex() {
+        LdapEntry group = entry("ou=Big," + BASE, true);
+        provider.setRootContainer(BASE, page(new ArrayList<>(List.of(group)), 0, 10, false));
+        String bigDn = "ou=Big," + BASE;
+        int pageSize = 2;
+        int pages = 21;
+        for (int page = 0; page < pages; page++) {
+            provider.storePage(group, LdapService.BrowseResult.randomAccessPage(
+                entries(bigDn, page * pageSize, pageSize), 1000, page, pageSize));
+        }
+
+        assertTrue(provider.isRandomAccess(group));
+        // Row count comes from the server's content count, not from what is held
+        assertEquals(1000, childCount(group));
+        // Page 0 is farthest from the last page read and was dropped along with its index entries
+        assertNull(provider.findEntry("cn=user0," + bigDn));
+        assertNull(provider.findEntry("cn=user1," + bigDn));
+        LdapEntry kept = provider.findEntry("cn=user2," + bigDn);
+        assertNotNull(kept);
+        assertEquals(List.of(0, 2), toList(provider.getIndexPath(kept)));
+        assertEquals(40, provider.getLoadedEntries().size() - 1);
+
+        List<String> rows = rows(group);
+        assertTrue(rows.get(0).startsWith(LdapTreeDataProvider.LOADING_ROW_PREFIX));
+        assertEquals("cn=user2," + bigDn, rows.get(2));
+        assertEquals("cn=user41," + bigDn, rows.get(41));
+        assertTrue(rows.get(42).startsWith(LdapTreeDataProvider.LOADING_ROW_PREFIX));
+    }
+
+    @Test
+    public void testClearForgetsEverything() {
+        provider.setRootContainer(BASE, page(entries(BASE, 0, 3), 0, 3, true));
+
+        provider.clear();
+
+        assertNull(provider.findEntry("cn=user0," + BASE));
+        assertTrue(provider.getLoadedEntries().isEmpty());
+        assertEquals(0, childCount(null));
+    }
+
+    private static List<Integer> toList(int[] path) {
+        assertNotNull(path);
+        List<Integer> list = new ArrayList<>();
+        for (int index : path) {
+            list.add(index);
+        }
+        return list;
+    }
+}